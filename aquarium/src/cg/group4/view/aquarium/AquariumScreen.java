@@ -7,6 +7,8 @@ import cg.group4.data_structures.groups.GroupData;
 import cg.group4.view.screen_mechanics.GameSkin;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.scenes.scene2d.Actor;
@@ -40,9 +42,13 @@ public class AquariumScreen implements Screen {
      */
     protected Table cMenuTable;
     /**
-     * Table to hold fish.
+     * Level of detail of the aquarium.
      */
-    protected Table cFishTable;
+    protected AquariumSettings cSettings;
+    /**
+     * Tank that draws all the fish.
+     */
+    protected FishTank cTank;
 
     protected TextButton cChangeIpButton;
     /**
@@ -62,9 +68,9 @@ public class AquariumScreen implements Screen {
      */
     protected Vector3f cBackgroundColour;
     /**
-     * Set containing all displayed elements.
+     * Renderers of all displayed fish.
      */
-    protected HashSet<CollectibleRenderer> cDisplayRendererSet = new HashSet<CollectibleRenderer>();
+    protected FishPool cFishPool;
     /**
      * Converts the users ids to usernames.
      */
@@ -99,16 +105,26 @@ public class AquariumScreen implements Screen {
 
     @Override
     public void show() {
-        Gdx.input.setInputProcessor(cStage);
+        Gdx.input.setInputProcessor(new InputMultiplexer(cStage, new InputAdapter() {
+            @Override
+            public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+                CollectibleRenderer renderer = cTank.hit(screenX, Gdx.graphics.getHeight() - screenY);
+                if (renderer != null) {
+                    renderer.select();
+                    return true;
+                }
+                return false;
+            }
+        }));
     }
 
+    /**
+     * Creates the tank that draws the fish below the menu.
+     */
     protected void initFishTable() {
-        cFishTable = new Table();
-        cFishTable.setFillParent(true);
-        cFishTable.setZIndex(0);
-        cFishTable.row().fill();
-
-        cStage.addActor(cFishTable);
+        cSettings = AquariumSettings.load();
+        cTank = new FishTank(cSettings);
+        cFishPool = new FishPool(cTank, cLabelObserver, cSettings);
     }
 
     protected void initMenuTable() {
@@ -199,19 +215,19 @@ public class AquariumScreen implements Screen {
 
     @Override
     public void render(float delta) {
-        for (CollectibleRenderer c : cDisplayRendererSet) {
-            c.render();
-        }
+        cTank.update(delta);
         cStage.act();
         final Vector3f background = cBackgroundColour;
 
         Gdx.gl.glClearColor(background.getX(), background.getY(), background.getZ(), 1);
         Gdx.gl20.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        cTank.draw();
         cStage.draw();
     }
 
     @Override
     public void resize(int width, int height) {
+        cTank.resize(width, height);
     }
 
     @Override
@@ -229,6 +245,7 @@ public class AquariumScreen implements Screen {
     @Override
     public void dispose() {
         cStage.dispose();
+        cTank.dispose();
     }
 
     /**
@@ -258,13 +275,12 @@ public class AquariumScreen implements Screen {
         return new Observer() {
             @Override
             public void update(Observable o, Object arg) {
-                HashSet<CollectibleRenderer> temporarySet = convertToCollectibleRenderers(
-                        (cg.group4.data_structures.collection.Collection) arg);
+                cg.group4.data_structures.collection.Collection collection =
+                        (cg.group4.data_structures.collection.Collection) arg;
 
-                Gdx.app.log(this.getClass().getName(), "Received Collection of size: " + temporarySet.size());
+                Gdx.app.log(this.getClass().getName(), "Received Collection of size: " + collection.size());
 
-                removeOldFish(temporarySet);
-                addNewFish(temporarySet);
+                cFishPool.update(collection);
             }
         };
     }
@@ -284,52 +300,4 @@ public class AquariumScreen implements Screen {
             }
         };
     }
-
-    /**
-     * Converts each collectible from a collection to a CollectibleRenderer.
-     *
-     * @param collection The collectibles.
-     * @return The CollectibleRenderers.
-     */
-    protected HashSet<CollectibleRenderer> convertToCollectibleRenderers(
-            cg.group4.data_structures.collection.Collection collection) {
-        HashSet<CollectibleRenderer> temporarySet = new HashSet<CollectibleRenderer>();
-
-        for (Collectible collectible : collection) {
-            temporarySet.add(new CollectibleRenderer(collectible));
-        }
-        return temporarySet;
-    }
-
-    /**
-     * Removes the fish that are not in the new collection.
-     *
-     * @param newSet The new fish.
-     */
-    protected void removeOldFish(HashSet<CollectibleRenderer> newSet) {
-        HashSet<CollectibleRenderer> oldSet = (HashSet<CollectibleRenderer>) cDisplayRendererSet.clone();
-        oldSet.removeAll(newSet);
-        cDisplayRendererSet.removeAll(oldSet);
-
-        for (CollectibleRenderer collectibleRenderer : oldSet) {
-            collectibleRenderer.getSubject().deleteObserver(cLabelObserver);
-            collectibleRenderer.getActor().remove();
-        }
-    }
-
-    /**
-     * Adds the fish from the new collection that were not in the old collection.
-     *
-     * @param newSet The new fish.
-     */
-    protected void addNewFish(HashSet<CollectibleRenderer> newSet) {
-        newSet.removeAll(cDisplayRendererSet);
-
-        for (CollectibleRenderer collectibleRenderer : newSet) {
-            collectibleRenderer.getSubject().addObserver(cLabelObserver);
-            collectibleRenderer.getActor().setZIndex(1);
-            cDisplayRendererSet.add(collectibleRenderer);
-            cFishTable.addActor(collectibleRenderer.getActor());
-        }
-    }
 }
@@ -0,0 +1,134 @@
+package cg.group4.view.aquarium;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+
+/**
+ * Level of detail of the aquarium, read from the preferences so slow kiosk hardware can be tuned without a new
+ * build. Unset preferences keep their defaults.
+ */
+public class AquariumSettings {
+
+    /**
+     * Name of the preferences the settings are read from.
+     */
+    public static final String PREFERENCES = "AQUARIUM";
+
+    /**
+     * Default of the most fish that swim at once.
+     */
+    public static final int DEFAULT_MAX_FISH = 300;
+
+    /**
+     * Most fish that swim at once, the rarest are picked when there are more.
+     */
+    protected int cMaxFish = DEFAULT_MAX_FISH;
+
+    /**
+     * Whether fish of the same type and hue swim as one school.
+     */
+    protected boolean cSchools = true;
+
+    /**
+     * Whether a school shows how many fish it holds.
+     */
+    protected boolean cBadges = true;
+
+    /**
+     * Whether fish outside the screen are skipped when drawing.
+     */
+    protected boolean cCulling = true;
+
+    /**
+     * Creates the default settings.
+     */
+    public AquariumSettings() {
+    }
+
+    /**
+     * Reads the settings from the preferences.
+     *
+     * @return The settings.
+     */
+    public static AquariumSettings load() {
+        AquariumSettings settings = new AquariumSettings();
+        Preferences preferences = Gdx.app.getPreferences(PREFERENCES);
+        settings.cMaxFish = Math.max(1, preferences.getInteger("max-fish", DEFAULT_MAX_FISH));
+        settings.cSchools = preferences.getBoolean("schools", true);
+        settings.cBadges = preferences.getBoolean("badges", true);
+        settings.cCulling = preferences.getBoolean("culling", true);
+        return settings;
+    }
+
+    /**
+     * Returns the most fish that swim at once.
+     *
+     * @return Amount of fish.
+     */
+    public int getMaxFish() {
+        return cMaxFish;
+    }
+
+    /**
+     * Sets the most fish that swim at once.
+     *
+     * @param maxFish Amount of fish, at least 1.
+     */
+    public void setMaxFish(final int maxFish) {
+        cMaxFish = Math.max(1, maxFish);
+    }
+
+    /**
+     * Returns whether fish of the same type and hue swim as one school.
+     *
+     * @return True if fish school.
+     */
+    public boolean isSchools() {
+        return cSchools;
+    }
+
+    /**
+     * Sets whether fish of the same type and hue swim as one school.
+     *
+     * @param schools True if fish school.
+     */
+    public void setSchools(final boolean schools) {
+        cSchools = schools;
+    }
+
+    /**
+     * Returns whether a school shows how many fish it holds.
+     *
+     * @return True if badges are shown.
+     */
+    public boolean isBadges() {
+        return cBadges;
+    }
+
+    /**
+     * Sets whether a school shows how many fish it holds.
+     *
+     * @param badges True if badges are shown.
+     */
+    public void setBadges(final boolean badges) {
+        cBadges = badges;
+    }
+
+    /**
+     * Returns whether fish outside the screen are skipped when drawing.
+     *
+     * @return True if fish are culled.
+     */
+    public boolean isCulling() {
+        return cCulling;
+    }
+
+    /**
+     * Sets whether fish outside the screen are skipped when drawing.
+     *
+     * @param culling True if fish are culled.
+     */
+    public void setCulling(final boolean culling) {
+        cCulling = culling;
+    }
+}
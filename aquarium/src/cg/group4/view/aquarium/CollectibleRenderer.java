@@ -2,36 +2,45 @@ package cg.group4.view.aquarium;
 
 import cg.group4.data_structures.collection.collectibles.Collectible;
 import cg.group4.data_structures.subscribe.Subject;
-import cg.group4.view.rewards.CollectibleDrawer;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.badlogic.gdx.scenes.scene2d.InputEvent;
-import com.badlogic.gdx.scenes.scene2d.ui.Image;
-import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-
-import java.util.Random;
 
 /**
- * Responsible for displaying a single collectible.
+ * Responsible for displaying a single collectible, or a school of collectibles of the same type and hue. The fish
+ * itself is drawn and moved by the fish tank, the renderer puts it in the tank and reports it when it is touched.
  */
 public class CollectibleRenderer {
 
     /**
-     * Speed of the image.
+     * The collectible that is displayed.
+     */
+    protected Collectible cCollectible;
+    /**
+     * Tank the fish swims in, null when it is not displayed.
+     */
+    protected FishTank cTank;
+    /**
+     * Slot of the fish in the tank.
+     */
+    protected int cSlot;
+    /**
+     * Key for comparison.
+     */
+    protected FishKey cKey;
+    /**
+     * Latest update of the fish pool that found the collectible in the collection.
      */
-    protected final int cSpeed = 2;
+    protected int cGeneration;
     /**
-     * Actor used for the movements of the collectible.
+     * Amount of collectibles in the school, 1 when fish do not school.
      */
-    protected Image cCollectibleActor;
+    protected int cCount;
     /**
-     * Current angle for the direction in which the fish moves.
+     * Text of the badge, for the amount in cBadgeCount.
      */
-    protected int cCurrentAngle;
+    protected String cBadge;
     /**
-     * Id for comparison.
+     * Amount of collectibles the badge text was made for.
      */
-    protected String cId;
+    protected int cBadgeCount;
     /**
      * Subject to send information of the owner and achievement date of the collectible.
      */
@@ -43,220 +52,154 @@ public class CollectibleRenderer {
      * @param collectible collectible to create a render entity from
      */
     public CollectibleRenderer(final Collectible collectible) {
-        cCollectibleInformationSubject = new Subject();
-        initCollectibleEntity(collectible);
-        randomInitialization();
-
-        addClickableArea(collectible);
-
+        this(collectible, new FishKey(collectible));
     }
 
     /**
-     * Creates an actor from a collectible object.
+     * Initializes a collectible object with a key that was created already.
      *
-     * @param collectible collectible entity to initialize for display
-     */
-    public void initCollectibleEntity(final Collectible collectible) {
-        setId(collectible.getOwnerId(), collectible.getDateAsString(), collectible.getRarity());
-
-        cCollectibleActor = new Image(CollectibleDrawer.drawCollectible(collectible));
-        final float scale = 0.3f;
-        cCollectibleActor.setScale(scale);
-        cCollectibleActor.layout();
-
-        cCollectibleActor.setOrigin(
-                cCollectibleActor.getImageWidth() / 2,
-                cCollectibleActor.getImageHeight() / 2);
-    }
-
-    /**
-     * Initializes the collectible actor to position with a random angle.
-     * Flips the image if required (if upside down).
-     */
-    protected void randomInitialization() {
-        final int circleAngle = 360;
-        Random rnd = new Random();
-        do {
-            cCurrentAngle = normalizeAngle(rnd.nextInt(circleAngle));
-        } while (!validateAngle(cCurrentAngle));
-        if (cCurrentAngle > 0) {
-            flipImageY();
-        }
-
-        cCollectibleActor.setPosition(Gdx.graphics.getWidth() / 2, Gdx.graphics.getHeight() / 2);
-    }
-
-    /**
-     * Adds a clickable area which when clicked on will update the owner/date information labels.
-     *
-     * @param collectible Collectible
+     * @param collectible collectible to create a render entity from
+     * @param key         key of the collectible
      */
-    public void addClickableArea(final Collectible collectible) {
-        cCollectibleActor.addListener(new ClickListener() {
-                    @Override
-                    public void clicked(InputEvent event, float x, float y) {
-                        cCollectibleInformationSubject.update(collectible);
-                    }
-                });
+    public CollectibleRenderer(final Collectible collectible, final FishKey key) {
+        cCollectibleInformationSubject = new Subject();
+        reset(collectible, key);
     }
 
     /**
-     * Sets the cId of the collectible renderer.
-     * Used for comparison of this class' objects.
+     * Makes the renderer display another collectible, so the renderer of a removed fish can be reused.
      *
-     * @param owner  Owner cId of the collectible.
-     * @param date   Date of the collectible.
-     * @param rarity Rarity based on  form and hue.
+     * @param collectible collectible to display
+     * @param key         key of the collectible
      */
-    public void setId(String owner, String date, double rarity) {
-        final String sep = ",";
-        this.cId = owner + sep
-                + date + sep
-                + Double.toString(rarity);
+    public void reset(final Collectible collectible, final FishKey key) {
+        cCollectible = collectible;
+        cKey = key;
+        cCount = 1;
     }
 
     /**
-     * Normalizes the input angle.
+     * Counts a collectible of the school in an update of the fish pool. The first collectible of an update is the one
+     * that is displayed.
      *
-     * @param angle input angle
-     * @return normalized angle
-     */
-    protected int normalizeAngle(int angle) {
-        final int halfCircle = 180;
-        final int fullCircle = 360;
-
-        if (angle > halfCircle) {
-            angle = angle - fullCircle;
+     * @param collectible The collectible.
+     * @param generation  The update.
+     */
+    public void count(final Collectible collectible, final int generation) {
+        if (cGeneration == generation) {
+            cCount++;
+        } else {
+            cGeneration = generation;
+            cCollectible = collectible;
+            cCount = 1;
         }
-        if (angle < -halfCircle) {
-            angle = angle + fullCircle;
-        }
-        return angle;
     }
 
     /**
-     * Assures the angle of a rotation so the flipping of the images goes correct.
-     * This is to assure no fish are swimming backwards.
+     * Puts the fish in a tank, in the middle of the screen with a random angle.
      *
-     * @param angle angle to validate
-     * @return angle between coordinates
+     * @param tank The tank.
      */
-    protected boolean validateAngle(int angle) {
-        final int min = 25; // 25 default
-        final int max = 155; // 155 default
-
-        angle = Math.abs(angle);
-        return min < angle && angle < max;
+    public void attach(final FishTank tank) {
+        cTank = tank;
+        cSlot = tank.add(this, cCollectible);
     }
 
     /**
-     * Flips the image on the Y axis.
+     * Takes the fish out of its tank.
      */
-    public void flipImageY() {
-        cCollectibleActor.setScaleY(-cCollectibleActor.getScaleY());
+    public void detach() {
+        if (cTank != null) {
+            cTank.remove(cSlot);
+            cTank = null;
+        }
     }
 
     /**
-     * Actor to be added to a stage.
+     * Checks whether the fish is in a tank.
      *
-     * @return actor
+     * @return True if the fish is displayed.
      */
-    public Actor getActor() {
-        return cCollectibleActor;
+    public boolean isAttached() {
+        return cTank != null;
     }
 
     /**
-     * Method which is called every frame to render the collectible to the screen.
+     * Shows the amount of collectibles in the school next to the fish, if there is more than one.
+     *
+     * @param show False to hide the badge.
      */
-    public void render() {
-        move();
-        boundaryCheck();
+    public void showBadge(final boolean show) {
+        if (cTank == null) {
+            return;
+        }
+        if (!show || cCount < 2) {
+            cTank.setBadge(cSlot, null);
+            return;
+        }
+        if (cBadgeCount != cCount) {
+            cBadgeCount = cCount;
+            cBadge = "x" + cCount;
+        }
+        cTank.setBadge(cSlot, cBadge);
     }
 
     /**
-     * Moves the fish entity to the destination.
+     * Sets the slot of the fish, called by the tank when the fish moved to another slot.
+     *
+     * @param slot The new slot.
      */
-    public void move() {
-        final int angle = 4;
-        generateAngle(angle);
-        moveToDestination(cSpeed);
+    public void setSlot(final int slot) {
+        cSlot = slot;
     }
 
     /**
-     * Verifies whether the actor to be inside the boundary box, which is the window frame.
+     * Updates the owner/date information labels with the collectible, called when the fish is touched.
      */
-    public void boundaryCheck() {
-        final int halfCircle = 180;
-
-        // horizontal check
-        if (getOriginX() < 0 || Gdx.graphics.getWidth() < getOriginX()) {
-            flipImageY();
-            cCurrentAngle *= -1;
-        }
-
-        // vertical check
-        if (getOriginY() < 0 || getOriginY() > Gdx.graphics.getHeight()) {
-            cCurrentAngle = normalizeAngle(halfCircle - cCurrentAngle);
-        }
+    public void select() {
+        cCollectibleInformationSubject.update(cCollectible);
     }
 
     /**
-     * Generates a new angle.
-     * The new degree of the angle is based on the old angle plus a value -1..1 times the  movement speed.
+     * Returns the key of the collectible.
+     * Used for comparison of this class' objects.
      *
-     * @param angle angle of rotation per render cycle
+     * @return The key.
      */
-    public void generateAngle(int angle) {
-        int newAngle;
-        do {
-            // create a new angle based on the old angle + a few additional degree of rotation
-            // Math.random() * 2 - 1f
-            //   :: Math.random() -> generates a double between 0 and 1
-            //   :: 2 - 1f -> makes sure the angle will be between -1 and 1 instead of just 0 and 1
-            newAngle = cCurrentAngle + (int) ((Math.random() * 2 - 1f) * angle);
-
-            // keep angles which make the fish turn out of the new generated angles
-        } while (!validateAngle(newAngle));
-        cCurrentAngle = newAngle;
+    public FishKey getKey() {
+        return cKey;
     }
 
     /**
-     * Randomly moves a fish in the direction of the {#code cCurrentAngle}.
+     * Returns the amount of collectibles in the school.
      *
-     * @param speed Amount of pixels to move per step
+     * @return Amount of collectibles.
      */
-    public void moveToDestination(float speed) {
-
-        final float defaultRotate = 90f;
-        cCollectibleActor.setRotation((float) cCurrentAngle + defaultRotate);
-
-        cCollectibleActor.moveBy(
-                (float) Math.sin(Math.toRadians(cCurrentAngle)) * speed,
-                (float) Math.cos(Math.toRadians(cCurrentAngle)) * -speed);
-
+    public int getCount() {
+        return cCount;
     }
 
     /**
-     * Determines the x-axis origin of the collectible image.
+     * Returns the rarity of the collectible.
      *
-     * @return x-axis origin
+     * @return The rarity.
      */
-    private float getOriginX() {
-        return (cCollectibleActor.getX() + cCollectibleActor.getOriginX());
+    public double getRarity() {
+        return cCollectible.getRarity();
     }
 
     /**
-     * Determines the y-axis origin of the collectible image.
+     * Returns the latest update of the fish pool that found the collectible.
      *
-     * @return y-axis origin
+     * @return The update.
      */
-    private float getOriginY() {
-        return (cCollectibleActor.getY() + cCollectibleActor.getOriginY());
+    public int getGeneration() {
+        return cGeneration;
     }
 
     @Override
     public int hashCode() {
-        return cId.hashCode();
+        return cKey.hashCode();
     }
 
     @Override
@@ -270,7 +213,7 @@ public class CollectibleRenderer {
 
         CollectibleRenderer that = (CollectibleRenderer) o;
 
-        return cId.equals(that.cId);
+        return cKey.equals(that.cKey);
 
     }
 
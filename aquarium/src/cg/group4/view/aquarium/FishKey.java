@@ -0,0 +1,116 @@
+package cg.group4.view.aquarium;
+
+import cg.group4.data_structures.collection.collectibles.Collectible;
+
+import java.util.TimeZone;
+
+/**
+ * Identity of a fish in the aquarium: its owner, the day it was caught and its rarity, or only its type and hue when
+ * fish of the same kind swim as a school. Two collectibles with the same key are displayed by the same renderer.
+ * A key can be reused to look up a collectible without allocating, a key stored in a map must not be changed.
+ */
+public final class FishKey {
+
+    /**
+     * Milliseconds in a day.
+     */
+    protected static final long DAY = 24L * 60 * 60 * 1000;
+
+    /**
+     * Day of a school, which holds fish of every day.
+     */
+    protected static final long ANY_DAY = Long.MIN_VALUE;
+
+    /**
+     * Id of the owner, or image path of the type for a school.
+     */
+    protected String cOwner;
+
+    /**
+     * Day the collectible was caught, in days since the epoch in the local time zone, or ANY_DAY.
+     */
+    protected long cDay;
+
+    /**
+     * Bits of the rarity of the collectible, or of its hue for a school.
+     */
+    protected long cRarity;
+
+    /**
+     * Cached hash code.
+     */
+    protected int cHash;
+
+    /**
+     * Creates the key of a collectible.
+     *
+     * @param collectible The collectible.
+     */
+    public FishKey(final Collectible collectible) {
+        set(collectible);
+    }
+
+    /**
+     * Makes this the key of a collectible.
+     *
+     * @param collectible The collectible.
+     * @return This key.
+     */
+    public FishKey set(final Collectible collectible) {
+        long time = collectible.getDate().getTime();
+        cOwner = collectible.getOwnerId();
+        cDay = (time + TimeZone.getDefault().getOffset(time)) / DAY;
+        cRarity = Double.doubleToLongBits(collectible.getRarity());
+        return hash();
+    }
+
+    /**
+     * Makes this the key of the school of a collectible, shared by all collectibles of the same type and hue.
+     *
+     * @param collectible The collectible.
+     * @return This key.
+     */
+    public FishKey setSchool(final Collectible collectible) {
+        cOwner = collectible.getImagePath();
+        cDay = ANY_DAY;
+        cRarity = Float.floatToIntBits(collectible.getHue());
+        return hash();
+    }
+
+    /**
+     * Computes the cached hash code.
+     *
+     * @return This key.
+     */
+    protected FishKey hash() {
+        final int prime = 31;
+        int hash = cOwner == null ? 0 : cOwner.hashCode();
+        hash = prime * hash + (int) (cDay ^ (cDay >>> 32));
+        hash = prime * hash + (int) (cRarity ^ (cRarity >>> 32));
+        cHash = hash;
+        return this;
+    }
+
+    @Override
+    public int hashCode() {
+        return cHash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FishKey)) {
+            return false;
+        }
+        FishKey that = (FishKey) o;
+        return cHash == that.cHash && cDay == that.cDay && cRarity == that.cRarity
+                && (cOwner == null ? that.cOwner == null : cOwner.equals(that.cOwner));
+    }
+
+    @Override
+    public String toString() {
+        return cOwner + "," + cDay + "," + cRarity;
+    }
+}
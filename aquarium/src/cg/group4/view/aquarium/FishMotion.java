@@ -0,0 +1,364 @@
+package cg.group4.view.aquarium;
+
+import cg.group4.data_structures.SplitMix64;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Moves the fish of a tank in fixed steps, so they swim the same distance per second at any frame rate.
+ * Every step a fish turns a few degrees at random, swims forward and turns around at the edges of the screen.
+ * The angles are whole degrees, so sine and cosine come from tables. The random turns are drawn from the seed of the
+ * tank, the step and the slot of the fish, so large tanks can be split over several threads.
+ */
+public class FishMotion {
+
+    /**
+     * Length of a step in seconds.
+     */
+    public static final float STEP = 1 / 60f;
+
+    /**
+     * Longest frame that is caught up with, longer frames are cut so the fish do not jump after a pause.
+     */
+    public static final float MAX_FRAME = 0.25f;
+
+    /**
+     * Pixels a fish swims per step.
+     */
+    public static final float SPEED = 2f;
+
+    /**
+     * Most degrees a fish turns per step.
+     */
+    public static final int TURN = 4;
+
+    /**
+     * Smallest absolute angle a fish swims at, so it never swims straight up or down.
+     */
+    public static final int MIN_ANGLE = 25;
+
+    /**
+     * Largest absolute angle a fish swims at.
+     */
+    public static final int MAX_ANGLE = 155;
+
+    /**
+     * Amount of fish from which the steps are split over several threads.
+     */
+    public static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * Degrees in a circle.
+     */
+    protected static final int FULL_CIRCLE = 360;
+
+    /**
+     * Degrees in half a circle.
+     */
+    protected static final int HALF_CIRCLE = 180;
+
+    /**
+     * Rotation of the images, which face up, relative to the angle the fish swims at.
+     */
+    protected static final float DEFAULT_ROTATE = 90f;
+
+    /**
+     * Sine of every whole degree from 0 up to 360.
+     */
+    protected static final float[] SIN = new float[FULL_CIRCLE];
+
+    /**
+     * Cosine of every whole degree from 0 up to 360.
+     */
+    protected static final float[] COS = new float[FULL_CIRCLE];
+
+    static {
+        for (int degree = 0; degree < FULL_CIRCLE; degree++) {
+            SIN[degree] = (float) Math.sin(Math.toRadians(degree));
+            COS[degree] = (float) Math.cos(Math.toRadians(degree));
+        }
+    }
+
+    /**
+     * Slots of the fish that are moved.
+     */
+    protected final FishSlots cTank;
+
+    /**
+     * Seed the random turns are drawn from.
+     */
+    protected final long cSeed;
+
+    /**
+     * State of the generator for the angles of new fish.
+     */
+    protected long cState;
+
+    /**
+     * Amount of steps taken.
+     */
+    protected long cSteps;
+
+    /**
+     * Time that has passed but was not yet stepped, in seconds.
+     */
+    protected float cAccumulator;
+
+    /**
+     * Whether large tanks are moved on several threads.
+     */
+    protected boolean cParallel = true;
+
+    /**
+     * Threads for large tanks, created when first needed.
+     */
+    protected ExecutorService cExecutor;
+
+    /**
+     * Amount of threads in the executor, besides the rendering thread.
+     */
+    protected int cWorkers;
+
+    /**
+     * Creates the motion of a tank.
+     *
+     * @param tank Slots of the fish that are moved, those of a FishTank.
+     * @param seed Seed of the random angles and turns.
+     */
+    public FishMotion(final FishSlots tank, final long seed) {
+        cTank = tank;
+        cSeed = seed;
+        cState = seed;
+    }
+
+    /**
+     * Gives a new fish a random angle that it can swim at.
+     *
+     * @param slot Slot of the fish.
+     */
+    public void spawn(final int slot) {
+        cState += SplitMix64.GOLDEN_GAMMA;
+        long z = SplitMix64.mix(cState);
+        int range = MAX_ANGLE - MIN_ANGLE - 1;
+        int angle = MIN_ANGLE + 1 + (int) ((z >>> 1) % range);
+        if ((z & 1) == 0) {
+            angle = -angle;
+        }
+        cTank.cAngle[slot] = angle;
+        cTank.cFlipped[slot] = angle > 0;
+        cTank.cRotation[slot] = angle + DEFAULT_ROTATE;
+    }
+
+    /**
+     * Lets the time of a frame pass, taking as many steps as fit in the time passed so far.
+     *
+     * @param delta Length of the frame in seconds.
+     * @return The amount of steps taken.
+     */
+    public int update(final float delta) {
+        cAccumulator += Math.min(delta, MAX_FRAME);
+        int steps = (int) (cAccumulator / STEP);
+        if (steps == 0) {
+            return 0;
+        }
+        cAccumulator -= steps * STEP;
+        int count = cTank.size();
+        if (cParallel && count >= PARALLEL_THRESHOLD && startExecutor()) {
+            stepParallel(count, steps);
+        } else {
+            step(0, count, cSteps, steps);
+        }
+        cSteps += steps;
+        return steps;
+    }
+
+    /**
+     * Takes steps for a range of slots.
+     *
+     * @param from  First slot.
+     * @param to    Slot after the last slot.
+     * @param first Number of the first step.
+     * @param steps Amount of steps.
+     */
+    protected void step(final int from, final int to, final long first, final int steps) {
+        final float width = cTank.getScreenWidth();
+        final float height = cTank.getScreenHeight();
+        final int[] angles = cTank.cAngle;
+        final float[] xs = cTank.cX;
+        final float[] ys = cTank.cY;
+        for (int slot = from; slot < to; slot++) {
+            int angle = angles[slot];
+            float x = xs[slot];
+            float y = ys[slot];
+            boolean flipped = cTank.cFlipped[slot];
+            float halfWidth = cTank.getWidth(slot) / 2;
+            float halfHeight = cTank.getHeight(slot) / 2;
+            for (long step = first; step < first + steps; step++) {
+                int turn = turn(step, slot);
+                if (!isValid(angle + turn)) {
+                    turn = -turn;
+                }
+                angle += turn;
+                int index = index(angle);
+                x += SIN[index] * SPEED;
+                y -= COS[index] * SPEED;
+
+                float centerX = x + halfWidth;
+                float centerY = y + halfHeight;
+                if (centerX < 0 || width < centerX) {
+                    flipped = !flipped;
+                    angle = -angle;
+                }
+                if (centerY < 0 || centerY > height) {
+                    angle = normalize(HALF_CIRCLE - angle);
+                }
+            }
+            angles[slot] = angle;
+            xs[slot] = x;
+            ys[slot] = y;
+            cTank.cFlipped[slot] = flipped;
+            cTank.cRotation[slot] = angle + DEFAULT_ROTATE;
+        }
+    }
+
+    /**
+     * Splits the slots over the threads, the rendering thread takes the last part and waits for the others.
+     *
+     * @param count Amount of fish.
+     * @param steps Amount of steps.
+     */
+    protected void stepParallel(final int count, final int steps) {
+        final int parts = cWorkers + 1;
+        final int size = (count + parts - 1) / parts;
+        final long first = cSteps;
+        ArrayList<Future<?>> futures = new ArrayList<Future<?>>(cWorkers);
+        for (int part = 0; part < cWorkers; part++) {
+            final int from = part * size;
+            final int to = Math.min(count, from + size);
+            futures.add(cExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    step(from, to, first, steps);
+                }
+            }));
+        }
+        step(Math.min(count, cWorkers * size), count, first, steps);
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Creates the threads for large tanks, one for every core besides the one of the rendering thread.
+     *
+     * @return False if there is only one core.
+     */
+    protected boolean startExecutor() {
+        if (cExecutor == null) {
+            cWorkers = Runtime.getRuntime().availableProcessors() - 1;
+            if (cWorkers < 1) {
+                cParallel = false;
+                return false;
+            }
+            cExecutor = Executors.newFixedThreadPool(cWorkers, new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    Thread thread = new Thread(runnable, "FishMotion");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Draws the turn of a fish in a step, between -TURN and TURN exclusive. The same step and slot always give the
+     * same turn.
+     *
+     * @param step Number of the step.
+     * @param slot Slot of the fish.
+     * @return The turn in degrees.
+     */
+    protected int turn(final long step, final int slot) {
+        double random = SplitMix64.nextDouble(cSeed + step * SplitMix64.GOLDEN_GAMMA + slot);
+        return (int) ((random * 2 - 1) * TURN);
+    }
+
+    /**
+     * Checks whether a fish can swim at an angle, so it never swims backwards.
+     *
+     * @param angle The angle.
+     * @return True if the absolute angle lies between MIN_ANGLE and MAX_ANGLE.
+     */
+    protected static boolean isValid(final int angle) {
+        int absolute = Math.abs(angle);
+        return MIN_ANGLE < absolute && absolute < MAX_ANGLE;
+    }
+
+    /**
+     * Normalizes an angle to [-180, 180].
+     *
+     * @param angle The angle.
+     * @return The normalized angle.
+     */
+    protected static int normalize(final int angle) {
+        if (angle > HALF_CIRCLE) {
+            return angle - FULL_CIRCLE;
+        }
+        if (angle < -HALF_CIRCLE) {
+            return angle + FULL_CIRCLE;
+        }
+        return angle;
+    }
+
+    /**
+     * Returns the index of an angle in the tables.
+     *
+     * @param angle The angle, between -360 and 360.
+     * @return The index.
+     */
+    protected static int index(final int angle) {
+        return angle < 0 ? angle + FULL_CIRCLE : angle;
+    }
+
+    /**
+     * Sets whether large tanks are moved on several threads.
+     *
+     * @param parallel True to use several threads.
+     */
+    public void setParallel(final boolean parallel) {
+        cParallel = parallel;
+    }
+
+    /**
+     * Returns the amount of steps taken.
+     *
+     * @return Amount of steps.
+     */
+    public long getSteps() {
+        return cSteps;
+    }
+
+    /**
+     * Stops the threads.
+     */
+    public void dispose() {
+        if (cExecutor != null) {
+            cExecutor.shutdownNow();
+            cExecutor = null;
+        }
+    }
+}
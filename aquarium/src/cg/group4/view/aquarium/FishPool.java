@@ -0,0 +1,198 @@
+package cg.group4.view.aquarium;
+
+import cg.group4.data_structures.collection.collectibles.Collectible;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Observer;
+
+/**
+ * Keeps the renderers of the fish in the tank in step with the collection that is polled from the server.
+ * An update looks up every collectible by its key, so fish that are still in the collection keep their renderer and
+ * nothing is allocated for them. Only fish that are new get a renderer, taken from the renderers of removed fish
+ * when there are any.
+ * Collectibles of the same type and hue swim as one school when the settings say so, and when there are more
+ * schools than the settings allow only the rarest swim, which bounds the time of a frame however large the
+ * collection of a group grows.
+ */
+public class FishPool {
+
+    /**
+     * Orders renderers from the rarest to the most common, equally rare ones by key so the pick is stable.
+     */
+    protected static final Comparator<CollectibleRenderer> RAREST_FIRST = new Comparator<CollectibleRenderer>() {
+        @Override
+        public int compare(final CollectibleRenderer a, final CollectibleRenderer b) {
+            int order = Double.compare(b.getRarity(), a.getRarity());
+            if (order == 0) {
+                order = Integer.compare(a.getKey().hashCode(), b.getKey().hashCode());
+            }
+            return order;
+        }
+    };
+
+    /**
+     * Tank the fish swim in.
+     */
+    protected final FishTank cTank;
+
+    /**
+     * Observer that every renderer reports its collectible to when it is touched.
+     */
+    protected final Observer cLabelObserver;
+
+    /**
+     * Level of detail of the aquarium.
+     */
+    protected final AquariumSettings cSettings;
+
+    /**
+     * Whether collectibles are grouped into schools, fixed when the pool is created as it decides the keys.
+     */
+    protected final boolean cSchools;
+
+    /**
+     * Renderers of the fish or schools in the collection, by key. Only the rarest are in the tank.
+     */
+    protected final HashMap<FishKey, CollectibleRenderer> cRenderers = new HashMap<FishKey, CollectibleRenderer>();
+
+    /**
+     * Renderers of removed fish, ready to display a new fish.
+     */
+    protected final ArrayDeque<CollectibleRenderer> cFree = new ArrayDeque<CollectibleRenderer>();
+
+    /**
+     * Renderers of the collection, ordered by rarity when not all of them fit in the tank.
+     */
+    protected CollectibleRenderer[] cRanked = new CollectibleRenderer[0];
+
+    /**
+     * Key reused to look up collectibles.
+     */
+    protected FishKey cProbe;
+
+    /**
+     * Counts the updates, renderers marked with an older update are no longer in the collection.
+     */
+    protected int cGeneration;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param tank          Tank the fish swim in.
+     * @param labelObserver Observer that is told which collectible was touched.
+     * @param settings      Level of detail of the aquarium.
+     */
+    public FishPool(final FishTank tank, final Observer labelObserver, final AquariumSettings settings) {
+        cTank = tank;
+        cLabelObserver = labelObserver;
+        cSettings = settings;
+        cSchools = settings.isSchools();
+    }
+
+    /**
+     * Adds the fish that are new in the collection and removes the fish that are no longer in it.
+     *
+     * @param collection The collection.
+     */
+    public void update(final Iterable<Collectible> collection) {
+        cGeneration++;
+        for (Collectible collectible : collection) {
+            if (cProbe == null) {
+                cProbe = new FishKey(collectible);
+            }
+            if (cSchools) {
+                cProbe.setSchool(collectible);
+            } else {
+                cProbe.set(collectible);
+            }
+            CollectibleRenderer renderer = cRenderers.get(cProbe);
+            if (renderer == null) {
+                renderer = obtain(collectible, cProbe);
+                cRenderers.put(cProbe, renderer);
+                cProbe = null;
+            }
+            renderer.count(collectible, cGeneration);
+        }
+
+        if (cRanked.length < cRenderers.size()) {
+            cRanked = new CollectibleRenderer[cRenderers.size()];
+        }
+        int size = 0;
+        Iterator<CollectibleRenderer> iterator = cRenderers.values().iterator();
+        while (iterator.hasNext()) {
+            CollectibleRenderer renderer = iterator.next();
+            if (renderer.getGeneration() == cGeneration) {
+                cRanked[size++] = renderer;
+            } else {
+                iterator.remove();
+                renderer.detach();
+                cFree.push(renderer);
+            }
+        }
+        display(size);
+    }
+
+    /**
+     * Puts the rarest renderers in the tank and takes the others out.
+     *
+     * @param size Amount of renderers in cRanked.
+     */
+    protected void display(final int size) {
+        int maxFish = cSettings.getMaxFish();
+        if (size > maxFish) {
+            Arrays.sort(cRanked, 0, size, RAREST_FIRST);
+        }
+        for (int i = 0; i < size; i++) {
+            CollectibleRenderer renderer = cRanked[i];
+            if (i < maxFish) {
+                if (!renderer.isAttached()) {
+                    renderer.attach(cTank);
+                }
+                renderer.showBadge(cSettings.isBadges());
+            } else {
+                renderer.detach();
+            }
+        }
+        Arrays.fill(cRanked, 0, size, null);
+    }
+
+    /**
+     * Returns a renderer for a new fish, a recycled one if there is one.
+     *
+     * @param collectible The collectible of the fish.
+     * @param key         Key of the collectible, owned by the renderer from now on.
+     * @return The renderer.
+     */
+    protected CollectibleRenderer obtain(final Collectible collectible, final FishKey key) {
+        CollectibleRenderer renderer = cFree.poll();
+        if (renderer == null) {
+            renderer = new CollectibleRenderer(collectible, key);
+            renderer.getSubject().addObserver(cLabelObserver);
+        } else {
+            renderer.reset(collectible, key);
+        }
+        return renderer;
+    }
+
+    /**
+     * Returns the amount of fish or schools in the collection, including those that do not swim.
+     *
+     * @return Amount of fish.
+     */
+    public int size() {
+        return cRenderers.size();
+    }
+
+    /**
+     * Returns the amount of renderers waiting to be reused.
+     *
+     * @return Amount of renderers.
+     */
+    public int getFreeCount() {
+        return cFree.size();
+    }
+}
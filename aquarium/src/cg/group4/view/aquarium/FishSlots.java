@@ -0,0 +1,231 @@
+package cg.group4.view.aquarium;
+
+import java.util.Arrays;
+
+/**
+ * The position, angle and size of every fish of a tank, kept in primitive arrays indexed by slot.
+ * The FishMotion moves the fish through these arrays, the FishTank adds what it needs to draw them.
+ */
+public class FishSlots {
+
+    /**
+     * Amount of slots the arrays start with, they grow when more fish are added.
+     */
+    protected static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * X location of the bottom left corner of every fish, before scaling.
+     */
+    protected float[] cX = new float[INITIAL_CAPACITY];
+
+    /**
+     * Y location of the bottom left corner of every fish, before scaling.
+     */
+    protected float[] cY = new float[INITIAL_CAPACITY];
+
+    /**
+     * Rotation every fish is drawn at in degrees.
+     */
+    protected float[] cRotation = new float[INITIAL_CAPACITY];
+
+    /**
+     * Angle every fish swims at in whole degrees, between -180 and 180 where 0 is straight down.
+     */
+    protected int[] cAngle = new int[INITIAL_CAPACITY];
+
+    /**
+     * Whether every fish is mirrored on its Y axis, so it does not swim upside down.
+     */
+    protected boolean[] cFlipped = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Width of the image of every fish, before scaling.
+     */
+    protected float[] cWidth = new float[INITIAL_CAPACITY];
+
+    /**
+     * Height of the image of every fish, before scaling.
+     */
+    protected float[] cHeight = new float[INITIAL_CAPACITY];
+
+    /**
+     * Amount of fish.
+     */
+    protected int cCount;
+
+    /**
+     * Width of the screen in pixels.
+     */
+    protected int cScreenWidth;
+
+    /**
+     * Height of the screen in pixels.
+     */
+    protected int cScreenHeight;
+
+    /**
+     * Creates the slots of a screen without fish.
+     *
+     * @param screenWidth  Width of the screen in pixels.
+     * @param screenHeight Height of the screen in pixels.
+     */
+    public FishSlots(final int screenWidth, final int screenHeight) {
+        cScreenWidth = screenWidth;
+        cScreenHeight = screenHeight;
+    }
+
+    /**
+     * Adds a fish in the middle of the screen. The caller gives it an angle.
+     *
+     * @param width  Width of the image of the fish, before scaling.
+     * @param height Height of the image of the fish, before scaling.
+     * @return The slot of the fish.
+     */
+    public int addSlot(final float width, final float height) {
+        if (cCount == cX.length) {
+            grow();
+        }
+        int slot = cCount++;
+        cWidth[slot] = width;
+        cHeight[slot] = height;
+        cX[slot] = cScreenWidth / 2;
+        cY[slot] = cScreenHeight / 2;
+        return slot;
+    }
+
+    /**
+     * Removes a fish, the last fish takes its slot.
+     *
+     * @param slot Slot of the fish.
+     */
+    public void remove(final int slot) {
+        int last = --cCount;
+        if (slot != last) {
+            cX[slot] = cX[last];
+            cY[slot] = cY[last];
+            cRotation[slot] = cRotation[last];
+            cAngle[slot] = cAngle[last];
+            cFlipped[slot] = cFlipped[last];
+            cWidth[slot] = cWidth[last];
+            cHeight[slot] = cHeight[last];
+        }
+    }
+
+    /**
+     * Changes the size of the screen and moves the fish that fell off it back onto the edge.
+     *
+     * @param width  Width of the screen in pixels.
+     * @param height Height of the screen in pixels.
+     */
+    public void resize(final int width, final int height) {
+        cScreenWidth = width;
+        cScreenHeight = height;
+        for (int slot = 0; slot < cCount; slot++) {
+            float halfWidth = cWidth[slot] / 2;
+            float halfHeight = cHeight[slot] / 2;
+            cX[slot] = Math.max(-halfWidth, Math.min(width - halfWidth, cX[slot]));
+            cY[slot] = Math.max(-halfHeight, Math.min(height - halfHeight, cY[slot]));
+        }
+    }
+
+    /**
+     * Returns the X location of the bottom left corner of a fish.
+     *
+     * @param slot Slot of the fish.
+     * @return X location in pixels.
+     */
+    public float getX(final int slot) {
+        return cX[slot];
+    }
+
+    /**
+     * Returns the Y location of the bottom left corner of a fish.
+     *
+     * @param slot Slot of the fish.
+     * @return Y location in pixels.
+     */
+    public float getY(final int slot) {
+        return cY[slot];
+    }
+
+    /**
+     * Returns the X location of the center of a fish.
+     *
+     * @param slot Slot of the fish.
+     * @return X location in pixels.
+     */
+    public float getCenterX(final int slot) {
+        return cX[slot] + cWidth[slot] / 2;
+    }
+
+    /**
+     * Returns the Y location of the center of a fish.
+     *
+     * @param slot Slot of the fish.
+     * @return Y location in pixels.
+     */
+    public float getCenterY(final int slot) {
+        return cY[slot] + cHeight[slot] / 2;
+    }
+
+    /**
+     * Returns the width of the image of a fish, before scaling.
+     *
+     * @param slot Slot of the fish.
+     * @return Width in pixels.
+     */
+    public float getWidth(final int slot) {
+        return cWidth[slot];
+    }
+
+    /**
+     * Returns the height of the image of a fish, before scaling.
+     *
+     * @param slot Slot of the fish.
+     * @return Height in pixels.
+     */
+    public float getHeight(final int slot) {
+        return cHeight[slot];
+    }
+
+    /**
+     * Returns the width of the screen the fish swim in.
+     *
+     * @return Width in pixels.
+     */
+    public int getScreenWidth() {
+        return cScreenWidth;
+    }
+
+    /**
+     * Returns the height of the screen the fish swim in.
+     *
+     * @return Height in pixels.
+     */
+    public int getScreenHeight() {
+        return cScreenHeight;
+    }
+
+    /**
+     * Returns the amount of fish.
+     *
+     * @return Amount of fish.
+     */
+    public int size() {
+        return cCount;
+    }
+
+    /**
+     * Doubles the capacity of the arrays.
+     */
+    protected void grow() {
+        int capacity = cX.length * 2;
+        cX = Arrays.copyOf(cX, capacity);
+        cY = Arrays.copyOf(cY, capacity);
+        cRotation = Arrays.copyOf(cRotation, capacity);
+        cAngle = Arrays.copyOf(cAngle, capacity);
+        cFlipped = Arrays.copyOf(cFlipped, capacity);
+        cWidth = Arrays.copyOf(cWidth, capacity);
+        cHeight = Arrays.copyOf(cHeight, capacity);
+    }
+}
@@ -0,0 +1,333 @@
+package cg.group4.view.aquarium;
+
+import cg.group4.data_structures.collection.collectibles.Collectible;
+import cg.group4.view.rewards.RewardUtil;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws all the fish of the aquarium in a single pass of one SpriteBatch.
+ * The fish images are packed into one texture atlas, every fish is tinted through the vertex colour of the batch,
+ * and the position and rotation of every fish are kept in the slots of the tank, which the motion of the tank moves.
+ * The renderers of the collectibles only identify their fish, for example when it is touched.
+ * Fish outside the screen are skipped when culling is on, and a school has its count drawn over it.
+ */
+public class FishTank extends FishSlots implements Disposable {
+
+    /**
+     * Images of the fish that are packed into the atlas.
+     */
+    protected static final String[] IMAGE_PATHS = {"images/FishA.png", "images/FishB.png", "images/FishC.png"};
+
+    /**
+     * Scale at which the fish are drawn.
+     */
+    public static final float SCALE = 0.3f;
+
+    /**
+     * Size of a page of the atlas in pixels.
+     */
+    protected static final int PAGE_SIZE = 1024;
+
+    /**
+     * Most sprites the batch holds before it has to flush, the largest size a SpriteBatch supports.
+     */
+    protected static final int BATCH_SIZE = 5460;
+
+    /**
+     * Atlas holding the images of all fish.
+     */
+    protected TextureAtlas cAtlas;
+
+    /**
+     * Region of every image in the atlas, in the order of IMAGE_PATHS.
+     */
+    protected TextureRegion[] cRegions = new TextureRegion[IMAGE_PATHS.length];
+
+    /**
+     * Batch the fish are drawn with.
+     */
+    protected SpriteBatch cBatch;
+
+    /**
+     * Font the badges of schools are drawn with.
+     */
+    protected BitmapFont cFont;
+
+    /**
+     * Level of detail of the aquarium.
+     */
+    protected AquariumSettings cSettings;
+
+    /**
+     * Index in cRegions of the image of every fish.
+     */
+    protected int[] cRegion = new int[INITIAL_CAPACITY];
+
+    /**
+     * Tint of every fish as a packed colour.
+     */
+    protected float[] cColor = new float[INITIAL_CAPACITY];
+
+    /**
+     * Text drawn over every fish, the amount of fish in its school, or null.
+     */
+    protected String[] cBadges = new String[INITIAL_CAPACITY];
+
+    /**
+     * Amount of fish that have a badge.
+     */
+    protected int cBadgeCount;
+
+    /**
+     * The renderer of every fish.
+     */
+    protected CollectibleRenderer[] cRenderers = new CollectibleRenderer[INITIAL_CAPACITY];
+
+    /**
+     * Moves the fish.
+     */
+    protected FishMotion cMotion;
+
+    /**
+     * Packs the fish images into an atlas and creates the batch.
+     *
+     * @param settings Level of detail of the aquarium.
+     */
+    public FishTank(final AquariumSettings settings) {
+        super(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        cSettings = settings;
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 2, false);
+        for (String path : IMAGE_PATHS) {
+            Pixmap pixmap = new Pixmap(Gdx.files.internal(path));
+            packer.pack(path, pixmap);
+            pixmap.dispose();
+        }
+        cAtlas = packer.generateTextureAtlas(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear, false);
+        packer.dispose();
+        for (int i = 0; i < IMAGE_PATHS.length; i++) {
+            cRegions[i] = cAtlas.findRegion(IMAGE_PATHS[i]);
+        }
+        cBatch = new SpriteBatch(BATCH_SIZE);
+        cFont = new BitmapFont();
+        cMotion = new FishMotion(this, new Random().nextLong());
+    }
+
+    /**
+     * Adds the fish of a collectible to the tank, in the middle of the screen swimming at a random angle.
+     *
+     * @param renderer    The renderer that moves the fish.
+     * @param collectible The collectible, which determines the image and tint of the fish.
+     * @return The slot of the fish, which changes when other fish are removed.
+     */
+    public int add(final CollectibleRenderer renderer, final Collectible collectible) {
+        int region = regionOf(collectible.getImagePath());
+        int slot = addSlot(cRegions[region].getRegionWidth(), cRegions[region].getRegionHeight());
+        cRenderers[slot] = renderer;
+        cRegion[slot] = region;
+        cColor[slot] = RewardUtil.getFloatBits(collectible.getHue());
+        cBadges[slot] = null;
+        cMotion.spawn(slot);
+        return slot;
+    }
+
+    /**
+     * Removes a fish. The last fish takes its slot and its renderer is told so.
+     *
+     * @param slot Slot of the fish.
+     */
+    @Override
+    public void remove(final int slot) {
+        setBadge(slot, null);
+        super.remove(slot);
+        int last = cCount;
+        if (slot != last) {
+            cRegion[slot] = cRegion[last];
+            cColor[slot] = cColor[last];
+            cBadges[slot] = cBadges[last];
+            cRenderers[slot] = cRenderers[last];
+            cRenderers[slot].setSlot(slot);
+        }
+        cRenderers[last] = null;
+        cBadges[last] = null;
+    }
+
+    /**
+     * Sets the text drawn over a fish.
+     *
+     * @param slot  Slot of the fish.
+     * @param badge The text, or null for none.
+     */
+    public void setBadge(final int slot, final String badge) {
+        if (cBadges[slot] == null && badge != null) {
+            cBadgeCount++;
+        } else if (cBadges[slot] != null && badge == null) {
+            cBadgeCount--;
+        }
+        cBadges[slot] = badge;
+    }
+
+    /**
+     * Moves the fish for the time of a frame.
+     *
+     * @param delta Length of the frame in seconds.
+     */
+    public void update(final float delta) {
+        cMotion.update(delta);
+    }
+
+    /**
+     * Draws every fish in a single batch.
+     */
+    public void draw() {
+        final boolean culling = cSettings.isCulling();
+        cBatch.begin();
+        for (int slot = 0; slot < cCount; slot++) {
+            TextureRegion region = cRegions[cRegion[slot]];
+            float width = cWidth[slot];
+            float height = cHeight[slot];
+            if (culling && !isVisible(slot, width, height)) {
+                continue;
+            }
+            cBatch.setColor(cColor[slot]);
+            cBatch.draw(region, cX[slot], cY[slot], width / 2, height / 2, width, height,
+                    SCALE, cFlipped[slot] ? -SCALE : SCALE, cRotation[slot]);
+        }
+        if (cBadgeCount > 0) {
+            drawBadges(culling);
+        }
+        cBatch.end();
+    }
+
+    /**
+     * Draws the badges after all fish, so the batch switches texture only once.
+     *
+     * @param culling Whether badges of fish outside the screen are skipped.
+     */
+    protected void drawBadges(final boolean culling) {
+        cBatch.setColor(1, 1, 1, 1);
+        for (int slot = 0; slot < cCount; slot++) {
+            if (cBadges[slot] != null && (!culling || isVisible(slot, getWidth(slot), getHeight(slot)))) {
+                cFont.draw(cBatch, cBadges[slot], getCenterX(slot), getCenterY(slot));
+            }
+        }
+    }
+
+    /**
+     * Checks whether any part of a fish might be on the screen, at any rotation.
+     *
+     * @param slot   Slot of the fish.
+     * @param width  Width of its image before scaling.
+     * @param height Height of its image before scaling.
+     * @return False if the fish is certainly outside the screen.
+     */
+    protected boolean isVisible(final int slot, final float width, final float height) {
+        float radius = Math.max(width, height) * SCALE / 2;
+        float centerX = cX[slot] + width / 2;
+        float centerY = cY[slot] + height / 2;
+        return centerX + radius >= 0 && centerX - radius <= cScreenWidth
+                && centerY + radius >= 0 && centerY - radius <= cScreenHeight;
+    }
+
+    /**
+     * Finds the top most fish under a point on the screen.
+     *
+     * @param x X location in pixels from the left.
+     * @param y Y location in pixels from the bottom.
+     * @return The renderer of the fish, or null if there is no fish at the point.
+     */
+    public CollectibleRenderer hit(final float x, final float y) {
+        for (int slot = cCount - 1; slot >= 0; slot--) {
+            float halfWidth = getWidth(slot) / 2;
+            float halfHeight = getHeight(slot) / 2;
+            float dx = x - (cX[slot] + halfWidth);
+            float dy = y - (cY[slot] + halfHeight);
+            float cos = MathUtils.cosDeg(cRotation[slot]);
+            float sin = MathUtils.sinDeg(cRotation[slot]);
+            float localX = dx * cos + dy * sin;
+            float localY = dy * cos - dx * sin;
+            if (Math.abs(localX) <= halfWidth * SCALE && Math.abs(localY) <= halfHeight * SCALE) {
+                return cRenderers[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Updates the projection of the batch to a new screen size.
+     *
+     * @param width  Width of the screen in pixels.
+     * @param height Height of the screen in pixels.
+     */
+    @Override
+    public void resize(final int width, final int height) {
+        super.resize(width, height);
+        cBatch.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+    }
+
+    /**
+     * Returns the motion that moves the fish.
+     *
+     * @return The motion.
+     */
+    public FishMotion getMotion() {
+        return cMotion;
+    }
+
+    /**
+     * Returns the renderer of a fish.
+     *
+     * @param slot Slot of the fish.
+     * @return The renderer.
+     */
+    public CollectibleRenderer getRenderer(final int slot) {
+        return cRenderers[slot];
+    }
+
+    /**
+     * Returns the index of the region of an image.
+     *
+     * @param path Path of the image.
+     * @return Index in cRegions, the first image when the path is unknown.
+     */
+    protected int regionOf(final String path) {
+        for (int i = 0; i < IMAGE_PATHS.length; i++) {
+            if (IMAGE_PATHS[i].equals(path)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Doubles the capacity of the arrays.
+     */
+    @Override
+    protected void grow() {
+        super.grow();
+        int capacity = cX.length;
+        cRegion = Arrays.copyOf(cRegion, capacity);
+        cColor = Arrays.copyOf(cColor, capacity);
+        cRenderers = Arrays.copyOf(cRenderers, capacity);
+        cBadges = Arrays.copyOf(cBadges, capacity);
+    }
+
+    @Override
+    public void dispose() {
+        cMotion.dispose();
+        cBatch.dispose();
+        cFont.dispose();
+        cAtlas.dispose();
+    }
+}
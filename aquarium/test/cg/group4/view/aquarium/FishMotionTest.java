@@ -0,0 +1,136 @@
+package cg.group4.view.aquarium;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the fish of a tank move the same however the frames and threads fall.
+ */
+public class FishMotionTest {
+
+    /**
+     * Seed of the motions.
+     */
+    protected final long cSeed = 42;
+
+    /**
+     * Amount of fish in the small tanks.
+     */
+    protected final int cFish = 16;
+
+    /**
+     * Amount of steps the fish swim.
+     */
+    protected final int cSteps = 600;
+
+    /**
+     * Motions created by the test, stopped afterwards.
+     */
+    protected FishMotion cFirst, cSecond;
+
+    /**
+     * Slots of the fish moved by the first and the second motion.
+     */
+    protected FishSlots cFirstSlots, cSecondSlots;
+
+    /**
+     * Creates two motions with the same seed and fish.
+     */
+    @Before
+    public final void setUp() {
+        cFirstSlots = new FishSlots(800, 480);
+        cSecondSlots = new FishSlots(800, 480);
+        cFirst = new FishMotion(cFirstSlots, cSeed);
+        cSecond = new FishMotion(cSecondSlots, cSeed);
+    }
+
+    /**
+     * Stops the threads of the motions.
+     */
+    @After
+    public final void tearDown() {
+        cFirst.dispose();
+        cSecond.dispose();
+    }
+
+    /**
+     * Adds the same fish to both tanks.
+     *
+     * @param amount Amount of fish.
+     */
+    protected void spawn(final int amount) {
+        for (int i = 0; i < amount; i++) {
+            cFirst.spawn(cFirstSlots.addSlot(100, 50));
+            cSecond.spawn(cSecondSlots.addSlot(100, 50));
+        }
+    }
+
+    /**
+     * Checks that every fish of both tanks is at the same place swimming at the same angle.
+     */
+    protected void assertSameFish() {
+        assertEquals(cFirst.getSteps(), cSecond.getSteps());
+        for (int slot = 0; slot < cFirstSlots.size(); slot++) {
+            assertEquals(cFirstSlots.getX(slot), cSecondSlots.getX(slot), 0);
+            assertEquals(cFirstSlots.getY(slot), cSecondSlots.getY(slot), 0);
+            assertEquals(cFirstSlots.cAngle[slot], cSecondSlots.cAngle[slot]);
+            assertEquals(cFirstSlots.cFlipped[slot], cSecondSlots.cFlipped[slot]);
+        }
+    }
+
+    /**
+     * Tests that the fish swim the same path at 30 and at 144 frames per second.
+     * A frame at 144 frames per second takes at most one step, so it stops at exactly the steps taken at 30.
+     */
+    @Test
+    public final void testFrameRate() {
+        spawn(cFish);
+        while (cFirst.getSteps() < cSteps) {
+            cFirst.update(1 / 30f);
+        }
+        while (cSecond.getSteps() < cFirst.getSteps()) {
+            cSecond.update(1 / 144f);
+        }
+        assertSameFish();
+    }
+
+    /**
+     * Tests that a long frame is cut, so the fish do not jump after a pause.
+     */
+    @Test
+    public final void testMaxFrame() {
+        assertEquals((int) (FishMotion.MAX_FRAME / FishMotion.STEP), cFirst.update(10f));
+    }
+
+    /**
+     * Tests that a large tank moves the same on several threads as on one.
+     */
+    @Test
+    public final void testParallel() {
+        spawn(FishMotion.PARALLEL_THRESHOLD);
+        cSecond.setParallel(false);
+        for (int frame = 0; frame < cSteps / 10; frame++) {
+            cFirst.update(FishMotion.STEP * 2);
+            cSecond.update(FishMotion.STEP * 2);
+        }
+        assertSameFish();
+    }
+
+    /**
+     * Tests that no fish ever swims straight up, straight down or backwards.
+     */
+    @Test
+    public final void testAngles() {
+        spawn(cFish);
+        for (int step = 0; step < cSteps; step++) {
+            cFirst.update(FishMotion.STEP);
+            for (int slot = 0; slot < cFish; slot++) {
+                assertTrue(FishMotion.isValid(cFirstSlots.cAngle[slot]));
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package cg.group4.client;
 
 import cg.group4.client.connection.Connection;
 import cg.group4.client.connection.UnConnected;
+import cg.group4.data_structures.HostData;
 import cg.group4.data_structures.PlayerData;
 import cg.group4.data_structures.collection.Collection;
 import cg.group4.data_structures.collection.collectibles.Collectible;
@@ -9,6 +10,7 @@ import cg.group4.data_structures.subscribe.Subject;
 import cg.group4.server.database.MultiResponseHandler;
 import cg.group4.server.database.ResponseHandler;
 import cg.group4.server.database.query.*;
+import cg.group4.server.relay.RelayFrame;
 
 import java.net.InetAddress;
 import java.net.NetworkInterface;
@@ -59,6 +61,10 @@ public final class Client {
      * These are added to the Gdx.app.postRunnable().
      */
     protected ArrayList<Runnable> cPostRunnables;
+    /**
+     * Whether multi-player events are hosted through the relay of the server instead of on the local network.
+     */
+    protected boolean cRelayed;
 
 
     /**
@@ -141,6 +147,24 @@ public final class Client {
         return cRemoteChangeSubject;
     }
 
+    /**
+     * Returns the local connection.
+     *
+     * @return The connection.
+     */
+    public Connection getLocalConnection() {
+        return cLocalConnection;
+    }
+
+    /**
+     * Returns the remote connection.
+     *
+     * @return The connection.
+     */
+    public Connection getRemoteConnection() {
+        return cRemoteConnection;
+    }
+
     /**
      * Sets the local connection to the new connection.
      *
@@ -376,11 +400,33 @@ public final class Client {
 
     /**
      * Stores the host ip on the server with a generated code that it will return to let the client connect.
+     * When relayed, the relay of the server is stored instead, as the host might not be reachable.
      *
+     * @param port            The port the host listens on.
      * @param responseHandler The task to execute once a reply is received completed.
      */
     public void hostEvent(int port, final ResponseHandler responseHandler) {
-        cRemoteConnection.send(new RequestHostCode(getIPAddress(true), port), responseHandler);
+        if (cRelayed) {
+            cRemoteConnection.send(new RequestHostCode(HostData.RELAYED, RelayFrame.DEFAULT_PORT), responseHandler);
+        } else {
+            cRemoteConnection.send(new RequestHostCode(getIPAddress(true), port), responseHandler);
+        }
+    }
+
+    /**
+     * Sets whether multi-player events are hosted through the relay of the server.
+     * @param relayed True to play across networks, false to play on the local network.
+     */
+    public void setRelayed(boolean relayed) {
+        cRelayed = relayed;
+    }
+
+    /**
+     * Returns whether multi-player events are hosted through the relay of the server.
+     * @return If hosting is relayed.
+     */
+    public boolean isRelayed() {
+        return cRelayed;
     }
 
     /**
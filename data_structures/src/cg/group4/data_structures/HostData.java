@@ -3,6 +3,10 @@ package cg.group4.data_structures;
 import java.io.Serializable;
 
 public class HostData implements Serializable {
+    /**
+     * Stored as IP of a host that is only reachable through the relay of the server.
+     */
+    public static final String RELAYED = "relay";
     /**
      * Ip of the host.
      */
@@ -30,6 +34,14 @@ public class HostData implements Serializable {
         return cIp;
     }
 
+    /**
+     * Checks whether the host is only reachable through the relay, in which case the port is that of the relay.
+     * @return If the host is relayed.
+     */
+    public boolean isRelayed() {
+        return RELAYED.equals(cIp);
+    }
+
     /**
      * Gets the port.
      * @return The port.
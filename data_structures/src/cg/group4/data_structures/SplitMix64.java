@@ -0,0 +1,63 @@
+package cg.group4.data_structures;
+
+/**
+ * The output function of SplitMix64, the generator behind SplittableRandom.
+ * Mixing a counter instead of stepping a shared state lets the same arguments always give the same random bits, so
+ * the fish of a swarm or a tank can be moved in any order, on any thread or on another phone and still move the same.
+ */
+public final class SplitMix64 {
+
+    /**
+     * Increment of the generator, the fractional part of the golden ratio.
+     */
+    public static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Scale of the 24 random bits of a float in [0-1).
+     */
+    protected static final float FLOAT_UNIT = 1f / (1 << 24);
+
+    /**
+     * Scale of the 53 random bits of a double in [0-1).
+     */
+    protected static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /**
+     * Not instantiable.
+     */
+    private SplitMix64() {
+    }
+
+    /**
+     * Returns the random bits of a counter: the counter times the increment, mixed.
+     *
+     * @param counter The counter.
+     * @return The mixed bits.
+     */
+    public static long mix(final long counter) {
+        long z = counter * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the random float of a counter.
+     *
+     * @param counter The counter.
+     * @return A float in [0-1).
+     */
+    public static float nextFloat(final long counter) {
+        return (mix(counter) >>> 40) * FLOAT_UNIT;
+    }
+
+    /**
+     * Returns the random double of a counter.
+     *
+     * @param counter The counter.
+     * @return A double in [0-1).
+     */
+    public static double nextDouble(final long counter) {
+        return (mix(counter) >>> 11) * DOUBLE_UNIT;
+    }
+}
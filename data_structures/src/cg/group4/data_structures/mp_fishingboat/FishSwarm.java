@@ -0,0 +1,325 @@
+package cg.group4.data_structures.mp_fishingboat;
+
+import cg.group4.data_structures.SplitMix64;
+
+import java.util.Arrays;
+
+/**
+ * Positions and destinations of all the smallfish of an event, kept in primitive arrays indexed by fish id so one
+ * tight loop moves every fish.
+ * Every destination is drawn from the seed of the swarm, the id of the fish and the leg of its swim, the amount of
+ * destinations it reached before. A host and client that share the seed pick the same destinations without sending
+ * them, no matter in which order or on which frame their fish arrive.
+ */
+public class FishSwarm {
+
+    /**
+     * Speed of the smallfish per step.
+     */
+    public static final float SPEED = 0.002f;
+
+    /**
+     * Highest leg, after which the legs start over so a leg always fits in 16 bits.
+     */
+    public static final int MAX_LEG = 0xFFFF;
+
+    /**
+     * Amount of fish ids the arrays start with, they grow when larger ids are added.
+     */
+    protected static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Width of a fish.
+     */
+    protected static final float WIDTH = (float) SmallFishData.WIDTH;
+
+    /**
+     * Height of a fish.
+     */
+    protected static final float HEIGHT = (float) SmallFishData.HEIGHT;
+
+    /**
+     * The seed the destinations are drawn from.
+     */
+    protected final int cSeed;
+
+    /**
+     * X locations, indexed by fish id.
+     */
+    protected float[] cX = new float[INITIAL_CAPACITY];
+
+    /**
+     * Y locations, indexed by fish id.
+     */
+    protected float[] cY = new float[INITIAL_CAPACITY];
+
+    /**
+     * X locations of the destinations, indexed by fish id.
+     */
+    protected float[] cDestinationX = new float[INITIAL_CAPACITY];
+
+    /**
+     * Y locations of the destinations, indexed by fish id.
+     */
+    protected float[] cDestinationY = new float[INITIAL_CAPACITY];
+
+    /**
+     * Leg of the current destination, indexed by fish id.
+     */
+    protected int[] cLegs = new int[INITIAL_CAPACITY];
+
+    /**
+     * Whether the fish is swimming, false when it was caught or never added. Indexed by fish id.
+     */
+    protected boolean[] cSwimming = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Amount of fish ids in use.
+     */
+    protected int cSize;
+
+    /**
+     * Amount of fish that are swimming.
+     */
+    protected int cSwimmingCount;
+
+    /**
+     * Ids of the fish that reached their destination in the latest step.
+     */
+    protected int[] cArrived = new int[INITIAL_CAPACITY];
+
+    /**
+     * Creates an empty swarm.
+     *
+     * @param seed The seed the destinations are drawn from.
+     */
+    public FishSwarm(final int seed) {
+        cSeed = seed;
+    }
+
+    /**
+     * Adds fish with the ids 0 up to the amount, each starting at its first destination and swimming to its second.
+     *
+     * @param amount Amount of fish.
+     */
+    public void spawn(final int amount) {
+        for (int id = 0; id < amount; id++) {
+            set(id, random(id, 0, 0), random(id, 0, 1), 1);
+        }
+    }
+
+    /**
+     * Adds a fish or moves it, for example to apply the position received from the host.
+     *
+     * @param id  Id of the fish.
+     * @param x   X location.
+     * @param y   Y location.
+     * @param leg Leg of the destination the fish swims to.
+     */
+    public void set(final int id, final float x, final float y, final int leg) {
+        ensureCapacity(id + 1);
+        if (!cSwimming[id]) {
+            cSwimming[id] = true;
+            cSwimmingCount++;
+        }
+        cSize = Math.max(cSize, id + 1);
+        cX[id] = x;
+        cY[id] = y;
+        setLeg(id, leg);
+    }
+
+    /**
+     * Removes a fish, for example because it was caught.
+     *
+     * @param id Id of the fish.
+     */
+    public void remove(final int id) {
+        if (isSwimming(id)) {
+            cSwimming[id] = false;
+            cSwimmingCount--;
+        }
+    }
+
+    /**
+     * Moves every fish a step closer to its destination. Fish that reach it get the destination of their next leg.
+     *
+     * @return The amount of fish that reached their destination, their ids are available through getArrived.
+     */
+    public int move() {
+        final float halfWidth = WIDTH / 2;
+        final float halfHeight = HEIGHT / 2;
+        int arrived = 0;
+        for (int id = 0; id < cSize; id++) {
+            if (!cSwimming[id]) {
+                continue;
+            }
+            float x = cX[id] + SPEED * Math.signum(cDestinationX[id] - (cX[id] + halfWidth));
+            float y = cY[id] + SPEED * Math.signum(cDestinationY[id] - (cY[id] + halfHeight));
+            cX[id] = x;
+            cY[id] = y;
+            if (cDestinationX[id] >= x && cDestinationX[id] <= x + WIDTH
+                    && cDestinationY[id] >= y && cDestinationY[id] <= y + HEIGHT) {
+                setLeg(id, cLegs[id] + 1);
+                if (arrived == cArrived.length) {
+                    cArrived = Arrays.copyOf(cArrived, arrived * 2);
+                }
+                cArrived[arrived++] = id;
+            }
+        }
+        return arrived;
+    }
+
+    /**
+     * Returns the ids of the fish that reached their destination in the latest step, only the amount move returned
+     * are valid.
+     *
+     * @return The ids.
+     */
+    public int[] getArrived() {
+        return cArrived;
+    }
+
+    /**
+     * Checks whether the given boundaries overlap with a fish.
+     *
+     * @param id   Id of the fish.
+     * @param xMin Left most position of the rectangle.
+     * @param xMax Right most position of the rectangle.
+     * @param yMin Bottom most position of the rectangle.
+     * @param yMax Top most position of the rectangle.
+     * @return True if the fish is swimming and overlaps the rectangle.
+     */
+    public boolean intersects(final int id, final double xMin, final double xMax, final double yMin,
+                              final double yMax) {
+        return isSwimming(id) && cX[id] < xMax && cX[id] + SmallFishData.WIDTH > xMin
+                && cY[id] < yMax && cY[id] + SmallFishData.HEIGHT > yMin;
+    }
+
+    /**
+     * Checks whether a fish is swimming.
+     *
+     * @param id Id of the fish.
+     * @return False if the fish was caught or never added.
+     */
+    public boolean isSwimming(final int id) {
+        return id >= 0 && id < cSize && cSwimming[id];
+    }
+
+    /**
+     * Returns the X location of a fish.
+     *
+     * @param id Id of the fish.
+     * @return The X location.
+     */
+    public float getX(final int id) {
+        return cX[id];
+    }
+
+    /**
+     * Returns the Y location of a fish.
+     *
+     * @param id Id of the fish.
+     * @return The Y location.
+     */
+    public float getY(final int id) {
+        return cY[id];
+    }
+
+    /**
+     * Returns the X location of the destination of a fish.
+     *
+     * @param id Id of the fish.
+     * @return The X location.
+     */
+    public float getDestinationX(final int id) {
+        return cDestinationX[id];
+    }
+
+    /**
+     * Returns the Y location of the destination of a fish.
+     *
+     * @param id Id of the fish.
+     * @return The Y location.
+     */
+    public float getDestinationY(final int id) {
+        return cDestinationY[id];
+    }
+
+    /**
+     * Returns the leg of the destination a fish swims to.
+     *
+     * @param id Id of the fish.
+     * @return The leg.
+     */
+    public int getLeg(final int id) {
+        return cLegs[id];
+    }
+
+    /**
+     * Returns the amount of fish ids in use, including those of caught fish.
+     *
+     * @return One more than the highest id.
+     */
+    public int size() {
+        return cSize;
+    }
+
+    /**
+     * Returns the amount of fish that are swimming.
+     *
+     * @return Fish left.
+     */
+    public int getSwimmingCount() {
+        return cSwimmingCount;
+    }
+
+    /**
+     * Returns the seed the destinations are drawn from.
+     *
+     * @return The seed.
+     */
+    public int getSeed() {
+        return cSeed;
+    }
+
+    /**
+     * Sets the destination of a fish to that of a leg.
+     *
+     * @param id  Id of the fish.
+     * @param leg The leg, wrapped at MAX_LEG.
+     */
+    protected void setLeg(final int id, final int leg) {
+        cLegs[id] = leg & MAX_LEG;
+        cDestinationX[id] = random(id, cLegs[id], 0);
+        cDestinationY[id] = random(id, cLegs[id], 1);
+    }
+
+    /**
+     * Draws a coordinate from the seed, on a counter made of the seed and the arguments.
+     *
+     * @param id   Id of the fish.
+     * @param leg  Leg of the swim.
+     * @param axis 0 for X, 1 for Y.
+     * @return A coordinate in [0-1).
+     */
+    protected float random(final int id, final int leg, final int axis) {
+        return SplitMix64.nextFloat(((long) cSeed << 32) + (((long) id << 1 | axis) << 24) + leg + 1);
+    }
+
+    /**
+     * Grows the per fish arrays.
+     *
+     * @param size Amount of fish ids that have to fit.
+     */
+    protected void ensureCapacity(final int size) {
+        if (size > cX.length) {
+            int capacity = Math.max(size, cX.length * 2);
+            cX = Arrays.copyOf(cX, capacity);
+            cY = Arrays.copyOf(cY, capacity);
+            cDestinationX = Arrays.copyOf(cDestinationX, capacity);
+            cDestinationY = Arrays.copyOf(cDestinationY, capacity);
+            cLegs = Arrays.copyOf(cLegs, capacity);
+            cSwimming = Arrays.copyOf(cSwimming, capacity);
+        }
+    }
+}
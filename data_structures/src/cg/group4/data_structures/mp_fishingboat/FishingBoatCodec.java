@@ -0,0 +1,498 @@
+package cg.group4.data_structures.mp_fishingboat;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed layout binary encoding of the UDP messages of the FishingBoatEvent.
+ * Every message starts with a one byte message type, a four byte sequence number and a four byte time stamp
+ * of the sender in milliseconds, followed by its fields.
+ * Messages are written into and read from a buffer supplied by the caller, so no objects are created per packet.
+ */
+public final class FishingBoatCodec {
+
+    /**
+     * Message type of the boat state, send by the host.
+     */
+    public static final byte BOAT_STATE = 1;
+
+    /**
+     * Message type of the crane rotation, send by the client.
+     */
+    public static final byte CRANE_ROTATION = 2;
+
+    /**
+     * Message type of the fish that changed since the last acknowledged fish delta, send by the host.
+     */
+    public static final byte FISH_DELTA = 3;
+
+    /**
+     * Message type of the acknowledgement of a fish delta, send by the client.
+     */
+    public static final byte FISH_ACK = 4;
+
+    /**
+     * Message type of the state of a room: the boat and the crane of every client, send by the host to all clients.
+     */
+    public static final byte ROOM_STATE = 5;
+
+    /**
+     * Largest message that is send, fits in a single datagram on every link.
+     */
+    public static final int MAX_DATAGRAM_SIZE = 508;
+
+    /**
+     * Size of the header in bytes: message type, sequence number and time stamp.
+     */
+    public static final int HEADER_SIZE = 1 + 4 + 4;
+
+    /**
+     * Size of a boat state message in bytes: header, x, y and rotation.
+     */
+    public static final int BOAT_STATE_SIZE = HEADER_SIZE + 4 + 4 + 4;
+
+    /**
+     * Size of a room state without cranes in bytes: header, x, y, rotation and the amount of cranes.
+     */
+    public static final int ROOM_STATE_SIZE = BOAT_STATE_SIZE + 1;
+
+    /**
+     * Size of a crane in a room state: the id of the client operating it and its rotation.
+     */
+    public static final int ROOM_CRANE_SIZE = 1 + 4;
+
+    /**
+     * Size of a crane rotation message in bytes: header and rotation.
+     */
+    public static final int CRANE_ROTATION_SIZE = HEADER_SIZE + 4;
+
+    /**
+     * Size of a fish acknowledgement in bytes: header and the acknowledged tick.
+     */
+    public static final int FISH_ACK_SIZE = HEADER_SIZE + 4;
+
+    /**
+     * Size of an empty fish delta in bytes: header, tick, seed of the swarm, amount of fish left, caught and changed
+     * counts.
+     */
+    public static final int FISH_DELTA_SIZE = HEADER_SIZE + 4 + 4 + 2 + 2 + 2;
+
+    /**
+     * Size of a caught fish in a fish delta: its id.
+     */
+    public static final int CAUGHT_FISH_SIZE = 2;
+
+    /**
+     * Size of a changed fish in a fish delta: its id, quantized position and leg. The destination of the leg is drawn
+     * from the seed of the swarm by the receiver.
+     */
+    public static final int CHANGED_FISH_SIZE = 2 + 2 * 2 + 2;
+
+    /**
+     * Size of the largest message, used to allocate buffers.
+     */
+    public static final int MAX_SIZE = MAX_DATAGRAM_SIZE;
+
+    /**
+     * Mask to read a short as an unsigned value.
+     */
+    protected static final int UNSIGNED_SHORT = 0xFFFF;
+
+    /**
+     * Largest fish id that can be encoded.
+     */
+    public static final int MAX_FISH_ID = UNSIGNED_SHORT;
+
+    /**
+     * Lowest coordinate that can be quantized, fish can swim a bit outside of the screen.
+     */
+    protected static final float QUANTIZE_MIN = -0.5f;
+
+    /**
+     * Range of the coordinates that can be quantized.
+     */
+    protected static final float QUANTIZE_RANGE = 2f;
+
+    /**
+     * Offset in a fish delta of the caught and changed counts.
+     */
+    protected static final int COUNTS_OFFSET = FISH_DELTA_SIZE - 4;
+
+    /**
+     * Utility class, not meant to be instantiated.
+     */
+    private FishingBoatCodec() {
+    }
+
+    /**
+     * Writes the state of the boat into the buffer, the buffer is flipped and ready to be send afterwards.
+     *
+     * @param buffer   Buffer to write in, its content is cleared.
+     * @param sequence Sequence number of the message.
+     * @param time     Time stamp of the sender in milliseconds.
+     * @param boat     The boat to write.
+     */
+    public static void writeBoatState(final ByteBuffer buffer, final int sequence, final int time,
+                                      final BoatData boat) {
+        buffer.clear();
+        buffer.put(BOAT_STATE);
+        buffer.putInt(sequence);
+        buffer.putInt(time);
+        buffer.putFloat(boat.getcLocation().getX());
+        buffer.putFloat(boat.getcLocation().getY());
+        buffer.putFloat((float) boat.getcRotation());
+        buffer.flip();
+    }
+
+    /**
+     * Writes the rotation of the crane into the buffer, the buffer is flipped and ready to be send afterwards.
+     *
+     * @param buffer   Buffer to write in, its content is cleared.
+     * @param sequence Sequence number of the message.
+     * @param time     Time stamp of the sender in milliseconds.
+     * @param rotation Rotation of the crane in radians.
+     */
+    public static void writeCraneRotation(final ByteBuffer buffer, final int sequence, final int time,
+                                          final double rotation) {
+        buffer.clear();
+        buffer.put(CRANE_ROTATION);
+        buffer.putInt(sequence);
+        buffer.putInt(time);
+        buffer.putFloat((float) rotation);
+        buffer.flip();
+    }
+
+    /**
+     * Writes the state of a room into the buffer, the buffer is flipped and ready to be send afterwards.
+     * Only the active cranes are written, so the message grows with the amount of clients in the room.
+     *
+     * @param buffer    Buffer to write in, its content is cleared.
+     * @param sequence  Sequence number of the message.
+     * @param time      Time stamp of the sender in milliseconds.
+     * @param boat      The boat to write.
+     * @param rotations Rotation of the crane of every client in radians, indexed by client id.
+     * @param active    Whether the crane of a client is operated, indexed by client id.
+     */
+    public static void writeRoomState(final ByteBuffer buffer, final int sequence, final int time,
+                                      final BoatData boat, final double[] rotations, final boolean[] active) {
+        buffer.clear();
+        buffer.put(ROOM_STATE);
+        buffer.putInt(sequence);
+        buffer.putInt(time);
+        buffer.putFloat(boat.getcLocation().getX());
+        buffer.putFloat(boat.getcLocation().getY());
+        buffer.putFloat((float) boat.getcRotation());
+        int countPosition = buffer.position();
+        buffer.put((byte) 0);
+        int count = 0;
+        for (int id = 0; id < active.length; id++) {
+            if (active[id]) {
+                buffer.put((byte) id);
+                buffer.putFloat((float) rotations[id]);
+                count++;
+            }
+        }
+        buffer.put(countPosition, (byte) count);
+        buffer.flip();
+    }
+
+    /**
+     * Reads the message type and sequence number. Has to be called before reading the fields of the message.
+     *
+     * @param buffer Buffer positioned at the start of a message.
+     * @return The message type, or -1 if the buffer is too small to hold a message of that type.
+     * A room state is checked for all its cranes, a fish delta is only checked for its fixed part, its fish are checked when they are read.
+     */
+    public static byte readType(final ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return -1;
+        }
+        byte type = buffer.get(buffer.position());
+        int size;
+        switch (type) {
+            case BOAT_STATE:
+                size = BOAT_STATE_SIZE;
+                break;
+            case CRANE_ROTATION:
+                size = CRANE_ROTATION_SIZE;
+                break;
+            case FISH_DELTA:
+                size = FISH_DELTA_SIZE;
+                break;
+            case FISH_ACK:
+                size = FISH_ACK_SIZE;
+                break;
+            case ROOM_STATE:
+                if (buffer.remaining() < ROOM_STATE_SIZE) {
+                    return -1;
+                }
+                size = ROOM_STATE_SIZE + buffer.get(buffer.position() + BOAT_STATE_SIZE) * ROOM_CRANE_SIZE;
+                break;
+            default:
+                return -1;
+        }
+        if (buffer.remaining() < size) {
+            return -1;
+        }
+        return type;
+    }
+
+    /**
+     * Reads the sequence number of the message, positioned at the time stamp afterwards.
+     *
+     * @param buffer Buffer positioned at the start of a message.
+     * @return The sequence number.
+     */
+    public static int readSequence(final ByteBuffer buffer) {
+        buffer.get();
+        return buffer.getInt();
+    }
+
+    /**
+     * Reads the time stamp of the message, positioned after the header afterwards.
+     *
+     * @param buffer Buffer positioned after the sequence number.
+     * @return Time stamp of the sender in milliseconds.
+     */
+    public static int readTime(final ByteBuffer buffer) {
+        return buffer.getInt();
+    }
+
+    /**
+     * Reads a boat state into an existing boat.
+     *
+     * @param buffer Buffer positioned after the header of a boat state message.
+     * @param boat   The boat to update.
+     */
+    public static void readBoatState(final ByteBuffer buffer, final BoatData boat) {
+        boat.getcLocation().setX(buffer.getFloat());
+        boat.getcLocation().setY(buffer.getFloat());
+        boat.setcRotation(buffer.getFloat());
+    }
+
+    /**
+     * Reads a boat state into an array, used when the state is buffered instead of applied right away.
+     *
+     * @param buffer Buffer positioned after the header of a boat state message.
+     * @param out    Array in which x, y and rotation are written.
+     */
+    public static void readBoatState(final ByteBuffer buffer, final float[] out) {
+        out[0] = buffer.getFloat();
+        out[1] = buffer.getFloat();
+        out[2] = buffer.getFloat();
+    }
+
+    /**
+     * Reads the amount of cranes in a room state.
+     *
+     * @param buffer Buffer positioned after the boat state of a room state message.
+     * @return The amount of cranes that follow.
+     */
+    public static int readCraneCount(final ByteBuffer buffer) {
+        return buffer.get();
+    }
+
+    /**
+     * Reads the id of the client operating a crane in a room state, followed by the rotation of the crane.
+     *
+     * @param buffer Buffer positioned at a crane.
+     * @return Id of the client.
+     */
+    public static int readCraneId(final ByteBuffer buffer) {
+        return buffer.get();
+    }
+
+    /**
+     * Reads the rotation of the crane.
+     *
+     * @param buffer Buffer positioned after the header of a crane rotation message, or after the id of a crane.
+     * @return Rotation of the crane in radians.
+     */
+    public static double readCraneRotation(final ByteBuffer buffer) {
+        return buffer.getFloat();
+    }
+
+    /**
+     * Writes the acknowledgement of a fish delta, the buffer is flipped and ready to be send afterwards.
+     *
+     * @param buffer   Buffer to write in, its content is cleared.
+     * @param sequence Sequence number of the message.
+     * @param time     Time stamp of the sender in milliseconds.
+     * @param tick     Tick of the fish delta that was applied.
+     */
+    public static void writeFishAck(final ByteBuffer buffer, final int sequence, final int time, final int tick) {
+        buffer.clear();
+        buffer.put(FISH_ACK);
+        buffer.putInt(sequence);
+        buffer.putInt(time);
+        buffer.putInt(tick);
+        buffer.flip();
+    }
+
+    /**
+     * Reads the acknowledged tick.
+     *
+     * @param buffer Buffer positioned after the header of a fish acknowledgement.
+     * @return Tick of the fish delta that was applied.
+     */
+    public static int readFishAck(final ByteBuffer buffer) {
+        return buffer.getInt();
+    }
+
+    /**
+     * Starts a fish delta. Caught fish have to be put before changed fish, after which the delta is ended.
+     *
+     * @param buffer    Buffer to write in, its content is cleared.
+     * @param sequence  Sequence number of the message.
+     * @param time      Time stamp of the sender in milliseconds.
+     * @param tick      Tick of the delta, acknowledged by the receiver.
+     * @param seed      Seed of the swarm.
+     * @param fishLeft  Amount of fish that have not been caught yet.
+     */
+    public static void beginFishDelta(final ByteBuffer buffer, final int sequence, final int time, final int tick,
+                                      final int seed, final int fishLeft) {
+        buffer.clear();
+        buffer.put(FISH_DELTA);
+        buffer.putInt(sequence);
+        buffer.putInt(time);
+        buffer.putInt(tick);
+        buffer.putInt(seed);
+        buffer.putShort((short) fishLeft);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+    }
+
+    /**
+     * Puts a caught fish in a fish delta.
+     *
+     * @param buffer Buffer holding a started fish delta.
+     * @param id     Id of the fish.
+     */
+    public static void putCaughtFish(final ByteBuffer buffer, final int id) {
+        buffer.putShort((short) id);
+    }
+
+    /**
+     * Puts a changed fish in a fish delta, with its position quantized to 16 bits and the leg it swims.
+     *
+     * @param buffer Buffer holding a started fish delta.
+     * @param id     Id of the fish.
+     * @param swarm  The swarm holding the fish.
+     */
+    public static void putChangedFish(final ByteBuffer buffer, final int id, final FishSwarm swarm) {
+        buffer.putShort((short) id);
+        buffer.putShort(quantize(swarm.getX(id)));
+        buffer.putShort(quantize(swarm.getY(id)));
+        buffer.putShort((short) swarm.getLeg(id));
+    }
+
+    /**
+     * Ends a fish delta, the buffer is flipped and ready to be send afterwards.
+     *
+     * @param buffer  Buffer holding a started fish delta.
+     * @param caught  Amount of caught fish that were put.
+     * @param changed Amount of changed fish that were put.
+     */
+    public static void endFishDelta(final ByteBuffer buffer, final int caught, final int changed) {
+        buffer.putShort(COUNTS_OFFSET, (short) caught);
+        buffer.putShort(COUNTS_OFFSET + 2, (short) changed);
+        buffer.flip();
+    }
+
+    /**
+     * Returns how many fish still fit in a fish delta.
+     *
+     * @param buffer   Buffer holding a started fish delta.
+     * @param fishSize CAUGHT_FISH_SIZE or CHANGED_FISH_SIZE.
+     * @return The amount of fish that fit.
+     */
+    public static int fishCapacity(final ByteBuffer buffer, final int fishSize) {
+        return Math.min(buffer.remaining(), MAX_DATAGRAM_SIZE - buffer.position()) / fishSize;
+    }
+
+    /**
+     * Reads the tick of a fish delta.
+     *
+     * @param buffer Buffer positioned after the header of a fish delta.
+     * @return The tick.
+     */
+    public static int readFishTick(final ByteBuffer buffer) {
+        return buffer.getInt();
+    }
+
+    /**
+     * Reads the seed of the swarm from a fish delta.
+     *
+     * @param buffer Buffer positioned after the tick of a fish delta.
+     * @return The seed.
+     */
+    public static int readFishSeed(final ByteBuffer buffer) {
+        return buffer.getInt();
+    }
+
+    /**
+     * Reads an amount of fish from a fish delta: the fish left, caught fish or changed fish, in that order after the
+     * seed.
+     *
+     * @param buffer Buffer positioned at the amount.
+     * @return The amount.
+     */
+    public static int readFishCount(final ByteBuffer buffer) {
+        return buffer.getShort() & UNSIGNED_SHORT;
+    }
+
+    /**
+     * Reads the id of a caught or changed fish.
+     *
+     * @param buffer Buffer positioned at a fish.
+     * @return Id of the fish.
+     */
+    public static int readFishId(final ByteBuffer buffer) {
+        return buffer.getShort() & UNSIGNED_SHORT;
+    }
+
+    /**
+     * Reads the position and leg of a changed fish into the swarm, which adds the fish when it is new.
+     *
+     * @param buffer Buffer positioned after the id of a changed fish.
+     * @param id     Id of the fish.
+     * @param swarm  The swarm to update.
+     */
+    public static void readChangedFish(final ByteBuffer buffer, final int id, final FishSwarm swarm) {
+        float x = dequantize(buffer.getShort());
+        float y = dequantize(buffer.getShort());
+        swarm.set(id, x, y, buffer.getShort() & UNSIGNED_SHORT);
+    }
+
+    /**
+     * Quantizes a coordinate to 16 bits.
+     *
+     * @param value Coordinate between QUANTIZE_MIN and QUANTIZE_MIN + QUANTIZE_RANGE, clamped otherwise.
+     * @return The quantized coordinate.
+     */
+    protected static short quantize(final float value) {
+        float normalized = (value - QUANTIZE_MIN) / QUANTIZE_RANGE;
+        int quantized = Math.round(normalized * UNSIGNED_SHORT);
+        return (short) Math.max(0, Math.min(UNSIGNED_SHORT, quantized));
+    }
+
+    /**
+     * Restores a quantized coordinate.
+     *
+     * @param quantized The quantized coordinate.
+     * @return The coordinate.
+     */
+    protected static float dequantize(final short quantized) {
+        return QUANTIZE_MIN + (quantized & UNSIGNED_SHORT) * QUANTIZE_RANGE / UNSIGNED_SHORT;
+    }
+
+    /**
+     * Checks whether a sequence number is newer than another one, taking wrap around into account.
+     *
+     * @param sequence The received sequence number.
+     * @param latest   The latest sequence number seen so far.
+     * @return True if sequence comes after latest.
+     */
+    public static boolean isNewer(final int sequence, final int latest) {
+        return sequence - latest > 0;
+    }
+}
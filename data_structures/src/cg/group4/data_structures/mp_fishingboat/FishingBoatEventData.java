@@ -1,51 +1,64 @@
 package cg.group4.data_structures.mp_fishingboat;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.Random;
 
 /**
  * Data for the fishing boat event.
  */
 public class FishingBoatEventData implements Serializable {
 
+    /**
+     * The default amount of fish that the players need to catch.
+     */
+    public static final int DEFAULT_AMOUNT_OF_FISH = 10;
+    /**
+     * Most cranes on the boat, one for every client in a room.
+     */
+    public static final int MAX_CRANES = 7;
     /**
      * The amount of fish that the players need to catch.
      */
-    protected final int cAmountOfFish = 10;
+    protected int cAmountOfFish;
     /**
      * Data about the boat.
      */
     protected BoatData cBoatData;
     /**
-     * Rotation of the crane in radians.
+     * Rotation of the crane of every client in radians, indexed by client id.
      */
-    protected double cCraneRotation;
+    protected double[] cCraneRotations = new double[MAX_CRANES];
     /**
-     * Hashmap containing the coordinates of all the smallfish.
+     * Whether the crane of a client is operated, indexed by client id.
      */
-    protected HashMap<Integer, SmallFishData> cSmallFishCoordinates;
+    protected boolean[] cCranesActive = new boolean[MAX_CRANES];
+    /**
+     * The swarm that moves the smallfish, null until the seed is received from the other player.
+     * The screen draws the fish straight from the swarm.
+     */
+    protected FishSwarm cSwarm;
 
     /**
-     * Constructs new FishingBoatEventData object.
-     * Places the boat in the middle of the screen with a crane rotation of 0.
+     * Constructs new FishingBoatEventData object with the default amount of fish.
+     * Places the boat in the middle of the screen without any active cranes.
      */
     public FishingBoatEventData() {
-        cBoatData = new BoatData(new Coordinate(0.5f, 0.5f), 0);
-        cCraneRotation = 0f;
-        cSmallFishCoordinates = spawnFish();
+        this(DEFAULT_AMOUNT_OF_FISH);
     }
 
     /**
-     * Creates the smallfish and stores them.
+     * Constructs new FishingBoatEventData object.
+     * Places the boat in the middle of the screen without any active cranes.
      *
-     * @return HashMap<Integer, SmallFishData> containing all the newly made smallfish objects.
+     * @param amountOfFish The amount of fish to spawn, 0 when the fish are received from the other player.
      */
-    protected HashMap<Integer, SmallFishData> spawnFish() {
-        HashMap<Integer, SmallFishData> fishes = new HashMap<Integer, SmallFishData>();
-        for (int i = 0; i < cAmountOfFish; i++) {
-            fishes.put(i, new SmallFishData());
+    public FishingBoatEventData(final int amountOfFish) {
+        cAmountOfFish = amountOfFish;
+        cBoatData = new BoatData(new Coordinate(0.5f, 0.5f), 0);
+        if (amountOfFish > 0) {
+            cSwarm = new FishSwarm(new Random().nextInt());
+            cSwarm.spawn(amountOfFish);
         }
-        return fishes;
     }
 
     /**
@@ -67,38 +80,90 @@ public class FishingBoatEventData implements Serializable {
     }
 
     /**
-     * Returns the current crane rotation in radians.
+     * Returns the current rotation of the crane of a client in radians.
      *
+     * @param id Id of the client.
      * @return crane rotation in radians.
      */
-    public double getcCraneRotation() {
-        return cCraneRotation;
+    public double getcCraneRotation(int id) {
+        return cCraneRotations[id];
     }
 
     /**
-     * Sets the crane rotation to the given rotation.
+     * Sets the rotation of the crane of a client to the given rotation.
      *
+     * @param id            Id of the client.
      * @param craneRotation new rotation in radians.
      */
-    public void setcCraneRotation(double craneRotation) {
-        this.cCraneRotation = craneRotation;
+    public void setcCraneRotation(int id, double craneRotation) {
+        this.cCraneRotations[id] = craneRotation;
+    }
+
+    /**
+     * Returns the rotations of all cranes, indexed by client id.
+     *
+     * @return crane rotations in radians.
+     */
+    public double[] getcCraneRotations() {
+        return cCraneRotations;
+    }
+
+    /**
+     * Returns whether the crane of a client is operated.
+     *
+     * @param id Id of the client.
+     * @return True if the client is in the room.
+     */
+    public boolean isCraneActive(int id) {
+        return cCranesActive[id];
+    }
+
+    /**
+     * Sets whether the crane of a client is operated.
+     *
+     * @param id     Id of the client.
+     * @param active True if the client is in the room.
+     */
+    public void setCraneActive(int id, boolean active) {
+        this.cCranesActive[id] = active;
+    }
+
+    /**
+     * Returns for every crane whether it is operated, indexed by client id.
+     *
+     * @return the active cranes.
+     */
+    public boolean[] getCranesActive() {
+        return cCranesActive;
     }
 
     /**
-     * Returns the hashmap containing all the coordinates of the smallfish.
+     * Returns the swarm that moves the smallfish.
      *
-     * @return HashMap<Integer, SmallFishData> containing the coordinates of the smallfish.
+     * @return The swarm, null until it is received from the other player.
      */
-    public HashMap<Integer, SmallFishData> getcSmallFishCoordinates() {
-        return cSmallFishCoordinates;
+    public FishSwarm getSwarm() {
+        return cSwarm;
+    }
+
+    /**
+     * Returns the amount of smallfish that are still swimming.
+     *
+     * @return Amount of fish, 0 until the swarm is received from the other player.
+     */
+    public int getFishLeft() {
+        if (cSwarm == null) {
+            return 0;
+        }
+        return cSwarm.getSwimmingCount();
     }
 
     /**
-     * Replaces the coordinates of all the smallfish with the given coordinates.
+     * Sets the swarm that moves the smallfish.
      *
-     * @param smallFishCoordinates new smallfish coordinates.
+     * @param swarm The swarm.
      */
-    public void setcSmallFishCoordinates(HashMap<Integer, SmallFishData> smallFishCoordinates) {
-        this.cSmallFishCoordinates = smallFishCoordinates;
+    public void setSwarm(FishSwarm swarm) {
+        this.cSwarm = swarm;
     }
-}
\ No newline at end of file
+}
@@ -5,15 +5,30 @@ import java.util.Random;
 
 public class SmallFishData implements Serializable {
 
+    /**
+     * Width of every smallfish, between [0-1] where 1 is the screen width.
+     */
+    public static final double WIDTH = 64 / 1440d;
+
+    /**
+     * Height of every smallfish, between [0-1] where 1 is the screen height.
+     */
+    public static final double HEIGHT = 64 / 2560d;
+
+    /**
+     * Generator of random positions, shared by all smallfish.
+     */
+    protected static final Random RNG = new Random();
+
     /**
      * Width of the smallfish. Scales with different resolutions to a maximum resolution of 1440p.
      */
-    protected final double cFishSizeX = 64 / 1440d;
+    protected final double cFishSizeX = WIDTH;
 
     /**
      * Height of the smallfish. Scales with different resolutions to a maximum resolution of 2560p..
      */
-    protected final double cFishSizeY = 64 / 2560d;
+    protected final double cFishSizeY = HEIGHT;
     /**
      * Speed of the smallfish.
      */
@@ -32,14 +47,24 @@ public class SmallFishData implements Serializable {
         cDestination = generatePosition();
     }
 
+    /**
+     * Constructs a new SmallFishData object at a known position.
+     *
+     * @param position    Current position of the smallfish.
+     * @param destination Destination of the smallfish.
+     */
+    public SmallFishData(Coordinate position, Coordinate destination) {
+        cPosition = position;
+        cDestination = destination;
+    }
+
     /**
      * Generates a new random position on the screen.
      *
      * @return Coordinate object representing a position on the screen.
      */
     public Coordinate generatePosition() {
-        Random rng = new Random();
-        return new Coordinate(rng.nextFloat(), rng.nextFloat());
+        return new Coordinate(RNG.nextFloat(), RNG.nextFloat());
     }
 
     /**
@@ -0,0 +1,273 @@
+package cg.group4.data_structures.mp_fishingboat;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the screen, [0-1] on both axes, that finds the objects which might overlap a rectangle without
+ * testing every object. Every object is stored by its bottom left corner in a single cell, so moving it only
+ * touches the grid when it crosses into another cell. A query widens the rectangle by the largest object size,
+ * and returns candidates that still need an exact overlap test.
+ * The cells are linked lists threaded through int arrays indexed by object id, so nothing is boxed or allocated
+ * while the objects move.
+ */
+public class SpatialGrid {
+
+    /**
+     * Amount of object ids the per object arrays start with, they grow when larger ids are put in.
+     */
+    protected static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Marks the end of a cell list, or an object that is not in the grid.
+     */
+    protected static final int NONE = -1;
+
+    /**
+     * Amount of cells on the X axis.
+     */
+    protected final int cColumns;
+
+    /**
+     * Amount of cells on the Y axis.
+     */
+    protected final int cRows;
+
+    /**
+     * Largest width of an object.
+     */
+    protected final float cExtentX;
+
+    /**
+     * Largest height of an object.
+     */
+    protected final float cExtentY;
+
+    /**
+     * First object in every cell, indexed by row * columns + column.
+     */
+    protected int[] cHeads;
+
+    /**
+     * Per object id, the next object in the same cell.
+     */
+    protected int[] cNext = new int[INITIAL_CAPACITY];
+
+    /**
+     * Per object id, the previous object in the same cell.
+     */
+    protected int[] cPrevious = new int[INITIAL_CAPACITY];
+
+    /**
+     * Per object id, the cell it is in, or NONE.
+     */
+    protected int[] cCells = new int[INITIAL_CAPACITY];
+
+    /**
+     * Ids found by the latest query.
+     */
+    protected int[] cResults = new int[INITIAL_CAPACITY];
+
+    /**
+     * Amount of objects in the grid.
+     */
+    protected int cSize;
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param columns Amount of cells on the X axis.
+     * @param rows    Amount of cells on the Y axis.
+     * @param extentX Largest width of an object, between [0-1] where 1 is the screen width.
+     * @param extentY Largest height of an object, between [0-1] where 1 is the screen height.
+     */
+    public SpatialGrid(final int columns, final int rows, final float extentX, final float extentY) {
+        cColumns = columns;
+        cRows = rows;
+        cExtentX = extentX;
+        cExtentY = extentY;
+        cHeads = new int[columns * rows];
+        Arrays.fill(cHeads, NONE);
+        Arrays.fill(cCells, NONE);
+    }
+
+    /**
+     * Creates an empty grid with cells the size of a small fish.
+     *
+     * @return The grid.
+     */
+    public static SpatialGrid forSmallFish() {
+        return new SpatialGrid((int) Math.ceil(1 / SmallFishData.WIDTH), (int) Math.ceil(1 / SmallFishData.HEIGHT),
+                (float) SmallFishData.WIDTH, (float) SmallFishData.HEIGHT);
+    }
+
+    /**
+     * Puts an object in the grid, or moves it when it is in the grid already.
+     *
+     * @param id Id of the object, at least 0.
+     * @param x  X location of the bottom left corner.
+     * @param y  Y location of the bottom left corner.
+     */
+    public void put(final int id, final float x, final float y) {
+        ensureCapacity(id + 1);
+        int cell = cellOf(column(x), row(y));
+        if (cCells[id] == cell) {
+            return;
+        }
+        if (cCells[id] == NONE) {
+            cSize++;
+        } else {
+            unlink(id);
+        }
+        cCells[id] = cell;
+        cPrevious[id] = NONE;
+        cNext[id] = cHeads[cell];
+        if (cHeads[cell] != NONE) {
+            cPrevious[cHeads[cell]] = id;
+        }
+        cHeads[cell] = id;
+    }
+
+    /**
+     * Removes an object from the grid.
+     *
+     * @param id Id of the object.
+     */
+    public void remove(final int id) {
+        if (contains(id)) {
+            unlink(id);
+            cCells[id] = NONE;
+            cSize--;
+        }
+    }
+
+    /**
+     * Checks whether an object is in the grid.
+     *
+     * @param id Id of the object.
+     * @return True if it is in the grid.
+     */
+    public boolean contains(final int id) {
+        return id >= 0 && id < cCells.length && cCells[id] != NONE;
+    }
+
+    /**
+     * Returns the amount of objects in the grid.
+     *
+     * @return Amount of objects.
+     */
+    public int size() {
+        return cSize;
+    }
+
+    /**
+     * Removes every object from the grid.
+     */
+    public void clear() {
+        Arrays.fill(cHeads, NONE);
+        Arrays.fill(cCells, NONE);
+        cSize = 0;
+    }
+
+    /**
+     * Finds the objects that might overlap a rectangle. The ids are available through getResults until the next
+     * query.
+     *
+     * @param xMin Left most position of the rectangle.
+     * @param xMax Right most position of the rectangle.
+     * @param yMin Bottom most position of the rectangle.
+     * @param yMax Top most position of the rectangle.
+     * @return The amount of objects found.
+     */
+    public int query(final double xMin, final double xMax, final double yMin, final double yMax) {
+        int columnMin = column(xMin - cExtentX);
+        int columnMax = column(xMax);
+        int rowMin = row(yMin - cExtentY);
+        int rowMax = row(yMax);
+        int found = 0;
+        for (int row = rowMin; row <= rowMax; row++) {
+            for (int column = columnMin; column <= columnMax; column++) {
+                for (int id = cHeads[cellOf(column, row)]; id != NONE; id = cNext[id]) {
+                    if (found == cResults.length) {
+                        cResults = Arrays.copyOf(cResults, found * 2);
+                    }
+                    cResults[found++] = id;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the ids found by the latest query, only the amount it returned are valid.
+     *
+     * @return The ids.
+     */
+    public int[] getResults() {
+        return cResults;
+    }
+
+    /**
+     * Takes an object out of the list of its cell.
+     *
+     * @param id Id of the object.
+     */
+    protected void unlink(final int id) {
+        int previous = cPrevious[id];
+        int next = cNext[id];
+        if (previous == NONE) {
+            cHeads[cCells[id]] = next;
+        } else {
+            cNext[previous] = next;
+        }
+        if (next != NONE) {
+            cPrevious[next] = previous;
+        }
+    }
+
+    /**
+     * Returns the column of a X location, objects outside the screen are kept in the border cells.
+     *
+     * @param x The X location.
+     * @return The column.
+     */
+    protected int column(final double x) {
+        return Math.max(0, Math.min(cColumns - 1, (int) Math.floor(x * cColumns)));
+    }
+
+    /**
+     * Returns the row of a Y location, objects outside the screen are kept in the border cells.
+     *
+     * @param y The Y location.
+     * @return The row.
+     */
+    protected int row(final double y) {
+        return Math.max(0, Math.min(cRows - 1, (int) Math.floor(y * cRows)));
+    }
+
+    /**
+     * Returns the index of a cell.
+     *
+     * @param column Column of the cell.
+     * @param row    Row of the cell.
+     * @return The index in the cell heads.
+     */
+    protected int cellOf(final int column, final int row) {
+        return row * cColumns + column;
+    }
+
+    /**
+     * Grows the per object arrays.
+     *
+     * @param size Amount of object ids that have to fit.
+     */
+    protected void ensureCapacity(final int size) {
+        if (size > cCells.length) {
+            int oldCapacity = cCells.length;
+            int capacity = Math.max(size, oldCapacity * 2);
+            cNext = Arrays.copyOf(cNext, capacity);
+            cPrevious = Arrays.copyOf(cPrevious, capacity);
+            cCells = Arrays.copyOf(cCells, capacity);
+            Arrays.fill(cCells, oldCapacity, capacity, NONE);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package cg.group4.data_structures.mp_fishingboat;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+/**
+ * Measures the time a step of the fish simulation takes for swarms of 10, 1k and 100k fish, both for the swarm and
+ * for smallfish objects in a map, and prints the results.
+ * The benchmark takes a while, so it only runs when the system property ssm.benchmark is true.
+ */
+public class FishSwarmBenchmarkTest {
+
+    /**
+     * System property that enables the benchmark.
+     */
+    public static final String BENCHMARK_PROPERTY = "ssm.benchmark";
+
+    /**
+     * Sizes of the swarms that are measured.
+     */
+    protected final int[] cSizes = {10, 1000, 100000};
+
+    /**
+     * Fish steps simulated per measurement, split into as many steps as needed for the size.
+     */
+    protected final int cFishSteps = 10000000;
+
+    /**
+     * Skips the benchmark unless it is enabled.
+     */
+    @Before
+    public final void setUp() {
+        Assume.assumeTrue(Boolean.getBoolean(BENCHMARK_PROPERTY));
+    }
+
+    /**
+     * Measures every size.
+     */
+    @Test
+    public final void testStep() {
+        System.out.println("    fish  swarm ns/fish  map ns/fish");
+        for (int size : cSizes) {
+            int steps = Math.max(1, cFishSteps / size);
+            runSwarm(size, steps);
+            long swarm = runSwarm(size, steps);
+            runMap(size, steps);
+            long map = runMap(size, steps);
+            System.out.println(String.format("%8d  %13.2f  %11.2f", size,
+                    (double) swarm / steps / size, (double) map / steps / size));
+        }
+    }
+
+    /**
+     * Moves a swarm.
+     *
+     * @param size  Amount of fish.
+     * @param steps Amount of steps.
+     * @return Nanoseconds taken.
+     */
+    protected long runSwarm(final int size, final int steps) {
+        FishSwarm swarm = new FishSwarm(size);
+        swarm.spawn(size);
+        long start = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            swarm.move();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Moves smallfish objects in a map, the way the fishing boat event did before the swarm.
+     *
+     * @param size  Amount of fish.
+     * @param steps Amount of steps.
+     * @return Nanoseconds taken.
+     */
+    protected long runMap(final int size, final int steps) {
+        HashMap<Integer, SmallFishData> fishes = new HashMap<Integer, SmallFishData>();
+        for (int id = 0; id < size; id++) {
+            fishes.put(id, new SmallFishData());
+        }
+        long start = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            for (int key : fishes.keySet()) {
+                SmallFishData fish = fishes.get(key);
+                fish.move();
+                if (fish.destinationReached()) {
+                    fish.setDestination(fish.generatePosition());
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,115 @@
+package cg.group4.data_structures.mp_fishingboat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the fish swarm.
+ */
+public class FishSwarmTest {
+
+    /**
+     * Seed used in the tests.
+     */
+    protected final int cSeed = 7;
+
+    /**
+     * Amount of fish used in the tests.
+     */
+    protected final int cAmount = 100;
+
+    /**
+     * The swarm that will be tested upon.
+     */
+    protected FishSwarm cSwarm;
+
+    /**
+     * Creates the swarm used in the tests.
+     */
+    @Before
+    public final void setUp() {
+        cSwarm = new FishSwarm(cSeed);
+        cSwarm.spawn(cAmount);
+    }
+
+    /**
+     * Tests that a swarm with the same seed draws the same destinations, even when its fish only get their leg.
+     */
+    @Test
+    public final void testSameSeed() {
+        FishSwarm other = new FishSwarm(cSeed);
+        for (int id = 0; id < cAmount; id++) {
+            other.set(id, 0, 0, cSwarm.getLeg(id));
+            assertEquals(cSwarm.getDestinationX(id), other.getDestinationX(id), 0f);
+            assertEquals(cSwarm.getDestinationY(id), other.getDestinationY(id), 0f);
+        }
+        FishSwarm different = new FishSwarm(cSeed + 1);
+        different.spawn(cAmount);
+        assertNotEquals(cSwarm.getDestinationX(0), different.getDestinationX(0), 0f);
+    }
+
+    /**
+     * Tests that the spawned positions and destinations lie on the screen and differ per fish.
+     */
+    @Test
+    public final void testSpawn() {
+        assertEquals(cAmount, cSwarm.size());
+        assertEquals(cAmount, cSwarm.getSwimmingCount());
+        for (int id = 0; id < cAmount; id++) {
+            assertTrue(cSwarm.getX(id) >= 0 && cSwarm.getX(id) < 1);
+            assertTrue(cSwarm.getDestinationY(id) >= 0 && cSwarm.getDestinationY(id) < 1);
+        }
+        assertNotEquals(cSwarm.getX(0), cSwarm.getX(1), 0f);
+    }
+
+    /**
+     * Tests that a fish moves towards its destination and swims on to its next leg once it arrives.
+     */
+    @Test
+    public final void testMoveAndArrive() {
+        FishSwarm swarm = new FishSwarm(cSeed);
+        swarm.set(0, 0, 0, 1);
+        float destinationX = swarm.getDestinationX(0);
+        float destinationY = swarm.getDestinationY(0);
+        int steps = 0;
+        while (swarm.move() == 0) {
+            steps++;
+            assertTrue(steps < 1000);
+        }
+        assertEquals(0, swarm.getArrived()[0]);
+        assertEquals(2, swarm.getLeg(0));
+        assertTrue(destinationX >= swarm.getX(0) && destinationX <= swarm.getX(0) + SmallFishData.WIDTH);
+        assertTrue(destinationY >= swarm.getY(0) && destinationY <= swarm.getY(0) + SmallFishData.HEIGHT);
+    }
+
+    /**
+     * Tests that a removed fish no longer moves or overlaps.
+     */
+    @Test
+    public final void testRemove() {
+        float x = cSwarm.getX(3);
+        float y = cSwarm.getY(3);
+        assertTrue(cSwarm.intersects(3, x, x + 0.01, y, y + 0.01));
+        cSwarm.remove(3);
+        cSwarm.remove(3);
+        assertFalse(cSwarm.isSwimming(3));
+        assertEquals(cAmount - 1, cSwarm.getSwimmingCount());
+        cSwarm.move();
+        assertEquals(x, cSwarm.getX(3), 0f);
+        assertFalse(cSwarm.intersects(3, x, x + 0.01, y, y + 0.01));
+    }
+
+    /**
+     * Tests that the leg wraps so it always fits in a fish delta.
+     */
+    @Test
+    public final void testLegWraps() {
+        cSwarm.set(0, 0, 0, FishSwarm.MAX_LEG + 1);
+        assertEquals(0, cSwarm.getLeg(0));
+    }
+}
@@ -0,0 +1,187 @@
+package cg.group4.data_structures.mp_fishingboat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the fishing boat codec.
+ */
+public class FishingBoatCodecTest {
+
+    /**
+     * Maximum difference allowed when comparing floating point values.
+     */
+    protected final float cDelta = 0.0001f;
+
+    /**
+     * Buffer used to encode and decode messages.
+     */
+    protected ByteBuffer cBuffer;
+
+    /**
+     * Creates the buffer used in the tests.
+     */
+    @Before
+    public final void setUp() {
+        cBuffer = ByteBuffer.allocate(FishingBoatCodec.MAX_SIZE);
+    }
+
+    /**
+     * Tests that a boat state is read back as it was written.
+     */
+    @Test
+    public final void testBoatStateRoundTrip() {
+        BoatData boat = new BoatData(new Coordinate(0.25f, 0.75f), 1.5d);
+        FishingBoatCodec.writeBoatState(cBuffer, 7, 1000, boat);
+        assertEquals(FishingBoatCodec.BOAT_STATE_SIZE, cBuffer.remaining());
+
+        BoatData received = new BoatData(new Coordinate(0, 0), 0);
+        assertEquals(FishingBoatCodec.BOAT_STATE, FishingBoatCodec.readType(cBuffer));
+        assertEquals(7, FishingBoatCodec.readSequence(cBuffer));
+        assertEquals(1000, FishingBoatCodec.readTime(cBuffer));
+        FishingBoatCodec.readBoatState(cBuffer, received);
+        assertEquals(0.25f, received.getcLocation().getX(), cDelta);
+        assertEquals(0.75f, received.getcLocation().getY(), cDelta);
+        assertEquals(1.5d, received.getcRotation(), cDelta);
+        assertEquals(0, cBuffer.remaining());
+    }
+
+    /**
+     * Tests that a boat state can be read into an array.
+     */
+    @Test
+    public final void testBoatStateIntoArray() {
+        FishingBoatCodec.writeBoatState(cBuffer, 1, 0, new BoatData(new Coordinate(0.5f, 0.1f), -1d));
+        FishingBoatCodec.readType(cBuffer);
+        FishingBoatCodec.readSequence(cBuffer);
+        FishingBoatCodec.readTime(cBuffer);
+        float[] values = new float[3];
+        FishingBoatCodec.readBoatState(cBuffer, values);
+        assertEquals(0.5f, values[0], cDelta);
+        assertEquals(0.1f, values[1], cDelta);
+        assertEquals(-1f, values[2], cDelta);
+    }
+
+    /**
+     * Tests that a crane rotation is read back as it was written.
+     */
+    @Test
+    public final void testCraneRotationRoundTrip() {
+        FishingBoatCodec.writeCraneRotation(cBuffer, 3, -5, -2d);
+        assertEquals(FishingBoatCodec.CRANE_ROTATION_SIZE, cBuffer.remaining());
+        assertEquals(FishingBoatCodec.CRANE_ROTATION, FishingBoatCodec.readType(cBuffer));
+        assertEquals(3, FishingBoatCodec.readSequence(cBuffer));
+        assertEquals(-5, FishingBoatCodec.readTime(cBuffer));
+        assertEquals(-2d, FishingBoatCodec.readCraneRotation(cBuffer), cDelta);
+    }
+
+    /**
+     * Tests that a room state holds only the active cranes and is rejected when one of them is cut off.
+     */
+    @Test
+    public final void testRoomStateRoundTrip() {
+        double[] rotations = {0.5d, 1d, -1d};
+        boolean[] active = {true, false, true};
+        FishingBoatCodec.writeRoomState(cBuffer, 2, 10, new BoatData(new Coordinate(0.3f, 0.4f), 2d),
+                rotations, active);
+        assertEquals(FishingBoatCodec.ROOM_STATE_SIZE + 2 * FishingBoatCodec.ROOM_CRANE_SIZE, cBuffer.remaining());
+
+        assertEquals(FishingBoatCodec.ROOM_STATE, FishingBoatCodec.readType(cBuffer));
+        assertEquals(2, FishingBoatCodec.readSequence(cBuffer));
+        assertEquals(10, FishingBoatCodec.readTime(cBuffer));
+        float[] boat = new float[3];
+        FishingBoatCodec.readBoatState(cBuffer, boat);
+        assertEquals(0.3f, boat[0], cDelta);
+        assertEquals(2, FishingBoatCodec.readCraneCount(cBuffer));
+        assertEquals(0, FishingBoatCodec.readCraneId(cBuffer));
+        assertEquals(0.5d, FishingBoatCodec.readCraneRotation(cBuffer), cDelta);
+        assertEquals(2, FishingBoatCodec.readCraneId(cBuffer));
+        assertEquals(-1d, FishingBoatCodec.readCraneRotation(cBuffer), cDelta);
+        assertEquals(0, cBuffer.remaining());
+
+        cBuffer.rewind();
+        cBuffer.limit(cBuffer.limit() - 1);
+        assertEquals(-1, FishingBoatCodec.readType(cBuffer));
+    }
+
+    /**
+     * Tests that truncated and unknown messages are rejected.
+     */
+    @Test
+    public final void testReadTypeMalformed() {
+        FishingBoatCodec.writeBoatState(cBuffer, 1, 0, new BoatData(new Coordinate(0, 0), 0));
+        cBuffer.limit(FishingBoatCodec.BOAT_STATE_SIZE - 1);
+        assertEquals(-1, FishingBoatCodec.readType(cBuffer));
+
+        cBuffer.clear();
+        cBuffer.put((byte) 0).flip();
+        assertEquals(-1, FishingBoatCodec.readType(cBuffer));
+    }
+
+    /**
+     * Tests that a fish delta is read back as it was written, the destination drawn from the seed.
+     */
+    @Test
+    public final void testFishDeltaRoundTrip() {
+        final int seed = 42;
+        FishSwarm swarm = new FishSwarm(seed);
+        swarm.set(FishingBoatCodec.MAX_FISH_ID, 0.25f, 1.1f, 3);
+        FishingBoatCodec.beginFishDelta(cBuffer, 1, 2, 3, seed, 4);
+        FishingBoatCodec.putCaughtFish(cBuffer, 9);
+        FishingBoatCodec.putChangedFish(cBuffer, FishingBoatCodec.MAX_FISH_ID, swarm);
+        FishingBoatCodec.endFishDelta(cBuffer, 1, 1);
+        assertEquals(FishingBoatCodec.FISH_DELTA_SIZE + FishingBoatCodec.CAUGHT_FISH_SIZE
+                + FishingBoatCodec.CHANGED_FISH_SIZE, cBuffer.remaining());
+
+        assertEquals(FishingBoatCodec.FISH_DELTA, FishingBoatCodec.readType(cBuffer));
+        FishingBoatCodec.readSequence(cBuffer);
+        FishingBoatCodec.readTime(cBuffer);
+        assertEquals(3, FishingBoatCodec.readFishTick(cBuffer));
+        assertEquals(seed, FishingBoatCodec.readFishSeed(cBuffer));
+        assertEquals(4, FishingBoatCodec.readFishCount(cBuffer));
+        assertEquals(1, FishingBoatCodec.readFishCount(cBuffer));
+        assertEquals(1, FishingBoatCodec.readFishCount(cBuffer));
+        assertEquals(9, FishingBoatCodec.readFishId(cBuffer));
+        int id = FishingBoatCodec.readFishId(cBuffer);
+        assertEquals(FishingBoatCodec.MAX_FISH_ID, id);
+
+        FishSwarm received = new FishSwarm(seed);
+        FishingBoatCodec.readChangedFish(cBuffer, id, received);
+        final float quantizationDelta = 0.0001f;
+        assertEquals(0.25f, received.getX(id), quantizationDelta);
+        assertEquals(1.1f, received.getY(id), quantizationDelta);
+        assertEquals(3, received.getLeg(id));
+        assertEquals(swarm.getDestinationX(id), received.getDestinationX(id), 0f);
+        assertEquals(swarm.getDestinationY(id), received.getDestinationY(id), 0f);
+    }
+
+    /**
+     * Tests that a fish acknowledgement is read back as it was written.
+     */
+    @Test
+    public final void testFishAckRoundTrip() {
+        FishingBoatCodec.writeFishAck(cBuffer, 1, 2, 42);
+        assertEquals(FishingBoatCodec.FISH_ACK_SIZE, cBuffer.remaining());
+        assertEquals(FishingBoatCodec.FISH_ACK, FishingBoatCodec.readType(cBuffer));
+        FishingBoatCodec.readSequence(cBuffer);
+        FishingBoatCodec.readTime(cBuffer);
+        assertEquals(42, FishingBoatCodec.readFishAck(cBuffer));
+    }
+
+    /**
+     * Tests the sequence number comparison, including wrap around.
+     */
+    @Test
+    public final void testIsNewer() {
+        assertTrue(FishingBoatCodec.isNewer(2, 1));
+        assertFalse(FishingBoatCodec.isNewer(1, 2));
+        assertFalse(FishingBoatCodec.isNewer(1, 1));
+        assertTrue(FishingBoatCodec.isNewer(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+}
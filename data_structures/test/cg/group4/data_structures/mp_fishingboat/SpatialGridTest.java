@@ -0,0 +1,127 @@
+package cg.group4.data_structures.mp_fishingboat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the spatial grid.
+ */
+public class SpatialGridTest {
+
+    /**
+     * Size of the objects used in the tests.
+     */
+    protected final float cExtent = 0.05f;
+
+    /**
+     * The grid that will be tested upon, 10 by 10 cells.
+     */
+    protected SpatialGrid cGrid;
+
+    /**
+     * Creates the grid used in the tests.
+     */
+    @Before
+    public final void setUp() {
+        cGrid = new SpatialGrid(10, 10, cExtent, cExtent);
+    }
+
+    /**
+     * Returns the sorted ids found by a query.
+     *
+     * @param xMin Left most position of the rectangle.
+     * @param xMax Right most position of the rectangle.
+     * @param yMin Bottom most position of the rectangle.
+     * @param yMax Top most position of the rectangle.
+     * @return The ids.
+     */
+    protected int[] query(final double xMin, final double xMax, final double yMin, final double yMax) {
+        int count = cGrid.query(xMin, xMax, yMin, yMax);
+        int[] found = Arrays.copyOf(cGrid.getResults(), count);
+        Arrays.sort(found);
+        return found;
+    }
+
+    /**
+     * Tests that a query finds the objects near the rectangle, including one whose corner lies in the cell before.
+     */
+    @Test
+    public final void testQuery() {
+        cGrid.put(0, 0.51f, 0.51f);
+        cGrid.put(1, 0.48f, 0.52f);
+        cGrid.put(2, 0.9f, 0.1f);
+        assertEquals(3, cGrid.size());
+        assertArrayEquals(new int[]{0, 1}, query(0.5, 0.52, 0.5, 0.52));
+        assertArrayEquals(new int[]{}, query(0.2, 0.3, 0.7, 0.8));
+    }
+
+    /**
+     * Tests that an object is found at its new location after moving, and not found after being removed.
+     */
+    @Test
+    public final void testMoveAndRemove() {
+        cGrid.put(3, 0.1f, 0.1f);
+        cGrid.put(3, 0.75f, 0.75f);
+        assertEquals(1, cGrid.size());
+        assertArrayEquals(new int[]{}, query(0.1, 0.12, 0.1, 0.12));
+        assertArrayEquals(new int[]{3}, query(0.75, 0.76, 0.75, 0.76));
+
+        cGrid.remove(3);
+        assertFalse(cGrid.contains(3));
+        assertEquals(0, cGrid.size());
+        assertArrayEquals(new int[]{}, query(0, 1, 0, 1));
+    }
+
+    /**
+     * Tests that objects outside the screen are kept in the border cells.
+     */
+    @Test
+    public final void testOutsideScreen() {
+        cGrid.put(0, -0.01f, 1.2f);
+        assertTrue(cGrid.contains(0));
+        assertArrayEquals(new int[]{0}, query(-0.02, 0.01, 0.95, 1.3));
+    }
+
+    /**
+     * Tests that the grid never misses an object a brute force overlap test finds, with ids that make the grid grow.
+     */
+    @Test
+    public final void testMatchesBruteForce() {
+        final int objects = 1000;
+        final int queries = 200;
+        Random rng = new Random(1);
+        float[] xs = new float[objects];
+        float[] ys = new float[objects];
+        for (int round = 0; round < 2; round++) {
+            for (int id = 0; id < objects; id++) {
+                xs[id] = rng.nextFloat();
+                ys[id] = rng.nextFloat();
+                cGrid.put(id, xs[id], ys[id]);
+            }
+            for (int q = 0; q < queries; q++) {
+                double xMin = rng.nextDouble();
+                double yMin = rng.nextDouble();
+                double xMax = xMin + rng.nextDouble() * 0.1;
+                double yMax = yMin + rng.nextDouble() * 0.1;
+                boolean[] candidate = new boolean[objects];
+                for (int id : query(xMin, xMax, yMin, yMax)) {
+                    candidate[id] = true;
+                }
+                for (int id = 0; id < objects; id++) {
+                    boolean overlaps = xs[id] <= xMax && xs[id] + cExtent >= xMin
+                            && ys[id] <= yMax && ys[id] + cExtent >= yMin;
+                    assertTrue(!overlaps || candidate[id]);
+                }
+            }
+        }
+        assertEquals(objects, cGrid.size());
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ *
+ */
+package cg.group4.data_structures.mp_fishingboat;
\ No newline at end of file
@@ -8,6 +8,7 @@ import cg.group4.util.orientation.OrientationReader;
 import cg.group4.util.orientation.Portrait;
 import cg.group4.util.sensor.AccelerationStatus;
 import cg.group4.util.sensor.SensorReader;
+import cg.group4.util.sensor.SensorSampler;
 import cg.group4.util.timer.Timer;
 import cg.group4.util.timer.TimerStore;
 import com.badlogic.gdx.Gdx;
@@ -53,6 +54,11 @@ public final class StandUp {
      */
     protected SensorReader cSensorReader;
 
+    /**
+     * Samples the sensor once every render cycle, shared by everything that reads the accelerometer.
+     */
+    protected SensorSampler cSensorSampler;
+
     /**
      * Keeps track of the amount of movement during the game.
      */
@@ -70,6 +76,7 @@ public final class StandUp {
         cUpdateSubject = new Subject();
         cOngoingStrollSubject = new Subject();
         cSensorReader = new SensorReader();
+        cSensorSampler = new SensorSampler(cSensorReader);
         cPlayer = new Player();
     }
 
@@ -132,6 +139,7 @@ public final class StandUp {
      * Updates all the game mechanics.
      */
     public void update() {
+        cSensorSampler.sample();
         cUpdateSubject.update(null);
     }
 
@@ -162,6 +170,26 @@ public final class StandUp {
         return cSensorReader;
     }
 
+    /**
+     * Replaces the SensorReader, for example with a recorder or a replay of a recorded trace.
+     * Everything reading from the shared SensorSampler will receive the new readings.
+     *
+     * @param reader The new SensorReader.
+     */
+    public void setSensorReader(final SensorReader reader) {
+        cSensorReader = reader;
+        cSensorSampler.setReader(reader);
+    }
+
+    /**
+     * Getter for the SensorSampler that holds the sensor values of the current render cycle.
+     *
+     * @return SensorSampler Object
+     */
+    public SensorSampler getSensorSampler() {
+        return cSensorSampler;
+    }
+
     /**
      * Returns the current acceleration status.
      *
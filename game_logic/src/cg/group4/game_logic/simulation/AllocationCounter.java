@@ -0,0 +1,64 @@
+package cg.group4.game_logic.simulation;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counts the bytes allocated by the current thread, on JVMs that support it.
+ */
+public final class AllocationCounter {
+
+    /**
+     * The HotSpot thread bean, or null if allocation counting is not supported.
+     */
+    protected static final com.sun.management.ThreadMXBean BEAN = findBean();
+
+    /**
+     * Utility class, no instances.
+     */
+    private AllocationCounter() {
+    }
+
+    /**
+     * Looks up the thread bean and enables allocation counting.
+     *
+     * @return The bean, or null if allocation counting is not supported.
+     */
+    protected static com.sun.management.ThreadMXBean findBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    sunBean.setThreadAllocatedMemoryEnabled(true);
+                    return sunBean;
+                }
+            }
+        } catch (LinkageError e) {
+            return null;
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether allocations can be counted on this JVM.
+     *
+     * @return True if supported.
+     */
+    public static boolean isSupported() {
+        return BEAN != null;
+    }
+
+    /**
+     * Returns the total amount of bytes allocated by the current thread.
+     *
+     * @return Allocated bytes, or -1 if not supported.
+     */
+    public static long allocatedBytes() {
+        if (BEAN == null) {
+            return -1;
+        }
+        return BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
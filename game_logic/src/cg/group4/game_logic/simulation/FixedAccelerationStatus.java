@@ -0,0 +1,51 @@
+package cg.group4.game_logic.simulation;
+
+import cg.group4.data_structures.subscribe.Subject;
+import cg.group4.util.sensor.AccelerationState;
+import cg.group4.util.sensor.AccelerationStatus;
+
+/**
+ * AccelerationStatus that reports a movement state chosen by the simulation instead of the Accel Library.
+ */
+public class FixedAccelerationStatus implements AccelerationStatus {
+
+    /**
+     * The reported movement state.
+     */
+    protected AccelerationState cState;
+
+    /**
+     * Notifies the stroll when the movement state changes.
+     */
+    protected Subject cSubject;
+
+    /**
+     * Creates a status that reports the given movement state.
+     *
+     * @param state The movement state to report.
+     */
+    public FixedAccelerationStatus(final AccelerationState state) {
+        cState = state;
+        cSubject = new Subject();
+    }
+
+    @Override
+    public AccelerationState getAccelerationState() {
+        return cState;
+    }
+
+    /**
+     * Changes the reported movement state and notifies the subscribers.
+     *
+     * @param state The new movement state.
+     */
+    public void setAccelerationState(final AccelerationState state) {
+        cState = state;
+        cSubject.update(state);
+    }
+
+    @Override
+    public Subject getSubject() {
+        return cSubject;
+    }
+}
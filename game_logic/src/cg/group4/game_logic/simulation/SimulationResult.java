@@ -0,0 +1,174 @@
+package cg.group4.game_logic.simulation;
+
+import java.util.Locale;
+
+/**
+ * Measurements of one or more stroll simulations.
+ */
+public class SimulationResult {
+
+    /**
+     * Nanoseconds in a second.
+     */
+    protected static final double NANOS_IN_SECOND = 1e9;
+
+    /**
+     * Amount of simulations measured.
+     */
+    protected int cSimulations;
+
+    /**
+     * Amount of game loop ticks that were run.
+     */
+    protected long cTicks;
+
+    /**
+     * Real time spent running the ticks, in nanoseconds.
+     */
+    protected long cElapsedNanos;
+
+    /**
+     * Simulated game time, in milliseconds.
+     */
+    protected long cSimulatedMillis;
+
+    /**
+     * Bytes allocated while running the ticks, or -1 if not measured.
+     */
+    protected long cAllocatedBytes;
+
+    /**
+     * Amount of strolls that ended within the simulation.
+     */
+    protected int cStrollsCompleted;
+
+    /**
+     * Amount of events that were started.
+     */
+    protected int cEventsStarted;
+
+    /**
+     * Creates an empty result.
+     */
+    public SimulationResult() {
+        cAllocatedBytes = -1;
+    }
+
+    /**
+     * Creates the result of a single simulation.
+     *
+     * @param ticks            Amount of ticks run.
+     * @param elapsedNanos     Real time spent, in nanoseconds.
+     * @param simulatedMillis  Simulated game time, in milliseconds.
+     * @param allocatedBytes   Bytes allocated, or -1 if not measured.
+     * @param strollsCompleted Amount of strolls that ended.
+     * @param eventsStarted    Amount of events that were started.
+     */
+    public SimulationResult(final long ticks, final long elapsedNanos, final long simulatedMillis,
+                            final long allocatedBytes, final int strollsCompleted, final int eventsStarted) {
+        cSimulations = 1;
+        cTicks = ticks;
+        cElapsedNanos = elapsedNanos;
+        cSimulatedMillis = simulatedMillis;
+        cAllocatedBytes = allocatedBytes;
+        cStrollsCompleted = strollsCompleted;
+        cEventsStarted = eventsStarted;
+    }
+
+    /**
+     * Adds the measurements of another result to this one.
+     *
+     * @param other The result to add.
+     */
+    public void add(final SimulationResult other) {
+        if (cSimulations == 0) {
+            cAllocatedBytes = other.cAllocatedBytes;
+        } else if (cAllocatedBytes < 0 || other.cAllocatedBytes < 0) {
+            cAllocatedBytes = -1;
+        } else {
+            cAllocatedBytes += other.cAllocatedBytes;
+        }
+        cSimulations += other.cSimulations;
+        cTicks += other.cTicks;
+        cElapsedNanos += other.cElapsedNanos;
+        cSimulatedMillis += other.cSimulatedMillis;
+        cStrollsCompleted += other.cStrollsCompleted;
+        cEventsStarted += other.cEventsStarted;
+    }
+
+    /**
+     * Returns the amount of simulations measured.
+     *
+     * @return Amount of simulations.
+     */
+    public int getSimulations() {
+        return cSimulations;
+    }
+
+    /**
+     * Returns the amount of ticks that were run.
+     *
+     * @return Amount of ticks.
+     */
+    public long getTicks() {
+        return cTicks;
+    }
+
+    /**
+     * Returns the simulated game time.
+     *
+     * @return Simulated time in milliseconds.
+     */
+    public long getSimulatedMillis() {
+        return cSimulatedMillis;
+    }
+
+    /**
+     * Returns the amount of strolls that ended within the simulation.
+     *
+     * @return Amount of completed strolls.
+     */
+    public int getStrollsCompleted() {
+        return cStrollsCompleted;
+    }
+
+    /**
+     * Returns the amount of events that were started.
+     *
+     * @return Amount of events.
+     */
+    public int getEventsStarted() {
+        return cEventsStarted;
+    }
+
+    /**
+     * Returns the game loop throughput.
+     *
+     * @return Ticks per real second.
+     */
+    public double getTicksPerSecond() {
+        if (cElapsedNanos == 0) {
+            return 0;
+        }
+        return cTicks * NANOS_IN_SECOND / cElapsedNanos;
+    }
+
+    /**
+     * Returns the average amount of bytes allocated per tick.
+     *
+     * @return Bytes per tick, or -1 if allocations were not measured.
+     */
+    public double getBytesPerTick() {
+        if (cAllocatedBytes < 0 || cTicks == 0) {
+            return -1;
+        }
+        return (double) cAllocatedBytes / cTicks;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "%d simulation(s), %d ticks, %.0f ticks/s, %.1f bytes/tick, %d strolls, %d events",
+                cSimulations, cTicks, getTicksPerSecond(), getBytesPerTick(), cStrollsCompleted, cEventsStarted);
+    }
+}
@@ -0,0 +1,198 @@
+package cg.group4.game_logic.simulation;
+
+import cg.group4.client.Client;
+import cg.group4.client.connection.Connection;
+import cg.group4.client.connection.UnConnected;
+import cg.group4.game_logic.StandUp;
+import cg.group4.game_logic.stroll.Stroll;
+import cg.group4.util.Clock;
+import cg.group4.util.VirtualClock;
+import cg.group4.util.sensor.AccelerationState;
+import cg.group4.util.sensor.AccelerationStatus;
+import cg.group4.util.sensor.ReplaySensorReader;
+import cg.group4.util.sensor.SensorReader;
+import cg.group4.util.timer.TimeKeeper;
+import cg.group4.util.timer.Timer;
+import cg.group4.util.timer.TimerStore;
+import com.badlogic.gdx.Gdx;
+
+import java.util.Observable;
+import java.util.Observer;
+
+/**
+ * Runs strolls headless, driving StandUp and the TimeKeeper with simulated frames on a VirtualClock.
+ * Requires a (headless) libGDX application to be running, as the game logic logs through Gdx.app.
+ * The game logic lives in singletons, so simulations run one after another on the calling thread.
+ */
+public class StrollSimulation {
+
+    /**
+     * Tag used for debugging.
+     */
+    public static final String TAG = StrollSimulation.class.getSimpleName();
+
+    /**
+     * Default duration of one simulated frame, in milliseconds (60 fps).
+     */
+    public static final long DEFAULT_FRAME_MILLIS = 16;
+
+    /**
+     * Default maximum amount of ticks of a single simulation.
+     */
+    public static final int DEFAULT_MAX_TICKS = 100000;
+
+    /**
+     * Reader that feeds the accelerometer readings, e.g. a replay of a recorded trace.
+     */
+    protected SensorReader cSensorReader;
+
+    /**
+     * Movement state reported to the stroll.
+     */
+    protected AccelerationState cMovement;
+
+    /**
+     * Duration of one simulated frame, in milliseconds.
+     */
+    protected long cFrameMillis;
+
+    /**
+     * Maximum amount of ticks of a single simulation.
+     */
+    protected int cMaxTicks;
+
+    /**
+     * Amount of events started in the current simulation.
+     */
+    protected int cEventsStarted;
+
+    /**
+     * Counts the events started by the stroll.
+     */
+    protected Observer cNewEventObserver = new Observer() {
+        @Override
+        public void update(final Observable o, final Object arg) {
+            cEventsStarted++;
+        }
+    };
+
+    /**
+     * Creates a simulation.
+     *
+     * @param sensorReader Reader that feeds the accelerometer readings.
+     * @param movement     Movement state reported to the stroll.
+     */
+    public StrollSimulation(final SensorReader sensorReader, final AccelerationState movement) {
+        cSensorReader = sensorReader;
+        cMovement = movement;
+        cFrameMillis = DEFAULT_FRAME_MILLIS;
+        cMaxTicks = DEFAULT_MAX_TICKS;
+    }
+
+    /**
+     * Sets the duration of one simulated frame.
+     *
+     * @param frameMillis Duration in milliseconds.
+     */
+    public void setFrameMillis(final long frameMillis) {
+        cFrameMillis = frameMillis;
+    }
+
+    /**
+     * Sets the maximum amount of ticks of a single simulation.
+     *
+     * @param maxTicks Amount of ticks.
+     */
+    public void setMaxTicks(final int maxTicks) {
+        cMaxTicks = maxTicks;
+    }
+
+    /**
+     * Runs the given amount of simulations and combines their measurements.
+     *
+     * @param simulations Amount of simulations to run.
+     * @return The combined result.
+     */
+    public SimulationResult run(final int simulations) {
+        SimulationResult total = new SimulationResult();
+        for (int i = 0; i < simulations; i++) {
+            total.add(run());
+        }
+        Gdx.app.log(TAG, total.toString());
+        return total;
+    }
+
+    /**
+     * Runs a single stroll until it ends or the maximum amount of ticks is reached.
+     * A stroll that has not ended yet is continued by the next simulation. The clock, global timers, sensor reader,
+     * acceleration status and connections of the game are restored afterwards.
+     *
+     * @return The result of the simulation.
+     */
+    public SimulationResult run() {
+        StandUp standUp = StandUp.getInstance();
+        TimerStore timerStore = TimerStore.getInstance();
+        TimeKeeper timeKeeper = timerStore.getTimeKeeper();
+        Clock realClock = timerStore.getClock();
+        SensorReader realReader = standUp.getSensorReader();
+        AccelerationStatus realStatus = standUp.getAccelerationStatus();
+        Client client = Client.getInstance();
+        Connection realLocal = client.getLocalConnection();
+        Connection realRemote = client.getRemoteConnection();
+        Timer.Global[] globals = Timer.Global.values();
+        long[] finishTimes = new long[globals.length];
+        boolean[] running = new boolean[globals.length];
+        for (int i = 0; i < globals.length; i++) {
+            Timer timer = timerStore.getTimer(globals[i].name());
+            finishTimes[i] = timer.getFinishTime();
+            running[i] = timer.isRunning();
+        }
+        VirtualClock clock = new VirtualClock(realClock.currentTimeMillis());
+        timerStore.setClock(clock);
+        client.setLocalConnection(new UnConnected());
+        client.setRemoteConnection(new UnConnected());
+        if (cSensorReader instanceof ReplaySensorReader) {
+            ((ReplaySensorReader) cSensorReader).setClock(clock);
+        }
+        standUp.setSensorReader(cSensorReader);
+        standUp.setAccelerationStatus(new FixedAccelerationStatus(cMovement));
+
+        try {
+            cEventsStarted = 0;
+            standUp.startStroll();
+            Stroll stroll = standUp.getStroll();
+            stroll.getNewEventSubject().addObserver(cNewEventObserver);
+
+            long ticks = 0;
+            long allocatedBefore = AllocationCounter.allocatedBytes();
+            long startNanos = System.nanoTime();
+            while (ticks < cMaxTicks && standUp.getStroll() == stroll) {
+                clock.advance(cFrameMillis);
+                timeKeeper.update();
+                standUp.update();
+                ticks++;
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            long allocatedBytes = -1;
+            if (allocatedBefore >= 0) {
+                allocatedBytes = AllocationCounter.allocatedBytes() - allocatedBefore;
+            }
+
+            boolean completed = standUp.getStroll() != stroll;
+            if (!completed) {
+                stroll.getNewEventSubject().deleteObserver(cNewEventObserver);
+            }
+            return new SimulationResult(ticks, elapsedNanos, ticks * cFrameMillis, allocatedBytes,
+                    completed ? 1 : 0, cEventsStarted);
+        } finally {
+            timerStore.setClock(realClock);
+            for (int i = 0; i < globals.length; i++) {
+                timerStore.getTimer(globals[i].name()).restore(finishTimes[i], running[i]);
+            }
+            client.setLocalConnection(realLocal);
+            client.setRemoteConnection(realRemote);
+            standUp.setSensorReader(realReader);
+            standUp.setAccelerationStatus(realStatus);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Headless simulation of strolls, used to benchmark the game loop without a device.
+ */
+package cg.group4.game_logic.simulation;
@@ -12,17 +12,19 @@ import cg.group4.game_logic.stroll.events.fishevent.FishingStrollEvent;
 import cg.group4.game_logic.stroll.events.mp_fishingboat.FishingBoatClient;
 import cg.group4.game_logic.stroll.events.mp_fishingboat.FishingBoatHost;
 import cg.group4.game_logic.stroll.events.multiplayer_event.Host;
-import cg.group4.game_logic.stroll.events.multiplayer_event.MessageHandler;
 import cg.group4.game_logic.stroll.events.multiplayer_event.MultiplayerClient;
 import cg.group4.game_logic.stroll.events.multiplayer_event.MultiplayerHost;
+import cg.group4.game_logic.stroll.events.multiplayer_event.ReliableConnection;
 import cg.group4.server.database.Response;
 import cg.group4.server.database.ResponseHandler;
+import cg.group4.server.relay.RelayFrame;
 import cg.group4.util.sensor.AccelerationState;
 import cg.group4.util.timer.Timer;
 import cg.group4.util.timer.TimerStore;
 import com.badlogic.gdx.Gdx;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Observable;
@@ -174,6 +176,7 @@ public class Stroll implements Observer {
 
     /**
      * Defines behaviour that is executed when a Code is received from the server.
+     * When relayed, the code also opens the session of the host at the relay of the server.
      * @param host The host connection.
      * @param updateUI ResponseHandler that updates the UI.
      * @return A ResponseHandler with extra behaviour.
@@ -183,6 +186,10 @@ public class Stroll implements Observer {
             @Override
             public void handleResponse(Response response) {
                 updateUI.handleResponse(response);
+                if (Client.getInstance().isRelayed() && response.isSuccess()) {
+                    host.setRelay(new InetSocketAddress(Client.getInstance().getIp(), RelayFrame.DEFAULT_PORT),
+                            (Integer) response.getData());
+                }
                 new Thread(new Runnable() {
                     @Override
                     public void run() {
@@ -202,7 +209,7 @@ public class Stroll implements Observer {
         if(host.isConnected()) {
             Random rng = new Random();
             final int event = rng.nextInt(cNumberOfMultiPlayerEvents);
-            host.sendTCP(event);
+            host.setGreeting(event);
             Gdx.app.postRunnable(new Runnable() {
                 @Override
                 public void run() {
@@ -242,22 +249,23 @@ public class Stroll implements Observer {
         if (Client.getInstance().isRemoteConnected()) {
             Gdx.app.log(TAG, "Joining multi-player event!");
             cEventGoing = true;
-            Client.getInstance().getHost(code, whenHostIPReceived(responseHandler));
+            Client.getInstance().getHost(code, whenHostIPReceived(code, responseHandler));
         }
     }
 
     /**
      * Adds extra behaviour when Host IP is received.
      *
+     * @param code     The code of the host, used to join it at the relay.
      * @param updateUI Updates the UI accordingly.
      * @return Extra behaviour in the provided ResponseHandler.
      */
-    protected ResponseHandler whenHostIPReceived(final ResponseHandler updateUI) {
+    protected ResponseHandler whenHostIPReceived(final Integer code, final ResponseHandler updateUI) {
         return new ResponseHandler() {
             @Override
             public void handleResponse(Response response) {
                 if (response.isSuccess() && response.getData() != null) {
-                    createMultiPlayerClient((HostData) response.getData());
+                    createMultiPlayerClient((HostData) response.getData(), code);
                 } else {
                     updateUI.handleResponse(response);
                 }
@@ -266,24 +274,32 @@ public class Stroll implements Observer {
     }
 
     /**
-     * Creates a MultiPlayer Client.
+     * Creates a MultiPlayer Client, which connects through the relay of the server when the host is relayed.
      *
      * @param hostData The host data to connect to.
+     * @param code     The code of the host.
      */
-    protected void createMultiPlayerClient(final HostData hostData) {
+    protected void createMultiPlayerClient(final HostData hostData, final Integer code) {
         new Thread(new Runnable() {
             @Override
             public void run() {
                 try {
                     final MultiplayerClient client = new MultiplayerClient(hostData);
+                    if (hostData.isRelayed()) {
+                        client.setRelay(new InetSocketAddress(Client.getInstance().getIp(), hostData.getcPort()),
+                                code);
+                    }
                     client.connect();
                     if(client.isConnected()) {
-                        client.receiveTCP(new MessageHandler() {
-                            @Override
-                            public void handleMessage(Object message) {
-                                generatePossibleMultiplayerEvent((Integer) message, client);
-                            }
-                        }, false);
+                        final Object event = client.awaitReliable(ReliableConnection.TIMEOUT);
+                        if (event instanceof Integer) {
+                            Gdx.app.postRunnable(new Runnable() {
+                                @Override
+                                public void run() {
+                                    generatePossibleMultiplayerEvent((Integer) event, client);
+                                }
+                            });
+                        }
                     }
                 } catch (UnknownHostException e) {
                     e.printStackTrace();
@@ -110,7 +110,7 @@ public class FollowTheFishEvent extends StrollEvent {
 
         cDelayNewInput = false;
 
-        cAccelMeter = new Accelerometer(StandUp.getInstance().getSensorReader());
+        cAccelMeter = new Accelerometer(StandUp.getInstance().getSensorSampler());
         cOrientation = StandUp.getInstance().getOrientation();
     }
 
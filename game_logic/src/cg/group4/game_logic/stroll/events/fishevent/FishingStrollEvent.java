@@ -42,7 +42,7 @@ public class FishingStrollEvent extends StrollEvent {
 
         cCompletedTaskSound = Gdx.audio.newSound(Gdx.files.internal("sounds/completedTask.wav"));
 
-        cAccelMeter = new Accelerometer(StandUp.getInstance().getSensorReader());
+        cAccelMeter = new Accelerometer(StandUp.getInstance().getSensorSampler());
     }
 
     @Override
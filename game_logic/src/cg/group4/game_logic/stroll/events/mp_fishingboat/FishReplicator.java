@@ -0,0 +1,245 @@
+package cg.group4.game_logic.stroll.events.mp_fishingboat;
+
+import cg.group4.data_structures.mp_fishingboat.FishSwarm;
+import cg.group4.data_structures.mp_fishingboat.FishingBoatCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Keeps track of which fish the client has not seen yet and writes them as one fish delta per network tick.
+ * Every fish remembers the tick on which it last changed and the latest tick in which the client acknowledged it,
+ * so a delta only holds the fish that changed since the client's acknowledged state. Lost deltas need no resend,
+ * the next delta holds their fish as well.
+ */
+public class FishReplicator {
+
+    /**
+     * Amount of send deltas that are remembered to match acknowledgements against.
+     */
+    protected static final int HISTORY = 64;
+
+    /**
+     * Amount of fish ids the per fish arrays start with, they grow when more fish are spawned.
+     */
+    protected static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Most fish a single delta can hold.
+     */
+    protected static final int MAX_FISH_PER_DELTA =
+            (FishingBoatCodec.MAX_DATAGRAM_SIZE - FishingBoatCodec.FISH_DELTA_SIZE) / FishingBoatCodec.CAUGHT_FISH_SIZE;
+
+    /**
+     * Tick of the latest written delta, 0 before the first one.
+     */
+    protected int cTick;
+
+    /**
+     * Per fish id, the tick on which it last changed. 0 if the fish does not exist.
+     */
+    protected int[] cChangedTick = new int[INITIAL_CAPACITY];
+
+    /**
+     * Per fish id, the latest tick the client acknowledged a delta holding the fish.
+     */
+    protected int[] cAckedTick = new int[INITIAL_CAPACITY];
+
+    /**
+     * Per fish id, whether the fish is caught.
+     */
+    protected boolean[] cCaught = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Amount of fish ids in use.
+     */
+    protected int cFishCount;
+
+    /**
+     * Amount of fish that have not been caught.
+     */
+    protected int cFishLeft;
+
+    /**
+     * Id of the fish on which the next delta starts looking, so a full delta does not starve the other fish.
+     */
+    protected int cCursor;
+
+    /**
+     * Ticks of the remembered deltas.
+     */
+    protected int[] cHistoryTicks = new int[HISTORY];
+
+    /**
+     * Amount of fish in each remembered delta.
+     */
+    protected int[] cHistoryCounts = new int[HISTORY];
+
+    /**
+     * Ids of the fish in each remembered delta.
+     */
+    protected int[] cHistoryIds = new int[HISTORY * MAX_FISH_PER_DELTA];
+
+    /**
+     * Registers a new fish, it is send in the next delta.
+     *
+     * @param id Id of the fish.
+     */
+    public void spawn(final int id) {
+        if (id > FishingBoatCodec.MAX_FISH_ID) {
+            throw new IllegalArgumentException("Fish id " + id + " cannot be encoded.");
+        }
+        ensureCapacity(id + 1);
+        cFishCount = Math.max(cFishCount, id + 1);
+        cFishLeft++;
+        cCaught[id] = false;
+        cAckedTick[id] = 0;
+        changed(id);
+    }
+
+    /**
+     * Marks a fish as changed, for example because it got a new destination.
+     *
+     * @param id Id of the fish.
+     */
+    public void changed(final int id) {
+        cChangedTick[id] = cTick + 1;
+    }
+
+    /**
+     * Marks a fish as caught.
+     *
+     * @param id Id of the fish.
+     */
+    public void caught(final int id) {
+        if (!cCaught[id]) {
+            cCaught[id] = true;
+            cFishLeft--;
+            changed(id);
+        }
+    }
+
+    /**
+     * Returns whether there are fish the client has not acknowledged.
+     *
+     * @return True if a delta would not be empty.
+     */
+    public boolean hasChanges() {
+        for (int id = 0; id < cFishCount; id++) {
+            if (isDirty(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes a delta for the next tick, holding caught fish first and then changed fish, as many as fit.
+     *
+     * @param buffer   Buffer to write in, its content is cleared.
+     * @param sequence Sequence number of the message.
+     * @param time     Time stamp in milliseconds.
+     * @param swarm    The swarm holding the fish that are still swimming.
+     * @return The amount of fish in the delta.
+     */
+    public int write(final ByteBuffer buffer, final int sequence, final int time, final FishSwarm swarm) {
+        cTick++;
+        int slot = cTick % HISTORY;
+        int idOffset = slot * MAX_FISH_PER_DELTA;
+        int count = 0;
+        FishingBoatCodec.beginFishDelta(buffer, sequence, time, cTick, swarm.getSeed(), cFishLeft);
+
+        int caught = 0;
+        for (int i = 0; i < cFishCount; i++) {
+            int id = (cCursor + i) % cFishCount;
+            if (cCaught[id] && isDirty(id)
+                    && FishingBoatCodec.fishCapacity(buffer, FishingBoatCodec.CAUGHT_FISH_SIZE) > 0) {
+                FishingBoatCodec.putCaughtFish(buffer, id);
+                cHistoryIds[idOffset + count++] = id;
+                caught++;
+            }
+        }
+        int changed = 0;
+        int last = cCursor;
+        for (int i = 0; i < cFishCount; i++) {
+            int id = (cCursor + i) % cFishCount;
+            if (!cCaught[id] && isDirty(id) && swarm.isSwimming(id)) {
+                if (FishingBoatCodec.fishCapacity(buffer, FishingBoatCodec.CHANGED_FISH_SIZE) == 0) {
+                    break;
+                }
+                FishingBoatCodec.putChangedFish(buffer, id, swarm);
+                cHistoryIds[idOffset + count++] = id;
+                changed++;
+                last = id + 1;
+            }
+        }
+        FishingBoatCodec.endFishDelta(buffer, caught, changed);
+
+        if (cFishCount > 0) {
+            cCursor = last % cFishCount;
+        }
+        cHistoryTicks[slot] = cTick;
+        cHistoryCounts[slot] = count;
+        return count;
+    }
+
+    /**
+     * Handles the acknowledgement of a delta, the fish in it are no longer send unless they change again.
+     * Acknowledgements of deltas that are too old to be remembered are ignored.
+     *
+     * @param tick Tick of the acknowledged delta.
+     */
+    public void acknowledge(final int tick) {
+        int slot = tick % HISTORY;
+        if (tick <= 0 || tick > cTick || cHistoryTicks[slot] != tick) {
+            return;
+        }
+        int idOffset = slot * MAX_FISH_PER_DELTA;
+        for (int i = 0; i < cHistoryCounts[slot]; i++) {
+            int id = cHistoryIds[idOffset + i];
+            cAckedTick[id] = Math.max(cAckedTick[id], tick);
+        }
+    }
+
+    /**
+     * Returns the tick of the latest written delta.
+     *
+     * @return The tick.
+     */
+    public int getTick() {
+        return cTick;
+    }
+
+    /**
+     * Returns the amount of fish that have not been caught.
+     *
+     * @return Fish left.
+     */
+    public int getFishLeft() {
+        return cFishLeft;
+    }
+
+    /**
+     * Checks whether a fish changed after the client last acknowledged it.
+     *
+     * @param id Id of the fish.
+     * @return True if the fish has to be send.
+     */
+    protected boolean isDirty(final int id) {
+        return cChangedTick[id] > cAckedTick[id];
+    }
+
+    /**
+     * Grows the per fish arrays.
+     *
+     * @param size Amount of fish ids that have to fit.
+     */
+    protected void ensureCapacity(final int size) {
+        if (size > cChangedTick.length) {
+            int capacity = Math.max(size, cChangedTick.length * 2);
+            cChangedTick = Arrays.copyOf(cChangedTick, capacity);
+            cAckedTick = Arrays.copyOf(cAckedTick, capacity);
+            cCaught = Arrays.copyOf(cCaught, capacity);
+        }
+    }
+}
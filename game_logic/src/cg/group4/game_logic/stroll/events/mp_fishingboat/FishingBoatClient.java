@@ -1,64 +1,94 @@
 package cg.group4.game_logic.stroll.events.mp_fishingboat;
 
 import cg.group4.data_structures.mp_fishingboat.BoatData;
+import cg.group4.data_structures.mp_fishingboat.FishSwarm;
+import cg.group4.data_structures.mp_fishingboat.FishingBoatCodec;
 import cg.group4.data_structures.mp_fishingboat.FishingBoatEventData;
-import cg.group4.data_structures.mp_fishingboat.SmallFishData;
-import cg.group4.data_structures.mp_fishingboat.SmallFishDestination;
+import cg.group4.game_logic.stroll.events.multiplayer_event.DatagramHandler;
 import cg.group4.game_logic.stroll.events.multiplayer_event.Host;
 import cg.group4.game_logic.stroll.events.multiplayer_event.MessageHandler;
+import cg.group4.game_logic.stroll.events.multiplayer_event.SnapshotBuffer;
 import com.badlogic.gdx.math.Vector3;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Observable;
 
 /**
  * Creates a new Client for the FishingBoatEvent.
+ * The client operates one of the cranes on the boat, the boat and the cranes of the other clients are received
+ * from the host.
  */
 public class FishingBoatClient extends FishingBoatEvent {
 
+    /**
+     * Amount of values in a boat state: x, y and rotation.
+     */
+    protected final int cBoatValues = 3;
+
+    /**
+     * Snapshots of the room state received from the host: the boat followed by the rotation of every crane.
+     */
+    protected SnapshotBuffer cSnapshots;
+
+    /**
+     * Cranes in the latest room state, reused for every room state.
+     */
+    protected boolean[] cActiveCranes = new boolean[FishingBoatEventData.MAX_CRANES];
+
+    /**
+     * Tick of the latest fish delta that was applied.
+     */
+    protected int cAppliedFishTick;
+    /**
+     * Amount of fish the host has left, -1 until the first fish delta is applied.
+     */
+    protected int cFishLeft = -1;
+
     /**
      * Creates a new CraneFishingEvent Client.
      *
      * @param host the connection with the other host.
      */
     public FishingBoatClient(Host host) {
-        super(host);
-
-        cOtherClient.receiveTCP(new MessageHandler() {
-            @Override
-            public void handleMessage(Object message) {
-                if (message instanceof FishingBoatEventData) {
-                    cFishingBoatEventData = (FishingBoatEventData) message;
-                    cOtherClient.sendTCP(true);
-                    keepListening();
-                }
-            }
-        }, false);
+        super(host, 0);
+        cSnapshots = createSnapshots(cBoatValues + FishingBoatEventData.MAX_CRANES);
+        for (int i = cBoatValues - 1; i < cBoatValues + FishingBoatEventData.MAX_CRANES; i++) {
+            cSnapshots.setAngular(i);
+        }
+        keepListening();
     }
 
     /**
-     * Actions to take when receiving incoming UDP or TCP messages.
+     * Actions to take when receiving incoming datagrams or reliable messages.
      */
     protected void keepListening() {
-        cOtherClient.receiveUDP(new MessageHandler() {
+        cOtherClient.receiveUDP(new DatagramHandler() {
             @Override
-            public void handleMessage(Object message) {
-                cFishingBoatEventData.setcBoatData((BoatData) message);
+            public void handleDatagram(int peer, ByteBuffer datagram) {
+                int start = datagram.position();
+                byte type = FishingBoatCodec.readType(datagram);
+                if (type == FishingBoatCodec.ROOM_STATE) {
+                    int sequence = FishingBoatCodec.readSequence(datagram);
+                    int time = FishingBoatCodec.readTime(datagram);
+                    readRoomState(datagram);
+                    cSnapshots.add(sequence, time, cIncomingValues, currentMillis());
+                } else if (type == FishingBoatCodec.FISH_DELTA) {
+                    datagram.position(start);
+                    applyFishDelta(datagram);
+                }
             }
-        }, true);
+        });
 
-        cOtherClient.receiveTCP(new MessageHandler() {
+        cOtherClient.receiveReliable(new MessageHandler() {
             @Override
-            public void handleMessage(Object message) {
-                SmallFishDestination data = (SmallFishDestination) message;
-                SmallFishData fish = cFishingBoatEventData.getcSmallFishCoordinates().get(data.getcId());
-                if (data.getcNewDestination() == null) {
-                    System.out.println("received delete!");
-                    fish.setPosition(null);
-                } else {
-                    fish.setDestination(data.getcNewDestination());
+            public void handleMessage(int peer, Object message) {
+                if (message instanceof byte[]) {
+                    // The final delta is send right before the host closes the connection.
+                    applyFishDelta(ByteBuffer.wrap((byte[]) message));
                 }
             }
-        }, true);
+        });
     }
 
     @Override
@@ -71,26 +101,109 @@ public class FishingBoatClient extends FishingBoatEvent {
         Vector3 vector = cAccelerometer.update();
 
         double newRotation = Math.atan2(-vector.y, -vector.x);
-//        double newRotation = cFishingBoatEventData.getcCraneRotation() + 0.01d;
-        cFishingBoatEventData.setcCraneRotation(newRotation);
-        cOtherClient.sendUDP(newRotation);
+        cFishingBoatEventData.setcCraneRotation(cOtherClient.getLocalId(), newRotation);
+        FishingBoatCodec.writeCraneRotation(cOutgoingDatagram, cSequence++, (int) currentMillis(), newRotation);
+        cOtherClient.getScheduler().offerState(FishingBoatCodec.CRANE_ROTATION, cOutgoingDatagram);
+        cOtherClient.getScheduler().update();
+        updateBoat();
         moveFish();
         cDataSubject.update(cFishingBoatEventData);
         validateFish();
     }
 
     /**
-     * Moves the fishes using the data received from the host.
+     * Reads a room state into the incoming values and marks which cranes are operated.
+     * Cranes that are not in the room keep their last rotation, so they do not swing around when they return.
+     *
+     * @param datagram Buffer positioned after the header of a room state.
      */
-    protected void moveFish() {
-        for (int key : cFishingBoatEventData.getcSmallFishCoordinates().keySet()) {
-            SmallFishData fish = cFishingBoatEventData.getcSmallFishCoordinates().get(key);
-            if (fish.getPosition() == null) {
-                cToRemove.add(key);
-            } else {
-                fish.move();
+    protected void readRoomState(ByteBuffer datagram) {
+        FishingBoatCodec.readBoatState(datagram, cIncomingValues);
+        int cranes = FishingBoatCodec.readCraneCount(datagram);
+        boolean[] active = cActiveCranes;
+        Arrays.fill(active, false);
+        for (int i = 0; i < cranes; i++) {
+            int id = FishingBoatCodec.readCraneId(datagram);
+            double rotation = FishingBoatCodec.readCraneRotation(datagram);
+            if (id >= 0 && id < FishingBoatEventData.MAX_CRANES) {
+                active[id] = true;
+                cIncomingValues[cBoatValues + id] = (float) rotation;
             }
         }
+        for (int id = 0; id < FishingBoatEventData.MAX_CRANES; id++) {
+            cFishingBoatEventData.setCraneActive(id, active[id]);
+        }
+    }
+
+    /**
+     * Places the boat and the cranes of the other clients where they should be shown in this frame,
+     * interpolated from the states received from the host.
+     */
+    protected void updateBoat() {
+        if (cSnapshots.sample(currentMillis(), cSampledValues)) {
+            BoatData boat = cFishingBoatEventData.getcBoatData();
+            boat.getcLocation().setX(cSampledValues[0]);
+            boat.getcLocation().setY(cSampledValues[1]);
+            boat.setcRotation(cSampledValues[2]);
+            for (int id = 0; id < FishingBoatEventData.MAX_CRANES; id++) {
+                if (id != cOtherClient.getLocalId()) {
+                    cFishingBoatEventData.setcCraneRotation(id, cSampledValues[cBoatValues + id]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a fish delta from the host and acknowledges it. Deltas older than the applied one are ignored.
+     *
+     * @param delta Buffer positioned at the start of a fish delta.
+     */
+    protected void applyFishDelta(ByteBuffer delta) {
+        if (FishingBoatCodec.readType(delta) != FishingBoatCodec.FISH_DELTA) {
+            return;
+        }
+        FishingBoatCodec.readSequence(delta);
+        FishingBoatCodec.readTime(delta);
+        int tick = FishingBoatCodec.readFishTick(delta);
+        if (tick <= cAppliedFishTick) {
+            return;
+        }
+        cAppliedFishTick = tick;
+        int seed = FishingBoatCodec.readFishSeed(delta);
+        cFishLeft = FishingBoatCodec.readFishCount(delta);
+        int caught = FishingBoatCodec.readFishCount(delta);
+        int changed = FishingBoatCodec.readFishCount(delta);
+
+        FishSwarm swarm = cFishingBoatEventData.getSwarm();
+        if (swarm == null) {
+            swarm = new FishSwarm(seed);
+            cFishingBoatEventData.setSwarm(swarm);
+        }
+        for (int i = 0; i < caught; i++) {
+            swarm.remove(FishingBoatCodec.readFishId(delta));
+        }
+        for (int i = 0; i < changed; i++) {
+            FishingBoatCodec.readChangedFish(delta, FishingBoatCodec.readFishId(delta), swarm);
+        }
+
+        FishingBoatCodec.writeFishAck(cOutgoingDatagram, cSequence++, (int) currentMillis(), tick);
+        cOtherClient.getScheduler().offerState(FishingBoatCodec.FISH_ACK, cOutgoingDatagram);
+    }
+
+    @Override
+    protected boolean isFinished() {
+        return cFishLeft == 0 && super.isFinished();
+    }
+
+    /**
+     * Moves the fishes using the data received from the host. Fish that reach their destination swim on to the
+     * destination of their next leg, the same one the host draws. Fish the host caught are no longer swimming, so
+     * the screen stops drawing them.
+     */
+    protected void moveFish() {
+        if (cFishingBoatEventData.getSwarm() != null) {
+            cFishingBoatEventData.getSwarm().move();
+        }
     }
 
 }
@@ -1,14 +1,17 @@
 package cg.group4.game_logic.stroll.events.mp_fishingboat;
 
+import cg.group4.data_structures.mp_fishingboat.FishingBoatCodec;
 import cg.group4.data_structures.mp_fishingboat.FishingBoatEventData;
 import cg.group4.game_logic.StandUp;
 import cg.group4.game_logic.stroll.events.StrollEvent;
 import cg.group4.game_logic.stroll.events.multiplayer_event.Host;
+import cg.group4.game_logic.stroll.events.multiplayer_event.SnapshotBuffer;
 import cg.group4.util.sensor.Accelerometer;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Defaults for both the client and the host part of the CraneFishing MultiPlayer Event.
@@ -35,9 +38,25 @@ public abstract class FishingBoatEvent extends StrollEvent {
      */
     protected Accelerometer cAccelerometer;
     /**
-     * ArrayList to avoid concurrent modification exception when deleting fish (when caught).
+     * Buffer in which outgoing UDP messages are encoded, reused for every message.
      */
-    protected ArrayList<Integer> cToRemove = new ArrayList<Integer>();
+    protected ByteBuffer cOutgoingDatagram = ByteBuffer.allocateDirect(FishingBoatCodec.MAX_SIZE);
+    /**
+     * Sequence number of the next outgoing UDP message.
+     */
+    protected int cSequence;
+    /**
+     * Maximum amount of milliseconds the remote state is extrapolated when the next message is late.
+     */
+    protected final long cMaxExtrapolation = 250;
+    /**
+     * Values of the latest received message, only used by the datagram handlers.
+     */
+    protected float[] cIncomingValues;
+    /**
+     * Values sampled from the snapshots for the current frame.
+     */
+    protected float[] cSampledValues;
 
     /**
      * Observer that will be notified when one of the sides disconnects.
@@ -52,38 +71,68 @@ public abstract class FishingBoatEvent extends StrollEvent {
     /**
      * Construct a new CraneFishingEvent.
      *
-     * @param otherClient Connection with the other client.
+     * @param otherClient  Connection with the other client.
+     * @param amountOfFish Amount of fish to spawn, 0 if they are received from the other client.
      */
-    public FishingBoatEvent(Host otherClient) {
+    public FishingBoatEvent(Host otherClient, int amountOfFish) {
         super();
         cOtherClient = otherClient;
         cOtherClient.getcDisconnectSubject().addObserver(cDisconnectObserver);
-        cAccelerometer = new Accelerometer(StandUp.getInstance().getSensorReader());
+        cAccelerometer = new Accelerometer(StandUp.getInstance().getSensorSampler());
         cAccelerometer.filterGravity(false);
         cAccelerometer.setNoiseThreshold(cNoiseThreshold);
         cAccelerometer.setFilterPerAxis(true);
 
-        cFishingBoatEventData = new FishingBoatEventData();
+        cFishingBoatEventData = new FishingBoatEventData(amountOfFish);
     }
 
     /**
-     * Checks to see if there are any fish to delete and if the event is finished.
+     * Creates a snapshot buffer for the state received from another phone in the room.
+     * The state is shown two network ticks in the past, so a single lost message does not cause a jump.
+     *
+     * @param valueCount Amount of values per message.
+     * @return The snapshot buffer.
      */
-    protected void validateFish() {
-        if (cToRemove.size() > 0) {
-            for (int key : cToRemove) {
-                cFishingBoatEventData.getcSmallFishCoordinates().remove(key);
-            }
-            cToRemove.clear();
+    protected SnapshotBuffer createSnapshots(final int valueCount) {
+        if (cIncomingValues == null || cIncomingValues.length < valueCount) {
+            cIncomingValues = new float[valueCount];
+            cSampledValues = new float[valueCount];
         }
-        if (cFishingBoatEventData.getcSmallFishCoordinates().size() == 0) {
+        return new SnapshotBuffer(valueCount, 2 * cOtherClient.getScheduler().getTickMillis(), cMaxExtrapolation);
+    }
+
+    /**
+     * Returns the current time of the network clock, used to time stamp and sample the snapshots.
+     *
+     * @return Time in milliseconds.
+     */
+    protected long currentMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(cOtherClient.getScheduler().getClock().nanoTime());
+    }
+
+    /**
+     * Checks to see if the event is finished.
+     */
+    protected void validateFish() {
+        if (isFinished()) {
             clearEvent();
         }
     }
 
+    /**
+     * Checks whether all fish are caught.
+     *
+     * @return True if the event is finished.
+     */
+    protected boolean isFinished() {
+        return cFishingBoatEventData.getFishLeft() == 0;
+    }
+
     @Override
     protected void clearEvent() {
-        super.dispose(cFishingBoatEventData.getcSmallFishCoordinates().size() == 0);
+        cOtherClient.getcDisconnectSubject().deleteObserver(cDisconnectObserver);
+        super.dispose(cFishingBoatEventData.getFishLeft() == 0);
+        cOtherClient.getScheduler().flush();
         cOtherClient.dispose();
     }
 
@@ -96,6 +145,7 @@ public abstract class FishingBoatEvent extends StrollEvent {
      * Called when disconnected from the other player. Clears the event without giving rewards.
      */
     protected void disconnectFromEvent() {
+        cOtherClient.getcDisconnectSubject().deleteObserver(cDisconnectObserver);
         super.dispose(false);
         cOtherClient.dispose();
     }
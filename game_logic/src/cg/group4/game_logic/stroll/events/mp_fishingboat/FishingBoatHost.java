@@ -1,17 +1,23 @@
 package cg.group4.game_logic.stroll.events.mp_fishingboat;
 
 import cg.group4.data_structures.mp_fishingboat.Coordinate;
-import cg.group4.data_structures.mp_fishingboat.SmallFishData;
-import cg.group4.data_structures.mp_fishingboat.SmallFishDestination;
+import cg.group4.data_structures.mp_fishingboat.FishSwarm;
+import cg.group4.data_structures.mp_fishingboat.FishingBoatCodec;
+import cg.group4.data_structures.mp_fishingboat.FishingBoatEventData;
+import cg.group4.data_structures.mp_fishingboat.SpatialGrid;
+import cg.group4.game_logic.stroll.events.multiplayer_event.DatagramHandler;
 import cg.group4.game_logic.stroll.events.multiplayer_event.Host;
-import cg.group4.game_logic.stroll.events.multiplayer_event.MessageHandler;
+import cg.group4.game_logic.stroll.events.multiplayer_event.SnapshotBuffer;
 import com.badlogic.gdx.math.Vector3;
 
-import java.util.HashMap;
+import java.nio.ByteBuffer;
 import java.util.Observable;
+import java.util.Observer;
 
 /**
  * Creates a new Host for the FishingBoatEvent.
+ * The host steers the boat and every client in the room operates a crane on it. The host is the only one that
+ * decides which fish are caught, the state of the room is encoded once per tick and send to every client.
  */
 public class FishingBoatHost extends FishingBoatEvent {
     /**
@@ -54,33 +60,120 @@ public class FishingBoatHost extends FishingBoatEvent {
      * Coordinate used to debug hitbox.
      */
     protected Coordinate cHitboxLocation = new Coordinate(0, 0);
+    /**
+     * Snapshots of the crane rotation received from every client, indexed by client id.
+     */
+    protected SnapshotBuffer[] cCraneSnapshots = new SnapshotBuffer[Host.MAX_PEERS];
+    /**
+     * Keeps track of the fish every client has not acknowledged yet, indexed by client id.
+     */
+    protected FishReplicator[] cReplicators = new FishReplicator[Host.MAX_PEERS];
+    /**
+     * Grid holding every fish that has not been caught, so a crane only tests the fish near its hitbox.
+     */
+    protected SpatialGrid cFishGrid = SpatialGrid.forSmallFish();
+
+    /**
+     * Adds a crane for every client that joins the room while the event is going.
+     */
+    protected Observer cJoinObserver = new Observer() {
+        @Override
+        public void update(Observable o, Object arg) {
+            addCrane((Integer) arg);
+        }
+    };
+
+    /**
+     * Removes the crane of every client that leaves the room.
+     */
+    protected Observer cLeaveObserver = new Observer() {
+        @Override
+        public void update(Observable o, Object arg) {
+            removeCrane((Integer) arg);
+        }
+    };
 
     /**
      * Creates a new CraneFishingEvent Host.
      *
-     * @param host the connection with the other client.
+     * @param host the connection with the clients.
      */
     public FishingBoatHost(Host host) {
-        super(host);
-        cOtherClient.sendTCP(cFishingBoatEventData);
+        super(host, FishingBoatEventData.DEFAULT_AMOUNT_OF_FISH);
+        FishSwarm swarm = cFishingBoatEventData.getSwarm();
+        for (int id = 0; id < swarm.size(); id++) {
+            cFishGrid.put(id, swarm.getX(id), swarm.getY(id));
+        }
+        for (int id = 0; id < Host.MAX_PEERS; id++) {
+            if (host.hasPeer(id)) {
+                addCrane(id);
+            }
+        }
+        host.getJoinSubject().addObserver(cJoinObserver);
+        host.getLeaveSubject().addObserver(cLeaveObserver);
+    }
+
+    /**
+     * Gives a client a crane and sends it every fish that has not been caught yet.
+     *
+     * @param id Id of the client.
+     */
+    protected void addCrane(final int id) {
+        cCraneSnapshots[id] = createSnapshots(1);
+        cCraneSnapshots[id].setAngular(0);
+        cReplicators[id] = new FishReplicator();
+        FishSwarm swarm = cFishingBoatEventData.getSwarm();
+        for (int key = 0; key < swarm.size(); key++) {
+            if (swarm.isSwimming(key)) {
+                cReplicators[id].spawn(key);
+            }
+        }
+        cFishingBoatEventData.setCraneActive(id, true);
+    }
+
+    /**
+     * Removes the crane of a client, its id can be handed out to the next client that joins.
+     *
+     * @param id Id of the client.
+     */
+    protected void removeCrane(final int id) {
+        cCraneSnapshots[id] = null;
+        cReplicators[id] = null;
+        cFishingBoatEventData.setCraneActive(id, false);
     }
 
     @Override
     public void start() {
-        cOtherClient.receiveUDP(new MessageHandler() {
+        cOtherClient.receiveUDP(new DatagramHandler() {
             @Override
-            public void handleMessage(Object message) {
-                cFishingBoatEventData.setcCraneRotation((double) message);
+            public void handleDatagram(int peer, ByteBuffer datagram) {
+                byte type = FishingBoatCodec.readType(datagram);
+                if (type == FishingBoatCodec.CRANE_ROTATION && cCraneSnapshots[peer] != null) {
+                    int sequence = FishingBoatCodec.readSequence(datagram);
+                    int time = FishingBoatCodec.readTime(datagram);
+                    cIncomingValues[0] = (float) FishingBoatCodec.readCraneRotation(datagram);
+                    cCraneSnapshots[peer].add(sequence, time, cIncomingValues, currentMillis());
+                } else if (type == FishingBoatCodec.FISH_ACK && cReplicators[peer] != null) {
+                    FishingBoatCodec.readSequence(datagram);
+                    FishingBoatCodec.readTime(datagram);
+                    cReplicators[peer].acknowledge(FishingBoatCodec.readFishAck(datagram));
+                }
             }
-        }, true);
+        });
     }
 
     @Override
     public void update(Observable o, Object arg) {
         Vector3 vector = cAccelerometer.update();
         moveBoat(vector);
+        updateCranes();
         moveFish();
-        cOtherClient.sendUDP(cFishingBoatEventData.getcBoatData());
+        FishingBoatCodec.writeRoomState(cOutgoingDatagram, cSequence++, (int) currentMillis(),
+                cFishingBoatEventData.getcBoatData(), cFishingBoatEventData.getcCraneRotations(),
+                cFishingBoatEventData.getCranesActive());
+        cOtherClient.getScheduler().offerState(FishingBoatCodec.ROOM_STATE, cOutgoingDatagram);
+        replicateFish();
+        cOtherClient.getScheduler().update();
         cDataSubject.update(cFishingBoatEventData);
 //        cDataSubject.update(cHitboxLocation);
         validateFish();
@@ -114,42 +207,126 @@ public class FishingBoatHost extends FishingBoatEvent {
     }
 
     /**
-     * Moves the fish and determines if the fish is caught or if the destination is reached.
-     * New destination and 'removal' of the fish are also send to the other client.
+     * Sets the rotation of every crane to where it should be shown in this frame, interpolated from the rotations
+     * received from its client.
+     */
+    protected void updateCranes() {
+        long now = currentMillis();
+        for (int id = 0; id < Host.MAX_PEERS; id++) {
+            if (cCraneSnapshots[id] != null && cCraneSnapshots[id].sample(now, cSampledValues)) {
+                cFishingBoatEventData.setcCraneRotation(id, cSampledValues[0]);
+            }
+        }
+    }
+
+    /**
+     * Moves the fish and determines if the fish is caught by any of the cranes or if the destination is reached.
+     * Fish that reached their destination are marked in the replicators, which send their position and leg to the
+     * clients. The clients draw the destination of the leg themselves.
      */
     protected void moveFish() {
-        HashMap<Integer, SmallFishData> data = cFishingBoatEventData.getcSmallFishCoordinates();
+        FishSwarm swarm = cFishingBoatEventData.getSwarm();
+        int arrived = swarm.move();
+        int[] arrivedIds = swarm.getArrived();
+        for (int i = 0; i < arrived; i++) {
+            for (FishReplicator replicator : cReplicators) {
+                if (replicator != null) {
+                    replicator.changed(arrivedIds[i]);
+                }
+            }
+        }
+        for (int id = 0; id < swarm.size(); id++) {
+            if (swarm.isSwimming(id)) {
+                cFishGrid.put(id, swarm.getX(id), swarm.getY(id));
+            }
+        }
 
         Coordinate boatLocation = cFishingBoatEventData.getcBoatData().getcLocation();
-
         double xCoordCenter = boatLocation.getX() + cXRadius - cHitboxXRadius;
         double yCoordCenter = boatLocation.getY() + cYRadius - cHitboxYRadius;
+        for (int id = 0; id < FishingBoatEventData.MAX_CRANES; id++) {
+            if (cFishingBoatEventData.isCraneActive(id)) {
+                catchFish(cFishingBoatEventData.getcCraneRotation(id), xCoordCenter, yCoordCenter);
+            }
+        }
+    }
 
-        double angle = cFishingBoatEventData.getcCraneRotation();
-
+    /**
+     * Catches the fish within the hitbox of a crane. Only the fish the grid finds near the hitbox are tested.
+     *
+     * @param angle        Rotation of the crane.
+     * @param xCoordCenter X coordinate of the hitbox when the crane is in the middle of the boat.
+     * @param yCoordCenter Y coordinate of the hitbox when the crane is in the middle of the boat.
+     */
+    protected void catchFish(double angle, double xCoordCenter, double yCoordCenter) {
         double xPositionMin = xCoordCenter + Math.cos(angle) * (cXRadius - cHitboxXRadius);
         double yPositionMin = yCoordCenter + Math.sin(angle) * (cYRadius - cHitboxYRadius);
         double xPositionMax = xPositionMin + cHitboxXRadius * 2;
         double yPositionMax = yPositionMin + cHitboxYRadius * 2;
 
-        //
         cHitboxLocation.setX((float) xPositionMin);
         cHitboxLocation.setY((float) yPositionMin);
 
-        for (int key : cFishingBoatEventData.getcSmallFishCoordinates().keySet()) {
-            SmallFishData fish = data.get(key);
+        FishSwarm swarm = cFishingBoatEventData.getSwarm();
+        int found = cFishGrid.query(xPositionMin, xPositionMax, yPositionMin, yPositionMax);
+        int[] candidates = cFishGrid.getResults();
+        for (int i = 0; i < found; i++) {
+            int key = candidates[i];
+            if (swarm.intersects(key, xPositionMin, xPositionMax, yPositionMin, yPositionMax)) {
+                swarm.remove(key);
+                cFishGrid.remove(key);
+                for (FishReplicator replicator : cReplicators) {
+                    if (replicator != null) {
+                        replicator.caught(key);
+                    }
+                }
+            }
+        }
+    }
 
-            fish.move();
+    /**
+     * Sends every client the fish it has not acknowledged yet, once per network tick.
+     * The fish deltas differ per client, as each client acknowledges them on its own.
+     */
+    protected void replicateFish() {
+        if (!cOtherClient.getScheduler().isTickDue()) {
+            return;
+        }
+        for (int id = 0; id < Host.MAX_PEERS; id++) {
+            if (cReplicators[id] != null && cReplicators[id].hasChanges()) {
+                cReplicators[id].write(cOutgoingDatagram, cSequence++, (int) currentMillis(),
+                        cFishingBoatEventData.getSwarm());
+                cOtherClient.getScheduler().offerState(id, FishingBoatCodec.FISH_DELTA, cOutgoingDatagram);
+            }
+        }
+    }
 
-            if (fish.intersects(xPositionMin, xPositionMax, yPositionMin, yPositionMax)) {
-                fish.setPosition(null);
-                cOtherClient.sendTCP(new SmallFishDestination(key, null));
-                cToRemove.add(key);
-            } else if (fish.destinationReached()) {
-                Coordinate newDestination = fish.generatePosition();
-                fish.setDestination(newDestination);
-                cOtherClient.sendTCP(new SmallFishDestination(key, newDestination));
+    @Override
+    protected void clearEvent() {
+        for (int id = 0; id < Host.MAX_PEERS; id++) {
+            if (cReplicators[id] != null && cReplicators[id].getFishLeft() == 0) {
+                cReplicators[id].write(cOutgoingDatagram, cSequence++, (int) currentMillis(),
+                        cFishingBoatEventData.getSwarm());
+                byte[] finalDelta = new byte[cOutgoingDatagram.remaining()];
+                cOutgoingDatagram.get(finalDelta);
+                cOtherClient.sendReliable(id, finalDelta, true);
             }
         }
+        stopObservingRoom();
+        super.clearEvent();
+    }
+
+    @Override
+    protected void disconnectFromEvent() {
+        stopObservingRoom();
+        super.disconnectFromEvent();
+    }
+
+    /**
+     * Stops adding and removing cranes when clients join or leave.
+     */
+    protected void stopObservingRoom() {
+        cOtherClient.getJoinSubject().deleteObserver(cJoinObserver);
+        cOtherClient.getLeaveSubject().deleteObserver(cLeaveObserver);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives what arrives on a reliable connection. Called on the thread that passed the packet to the connection.
+ */
+public interface ConnectionListener {
+    /**
+     * Called for every unreliable datagram.
+     *
+     * @param datagram Buffer holding the datagram, reused after this returns.
+     */
+    void handleUnreliable(ByteBuffer datagram);
+
+    /**
+     * Called for every reliable message, exactly once and in order if the channel is ordered.
+     *
+     * @param channel Id of the channel.
+     * @param payload Buffer holding the message, reused after this returns.
+     */
+    void handleReliable(int channel, ByteBuffer payload);
+
+    /**
+     * Called for connection control packets, such as HELLO, WELCOME and BYE.
+     *
+     * @param kind The kind of packet.
+     */
+    void handleControl(byte kind);
+}
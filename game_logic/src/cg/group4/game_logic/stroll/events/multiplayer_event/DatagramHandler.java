@@ -0,0 +1,17 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Used to define behaviour when receiving raw UDP datagrams between clients.
+ */
+public interface DatagramHandler {
+    /**
+     * The action to take when a datagram is received.
+     * The buffer is reused for the next datagram, so its content should be read before returning.
+     *
+     * @param peer     Id of the peer that send the datagram.
+     * @param datagram Buffer holding the datagram, positioned at its first byte.
+     */
+    void handleDatagram(int peer, ByteBuffer datagram);
+}
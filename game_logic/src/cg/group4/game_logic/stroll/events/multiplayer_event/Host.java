@@ -1,59 +1,150 @@
 package cg.group4.game_logic.stroll.events.multiplayer_event;
 
 import cg.group4.data_structures.subscribe.Subject;
+import cg.group4.server.relay.RelayFrame;
+import cg.group4.util.Clock;
 import com.badlogic.gdx.Gdx;
 
 import java.io.*;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A host can either be a Client or Host.
+ * Both state and reliable messages are send over a single UDP socket. Every other phone in the room is a
+ * {@link Peer} with its own {@link ReliableConnection}, which resends the reliable messages until they are
+ * acknowledged. The host of a room has a peer for every client, a client only has the host as peer.
+ * A single I/O thread waits on a Selector and puts the received packets in a queue, which the game loop
+ * drains once per frame through {@link #service()}. All handlers are called on the thread that drains the queue.
+ * When the host cannot be reached directly, every phone can instead talk to the relay of the server, which
+ * forwards the packets in frames that say which client they are from or for.
  */
 public abstract class Host {
     /**
-     * The default Byte Array size used for UDP.
+     * Most phones in a room, including the host.
      */
-    protected final int cIJustTookThisAsDefaultBufferSize = 1024;
+    public static final int ROOM_SIZE = 8;
     /**
-     * Limit the sending of data to 33 messages per second.
+     * Most peers a host can have, every phone in the room except itself.
      */
-    protected final int cMessagePerSecond = 33;
+    public static final int MAX_PEERS = ROOM_SIZE - 1;
     /**
-     * DatagramSocket used for UDP messaging.
+     * Id of the host of a room, the clients are numbered from 0.
      */
-    protected DatagramSocket cDatagramSocket;
+    public static final int HOST_ID = -1;
     /**
-     * The address of the other person.
+     * Tag of a reliable message holding a raw byte array.
      */
-    protected InetAddress cOtherClient;
+    protected static final byte TAG_BYTES = 0;
     /**
-     * A buffer for the UDP data.
+     * Tag of a reliable message holding an integer.
      */
-    protected byte[] cIncomingData = new byte[cIJustTookThisAsDefaultBufferSize];
+    protected static final byte TAG_INT = 1;
     /**
-     * TCP connection with the other client.
+     * Tag of a reliable message holding a serialized Object.
      */
-    protected Socket cSocket;
+    protected static final byte TAG_OBJECT = 2;
     /**
-     * ObjectInputStream for receiving Objects from the Socket.
+     * Milliseconds the connection stays open after disposing, to get the last reliable messages acknowledged.
      */
-    protected ObjectInputStream cInputStream;
+    protected static final long LINGER = 1000;
     /**
-     * ObjectOutputStream for sending Objects to the Socket.
+     * Milliseconds between two attempts of the handshake.
      */
-    protected ObjectOutputStream cOutputStream;
+    protected static final int RETRY_INTERVAL = 250;
+    /**
+     * Milliseconds between two polls of the queue when no game loop is draining it.
+     */
+    protected static final int POLL_INTERVAL = 50;
+    /**
+     * Milliseconds to wait for the relay to open or join a session.
+     */
+    protected static final long RELAY_TIMEOUT = ReliableConnection.TIMEOUT;
+    /**
+     * DatagramChannel used for all messaging.
+     */
+    protected DatagramChannel cDatagramChannel;
+    /**
+     * The peers, indexed by id. Only changed on the thread that drains the queue.
+     */
+    protected Peer[] cPeers = new Peer[MAX_PEERS];
+    /**
+     * The peers, by the address their packets come from.
+     */
+    protected HashMap<SocketAddress, Peer> cPeersByAddress = new HashMap<SocketAddress, Peer>();
+    /**
+     * Amount of peers.
+     */
+    protected int cPeerCount;
+    /**
+     * Id of this phone within the room.
+     */
+    protected int cLocalId = HOST_ID;
+    /**
+     * A buffer for the incoming packets, reused for every packet by the I/O thread.
+     */
+    protected ByteBuffer cIncomingData =
+            ByteBuffer.allocateDirect(ReliableConnection.MAX_PACKET_SIZE + RelayFrame.HEADER_SIZE);
+    /**
+     * Packets received by the I/O thread that have not been handled yet.
+     */
+    protected PacketQueue cIncomingPackets = new PacketQueue();
+    /**
+     * Wakes the I/O thread when packets arrive.
+     */
+    protected Selector cSelector;
+    /**
+     * A buffer in which outgoing reliable messages are encoded, reused for every message.
+     */
+    protected ByteBuffer cOutgoingMessage = ByteBuffer.allocate(ReliableChannel.MAX_PAYLOAD);
+    /**
+     * Handles the incoming datagrams.
+     */
+    protected DatagramHandler cDatagramHandler;
+    /**
+     * Handles the incoming reliable messages.
+     */
+    protected MessageHandler cMessageHandler;
+    /**
+     * Reliable messages that arrived while no message handler was set.
+     */
+    protected ArrayDeque<Object> cPendingMessages = new ArrayDeque<Object>();
+    /**
+     * Ids of the peers that send the pending messages.
+     */
+    protected ArrayDeque<Integer> cPendingPeers = new ArrayDeque<Integer>();
+    /**
+     * Message send reliably to every peer when it joins.
+     */
+    protected Serializable cGreeting;
     /**
      * Determines if the connection is still alive. If that is not the case this will terminate while loops.
      */
-    protected boolean cIsAlive = true;
+    protected volatile boolean cIsAlive = true;
     /**
-     * The last time a message is send, used to limit the number of messages send per second.
+     * Schedules the messages on a fixed network tick, limiting the amount of messages send per second.
      */
-    protected long cPreviousTime = 0L;
+    protected NetworkScheduler cScheduler = new NetworkScheduler(this);
     /**
-     * Notifies listeners when disconnected from the other party.
+     * Notifies listeners when disconnected from the other party, or for a host from the last peer.
      */
     protected Subject cDisconnectSubject = new Subject();
+    /**
+     * Notifies listeners with the id of a peer that joined after connecting.
+     */
+    protected Subject cJoinSubject = new Subject();
+    /**
+     * Notifies listeners with the id of a peer that left.
+     */
+    protected Subject cLeaveSubject = new Subject();
     /**
      * Determines if the host is connected or not.
      */
@@ -62,6 +153,26 @@ public abstract class Host {
      * After 5 minutes of not being able to connect, make sure to disconnect.
      */
     protected final int cFiveMinutes = 300_000;
+    /**
+     * Packets and bytes written to the channel.
+     */
+    protected long cPacketsSent, cBytesSent;
+    /**
+     * Address of the relay, or null when the peers are reached directly.
+     */
+    protected SocketAddress cRelay;
+    /**
+     * Host code of the session at the relay.
+     */
+    protected int cRelayCode;
+    /**
+     * Addresses of the relay slots, so no address is created per received packet.
+     */
+    protected RelayAddress[] cRelayAddresses = new RelayAddress[MAX_PEERS];
+    /**
+     * The frame header and the packet, written to the relay in one gathering write.
+     */
+    protected ByteBuffer[] cRelayFrame = new ByteBuffer[]{ByteBuffer.allocateDirect(RelayFrame.HEADER_SIZE), null};
 
     /**
      * Creates a new Host.
@@ -70,27 +181,213 @@ public abstract class Host {
     }
 
     /**
-     * Connects the host to the other party.
+     * Connects the host to the first other party and starts receiving.
      */
     public void connect() {
-        cSocket = createSocket();
-        if(cSocket != null) {
+        cDatagramChannel = createChannel();
+        if (cDatagramChannel != null) {
             cIsConnected = true;
-            cOtherClient = cSocket.getInetAddress();
-            try {
-                cDatagramSocket = new DatagramSocket(cSocket.getLocalPort());
-            } catch (SocketException e) {
-                e.printStackTrace();
+            startReceiving();
+        }
+    }
+
+    /**
+     * Performs the handshake with the first other party and adds it as peer.
+     *
+     * @return The datagram channel to use, or null if no connection could be made.
+     */
+    protected abstract DatagramChannel createChannel();
+
+    /**
+     * Adds a peer. Peers joining after connecting are greeted and announced through the join subject.
+     *
+     * @param id      Id of the peer.
+     * @param address Address of the peer.
+     * @return The peer.
+     */
+    protected Peer addPeer(final int id, final SocketAddress address) {
+        ReliableConnection connection = new ReliableConnection(new PacketSink() {
+            @Override
+            public void sendPacket(final ByteBuffer packet) {
+                write(packet, address);
+            }
+        }, new ConnectionListener() {
+            @Override
+            public void handleUnreliable(final ByteBuffer datagram) {
+                if (cIsAlive && cDatagramHandler != null) {
+                    cDatagramHandler.handleDatagram(id, datagram);
+                }
+            }
+
+            @Override
+            public void handleReliable(final int channel, final ByteBuffer payload) {
+                if (cIsAlive) {
+                    deliver(id, decodeMessage(payload));
+                }
             }
 
+            @Override
+            public void handleControl(final byte kind) {
+                Host.this.handleControl(id, kind);
+            }
+        }, currentMillis());
+        Peer peer = new Peer(id, address, connection);
+        cPeers[id] = peer;
+        cPeersByAddress.put(address, peer);
+        cPeerCount++;
+        if (cGreeting != null) {
+            sendReliable(id, cGreeting, true);
+        }
+        if (cIsConnected) {
+            cJoinSubject.update(id);
+        }
+        return peer;
+    }
+
+    /**
+     * Removes a peer that left or timed out. When the last peer is gone the host disconnects.
+     *
+     * @param peer The peer.
+     */
+    protected void removePeer(final Peer peer) {
+        if (cPeers[peer.getId()] != peer) {
+            return;
+        }
+        cPeers[peer.getId()] = null;
+        cPeersByAddress.remove(peer.getAddress());
+        cPeerCount--;
+        cScheduler.clearPeer(peer.getId());
+        cLeaveSubject.update(peer.getId());
+        if (cPeerCount == 0) {
+            disconnect();
+        }
+    }
+
+    /**
+     * Handles a packet from an address that is not a peer, used to let new peers join.
+     *
+     * @param source Address the packet came from.
+     * @param packet Buffer holding the packet.
+     */
+    protected void handleStranger(final SocketAddress source, final ByteBuffer packet) {
+    }
+
+    /**
+     * Handles a connection control packet.
+     *
+     * @param peer Id of the peer that send it.
+     * @param kind The kind of packet.
+     */
+    protected void handleControl(final int peer, final byte kind) {
+        if (kind == ReliableConnection.BYE && cPeers[peer] != null) {
+            Gdx.app.debug("Host", "Peer " + peer + " left.");
+            removePeer(cPeers[peer]);
+        }
+    }
+
+    /**
+     * Sets a message that is send reliably to every peer, now and when it joins.
+     *
+     * @param greeting The message, for example the event to play.
+     */
+    public void setGreeting(final Serializable greeting) {
+        cGreeting = greeting;
+        sendReliable(greeting);
+    }
+
+    /**
+     * Lets all packets go through the relay of the server, has to be set before connecting.
+     *
+     * @param relay Address of the relay.
+     * @param code  Host code of the session.
+     */
+    public void setRelay(final SocketAddress relay, final int code) {
+        cRelay = relay;
+        cRelayCode = code;
+        for (int slot = 0; slot < MAX_PEERS; slot++) {
+            cRelayAddresses[slot] = new RelayAddress(slot);
+        }
+    }
+
+    /**
+     * Returns whether all packets go through the relay of the server.
+     *
+     * @return True if relayed.
+     */
+    public boolean isRelayed() {
+        return cRelay != null;
+    }
+
+    /**
+     * Returns the address packets from a relay slot are handled as coming from: the slot for a host, and the relay
+     * itself for a client, as its only peer is the host.
+     *
+     * @param slot The slot in the frame.
+     * @return The address, or null if the slot is out of range.
+     */
+    protected SocketAddress relaySource(final int slot) {
+        if (!isHost()) {
+            return cRelay;
+        }
+        if (slot < 0 || slot >= MAX_PEERS) {
+            return null;
+        }
+        return cRelayAddresses[slot];
+    }
+
+    /**
+     * Opens or joins the session of the host code at the relay, connecting the channel to the relay.
+     * The request is repeated until the relay answers, as it might be lost.
+     *
+     * @param channel The channel, in blocking mode.
+     * @param request RelayFrame.OPEN or RelayFrame.JOIN.
+     * @param reply   The answer expected from the relay.
+     * @return The slot the relay answered with, or -1 if it refused or did not answer in time.
+     * @throws IOException When the channel failed.
+     */
+    protected int joinRelay(final DatagramChannel channel, final byte request, final byte reply) throws IOException {
+        channel.connect(cRelay);
+        channel.socket().setSoTimeout(RETRY_INTERVAL);
+        ByteBuffer frame = ByteBuffer.allocate(RelayFrame.CONTROL_SIZE);
+        DatagramPacket packet = new DatagramPacket(new byte[RelayFrame.CONTROL_SIZE], RelayFrame.CONTROL_SIZE);
+        long deadline = currentMillis() + RELAY_TIMEOUT;
+        while (currentMillis() < deadline) {
+            RelayFrame.writeControl(frame, request, 0, cRelayCode);
+            channel.write(frame);
             try {
-                cOutputStream = new ObjectOutputStream(cSocket.getOutputStream());
-                cOutputStream.flush();
-                cInputStream = new ObjectInputStream(cSocket.getInputStream());
-            } catch (IOException e) {
-                e.printStackTrace();
+                channel.socket().receive(packet);
+                if (packet.getLength() >= RelayFrame.HEADER_SIZE && packet.getData()[0] == reply) {
+                    return packet.getData()[1];
+                } else if (packet.getLength() > 0 && packet.getData()[0] == RelayFrame.REFUSED) {
+                    Gdx.app.debug("Host", "The relay refused session " + cRelayCode + ".");
+                    return -1;
+                }
+            } catch (SocketTimeoutException e) {
+                Gdx.app.debug("Host", "No answer from relay yet.");
+            } catch (PortUnreachableException e) {
+                Gdx.app.error("Host", "The relay is not running.");
+                return -1;
             }
         }
+        return -1;
+    }
+
+    /**
+     * Sets the clock used to limit the number of messages send per second.
+     *
+     * @param clock The new clock.
+     */
+    public void setClock(final Clock clock) {
+        cScheduler.setClock(clock);
+    }
+
+    /**
+     * Returns the scheduler through which state and reliable messages should be send.
+     *
+     * @return The network scheduler.
+     */
+    public NetworkScheduler getScheduler() {
+        return cScheduler;
     }
 
     /**
@@ -102,32 +399,203 @@ public abstract class Host {
     }
 
     /**
-     * Returns the socket connection with the other client.
+     * Returns the id of this phone within the room.
      *
-     * @return The socket connection.
+     * @return HOST_ID for the host of the room, the id the host handed out for a client.
      */
-    protected abstract Socket createSocket();
+    public int getLocalId() {
+        return cLocalId;
+    }
 
     /**
-     * Sends an Object using UDP.
+     * Returns the amount of peers.
      *
-     * @param object object to send.
+     * @return Peers connected.
      */
-    public void sendUDP(final Serializable object) {
-        if (cIsAlive && System.currentTimeMillis() - cPreviousTime > cMessagePerSecond) {
-            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                 ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
-                objectOutputStream.writeObject(object);
-                byte[] data = outputStream.toByteArray();
-                DatagramPacket sendPacket = new DatagramPacket(data, data.length, cOtherClient, cSocket.getPort());
-                cDatagramSocket.send(sendPacket);
-            } catch (SocketException e) {
-                disconnect();
-            } catch (StreamCorruptedException e) {
-                Gdx.app.error("UDP Send", e.toString());
-            } catch (IOException e) {
-                e.printStackTrace();
+    public int getPeerCount() {
+        return cPeerCount;
+    }
+
+    /**
+     * Checks whether there is a peer with an id.
+     *
+     * @param id Id of the peer.
+     * @return True if the peer is connected.
+     */
+    public boolean hasPeer(final int id) {
+        return id >= 0 && id < MAX_PEERS && cPeers[id] != null;
+    }
+
+    /**
+     * Returns the current time of the scheduler clock.
+     *
+     * @return Time in milliseconds.
+     */
+    protected long currentMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(cScheduler.getClock().nanoTime());
+    }
+
+    /**
+     * Sends a datagram without any guarantees right away to every peer, state should normally be offered to the
+     * scheduler instead.
+     *
+     * @param datagram Buffer holding the encoded message between its position and limit.
+     */
+    public void sendUDP(final ByteBuffer datagram) {
+        int start = datagram.position();
+        for (int id = 0; id < MAX_PEERS; id++) {
+            if (cPeers[id] != null) {
+                datagram.position(start);
+                sendUDP(id, datagram);
+            }
+        }
+    }
+
+    /**
+     * Sends a datagram without any guarantees right away to one peer.
+     *
+     * @param peer     Id of the peer.
+     * @param datagram Buffer holding the encoded message between its position and limit.
+     */
+    public void sendUDP(final int peer, final ByteBuffer datagram) {
+        if (cIsAlive && hasPeer(peer)) {
+            cPeers[peer].getConnection().sendUnreliable(datagram, currentMillis());
+        }
+    }
+
+    /**
+     * Sends an Object to every peer, that is delivered exactly once and in order, right away.
+     *
+     * @param object Object to send.
+     */
+    public void sendReliable(final Serializable object) {
+        for (int id = 0; id < MAX_PEERS; id++) {
+            if (cPeers[id] != null) {
+                sendReliable(id, object, true);
+            }
+        }
+    }
+
+    /**
+     * Sends an Object to one peer, that is delivered exactly once, right away.
+     *
+     * @param peer    Id of the peer.
+     * @param object  Object to send.
+     * @param ordered Whether it is delivered after the ordered messages send before it.
+     */
+    public void sendReliable(final int peer, final Serializable object, final boolean ordered) {
+        if (cIsAlive && hasPeer(peer)) {
+            synchronized (cOutgoingMessage) {
+                encodeMessage(object, cOutgoingMessage);
+                cPeers[peer].getConnection().sendReliable(
+                        ordered ? ReliableConnection.ORDERED : ReliableConnection.UNORDERED,
+                        cOutgoingMessage, currentMillis());
+            }
+        }
+    }
+
+    /**
+     * Handles the packets received since the last call, resends the reliable messages of which the acknowledgement
+     * is overdue and drops the peers that have been silent for too long.
+     * Called by the scheduler every frame, the handlers are called from here.
+     */
+    public void service() {
+        if (cIsAlive && cIsConnected) {
+            poll();
+            long now = currentMillis();
+            for (int id = 0; id < MAX_PEERS; id++) {
+                Peer peer = cPeers[id];
+                if (peer != null && !peer.getConnection().service(now)) {
+                    Gdx.app.debug("Host", "Peer " + id + " timed out.");
+                    removePeer(peer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes the packets in the queue to the connection of the peer they came from, in the order they were received.
+     */
+    protected void poll() {
+        ByteBuffer packet = cIncomingPackets.peek();
+        while (packet != null) {
+            SocketAddress source = cIncomingPackets.peekSource();
+            Peer peer = cPeersByAddress.get(source);
+            if (peer != null) {
+                peer.getConnection().receive(packet, currentMillis());
+            } else {
+                handleStranger(source, packet);
+            }
+            cIncomingPackets.remove();
+            packet = cIncomingPackets.peek();
+        }
+    }
+
+    /**
+     * Blocks the calling thread until a reliable message arrives, for when no game loop is servicing the host yet.
+     * The thread that calls this takes over the handling of the packets, and has to hand it back before the
+     * game loop services the host.
+     *
+     * @param timeout Milliseconds to wait at most.
+     * @return The message, or null if none arrived in time or the connection was lost.
+     */
+    public Object awaitReliable(final long timeout) {
+        long deadline = currentMillis() + timeout;
+        try {
+            while (cIsAlive && cPendingMessages.isEmpty() && currentMillis() < deadline) {
+                service();
+                if (cPendingMessages.isEmpty()) {
+                    Thread.sleep(POLL_INTERVAL);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        cPendingPeers.poll();
+        return cPendingMessages.poll();
+    }
+
+    /**
+     * Writes a packet to the datagram channel.
+     *
+     * @param packet  Buffer holding the packet between its position and limit.
+     * @param address Address to send the packet to.
+     */
+    protected void write(final ByteBuffer packet, final SocketAddress address) {
+        try {
+            if (cRelay != null) {
+                writeRelayed(packet, address);
+            } else {
+                cBytesSent += cDatagramChannel.send(packet, address);
             }
+            cPacketsSent++;
+        } catch (ClosedChannelException e) {
+            disconnect();
+        } catch (PortUnreachableException e) {
+            Gdx.app.error("UDP Send", e.toString());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes a packet to the relay in a data frame, without copying the packet.
+     *
+     * @param packet  Buffer holding the packet between its position and limit.
+     * @param address Address of the peer, the slot of a client for a host.
+     * @throws IOException When the channel failed.
+     */
+    protected void writeRelayed(final ByteBuffer packet, final SocketAddress address) throws IOException {
+        int slot = 0;
+        if (address instanceof RelayAddress) {
+            slot = ((RelayAddress) address).getSlot();
+        }
+        synchronized (cRelayFrame) {
+            cRelayFrame[0].clear();
+            cRelayFrame[0].put(RelayFrame.DATA).put((byte) slot).flip();
+            cRelayFrame[1] = packet;
+            cBytesSent += cDatagramChannel.write(cRelayFrame);
+            cRelayFrame[1] = null;
         }
     }
 
@@ -135,6 +603,9 @@ public abstract class Host {
      * Notifies the observer when connection is lost.
      */
     protected void disconnect() {
+        if (!cIsAlive) {
+            return;
+        }
         cIsAlive = false;
         Gdx.app.debug("Host", "Lost connection, attempting to disconnect!");
         Gdx.app.postRunnable(new Runnable() {
@@ -146,101 +617,197 @@ public abstract class Host {
     }
 
     /**
-     * Receives an Object using UDP.
-     *
-     * @param handler    Action to perform with the message.
-     * @param continuous Determines if this action will be performed all the time until cancelled.
+     * Starts the I/O thread, which waits for packets and puts them in the queue until the channel is closed.
      */
-    public void receiveUDP(final MessageHandler handler, final boolean continuous) {
+    protected void startReceiving() {
+        try {
+            cSelector = Selector.open();
+            cDatagramChannel.configureBlocking(false);
+            cDatagramChannel.register(cSelector, SelectionKey.OP_READ);
+        } catch (IOException e) {
+            e.printStackTrace();
+            disconnect();
+            return;
+        }
         Thread thread = new Thread(new Runnable() {
             @Override
             public void run() {
-                do {
-                    byte[] data = new byte[cIncomingData.length];
-
+                try {
+                    while (cDatagramChannel.isOpen()) {
+                        cSelector.select();
+                        cSelector.selectedKeys().clear();
+                        receiveAll();
+                    }
+                } catch (ClosedSelectorException e) {
+                    Gdx.app.debug("Host", "Selector closed.");
+                } catch (IOException e) {
+                    e.printStackTrace();
+                } finally {
                     try {
-                        DatagramPacket incomingPacket = new DatagramPacket(cIncomingData, cIncomingData.length);
-                        cDatagramSocket.receive(incomingPacket);
-                        data = incomingPacket.getData();
-                    } catch (SocketException e) {
-                        disconnect();
+                        cSelector.close();
                     } catch (IOException e) {
                         e.printStackTrace();
                     }
-
-                    try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(data);
-                         ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream)) {
-
-                        final Object object = objectInputStream.readObject();
-                        handler.handleMessage(object);
-                    } catch (StreamCorruptedException e) {
-                        Gdx.app.error("UDP Receive", e.toString());
-                    } catch (ClassNotFoundException | IOException e) {
-                        e.printStackTrace();
-                    }
-                } while (continuous && cIsAlive);
+                }
             }
         });
-        thread.setName("Incoming UDP Messages Thread");
+        thread.setName("Multiplayer I/O Thread");
         thread.start();
     }
 
     /**
-     * If the current client is either a host or not.
+     * Reads every packet that is waiting on the channel into the queue. Called on the I/O thread.
+     */
+    protected void receiveAll() {
+        try {
+            if (cRelay != null) {
+                receiveRelayed();
+                return;
+            }
+            cIncomingData.clear();
+            SocketAddress source = cDatagramChannel.receive(cIncomingData);
+            while (source != null) {
+                cIncomingData.flip();
+                cIncomingPackets.offer(cIncomingData, source);
+                cIncomingData.clear();
+                source = cDatagramChannel.receive(cIncomingData);
+            }
+        } catch (ClosedChannelException e) {
+            disconnect();
+        } catch (PortUnreachableException e) {
+            Gdx.app.error("UDP Receive", e.toString());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads every frame from the relay that is waiting on the channel into the queue. Called on the I/O thread.
+     * The packets in data frames are queued as coming from their slot. The relay closing a slot is queued as BYE.
      *
-     * @return Host or not.
+     * @throws IOException When the channel failed.
      */
-    public abstract boolean isHost();
+    protected void receiveRelayed() throws IOException {
+        cIncomingData.clear();
+        while (cDatagramChannel.read(cIncomingData) > 0) {
+            cIncomingData.flip();
+            if (cIncomingData.remaining() >= RelayFrame.HEADER_SIZE) {
+                byte kind = cIncomingData.get();
+                SocketAddress source = relaySource(cIncomingData.get());
+                if (source != null && kind == RelayFrame.DATA) {
+                    cIncomingPackets.offer(cIncomingData, source);
+                } else if (source != null && kind == RelayFrame.CLOSE) {
+                    cIncomingData.clear();
+                    cIncomingData.put(ReliableConnection.BYE).flip();
+                    cIncomingPackets.offer(cIncomingData, source);
+                }
+            }
+            cIncomingData.clear();
+        }
+    }
 
     /**
-     * Sends an Object using TCP.
+     * Sets the handler of the incoming datagrams. The handler is called with a reused buffer.
      *
-     * @param object Object to send.
+     * @param handler Action to perform with the datagram.
      */
-    public void sendTCP(final Serializable object) {
-        if (cIsAlive && System.currentTimeMillis() - cPreviousTime > cMessagePerSecond) {
+    public void receiveUDP(final DatagramHandler handler) {
+        cDatagramHandler = handler;
+    }
+
+    /**
+     * Sets the handler of the incoming reliable messages.
+     * Messages that arrived before a handler was set are passed to it first.
+     *
+     * @param handler Action to perform with the message.
+     */
+    public void receiveReliable(final MessageHandler handler) {
+        cMessageHandler = handler;
+        while (!cPendingMessages.isEmpty()) {
+            handler.handleMessage(cPendingPeers.poll(), cPendingMessages.poll());
+        }
+    }
+
+    /**
+     * Passes a reliable message to the message handler, or keeps it until a handler is set.
+     *
+     * @param peer    Id of the peer that send the message.
+     * @param message The message.
+     */
+    protected void deliver(final int peer, final Object message) {
+        if (cMessageHandler == null) {
+            cPendingPeers.add(peer);
+            cPendingMessages.add(message);
+        } else {
+            cMessageHandler.handleMessage(peer, message);
+        }
+    }
+
+    /**
+     * Encodes a reliable message. Byte arrays and integers are written as they are, other Objects are serialized.
+     *
+     * @param object The message.
+     * @param buffer Buffer to encode in, its content is cleared and it is flipped afterwards.
+     */
+    protected static void encodeMessage(final Serializable object, final ByteBuffer buffer) {
+        buffer.clear();
+        if (object instanceof byte[]) {
+            buffer.put(TAG_BYTES);
+            buffer.put((byte[]) object);
+        } else if (object instanceof Integer) {
+            buffer.put(TAG_INT);
+            buffer.putInt((Integer) object);
+        } else {
+            buffer.put(TAG_OBJECT);
             try {
-                cOutputStream.writeUnshared(object);
-                cOutputStream.flush();
-            } catch (SocketException e) {
-                disconnect();
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                ObjectOutputStream out = new ObjectOutputStream(bytes);
+                out.writeObject(object);
+                out.close();
+                buffer.put(bytes.toByteArray());
             } catch (IOException e) {
-                e.printStackTrace();
+                throw new IllegalArgumentException("Could not serialize " + object, e);
             }
         }
+        buffer.flip();
     }
 
     /**
-     * Receives an Object using TCP.
+     * Decodes a reliable message.
      *
-     * @param handler    Action to perform with the message.
-     * @param continuous Determines if this action will be performed all the time until cancelled.
+     * @param buffer Buffer holding the message between its position and limit.
+     * @return The message, or null if it could not be read.
      */
-    public void receiveTCP(final MessageHandler handler, final boolean continuous) {
-        Thread thread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                do {
-                    try {
-                        final Object object = cInputStream.readUnshared();
-                        Gdx.app.postRunnable(new Runnable() {
-                            @Override
-                            public void run() {
-                                handler.handleMessage(object);
-                            }
-                        });
-                    } catch (EOFException | SocketException e) {
-                        disconnect();
-                    } catch (ClassNotFoundException | IOException e) {
-                        e.printStackTrace();
-                    }
-                } while (continuous && cIsAlive);
-            }
-        });
-        thread.setName("Incoming TCP Messages Thread");
-        thread.start();
+    protected static Object decodeMessage(final ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case TAG_INT:
+                return buffer.getInt();
+            case TAG_BYTES:
+            case TAG_OBJECT:
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                if (tag == TAG_BYTES) {
+                    return bytes;
+                }
+                try {
+                    return new ObjectInputStream(new ByteArrayInputStream(bytes)).readObject();
+                } catch (ClassNotFoundException | IOException e) {
+                    e.printStackTrace();
+                    return null;
+                }
+            default:
+                return null;
+        }
     }
 
+    /**
+     * If the current client is either a host or not.
+     *
+     * @return Host or not.
+     */
+    public abstract boolean isHost();
+
     /**
      * Gets the disconnect subject that notifies when the client is disconnected.
      *
@@ -251,18 +818,100 @@ public abstract class Host {
     }
 
     /**
-     * Disposes the host connection.
+     * Gets the subject that notifies with the id of a peer that joined after connecting.
+     *
+     * @return The Subject.
+     */
+    public Subject getJoinSubject() {
+        return cJoinSubject;
+    }
+
+    /**
+     * Gets the subject that notifies with the id of a peer that left.
+     *
+     * @return The Subject.
+     */
+    public Subject getLeaveSubject() {
+        return cLeaveSubject;
+    }
+
+    /**
+     * Returns the amount of packets written to the channel.
+     *
+     * @return Packets send.
+     */
+    public long getPacketsSent() {
+        return cPacketsSent;
+    }
+
+    /**
+     * Returns the amount of bytes written to the channel, without the UDP and IP headers.
+     *
+     * @return Bytes send.
+     */
+    public long getBytesSent() {
+        return cBytesSent;
+    }
+
+    /**
+     * Disposes the host connection. The channel stays open in the background for a short while to get the last
+     * reliable messages acknowledged, then every peer and the relay are told goodbye.
      */
     public void dispose() {
         cIsAlive = false;
-        cDatagramSocket.close();
-        try {
-            cSocket.close();
-            cOutputStream.close();
-            cInputStream.close();
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (!cIsConnected) {
+            return;
         }
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                long deadline = currentMillis() + LINGER;
+                try {
+                    while (!isIdle() && currentMillis() < deadline) {
+                        poll();
+                        for (Peer peer : cPeers) {
+                            if (peer != null) {
+                                peer.getConnection().service(currentMillis());
+                            }
+                        }
+                        Thread.sleep(POLL_INTERVAL);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (Peer peer : cPeers) {
+                    if (peer != null) {
+                        peer.getConnection().sendControl(ReliableConnection.BYE, currentMillis());
+                    }
+                }
+                try {
+                    if (cRelay != null) {
+                        ByteBuffer frame = ByteBuffer.allocate(RelayFrame.CONTROL_SIZE);
+                        RelayFrame.writeControl(frame, RelayFrame.CLOSE, 0, cRelayCode);
+                        cDatagramChannel.write(frame);
+                    }
+                    cDatagramChannel.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                cSelector.wakeup();
+            }
+        });
+        thread.setName("Closing UDP Connection Thread");
+        thread.start();
+    }
 
+    /**
+     * Checks whether every reliable message to every peer has been acknowledged.
+     *
+     * @return True if nothing is in flight.
+     */
+    protected boolean isIdle() {
+        for (Peer peer : cPeers) {
+            if (peer != null && !peer.getConnection().isIdle()) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -1,13 +1,14 @@
 package cg.group4.game_logic.stroll.events.multiplayer_event;
 
 /**
- * Used to define behaviour when receiving messages over TCP or UDP between clients.
+ * Used to define behaviour when receiving reliable messages between clients.
  */
 public interface MessageHandler {
     /**
      * The action to take when messages are received.
      *
+     * @param peer    Id of the peer that send the message.
      * @param message The Object in the message.
      */
-    void handleMessage(Object message);
+    void handleMessage(int peer, Object message);
 }
@@ -1,17 +1,21 @@
 package cg.group4.game_logic.stroll.events.multiplayer_event;
 
 import cg.group4.data_structures.HostData;
+import cg.group4.server.relay.RelayFrame;
 import com.badlogic.gdx.Gdx;
 
 import java.io.IOException;
-import java.net.ConnectException;
+import java.net.DatagramPacket;
 import java.net.InetSocketAddress;
-import java.net.Socket;
+import java.net.PortUnreachableException;
+import java.net.SocketAddress;
 import java.net.SocketTimeoutException;
-import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 
 /**
- * Client of a multi-player stroll.
+ * Client of a multi-player stroll. Its only peer is the host of the room, with id 0.
+ * When relayed, the client joins the session of the host at the relay and says HELLO through the relay.
  */
 public class MultiplayerClient extends Host {
     /**
@@ -35,18 +39,76 @@ public class MultiplayerClient extends Host {
         cPort = hostData.getcPort();
     }
 
+    /**
+     * Says HELLO to the host until it answers with WELCOME, which holds the id of this phone in the room.
+     *
+     * @return The channel connected to the host or relay, or null when the host did not answer in time or the room is
+     * full.
+     */
     @Override
-    protected Socket createSocket() {
+    protected DatagramChannel createChannel() {
+        DatagramChannel channel = null;
+        int offset = 0;
         try {
-            Socket socket = new Socket();
-            socket.connect(new InetSocketAddress(cIP, cPort), cFiveMinutes);
-            return socket;
-        } catch (SocketTimeoutException | ConnectException e) {
+            channel = DatagramChannel.open();
+            cDatagramChannel = channel;
+            SocketAddress host;
+            if (isRelayed()) {
+                offset = RelayFrame.HEADER_SIZE;
+                if (joinRelay(channel, RelayFrame.JOIN, RelayFrame.JOINED) < 0) {
+                    channel.close();
+                    return null;
+                }
+                host = cRelay;
+            } else {
+                host = new InetSocketAddress(cIP, cPort);
+                channel.connect(host);
+            }
+            channel.socket().setSoTimeout(RETRY_INTERVAL);
+            DatagramPacket packet = new DatagramPacket(new byte[ReliableConnection.MAX_PACKET_SIZE + offset],
+                    ReliableConnection.MAX_PACKET_SIZE + offset);
+            byte[] data = packet.getData();
+            ByteBuffer hello = ByteBuffer.allocate(1);
+            long deadline = currentMillis() + cFiveMinutes;
+            while (currentMillis() < deadline) {
+                hello.clear();
+                hello.put(ReliableConnection.HELLO).flip();
+                write(hello, host);
+                try {
+                    channel.socket().receive(packet);
+                    if (isRelayed() && packet.getLength() > 0
+                            && (data[0] == RelayFrame.CLOSE || data[0] == RelayFrame.REFUSED)) {
+                        Gdx.app.debug("MultiplayerClient", "The relay closed the session.");
+                        break;
+                    } else if (isRelayed() && data[0] != RelayFrame.DATA) {
+                        continue;
+                    } else if (packet.getLength() > offset + 1 && data[offset] == ReliableConnection.WELCOME) {
+                        channel.socket().setSoTimeout(0);
+                        cLocalId = data[offset + 1];
+                        addPeer(0, host);
+                        return channel;
+                    } else if (packet.getLength() > offset && data[offset] == ReliableConnection.BYE) {
+                        Gdx.app.debug("MultiplayerClient", "The room is full.");
+                        break;
+                    }
+                } catch (SocketTimeoutException e) {
+                    Gdx.app.debug("MultiplayerClient", "No answer from host yet.");
+                } catch (PortUnreachableException e) {
+                    Thread.sleep(RETRY_INTERVAL);
+                }
+            }
             Gdx.app.debug("MultiplayerClient", "Failed to connect to host.");
-        } catch (UnknownHostException e) {
-            e.printStackTrace();
         } catch (IOException e) {
             e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
         return null;
     }
@@ -1,41 +1,83 @@
 package cg.group4.game_logic.stroll.events.multiplayer_event;
 
+import cg.group4.server.relay.RelayFrame;
 import com.badlogic.gdx.Gdx;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
 
 /**
- * Host of a multi-player stroll.
+ * Host of a multi-player stroll. Clients join the room by saying HELLO to its port, until the room is full.
+ * When relayed, the host opens a session at the relay instead and the clients say HELLO through the relay.
  */
 public class MultiplayerHost extends Host {
 
     /**
-     * Socket used to accept incoming connection.
+     * Channel bound to a random open port, on which the clients say hello.
      */
-    ServerSocket cServerSocket;
+    protected DatagramChannel cHostChannel;
 
     /**
-     * Creates a new MultiplayerHost that has a ServerSocket bound to a random open port.
+     * Buffer in which the WELCOME packets are build.
+     */
+    protected ByteBuffer cWelcome = ByteBuffer.allocate(2);
+
+    /**
+     * Creates a new MultiplayerHost that has a DatagramChannel bound to a random open port.
      */
     public MultiplayerHost() {
         try {
-            cServerSocket = new ServerSocket(0);
-            cServerSocket.setSoTimeout(cFiveMinutes);
+            cHostChannel = DatagramChannel.open();
+            cHostChannel.socket().bind(new InetSocketAddress(0));
+            cHostChannel.socket().setSoTimeout(cFiveMinutes);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Waits for the HELLO of the first client, adds it as peer and welcomes it.
+     *
+     * @return The channel, or null when nobody said hello in time or the relay did not open a session.
+     */
     @Override
-    protected Socket createSocket() {
+    protected DatagramChannel createChannel() {
+        int offset = 0;
+        if (isRelayed()) {
+            offset = RelayFrame.HEADER_SIZE;
+        }
+        DatagramPacket packet = new DatagramPacket(new byte[ReliableConnection.MAX_PACKET_SIZE + offset],
+                ReliableConnection.MAX_PACKET_SIZE + offset);
+        cDatagramChannel = cHostChannel;
         try {
-            return cServerSocket.accept();
-        } catch(SocketTimeoutException e) {
+            if (isRelayed()) {
+                if (joinRelay(cHostChannel, RelayFrame.OPEN, RelayFrame.OPENED) < 0) {
+                    cHostChannel.close();
+                    return null;
+                }
+                cHostChannel.socket().setSoTimeout(cFiveMinutes);
+            }
+            byte[] data = packet.getData();
+            do {
+                cHostChannel.socket().receive(packet);
+            } while (packet.getLength() <= offset || data[offset] != ReliableConnection.HELLO
+                    || isRelayed() && data[0] != RelayFrame.DATA);
+            if (isRelayed()) {
+                welcome(addPeer(0, relaySource(data[1])));
+            } else {
+                welcome(addPeer(0, packet.getSocketAddress()));
+            }
+            return cHostChannel;
+        } catch (SocketTimeoutException e) {
             stopHosting();
+        } catch (ClosedChannelException e) {
+            Gdx.app.debug("MultiplayerHost", "Stopped hosting before anyone joined.");
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -43,22 +85,73 @@ public class MultiplayerHost extends Host {
     }
 
     /**
-     * Returns the port on which the ServerSocket is listening.
+     * Lets a client that says HELLO join the room in the first free place, or tells it BYE when the room is full.
+     *
+     * @param source Address the packet came from.
+     * @param packet Buffer holding the packet.
+     */
+    @Override
+    protected void handleStranger(final SocketAddress source, final ByteBuffer packet) {
+        if (!packet.hasRemaining() || packet.get(packet.position()) != ReliableConnection.HELLO) {
+            return;
+        }
+        for (int id = 0; id < MAX_PEERS; id++) {
+            if (cPeers[id] == null) {
+                Gdx.app.debug("MultiplayerHost", "Peer " + id + " joined.");
+                welcome(addPeer(id, source));
+                return;
+            }
+        }
+        cWelcome.clear();
+        cWelcome.put(ReliableConnection.BYE).flip();
+        write(cWelcome, source);
+    }
+
+    /**
+     * Welcomes a client again when it says hello, as the first WELCOME might have been lost.
+     *
+     * @param peer Id of the peer that send the packet.
+     * @param kind The kind of packet.
+     */
+    @Override
+    protected void handleControl(final int peer, final byte kind) {
+        if (kind == ReliableConnection.HELLO) {
+            welcome(cPeers[peer]);
+        } else {
+            super.handleControl(peer, kind);
+        }
+    }
+
+    /**
+     * Sends a WELCOME holding the id the peer got in the room.
+     *
+     * @param peer The peer.
+     */
+    protected void welcome(final Peer peer) {
+        cWelcome.clear();
+        cWelcome.put(ReliableConnection.WELCOME).put((byte) peer.getId()).flip();
+        write(cWelcome, peer.getAddress());
+    }
+
+    /**
+     * Returns the port on which the DatagramChannel is listening.
      * @return The port.
      */
     public int getPort() {
-        return cServerSocket.getLocalPort();
+        return cHostChannel.socket().getLocalPort();
     }
 
     /**
-     * Clears the ServerSocket.
+     * Closes the DatagramChannel if nobody joined.
      */
     public void stopHosting() {
-        try {
-            cServerSocket.close();
-            Gdx.app.debug("MultiplayerHost", "Closed the ServerSocket");
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (!isConnected()) {
+            try {
+                cHostChannel.close();
+                Gdx.app.debug("MultiplayerHost", "Closed the DatagramChannel");
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
     }
 
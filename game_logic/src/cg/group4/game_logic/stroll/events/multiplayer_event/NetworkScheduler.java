@@ -0,0 +1,388 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import cg.group4.util.Clock;
+import cg.group4.util.SystemClock;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the messages of a host on a fixed network tick instead of every frame.
+ * State messages are offered per channel and only the latest one of each channel is send on the next tick.
+ * Reliable messages are queued and send together on the next tick, or send right away when they cannot wait.
+ */
+public class NetworkScheduler {
+
+    /**
+     * Default amount of network ticks per second.
+     */
+    public static final int DEFAULT_TICK_RATE = 15;
+
+    /**
+     * Largest datagram that can be offered to a state channel.
+     */
+    public static final int MAX_DATAGRAM_SIZE = 512;
+
+    /**
+     * Nanoseconds in a second.
+     */
+    protected static final long NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The host the messages are send through.
+     */
+    protected Host cHost;
+
+    /**
+     * Clock used to determine when the next tick is due, monotonic so it is not affected by changes of the system time.
+     */
+    protected Clock cClock;
+
+    /**
+     * Nanoseconds between two network ticks.
+     */
+    protected long cTickInterval;
+
+    /**
+     * Time (in nanoseconds) on which the next tick is due.
+     */
+    protected long cNextTick;
+
+    /**
+     * The state channels send to every peer, indexed by their channel number.
+     */
+    protected ArrayList<StateChannel> cChannels = new ArrayList<StateChannel>();
+
+    /**
+     * Per peer id, the state channels send only to that peer, indexed by their channel number.
+     */
+    protected ArrayList<ArrayList<StateChannel>> cPeerChannels = new ArrayList<ArrayList<StateChannel>>();
+
+    /**
+     * Reliable messages waiting for the next tick, in the order they were queued.
+     */
+    protected ArrayList<Serializable> cReliableQueue = new ArrayList<Serializable>();
+
+    /**
+     * Start (in nanoseconds) of the window in which the send rates are measured.
+     */
+    protected long cWindowStart;
+
+    /**
+     * Datagrams, their bytes and reliable messages send in the current window.
+     */
+    protected int cWindowDatagrams, cWindowBytes, cWindowReliable;
+
+    /**
+     * Datagrams, bytes and reliable messages send per second, measured over the last complete window.
+     */
+    protected int cDatagramRate, cByteRate, cReliableRate;
+
+    /**
+     * State messages that were replaced by a newer one before they were send.
+     */
+    protected long cCoalesced;
+
+    /**
+     * Creates a scheduler that sends through the given host at the default tick rate.
+     *
+     * @param host The host to send through.
+     */
+    public NetworkScheduler(final Host host) {
+        cHost = host;
+        cClock = SystemClock.getInstance();
+        setTickRate(DEFAULT_TICK_RATE);
+    }
+
+    /**
+     * Sets the amount of network ticks per second, the next tick is due right away.
+     *
+     * @param ticksPerSecond Ticks per second, has to be positive.
+     */
+    public void setTickRate(final int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("The tick rate has to be positive.");
+        }
+        cTickInterval = NANOS_IN_SECOND / ticksPerSecond;
+        resetTick();
+    }
+
+    /**
+     * Returns the amount of network ticks per second.
+     *
+     * @return Ticks per second.
+     */
+    public int getTickRate() {
+        return (int) (NANOS_IN_SECOND / cTickInterval);
+    }
+
+    /**
+     * Sets the clock used to schedule the ticks.
+     *
+     * @param clock The new clock.
+     */
+    public void setClock(final Clock clock) {
+        cClock = clock;
+        resetTick();
+    }
+
+    /**
+     * Returns the clock used to schedule the ticks.
+     *
+     * @return The clock.
+     */
+    public Clock getClock() {
+        return cClock;
+    }
+
+    /**
+     * Returns the amount of milliseconds between two network ticks.
+     *
+     * @return Tick interval in milliseconds.
+     */
+    public long getTickMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(cTickInterval);
+    }
+
+    /**
+     * Makes the next tick due right away and restarts the rate measurement.
+     */
+    protected void resetTick() {
+        cNextTick = cClock.nanoTime();
+        cWindowStart = cNextTick;
+        cWindowDatagrams = 0;
+        cWindowBytes = 0;
+        cWindowReliable = 0;
+    }
+
+    /**
+     * Offers the latest state of a channel that is send to every peer, replacing the state that has not been
+     * send yet. The datagram is encoded once and copied, so the caller can reuse its buffer.
+     *
+     * @param channel  Number of the channel, for example the message type.
+     * @param datagram Buffer holding the encoded message between its position and limit.
+     */
+    public void offerState(final int channel, final ByteBuffer datagram) {
+        offer(getChannel(cChannels, channel), datagram);
+    }
+
+    /**
+     * Offers the latest state of a channel that is only send to one peer, such as state that depends on what the
+     * peer acknowledged.
+     *
+     * @param peer     Id of the peer.
+     * @param channel  Number of the channel, for example the message type.
+     * @param datagram Buffer holding the encoded message between its position and limit.
+     */
+    public void offerState(final int peer, final int channel, final ByteBuffer datagram) {
+        while (cPeerChannels.size() <= peer) {
+            cPeerChannels.add(new ArrayList<StateChannel>());
+        }
+        offer(getChannel(cPeerChannels.get(peer), channel), datagram);
+    }
+
+    /**
+     * Returns a state channel, creating it when it is used for the first time.
+     *
+     * @param channels The channels to look in.
+     * @param channel  Number of the channel.
+     * @return The state channel.
+     */
+    protected StateChannel getChannel(final ArrayList<StateChannel> channels, final int channel) {
+        while (channels.size() <= channel) {
+            channels.add(null);
+        }
+        StateChannel stateChannel = channels.get(channel);
+        if (stateChannel == null) {
+            stateChannel = new StateChannel();
+            channels.set(channel, stateChannel);
+        }
+        return stateChannel;
+    }
+
+    /**
+     * Drops the pending state of a peer, used when it left so its id can be given to the next peer.
+     *
+     * @param peer Id of the peer.
+     */
+    public void clearPeer(final int peer) {
+        if (peer < cPeerChannels.size()) {
+            for (StateChannel channel : cPeerChannels.get(peer)) {
+                if (channel != null) {
+                    channel.cPending = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the pending state of a channel.
+     *
+     * @param stateChannel The channel.
+     * @param datagram     Buffer holding the encoded message between its position and limit.
+     */
+    protected void offer(final StateChannel stateChannel, final ByteBuffer datagram) {
+        if (stateChannel.cPending) {
+            cCoalesced++;
+        }
+        stateChannel.cBuffer.clear();
+        stateChannel.cBuffer.put(datagram);
+        stateChannel.cBuffer.flip();
+        stateChannel.cPending = true;
+    }
+
+    /**
+     * Queues a reliable message, it is send together with the other queued messages on the next tick.
+     *
+     * @param message The message to send.
+     */
+    public void queueReliable(final Serializable message) {
+        cReliableQueue.add(message);
+    }
+
+    /**
+     * Sends a reliable message right away, together with the messages queued before it to keep them in order.
+     *
+     * @param message The message to send.
+     */
+    public void sendReliable(final Serializable message) {
+        cReliableQueue.add(message);
+        flushReliable();
+    }
+
+    /**
+     * Checks whether the next call to update will send, used to only build state that is send once per tick.
+     *
+     * @return True if a network tick is due.
+     */
+    public boolean isTickDue() {
+        return cClock.nanoTime() >= cNextTick;
+    }
+
+    /**
+     * Lets the host resend overdue reliable messages and sends everything that is pending if a network tick is due.
+     * Should be called every frame.
+     *
+     * @return True if a tick was due.
+     */
+    public boolean update() {
+        cHost.service();
+        long now = cClock.nanoTime();
+        if (now < cNextTick) {
+            return false;
+        }
+        cNextTick += cTickInterval;
+        if (cNextTick <= now) {
+            cNextTick = now + cTickInterval;
+        }
+
+        flush();
+
+        if (now - cWindowStart >= NANOS_IN_SECOND) {
+            double seconds = (double) (now - cWindowStart) / NANOS_IN_SECOND;
+            cDatagramRate = (int) Math.round(cWindowDatagrams / seconds);
+            cByteRate = (int) Math.round(cWindowBytes / seconds);
+            cReliableRate = (int) Math.round(cWindowReliable / seconds);
+            cWindowStart = now;
+            cWindowDatagrams = 0;
+            cWindowBytes = 0;
+            cWindowReliable = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Sends the pending state of every channel and all queued reliable messages right away.
+     * Used when the connection is about to be closed.
+     */
+    public void flush() {
+        for (int i = 0; i < cChannels.size(); i++) {
+            StateChannel channel = cChannels.get(i);
+            if (channel != null && channel.cPending) {
+                channel.cPending = false;
+                cWindowDatagrams++;
+                cWindowBytes += channel.cBuffer.remaining();
+                cHost.sendUDP(channel.cBuffer);
+            }
+        }
+        for (int peer = 0; peer < cPeerChannels.size(); peer++) {
+            ArrayList<StateChannel> channels = cPeerChannels.get(peer);
+            for (int i = 0; i < channels.size(); i++) {
+                StateChannel channel = channels.get(i);
+                if (channel != null && channel.cPending) {
+                    channel.cPending = false;
+                    cWindowDatagrams++;
+                    cWindowBytes += channel.cBuffer.remaining();
+                    cHost.sendUDP(peer, channel.cBuffer);
+                }
+            }
+        }
+        flushReliable();
+    }
+
+    /**
+     * Sends all queued reliable messages in the order they were queued.
+     */
+    protected void flushReliable() {
+        for (int i = 0; i < cReliableQueue.size(); i++) {
+            cHost.sendReliable(cReliableQueue.get(i));
+        }
+        cWindowReliable += cReliableQueue.size();
+        cReliableQueue.clear();
+    }
+
+    /**
+     * Returns the amount of state messages send per second, measured over the last second.
+     * A message send to every peer counts once.
+     *
+     * @return Datagrams per second.
+     */
+    public int getDatagramRate() {
+        return cDatagramRate;
+    }
+
+    /**
+     * Returns the amount of UDP payload bytes send per second, measured over the last second.
+     *
+     * @return Bytes per second.
+     */
+    public int getByteRate() {
+        return cByteRate;
+    }
+
+    /**
+     * Returns the amount of reliable messages send per second, measured over the last second.
+     *
+     * @return Reliable messages per second.
+     */
+    public int getReliableRate() {
+        return cReliableRate;
+    }
+
+    /**
+     * Returns the amount of state messages that were replaced before they were send.
+     *
+     * @return Coalesced state messages.
+     */
+    public long getCoalesced() {
+        return cCoalesced;
+    }
+
+    /**
+     * Holds the latest state of one channel.
+     */
+    protected static class StateChannel {
+
+        /**
+         * Copy of the latest offered datagram.
+         */
+        protected ByteBuffer cBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+
+        /**
+         * Whether the datagram has not been send yet.
+         */
+        protected boolean cPending;
+    }
+}
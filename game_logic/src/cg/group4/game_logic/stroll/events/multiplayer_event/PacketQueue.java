@@ -0,0 +1,175 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free queue of packets between exactly one producing thread, the I/O thread of a host, and exactly one
+ * consuming thread, normally the render thread. Packets are copied into slots that are allocated up front,
+ * so offering and taking packets does not allocate. When the queue is full new packets are dropped,
+ * which the reliable connection recovers from like any other lost packet.
+ */
+public class PacketQueue {
+
+    /**
+     * Default amount of packets the queue can hold.
+     */
+    public static final int DEFAULT_CAPACITY = 128;
+
+    /**
+     * The slots holding the packets.
+     */
+    protected final byte[][] cSlots;
+
+    /**
+     * Buffers wrapping the slots, handed to the consumer.
+     */
+    protected final ByteBuffer[] cViews;
+
+    /**
+     * Length of the packet in each slot.
+     */
+    protected final int[] cLengths;
+
+    /**
+     * Address the packet in each slot came from.
+     */
+    protected final SocketAddress[] cSources;
+
+    /**
+     * Capacity minus one, used to map positions to slots.
+     */
+    protected final int cMask;
+
+    /**
+     * Position of the next packet to take, only written by the consumer.
+     */
+    protected final AtomicLong cHead = new AtomicLong();
+
+    /**
+     * Position of the next packet to offer, only written by the producer.
+     */
+    protected final AtomicLong cTail = new AtomicLong();
+
+    /**
+     * Packets dropped because the queue was full or they did not fit a slot, only written by the producer.
+     */
+    protected volatile long cDropped;
+
+    /**
+     * Creates a queue of the default capacity, of packets up to the maximum packet size.
+     */
+    public PacketQueue() {
+        this(DEFAULT_CAPACITY, ReliableConnection.MAX_PACKET_SIZE);
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param capacity   Amount of packets the queue can hold, a power of two.
+     * @param packetSize Size of the largest packet.
+     */
+    public PacketQueue(final int capacity, final int packetSize) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity has to be a power of two.");
+        }
+        cSlots = new byte[capacity][packetSize];
+        cViews = new ByteBuffer[capacity];
+        for (int i = 0; i < capacity; i++) {
+            cViews[i] = ByteBuffer.wrap(cSlots[i]);
+        }
+        cLengths = new int[capacity];
+        cSources = new SocketAddress[capacity];
+        cMask = capacity - 1;
+    }
+
+    /**
+     * Copies a packet of which the source does not matter into the queue. Only to be called by the producer.
+     *
+     * @param packet Buffer holding the packet between its position and limit.
+     * @return False if the packet was dropped.
+     */
+    public boolean offer(final ByteBuffer packet) {
+        return offer(packet, null);
+    }
+
+    /**
+     * Copies a packet into the queue. Only to be called by the producer.
+     *
+     * @param packet Buffer holding the packet between its position and limit.
+     * @param source Address the packet came from.
+     * @return False if the packet was dropped.
+     */
+    public boolean offer(final ByteBuffer packet, final SocketAddress source) {
+        long tail = cTail.get();
+        int slot = (int) tail & cMask;
+        if (tail - cHead.get() > cMask || packet.remaining() > cSlots[slot].length) {
+            cDropped++;
+            return false;
+        }
+        cLengths[slot] = packet.remaining();
+        packet.get(cSlots[slot], 0, cLengths[slot]);
+        cSources[slot] = source;
+        cTail.lazySet(tail + 1);
+        return true;
+    }
+
+    /**
+     * Returns the oldest packet without taking it. Only to be called by the consumer.
+     *
+     * @return Buffer holding the packet, valid until {@link #remove()} is called, or null if the queue is empty.
+     */
+    public ByteBuffer peek() {
+        long head = cHead.get();
+        if (head == cTail.get()) {
+            return null;
+        }
+        int slot = (int) head & cMask;
+        ByteBuffer view = cViews[slot];
+        view.clear();
+        view.limit(cLengths[slot]);
+        return view;
+    }
+
+    /**
+     * Returns the address the oldest packet came from. Only to be called by the consumer.
+     *
+     * @return The address, or null if the queue is empty.
+     */
+    public SocketAddress peekSource() {
+        long head = cHead.get();
+        if (head == cTail.get()) {
+            return null;
+        }
+        return cSources[(int) head & cMask];
+    }
+
+    /**
+     * Takes the oldest packet, freeing its slot for the producer. Only to be called by the consumer.
+     */
+    public void remove() {
+        long head = cHead.get();
+        if (head != cTail.get()) {
+            cHead.lazySet(head + 1);
+        }
+    }
+
+    /**
+     * Returns the amount of packets in the queue.
+     *
+     * @return Packets waiting to be taken.
+     */
+    public int size() {
+        return (int) (cTail.get() - cHead.get());
+    }
+
+    /**
+     * Returns the amount of packets that were dropped.
+     *
+     * @return Dropped packets.
+     */
+    public long getDropped() {
+        return cDropped;
+    }
+}
@@ -0,0 +1,15 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Destination of the packets written by a reliable connection, normally the datagram channel of a host.
+ */
+public interface PacketSink {
+    /**
+     * Sends a packet.
+     *
+     * @param packet Buffer holding the packet between its position and limit, reused after this returns.
+     */
+    void sendPacket(ByteBuffer packet);
+}
@@ -0,0 +1,65 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import java.net.SocketAddress;
+
+/**
+ * Another phone in the room: its address and the connection with it.
+ * The host of a room has a peer for every client, a client only has the host as peer.
+ */
+public class Peer {
+
+    /**
+     * Id of the peer within the room.
+     */
+    protected final int cId;
+
+    /**
+     * Address the packets of the peer come from and are send to.
+     */
+    protected final SocketAddress cAddress;
+
+    /**
+     * The connection with the peer.
+     */
+    protected final ReliableConnection cConnection;
+
+    /**
+     * Creates a peer.
+     *
+     * @param id         Id of the peer within the room.
+     * @param address    Address of the peer.
+     * @param connection The connection with the peer.
+     */
+    public Peer(final int id, final SocketAddress address, final ReliableConnection connection) {
+        cId = id;
+        cAddress = address;
+        cConnection = connection;
+    }
+
+    /**
+     * Returns the id of the peer within the room.
+     *
+     * @return The id.
+     */
+    public int getId() {
+        return cId;
+    }
+
+    /**
+     * Returns the address of the peer.
+     *
+     * @return The address.
+     */
+    public SocketAddress getAddress() {
+        return cAddress;
+    }
+
+    /**
+     * Returns the connection with the peer.
+     *
+     * @return The connection.
+     */
+    public ReliableConnection getConnection() {
+        return cConnection;
+    }
+}
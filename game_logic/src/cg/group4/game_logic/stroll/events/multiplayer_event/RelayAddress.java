@@ -0,0 +1,52 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import java.net.SocketAddress;
+
+/**
+ * Address of a client of a relayed host: the slot the relay gave the client, as the host never sees its real address.
+ */
+public class RelayAddress extends SocketAddress {
+
+    /**
+     * Version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Slot of the client at the relay.
+     */
+    protected final int cSlot;
+
+    /**
+     * Creates the address of a slot.
+     *
+     * @param slot Slot of the client at the relay.
+     */
+    public RelayAddress(final int slot) {
+        cSlot = slot;
+    }
+
+    /**
+     * Returns the slot of the client at the relay.
+     *
+     * @return The slot.
+     */
+    public int getSlot() {
+        return cSlot;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof RelayAddress && ((RelayAddress) other).cSlot == cSlot;
+    }
+
+    @Override
+    public int hashCode() {
+        return cSlot;
+    }
+
+    @Override
+    public String toString() {
+        return "relay slot " + cSlot;
+    }
+}
@@ -0,0 +1,424 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * One reliable channel of a connection. Messages get a sequence number and are resend until they are acknowledged.
+ * Every packet acknowledges the latest received sequence number plus the 32 before it in a bitfield,
+ * so a single acknowledgement that gets through covers the ones that were lost.
+ * An ordered channel holds back messages until the ones before them arrived, an unordered one delivers right away.
+ * Not thread safe, the connection owning the channel synchronizes access.
+ */
+public class ReliableChannel {
+
+    /**
+     * Amount of messages that can be in flight, limited by the acknowledgement bitfield.
+     */
+    public static final int WINDOW = 32;
+
+    /**
+     * Size of the header of a reliable packet: kind, channel, sequence, ack and ack bits.
+     */
+    public static final int DATA_HEADER_SIZE = 1 + 1 + 4 + 4 + 4;
+
+    /**
+     * Size of an acknowledgement packet: kind, channel, ack and ack bits.
+     */
+    public static final int ACK_SIZE = 1 + 1 + 4 + 4;
+
+    /**
+     * Largest message that can be send.
+     */
+    public static final int MAX_PAYLOAD = ReliableConnection.MAX_PACKET_SIZE - DATA_HEADER_SIZE;
+
+    /**
+     * Retransmission timeout before the round trip time is known, in milliseconds.
+     */
+    protected static final long INITIAL_TIMEOUT = 200;
+
+    /**
+     * Bounds of the retransmission timeout in milliseconds.
+     */
+    protected static final long MIN_TIMEOUT = 50, MAX_TIMEOUT = 1000;
+
+    /**
+     * Id of the channel.
+     */
+    protected final int cId;
+
+    /**
+     * Whether messages are delivered in the order they were send.
+     */
+    protected final boolean cOrdered;
+
+    /**
+     * Sequence number of the next message.
+     */
+    protected int cNextSequence;
+
+    /**
+     * Sequence number of the oldest message that has not been acknowledged.
+     */
+    protected int cOldestUnacked;
+
+    /**
+     * Messages in flight, indexed by sequence number modulo the window.
+     */
+    protected final byte[][] cSendPayloads = new byte[WINDOW][MAX_PAYLOAD];
+
+    /**
+     * Length of the messages in flight.
+     */
+    protected final int[] cSendLengths = new int[WINDOW];
+
+    /**
+     * Whether a message in flight is still waiting for its acknowledgement.
+     */
+    protected final boolean[] cSendPending = new boolean[WINDOW];
+
+    /**
+     * Time (in milliseconds) on which a message in flight was first send.
+     */
+    protected final long[] cFirstSendTimes = new long[WINDOW];
+
+    /**
+     * Time (in milliseconds) on which a message in flight was last send.
+     */
+    protected final long[] cLastSendTimes = new long[WINDOW];
+
+    /**
+     * How often a message in flight has been send.
+     */
+    protected final int[] cSendCounts = new int[WINDOW];
+
+    /**
+     * Messages waiting for room in the window.
+     */
+    protected final ArrayDeque<byte[]> cBacklog = new ArrayDeque<byte[]>();
+
+    /**
+     * Latest sequence number received, -1 before anything is received.
+     */
+    protected int cLatestReceived = -1;
+
+    /**
+     * Bit i is set if sequence number cLatestReceived - 1 - i has been received.
+     */
+    protected int cReceivedBits;
+
+    /**
+     * Sequence number of the next message to deliver on an ordered channel.
+     */
+    protected int cNextDelivery;
+
+    /**
+     * Messages received out of order on an ordered channel, indexed by sequence number modulo the window.
+     */
+    protected final byte[][] cReceivePayloads;
+
+    /**
+     * Length of the messages received out of order.
+     */
+    protected final int[] cReceiveLengths;
+
+    /**
+     * Whether a message received out of order is waiting to be delivered.
+     */
+    protected final boolean[] cReceiveWaiting;
+
+    /**
+     * Smoothed round trip time in milliseconds, 0 while unknown.
+     */
+    protected long cRoundTripTime;
+
+    /**
+     * Amount of messages that were send again.
+     */
+    protected long cResends;
+
+    /**
+     * Creates a channel.
+     *
+     * @param id      Id of the channel, send in every packet.
+     * @param ordered Whether messages are delivered in the order they were send.
+     */
+    public ReliableChannel(final int id, final boolean ordered) {
+        cId = id;
+        cOrdered = ordered;
+        if (ordered) {
+            cReceivePayloads = new byte[WINDOW][MAX_PAYLOAD];
+            cReceiveLengths = new int[WINDOW];
+            cReceiveWaiting = new boolean[WINDOW];
+        } else {
+            cReceivePayloads = null;
+            cReceiveLengths = null;
+            cReceiveWaiting = null;
+        }
+    }
+
+    /**
+     * Sends a message, or queues it when the window is full.
+     *
+     * @param payload Buffer holding the message between its position and limit, it is copied.
+     * @param now     Current time in milliseconds.
+     * @param packet  Buffer to build the packet in.
+     * @param sink    Where the packet is send to.
+     */
+    public void send(final ByteBuffer payload, final long now, final ByteBuffer packet, final PacketSink sink) {
+        if (payload.remaining() > MAX_PAYLOAD) {
+            throw new IllegalArgumentException("Message of " + payload.remaining() + " bytes does not fit a packet.");
+        }
+        if (cNextSequence - cOldestUnacked >= WINDOW) {
+            byte[] queued = new byte[payload.remaining()];
+            payload.get(queued);
+            cBacklog.add(queued);
+            return;
+        }
+        int sequence = cNextSequence++;
+        int slot = slot(sequence);
+        cSendLengths[slot] = payload.remaining();
+        payload.get(cSendPayloads[slot], 0, cSendLengths[slot]);
+        cSendPending[slot] = true;
+        cFirstSendTimes[slot] = now;
+        cSendCounts[slot] = 0;
+        transmit(sequence, now, packet, sink);
+    }
+
+    /**
+     * Handles a reliable packet: processes its acknowledgement, delivers its message and acknowledges it.
+     *
+     * @param in       Buffer positioned after the kind and channel of the packet.
+     * @param now      Current time in milliseconds.
+     * @param packet   Buffer to build the acknowledgement in.
+     * @param sink     Where the acknowledgement is send to.
+     * @param listener Receives the delivered messages.
+     */
+    public void receiveData(final ByteBuffer in, final long now, final ByteBuffer packet, final PacketSink sink,
+                            final ConnectionListener listener) {
+        int sequence = in.getInt();
+        int ack = in.getInt();
+        int ackBits = in.getInt();
+        acknowledge(ack, ackBits, now, packet, sink);
+
+        if (!isReceived(sequence)) {
+            if (!cOrdered) {
+                markReceived(sequence);
+                listener.handleReliable(cId, in);
+            } else if (sequence - cNextDelivery >= 0 && sequence - cNextDelivery < WINDOW) {
+                markReceived(sequence);
+                int slot = slot(sequence);
+                cReceiveLengths[slot] = in.remaining();
+                in.get(cReceivePayloads[slot], 0, cReceiveLengths[slot]);
+                cReceiveWaiting[slot] = true;
+                deliver(listener);
+            }
+        }
+        writeAck(packet);
+        sink.sendPacket(packet);
+    }
+
+    /**
+     * Handles an acknowledgement packet.
+     *
+     * @param in     Buffer positioned after the kind and channel of the packet.
+     * @param now    Current time in milliseconds.
+     * @param packet Buffer to build packets in, when queued messages get room in the window.
+     * @param sink   Where those packets are send to.
+     */
+    public void receiveAck(final ByteBuffer in, final long now, final ByteBuffer packet, final PacketSink sink) {
+        int ack = in.getInt();
+        int ackBits = in.getInt();
+        acknowledge(ack, ackBits, now, packet, sink);
+    }
+
+    /**
+     * Sends the messages of which the acknowledgement is overdue again.
+     *
+     * @param now    Current time in milliseconds.
+     * @param packet Buffer to build the packets in.
+     * @param sink   Where the packets are send to.
+     */
+    public void service(final long now, final ByteBuffer packet, final PacketSink sink) {
+        long timeout = getTimeout();
+        for (int sequence = cOldestUnacked; sequence - cNextSequence < 0; sequence++) {
+            int slot = slot(sequence);
+            if (cSendPending[slot] && now - cLastSendTimes[slot] >= timeout) {
+                cResends++;
+                transmit(sequence, now, packet, sink);
+            }
+        }
+    }
+
+    /**
+     * Returns whether all messages have been acknowledged.
+     *
+     * @return True if nothing is in flight or queued.
+     */
+    public boolean isIdle() {
+        return cOldestUnacked == cNextSequence && cBacklog.isEmpty();
+    }
+
+    /**
+     * Returns the timeout after which a message is send again, twice the round trip time within bounds.
+     *
+     * @return Timeout in milliseconds.
+     */
+    public long getTimeout() {
+        if (cRoundTripTime == 0) {
+            return INITIAL_TIMEOUT;
+        }
+        return Math.max(MIN_TIMEOUT, Math.min(MAX_TIMEOUT, 2 * cRoundTripTime));
+    }
+
+    /**
+     * Returns the smoothed round trip time.
+     *
+     * @return Round trip time in milliseconds, 0 while unknown.
+     */
+    public long getRoundTripTime() {
+        return cRoundTripTime;
+    }
+
+    /**
+     * Returns the amount of messages that were send again.
+     *
+     * @return Resend messages.
+     */
+    public long getResends() {
+        return cResends;
+    }
+
+    /**
+     * Writes a message in flight to a packet and sends it.
+     *
+     * @param sequence Sequence number of the message.
+     * @param now      Current time in milliseconds.
+     * @param packet   Buffer to build the packet in.
+     * @param sink     Where the packet is send to.
+     */
+    protected void transmit(final int sequence, final long now, final ByteBuffer packet, final PacketSink sink) {
+        int slot = slot(sequence);
+        packet.clear();
+        packet.put(ReliableConnection.RELIABLE);
+        packet.put((byte) cId);
+        packet.putInt(sequence);
+        packet.putInt(cLatestReceived);
+        packet.putInt(cReceivedBits);
+        packet.put(cSendPayloads[slot], 0, cSendLengths[slot]);
+        packet.flip();
+        cLastSendTimes[slot] = now;
+        cSendCounts[slot]++;
+        sink.sendPacket(packet);
+    }
+
+    /**
+     * Writes an acknowledgement packet of everything received so far.
+     *
+     * @param packet Buffer to build the packet in, flipped afterwards.
+     */
+    protected void writeAck(final ByteBuffer packet) {
+        packet.clear();
+        packet.put(ReliableConnection.ACK);
+        packet.put((byte) cId);
+        packet.putInt(cLatestReceived);
+        packet.putInt(cReceivedBits);
+        packet.flip();
+    }
+
+    /**
+     * Marks the messages covered by an acknowledgement as received by the other side.
+     *
+     * @param ack     Latest sequence number the other side received.
+     * @param ackBits Bit i is set if the other side received ack - 1 - i.
+     * @param now     Current time in milliseconds.
+     * @param packet  Buffer to build packets in, when queued messages get room in the window.
+     * @param sink    Where those packets are send to.
+     */
+    protected void acknowledge(final int ack, final int ackBits, final long now, final ByteBuffer packet,
+                               final PacketSink sink) {
+        for (int sequence = cOldestUnacked; sequence - cNextSequence < 0; sequence++) {
+            int slot = slot(sequence);
+            int age = ack - sequence;
+            boolean acked = age == 0 || (age > 0 && age <= WINDOW && (ackBits & (1 << (age - 1))) != 0);
+            if (cSendPending[slot] && acked) {
+                cSendPending[slot] = false;
+                if (cSendCounts[slot] == 1) {
+                    long sample = now - cFirstSendTimes[slot];
+                    cRoundTripTime = cRoundTripTime == 0 ? Math.max(1, sample) : (7 * cRoundTripTime + sample) / 8;
+                }
+            }
+        }
+        while (cOldestUnacked != cNextSequence && !cSendPending[slot(cOldestUnacked)]) {
+            cOldestUnacked++;
+        }
+        while (!cBacklog.isEmpty() && cNextSequence - cOldestUnacked < WINDOW) {
+            send(ByteBuffer.wrap(cBacklog.poll()), now, packet, sink);
+        }
+    }
+
+    /**
+     * Checks whether a sequence number has been received before.
+     *
+     * @param sequence The sequence number.
+     * @return True if it was received, or is too old to tell.
+     */
+    protected boolean isReceived(final int sequence) {
+        if (cLatestReceived == -1) {
+            return false;
+        }
+        int age = cLatestReceived - sequence;
+        if (age < 0) {
+            return false;
+        }
+        return age == 0 || age > WINDOW || (cReceivedBits & (1 << (age - 1))) != 0;
+    }
+
+    /**
+     * Records that a sequence number has been received, for the acknowledgements.
+     *
+     * @param sequence The sequence number.
+     */
+    protected void markReceived(final int sequence) {
+        if (cLatestReceived == -1) {
+            cLatestReceived = sequence;
+            return;
+        }
+        int age = cLatestReceived - sequence;
+        if (age < 0) {
+            int shift = -age;
+            if (shift > WINDOW) {
+                cReceivedBits = 0;
+            } else {
+                cReceivedBits = (shift == WINDOW ? 0 : cReceivedBits << shift) | (1 << (shift - 1));
+            }
+            cLatestReceived = sequence;
+        } else if (age > 0 && age <= WINDOW) {
+            cReceivedBits |= 1 << (age - 1);
+        }
+    }
+
+    /**
+     * Delivers the messages of an ordered channel that are next in line.
+     *
+     * @param listener Receives the delivered messages.
+     */
+    protected void deliver(final ConnectionListener listener) {
+        while (cReceiveWaiting[slot(cNextDelivery)]) {
+            int slot = slot(cNextDelivery);
+            cReceiveWaiting[slot] = false;
+            cNextDelivery++;
+            listener.handleReliable(cId, ByteBuffer.wrap(cReceivePayloads[slot], 0, cReceiveLengths[slot]));
+        }
+    }
+
+    /**
+     * Returns the index in the window arrays of a sequence number.
+     *
+     * @param sequence The sequence number.
+     * @return Index between 0 and WINDOW.
+     */
+    protected int slot(final int sequence) {
+        return sequence & (WINDOW - 1);
+    }
+}
@@ -0,0 +1,262 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Connection over a single datagram socket, carrying unreliable datagrams and reliable messages side by side.
+ * The first byte of every packet tells its kind. Reliable messages go through one of the channels, which
+ * resend them until acknowledged. The connection sends a keep alive when it has been quiet for a while
+ * and reports a time out when nothing was received for too long.
+ * Does no I/O itself: packets are written to a sink and received packets are passed in, so it can be tested
+ * without sockets. All methods are synchronized, so the connection can be handed over between threads, such as
+ * to the thread that lingers after the host is disposed.
+ */
+public class ReliableConnection {
+
+    /**
+     * Largest packet that is send, small enough to not get fragmented on common links.
+     */
+    public static final int MAX_PACKET_SIZE = 1200;
+
+    /**
+     * Kinds of packets.
+     */
+    public static final byte UNRELIABLE = 0, RELIABLE = 1, ACK = 2, KEEP_ALIVE = 3, HELLO = 4, WELCOME = 5, BYE = 6;
+
+    /**
+     * Channel on which messages are delivered in the order they were send.
+     */
+    public static final int ORDERED = 0;
+
+    /**
+     * Channel on which messages are delivered as soon as they arrive.
+     */
+    public static final int UNORDERED = 1;
+
+    /**
+     * Milliseconds without sending anything after which a keep alive is send.
+     */
+    public static final long KEEP_ALIVE_INTERVAL = 1000;
+
+    /**
+     * Milliseconds without receiving anything after which the connection has timed out.
+     */
+    public static final long TIMEOUT = 10_000;
+
+    /**
+     * Where the packets are send to.
+     */
+    protected final PacketSink cSink;
+
+    /**
+     * Receives what arrives on the connection.
+     */
+    protected final ConnectionListener cListener;
+
+    /**
+     * The reliable channels, indexed by id.
+     */
+    protected final ReliableChannel[] cChannels = {
+            new ReliableChannel(ORDERED, true),
+            new ReliableChannel(UNORDERED, false)
+    };
+
+    /**
+     * Buffer in which outgoing packets are build, reused for every packet.
+     */
+    protected final ByteBuffer cPacket = ByteBuffer.allocateDirect(MAX_PACKET_SIZE);
+
+    /**
+     * Time (in milliseconds) on which a packet was last send.
+     */
+    protected long cLastSend;
+
+    /**
+     * Time (in milliseconds) on which a packet was last received.
+     */
+    protected long cLastReceive;
+
+    /**
+     * Time (in milliseconds) passed to the call being handled, used to stamp the packets that are send.
+     */
+    protected long cNow;
+
+    /**
+     * Packets that could not be read.
+     */
+    protected long cMalformed;
+
+    /**
+     * Creates a connection.
+     *
+     * @param sink     Where the packets are send to.
+     * @param listener Receives what arrives on the connection.
+     * @param now      Current time in milliseconds.
+     */
+    public ReliableConnection(final PacketSink sink, final ConnectionListener listener, final long now) {
+        cSink = new PacketSink() {
+            @Override
+            public void sendPacket(final ByteBuffer packet) {
+                cLastSend = cNow;
+                sink.sendPacket(packet);
+            }
+        };
+        cListener = listener;
+        cLastSend = now;
+        cLastReceive = now;
+    }
+
+    /**
+     * Sends a datagram without any guarantees.
+     *
+     * @param datagram Buffer holding the datagram between its position and limit.
+     * @param now      Current time in milliseconds.
+     */
+    public synchronized void sendUnreliable(final ByteBuffer datagram, final long now) {
+        cNow = now;
+        cPacket.clear();
+        cPacket.put(UNRELIABLE);
+        cPacket.put(datagram);
+        cPacket.flip();
+        cSink.sendPacket(cPacket);
+    }
+
+    /**
+     * Sends a message that is resend until the other side acknowledged it.
+     *
+     * @param channel Id of the channel, ORDERED or UNORDERED.
+     * @param payload Buffer holding the message between its position and limit, at most
+     *                {@link ReliableChannel#MAX_PAYLOAD} bytes.
+     * @param now     Current time in milliseconds.
+     */
+    public synchronized void sendReliable(final int channel, final ByteBuffer payload, final long now) {
+        cNow = now;
+        cChannels[channel].send(payload, now, cPacket, cSink);
+    }
+
+    /**
+     * Sends a control packet, such as HELLO, WELCOME or BYE.
+     *
+     * @param kind The kind of packet.
+     * @param now  Current time in milliseconds.
+     */
+    public synchronized void sendControl(final byte kind, final long now) {
+        cNow = now;
+        cPacket.clear();
+        cPacket.put(kind);
+        cPacket.flip();
+        cSink.sendPacket(cPacket);
+    }
+
+    /**
+     * Handles a received packet, passing what it carries to the listener.
+     *
+     * @param packet Buffer holding the packet between its position and limit.
+     * @param now    Current time in milliseconds.
+     */
+    public synchronized void receive(final ByteBuffer packet, final long now) {
+        cNow = now;
+        if (!packet.hasRemaining()) {
+            cMalformed++;
+            return;
+        }
+        cLastReceive = now;
+        try {
+            byte kind = packet.get();
+            switch (kind) {
+                case UNRELIABLE:
+                    cListener.handleUnreliable(packet);
+                    break;
+                case RELIABLE:
+                    channel(packet).receiveData(packet, now, cPacket, cSink, cListener);
+                    break;
+                case ACK:
+                    channel(packet).receiveAck(packet, now, cPacket, cSink);
+                    break;
+                case KEEP_ALIVE:
+                    break;
+                default:
+                    cListener.handleControl(kind);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            cMalformed++;
+        }
+    }
+
+    /**
+     * Resends overdue messages and sends a keep alive when nothing was send for a while. Should be called regularly.
+     *
+     * @param now Current time in milliseconds.
+     * @return False if nothing was received for longer than the time out.
+     */
+    public synchronized boolean service(final long now) {
+        cNow = now;
+        for (ReliableChannel channel : cChannels) {
+            channel.service(now, cPacket, cSink);
+        }
+        if (now - cLastSend >= KEEP_ALIVE_INTERVAL) {
+            sendControl(KEEP_ALIVE, now);
+        }
+        return now - cLastReceive < TIMEOUT;
+    }
+
+    /**
+     * Returns whether every reliable message has been acknowledged.
+     *
+     * @return True if nothing is in flight.
+     */
+    public synchronized boolean isIdle() {
+        for (ReliableChannel channel : cChannels) {
+            if (!channel.isIdle()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the smoothed round trip time, measured on the ordered channel.
+     *
+     * @return Round trip time in milliseconds, 0 while unknown.
+     */
+    public synchronized long getRoundTripTime() {
+        return cChannels[ORDERED].getRoundTripTime();
+    }
+
+    /**
+     * Returns the amount of reliable messages that were send again.
+     *
+     * @return Resend messages.
+     */
+    public synchronized long getResends() {
+        long resends = 0;
+        for (ReliableChannel channel : cChannels) {
+            resends += channel.getResends();
+        }
+        return resends;
+    }
+
+    /**
+     * Returns the amount of received packets that could not be read.
+     *
+     * @return Malformed packets.
+     */
+    public synchronized long getMalformed() {
+        return cMalformed;
+    }
+
+    /**
+     * Reads the channel id of a packet.
+     *
+     * @param packet Buffer positioned at the channel id.
+     * @return The channel.
+     */
+    protected ReliableChannel channel(final ByteBuffer packet) {
+        int id = packet.get();
+        if (id < 0 || id >= cChannels.length) {
+            throw new IllegalArgumentException("Unknown channel " + id);
+        }
+        return cChannels[id];
+    }
+}
@@ -0,0 +1,291 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+/**
+ * Keeps the latest snapshots of remote state and samples a smooth value in between them.
+ * The remote state is shown a fixed delay in the past, so there are usually two snapshots to interpolate between.
+ * When the next snapshot is late the motion is extrapolated for a short while, after which it holds still.
+ * Snapshots are added by the datagram handlers, which the host calls while it is serviced from the game loop, and
+ * sampled in the same frame. Both happen on the render thread, so the buffer is not synchronized.
+ */
+public class SnapshotBuffer {
+
+    /**
+     * Default amount of snapshots kept.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Amount of values per snapshot.
+     */
+    protected final int cValueCount;
+
+    /**
+     * Amount of snapshots kept.
+     */
+    protected final int cCapacity;
+
+    /**
+     * Whether a value is an angle in radians, which is interpolated along the shortest way around.
+     */
+    protected final boolean[] cAngular;
+
+    /**
+     * Sender time stamps of the snapshots in milliseconds, unwrapped to a long.
+     */
+    protected final long[] cTimes;
+
+    /**
+     * Values of the snapshots, cValueCount values per snapshot.
+     */
+    protected final float[] cValues;
+
+    /**
+     * Index of the oldest snapshot.
+     */
+    protected int cStart;
+
+    /**
+     * Amount of snapshots in the buffer.
+     */
+    protected int cSize;
+
+    /**
+     * Sequence number of the latest snapshot.
+     */
+    protected int cLatestSequence;
+
+    /**
+     * Sender time stamp of the latest snapshot, as it was received.
+     */
+    protected int cLatestTime;
+
+    /**
+     * Difference between the local time and the sender time, in milliseconds.
+     * Follows the fastest snapshot, and slowly creeps up to follow a drifting clock or a slower route.
+     */
+    protected long cOffset;
+
+    /**
+     * How far in the past (in milliseconds) the remote state is shown.
+     */
+    protected long cDelay;
+
+    /**
+     * Maximum amount of milliseconds the motion is extrapolated past the latest snapshot.
+     */
+    protected long cMaxExtrapolation;
+
+    /**
+     * Amount of snapshots dropped because they were duplicate or out of order.
+     */
+    protected long cDropped;
+
+    /**
+     * Creates a snapshot buffer of the default capacity.
+     *
+     * @param valueCount        Amount of values per snapshot.
+     * @param delay             How far in the past (in milliseconds) the remote state is shown.
+     * @param maxExtrapolation  Maximum amount of milliseconds to extrapolate past the latest snapshot.
+     */
+    public SnapshotBuffer(final int valueCount, final long delay, final long maxExtrapolation) {
+        this(valueCount, delay, maxExtrapolation, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a snapshot buffer.
+     *
+     * @param valueCount        Amount of values per snapshot.
+     * @param delay             How far in the past (in milliseconds) the remote state is shown.
+     * @param maxExtrapolation  Maximum amount of milliseconds to extrapolate past the latest snapshot.
+     * @param capacity          Amount of snapshots kept.
+     */
+    public SnapshotBuffer(final int valueCount, final long delay, final long maxExtrapolation, final int capacity) {
+        cValueCount = valueCount;
+        cCapacity = capacity;
+        cAngular = new boolean[valueCount];
+        cTimes = new long[capacity];
+        cValues = new float[capacity * valueCount];
+        cDelay = delay;
+        cMaxExtrapolation = maxExtrapolation;
+    }
+
+    /**
+     * Marks a value as an angle in radians.
+     *
+     * @param index Index of the value.
+     */
+    public void setAngular(final int index) {
+        cAngular[index] = true;
+    }
+
+    /**
+     * Sets how far in the past the remote state is shown.
+     *
+     * @param delay Delay in milliseconds.
+     */
+    public void setDelay(final long delay) {
+        cDelay = delay;
+    }
+
+    /**
+     * Adds a snapshot. Snapshots that are not newer than the latest one, by sequence number or time, are dropped.
+     *
+     * @param sequence  Sequence number of the snapshot.
+     * @param time      Time stamp of the sender in milliseconds, may wrap around.
+     * @param values    The values of the snapshot, cValueCount values are copied.
+     * @param localTime Local time in milliseconds on which the snapshot was received.
+     * @return True if the snapshot was added.
+     */
+    public boolean add(final int sequence, final int time, final float[] values, final long localTime) {
+        long unwrapped;
+        if (cSize == 0) {
+            unwrapped = time;
+            cOffset = localTime - unwrapped;
+        } else {
+            if (sequence - cLatestSequence <= 0) {
+                cDropped++;
+                return false;
+            }
+            unwrapped = latestTime() + (time - cLatestTime);
+            if (unwrapped <= latestTime()) {
+                cDropped++;
+                return false;
+            }
+            long offset = localTime - unwrapped;
+            if (offset < cOffset) {
+                cOffset = offset;
+            } else if (offset > cOffset) {
+                cOffset++;
+            }
+        }
+        cLatestSequence = sequence;
+        cLatestTime = time;
+
+        int index;
+        if (cSize < cCapacity) {
+            index = (cStart + cSize) % cCapacity;
+            cSize++;
+        } else {
+            index = cStart;
+            cStart = (cStart + 1) % cCapacity;
+        }
+        cTimes[index] = unwrapped;
+        System.arraycopy(values, 0, cValues, index * cValueCount, cValueCount);
+        return true;
+    }
+
+    /**
+     * Samples the remote state as it should be shown at the given local time.
+     *
+     * @param localTime Local time in milliseconds.
+     * @param out       Array in which cValueCount values are written.
+     * @return False if there are no snapshots yet, in which case out is left untouched.
+     */
+    public boolean sample(final long localTime, final float[] out) {
+        if (cSize == 0) {
+            return false;
+        }
+        long renderTime = localTime - cOffset - cDelay;
+
+        int newer = -1;
+        for (int i = 0; i < cSize; i++) {
+            if (cTimes[slot(i)] > renderTime) {
+                newer = i;
+                break;
+            }
+        }
+
+        if (newer == 0) {
+            copy(slot(0), out);
+        } else if (newer > 0) {
+            int from = slot(newer - 1);
+            int to = slot(newer);
+            float alpha = (float) (renderTime - cTimes[from]) / (cTimes[to] - cTimes[from]);
+            blend(from, to, alpha, out);
+        } else if (cSize == 1) {
+            copy(slot(0), out);
+        } else {
+            int from = slot(cSize - 2);
+            int to = slot(cSize - 1);
+            long ahead = Math.min(renderTime - cTimes[to], cMaxExtrapolation);
+            float alpha = 1 + (float) ahead / (cTimes[to] - cTimes[from]);
+            blend(from, to, alpha, out);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the amount of snapshots that were dropped because they were duplicate or out of order.
+     *
+     * @return Dropped snapshots.
+     */
+    public long getDropped() {
+        return cDropped;
+    }
+
+    /**
+     * Returns the amount of snapshots in the buffer.
+     *
+     * @return Amount of snapshots.
+     */
+    public int size() {
+        return cSize;
+    }
+
+    /**
+     * Removes all snapshots.
+     */
+    public void clear() {
+        cStart = 0;
+        cSize = 0;
+    }
+
+    /**
+     * Returns the unwrapped sender time of the latest snapshot.
+     *
+     * @return Time in milliseconds.
+     */
+    protected long latestTime() {
+        return cTimes[slot(cSize - 1)];
+    }
+
+    /**
+     * Converts the age order of a snapshot to its index in the arrays.
+     *
+     * @param order 0 for the oldest snapshot.
+     * @return Index of the snapshot.
+     */
+    protected int slot(final int order) {
+        return (cStart + order) % cCapacity;
+    }
+
+    /**
+     * Copies the values of a snapshot.
+     *
+     * @param index Index of the snapshot.
+     * @param out   Array to copy to.
+     */
+    protected void copy(final int index, final float[] out) {
+        System.arraycopy(cValues, index * cValueCount, out, 0, cValueCount);
+    }
+
+    /**
+     * Blends the values of two snapshots, alpha above 1 extrapolates past the second one.
+     *
+     * @param from  Index of the first snapshot.
+     * @param to    Index of the second snapshot.
+     * @param alpha 0 for the first snapshot, 1 for the second one.
+     * @param out   Array to write the values to.
+     */
+    protected void blend(final int from, final int to, final float alpha, final float[] out) {
+        for (int i = 0; i < cValueCount; i++) {
+            float a = cValues[from * cValueCount + i];
+            float b = cValues[to * cValueCount + i];
+            float difference = b - a;
+            if (cAngular[i]) {
+                difference = (float) Math.atan2(Math.sin(difference), Math.cos(difference));
+            }
+            out[i] = a + difference * alpha;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package cg.group4.util.profiling;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Measures where the time of every frame goes. The render loop marks the end of each phase of a frame, and the
+ * profiler keeps the measurements of a rolling window of frames, from which it computes percentiles and which it can
+ * export as CSV for offline analysis.
+ * Next to the phases it records the GL draw calls and texture bindings of every frame through the GLProfiler, and
+ * the bytes the frame allocated on JVMs that can tell. Metrics that could not be measured are recorded as -1.
+ * Disabled, the profiler does nothing, so the render loop can always call it.
+ */
+public class FrameProfiler {
+
+    /**
+     * What is measured of every frame.
+     */
+    public enum Metric {
+        /**
+         * Nanoseconds rendering the screen.
+         */
+        RENDER(true),
+
+        /**
+         * Nanoseconds updating the timers.
+         */
+        TIME_KEEPER(true),
+
+        /**
+         * Nanoseconds updating the game logic.
+         */
+        STAND_UP(true),
+
+        /**
+         * Nanoseconds handing the runnables of the client to the next frame.
+         */
+        POST_RUNNABLES(true),
+
+        /**
+         * Nanoseconds of the whole frame.
+         */
+        FRAME(true),
+
+        /**
+         * GL draw calls.
+         */
+        DRAW_CALLS(false),
+
+        /**
+         * GL texture bindings.
+         */
+        TEXTURE_BINDINGS(false),
+
+        /**
+         * Bytes allocated by the render thread.
+         */
+        ALLOCATED_BYTES(false);
+
+        /**
+         * Whether the metric is a duration in nanoseconds.
+         */
+        private final boolean cTime;
+
+        /**
+         * Defines a metric.
+         *
+         * @param time Whether the metric is a duration in nanoseconds.
+         */
+        Metric(final boolean time) {
+            cTime = time;
+        }
+
+        /**
+         * Returns whether the metric is a duration in nanoseconds.
+         *
+         * @return True for a duration.
+         */
+        public boolean isTime() {
+            return cTime;
+        }
+    }
+
+    /**
+     * Default amount of frames in the window, ten seconds at 60 frames per second.
+     */
+    public static final int DEFAULT_WINDOW = 600;
+
+    /**
+     * The metrics, cached as values() copies the array.
+     */
+    protected static final Metric[] METRICS = Metric.values();
+
+    /**
+     * Samples of the window per metric, frame i of the window at index i modulo the window size.
+     */
+    protected final long[][] cSamples;
+
+    /**
+     * Samples of the frame in progress per metric.
+     */
+    protected final long[] cCurrent = new long[METRICS.length];
+
+    /**
+     * Scratch array to sort the samples of a metric in.
+     */
+    protected final long[] cSorted;
+
+    /**
+     * Whether the profiler measures frames.
+     */
+    protected boolean cEnabled;
+
+    /**
+     * Whether the GL calls are counted.
+     */
+    protected boolean cGlProfiling;
+
+    /**
+     * Amount of frames measured since the profiler was created.
+     */
+    protected long cFrames;
+
+    /**
+     * Whether a frame is in progress.
+     */
+    protected boolean cInFrame;
+
+    /**
+     * Nano time at which the frame in progress started.
+     */
+    protected long cFrameStart;
+
+    /**
+     * Nano time at which the last phase ended.
+     */
+    protected long cSplit;
+
+    /**
+     * Bytes the render thread had allocated when the frame started.
+     */
+    protected long cAllocationStart;
+
+    /**
+     * The ThreadMXBean of the JVM, null when it does not count allocations.
+     */
+    protected Object cThreadBean;
+
+    /**
+     * The getThreadAllocatedBytes method of the ThreadMXBean.
+     */
+    protected Method cAllocatedBytes;
+
+    /**
+     * Arguments passed to getThreadAllocatedBytes: the id of the render thread.
+     */
+    protected Object[] cThreadId;
+
+    /**
+     * Creates a disabled profiler with the default window.
+     */
+    public FrameProfiler() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * Creates a disabled profiler.
+     *
+     * @param window Amount of frames kept.
+     */
+    public FrameProfiler(final int window) {
+        cSamples = new long[METRICS.length][window];
+        cSorted = new long[window];
+        initAllocationCounting();
+    }
+
+    /**
+     * Looks up the method that counts the bytes allocated by a thread. It is not part of the standard library, so
+     * it is looked up by reflection and Android simply goes without.
+     */
+    protected void initAllocationCounting() {
+        try {
+            Class<?> factory = Class.forName("java.lang.management.ManagementFactory");
+            Object bean = factory.getMethod("getThreadMXBean").invoke(null);
+            Method method = Class.forName("com.sun.management.ThreadMXBean")
+                    .getMethod("getThreadAllocatedBytes", long.class);
+            if (method.getDeclaringClass().isInstance(bean)) {
+                cThreadBean = bean;
+                cAllocatedBytes = method;
+            }
+        } catch (ReflectiveOperationException e) {
+            cThreadBean = null;
+        } catch (SecurityException e) {
+            cThreadBean = null;
+        }
+    }
+
+    /**
+     * Enables or disables measuring frames. Disabling also stops counting GL calls.
+     *
+     * @param enabled Whether frames are measured.
+     */
+    public void setEnabled(final boolean enabled) {
+        cEnabled = enabled;
+        cInFrame = false;
+        if (!enabled) {
+            setGlProfiling(false);
+        }
+    }
+
+    /**
+     * Returns whether frames are measured.
+     *
+     * @return True if enabled.
+     */
+    public boolean isEnabled() {
+        return cEnabled;
+    }
+
+    /**
+     * Starts or stops counting GL calls. Counting wraps every GL call, so it is only on when asked for.
+     *
+     * @param glProfiling Whether GL calls are counted.
+     */
+    public void setGlProfiling(final boolean glProfiling) {
+        if (glProfiling != cGlProfiling) {
+            cGlProfiling = glProfiling;
+            if (glProfiling) {
+                GLProfiler.enable();
+            } else {
+                GLProfiler.disable();
+            }
+        }
+    }
+
+    /**
+     * Marks the start of a frame.
+     */
+    public void beginFrame() {
+        if (!cEnabled) {
+            return;
+        }
+        Arrays.fill(cCurrent, 0);
+        if (cGlProfiling) {
+            GLProfiler.reset();
+        }
+        cAllocationStart = allocatedBytes();
+        cFrameStart = now();
+        cSplit = cFrameStart;
+        cInFrame = true;
+    }
+
+    /**
+     * Marks the end of a phase of the frame, which took the time since the previous mark.
+     *
+     * @param phase The phase, a metric that is a duration.
+     */
+    public void split(final Metric phase) {
+        if (!cInFrame) {
+            return;
+        }
+        long time = now();
+        cCurrent[phase.ordinal()] += time - cSplit;
+        cSplit = time;
+    }
+
+    /**
+     * Marks the end of a frame and adds its measurements to the window.
+     */
+    public void endFrame() {
+        if (!cInFrame) {
+            return;
+        }
+        cCurrent[Metric.FRAME.ordinal()] = now() - cFrameStart;
+        if (cGlProfiling) {
+            cCurrent[Metric.DRAW_CALLS.ordinal()] = GLProfiler.drawCalls;
+            cCurrent[Metric.TEXTURE_BINDINGS.ordinal()] = GLProfiler.textureBindings;
+        } else {
+            cCurrent[Metric.DRAW_CALLS.ordinal()] = -1;
+            cCurrent[Metric.TEXTURE_BINDINGS.ordinal()] = -1;
+        }
+        long allocated = allocatedBytes();
+        if (allocated < 0 || cAllocationStart < 0) {
+            cCurrent[Metric.ALLOCATED_BYTES.ordinal()] = -1;
+        } else {
+            cCurrent[Metric.ALLOCATED_BYTES.ordinal()] = allocated - cAllocationStart;
+        }
+
+        int index = (int) (cFrames % cSorted.length);
+        for (int i = 0; i < METRICS.length; i++) {
+            cSamples[i][index] = cCurrent[i];
+        }
+        cFrames++;
+        cInFrame = false;
+    }
+
+    /**
+     * Returns the current nano time.
+     *
+     * @return The time in nanoseconds.
+     */
+    protected long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Returns the bytes the render thread allocated so far.
+     *
+     * @return Amount of bytes, -1 when the JVM does not count them.
+     */
+    protected long allocatedBytes() {
+        if (cThreadBean == null) {
+            return -1;
+        }
+        if (cThreadId == null) {
+            cThreadId = new Object[]{Thread.currentThread().getId()};
+        }
+        try {
+            return (Long) cAllocatedBytes.invoke(cThreadBean, cThreadId);
+        } catch (ReflectiveOperationException e) {
+            cThreadBean = null;
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the amount of frames in the window.
+     *
+     * @return Amount of frames.
+     */
+    public int size() {
+        return (int) Math.min(cFrames, cSorted.length);
+    }
+
+    /**
+     * Returns the amount of frames measured since the profiler was created.
+     *
+     * @return Amount of frames.
+     */
+    public long getFrames() {
+        return cFrames;
+    }
+
+    /**
+     * Returns a measurement of a frame in the window.
+     *
+     * @param metric The metric.
+     * @param frame  Index of the frame in the window, 0 being the oldest.
+     * @return The measurement.
+     */
+    public long getSample(final Metric metric, final int frame) {
+        if (frame < 0 || frame >= size()) {
+            throw new IndexOutOfBoundsException("Frame " + frame + " is not in the window.");
+        }
+        return cSamples[metric.ordinal()][(int) ((cFrames - size() + frame) % cSorted.length)];
+    }
+
+    /**
+     * Returns a percentile of a metric over the window, using the nearest rank.
+     *
+     * @param metric   The metric.
+     * @param fraction The percentile as a fraction, for example 0.95.
+     * @return The measurement below or at which the fraction of the frames is, 0 for an empty window.
+     */
+    public long getPercentile(final Metric metric, final double fraction) {
+        int size = size();
+        if (size == 0) {
+            return 0;
+        }
+        System.arraycopy(cSamples[metric.ordinal()], 0, cSorted, 0, size);
+        Arrays.sort(cSorted, 0, size);
+        int rank = (int) Math.ceil(fraction * size) - 1;
+        return cSorted[Math.max(0, Math.min(size - 1, rank))];
+    }
+
+    /**
+     * Writes the frames in the window as CSV, one frame per line from the oldest to the newest. Durations are in
+     * nanoseconds.
+     *
+     * @param writer Writer to write to, which is flushed but not closed.
+     * @throws IOException When writing fails.
+     */
+    public void writeCsv(final Writer writer) throws IOException {
+        writer.write("frame");
+        for (Metric metric : METRICS) {
+            writer.write(',');
+            writer.write(metric.name().toLowerCase(Locale.ENGLISH));
+            if (metric.isTime()) {
+                writer.write("_ns");
+            }
+        }
+        writer.write('\n');
+
+        int size = size();
+        long first = cFrames - size;
+        for (int frame = 0; frame < size; frame++) {
+            writer.write(Long.toString(first + frame));
+            for (Metric metric : METRICS) {
+                writer.write(',');
+                writer.write(Long.toString(getSample(metric, frame)));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Saves the frames in the window to a CSV file.
+     *
+     * @param file File to write to, overwritten if it exists.
+     * @throws IOException When writing fails.
+     */
+    public void saveCsv(final FileHandle file) throws IOException {
+        try (Writer writer = new BufferedWriter(file.writer(false, "UTF-8"))) {
+            writeCsv(writer);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Package containing the frame profiler.
+ */
+package cg.group4.util.profiling;
@@ -2,8 +2,11 @@ package cg.group4.util.sensor;
 
 import com.badlogic.gdx.math.Vector3;
 
+import java.util.ArrayList;
+
 /**
  * Configurable object that reads and returns input from the accelerometer the device.
+ * Readings are taken from a SensorSampler, which can be shared between accelerometers.
  */
 public class Accelerometer {
 
@@ -23,9 +26,29 @@ public class Accelerometer {
     protected float cNoiseThreshold;
 
     /**
-     * Reader that reads the sensor values from the device.
+     * Sampler that holds the sensor values of the device.
+     */
+    protected SensorSampler cSampler;
+
+    /**
+     * Whether this accelerometer owns the sampler and has to take the samples itself.
+     */
+    protected boolean cOwnsSampler;
+
+    /**
+     * Reused vector for the raw readings of the current update.
+     */
+    protected Vector3 cReadings = new Vector3();
+
+    /**
+     * Reused vector that is returned from the update.
      */
-    protected SensorReader cReader;
+    protected Vector3 cResult = new Vector3();
+
+    /**
+     * Additional filters applied after the gravity and noise filtering.
+     */
+    protected ArrayList<SensorFilter> cFilters = new ArrayList<SensorFilter>();
 
     /**
      * Whether to filter the noise per axis or on all three.
@@ -44,26 +67,53 @@ public class Accelerometer {
 
     /**
      * Constructs an accelerometer which is used to read the accelerometer data
-     * from the device.
+     * from the device. The accelerometer samples the reader itself on every update.
      *
      * @param reader SensorReader
      */
     public Accelerometer(final SensorReader reader) {
+        this(new SensorSampler(reader, 1), true);
+        cSampler.sample();
+        cSampler.latest(cBaseVector);
+    }
+
+    /**
+     * Constructs an accelerometer that reads from a shared sampler.
+     * The owner of the sampler is responsible for taking a sample every frame.
+     *
+     * @param sampler SensorSampler
+     */
+    public Accelerometer(final SensorSampler sampler) {
+        this(sampler, false);
+    }
+
+    /**
+     * Constructs an accelerometer with the default settings.
+     *
+     * @param sampler     SensorSampler
+     * @param ownsSampler Whether this accelerometer has to take the samples itself.
+     */
+    protected Accelerometer(final SensorSampler sampler, final boolean ownsSampler) {
         cFilterGravity = false;
         cNoiseThreshold = cDefaultNoiseFilter;
-        cReader = reader;
-        cBaseVector = cReader.readAccelerometer();
+        cSampler = sampler;
+        cOwnsSampler = ownsSampler;
+        cBaseVector = cSampler.latest(new Vector3());
         cFilterPerAxis = true;
     }
 
     /**
      * Method that reads and filters the current accelerometer readings.
+     * The returned vector is reused on the next update, so it should not be stored.
      *
      * @return Current accelerometer readings.
      */
     public Vector3 update() {
-        Vector3 readings = cReader.readAccelerometer();
-        Vector3 resultVector = readings.cpy();
+        if (cOwnsSampler) {
+            cSampler.sample();
+        }
+        Vector3 readings = cSampler.latest(cReadings);
+        Vector3 resultVector = cResult.set(readings);
 
         if (cFilterGravity) {
             resultVector.set(
@@ -78,13 +128,35 @@ public class Accelerometer {
                     filterNoise(resultVector.y),
                     filterNoise(resultVector.z));
         } else {
-            resultVector = filterNoise(resultVector);
+            resultVector.set(filterNoise(resultVector));
+        }
+
+        for (int i = 0; i < cFilters.size(); i++) {
+            cFilters.get(i).apply(resultVector);
         }
 
-        cBaseVector = readings;
+        cBaseVector.set(readings);
         return resultVector;
     }
 
+    /**
+     * Adds a filter that is applied to the readings after the gravity and noise filtering.
+     *
+     * @param filter The filter to add.
+     */
+    public void addFilter(final SensorFilter filter) {
+        cFilters.add(filter);
+    }
+
+    /**
+     * Removes a previously added filter.
+     *
+     * @param filter The filter to remove.
+     */
+    public void removeFilter(final SensorFilter filter) {
+        cFilters.remove(filter);
+    }
+
     /**
      * Helper method that should not be called outside of this class.
      * Returns the input if the absolute input is higher than the noise threshold. 0 Otherwise.
@@ -0,0 +1,41 @@
+package cg.group4.util.sensor;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Removes gravity from the readings by subtracting a slowly adapting estimate of it.
+ * Unlike the gravity filter built into the Accelerometer, this keeps sustained movements.
+ */
+public class GravityFilter implements SensorFilter {
+
+    /**
+     * Low-pass filter that tracks the gravity.
+     */
+    protected LowPassFilter cGravity;
+
+    /**
+     * Reused vector for the gravity estimate.
+     */
+    protected Vector3 cEstimate = new Vector3();
+
+    /**
+     * Creates a gravity filter.
+     *
+     * @param alpha How fast the gravity estimate adapts, between 0 and 1.
+     */
+    public GravityFilter(final float alpha) {
+        cGravity = new LowPassFilter(alpha);
+    }
+
+    @Override
+    public void apply(final Vector3 readings) {
+        cEstimate.set(readings);
+        cGravity.apply(cEstimate);
+        readings.sub(cEstimate);
+    }
+
+    @Override
+    public void reset() {
+        cGravity.reset();
+    }
+}
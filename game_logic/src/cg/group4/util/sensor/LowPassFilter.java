@@ -0,0 +1,56 @@
+package cg.group4.util.sensor;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Exponential low-pass filter that smooths out sudden spikes in the readings.
+ */
+public class LowPassFilter implements SensorFilter {
+
+    /**
+     * Weight of a new reading, between 0 (ignore new readings) and 1 (no smoothing).
+     */
+    protected float cAlpha;
+
+    /**
+     * The smoothed readings.
+     */
+    protected float cX, cY, cZ;
+
+    /**
+     * Whether a reading has been filtered since the last reset.
+     */
+    protected boolean cInitialized;
+
+    /**
+     * Creates a low-pass filter.
+     *
+     * @param alpha Weight of a new reading, between 0 and 1.
+     */
+    public LowPassFilter(final float alpha) {
+        if (alpha < 0f || alpha > 1f) {
+            throw new IllegalArgumentException("Alpha must be between 0 and 1, was " + alpha);
+        }
+        cAlpha = alpha;
+    }
+
+    @Override
+    public void apply(final Vector3 readings) {
+        if (cInitialized) {
+            cX += cAlpha * (readings.x - cX);
+            cY += cAlpha * (readings.y - cY);
+            cZ += cAlpha * (readings.z - cZ);
+        } else {
+            cX = readings.x;
+            cY = readings.y;
+            cZ = readings.z;
+            cInitialized = true;
+        }
+        readings.set(cX, cY, cZ);
+    }
+
+    @Override
+    public void reset() {
+        cInitialized = false;
+    }
+}
@@ -0,0 +1,150 @@
+package cg.group4.util.sensor;
+
+import cg.group4.util.Clock;
+import cg.group4.util.SystemClock;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * SensorReader that feeds back a recorded SensorTrace instead of reading the device.
+ * The trace is either played back in time, at the recorded or an accelerated speed,
+ * or stepped through one sample per read for deterministic benchmarks and tests.
+ */
+public class ReplaySensorReader extends SensorReader {
+
+    /**
+     * The trace that is played back.
+     */
+    protected SensorTrace cTrace;
+
+    /**
+     * Playback speed, 1 for the recorded speed. 0 steps through one sample per read.
+     */
+    protected float cSpeed;
+
+    /**
+     * Whether to start over once the end of the trace is reached.
+     */
+    protected boolean cLooping;
+
+    /**
+     * Index of the next sample when stepping.
+     */
+    protected int cNextIndex;
+
+    /**
+     * Time on which the playback started, in nanoseconds.
+     */
+    protected long cStartTime;
+
+    /**
+     * The clock the time is read from.
+     */
+    protected Clock cClock = SystemClock.getInstance();
+
+    /**
+     * Whether the end of the trace has been reached.
+     */
+    protected boolean cFinished;
+
+    /**
+     * Creates a reader that steps through the trace, one sample per read.
+     *
+     * @param trace The trace to play back.
+     */
+    public ReplaySensorReader(final SensorTrace trace) {
+        this(trace, 0f);
+    }
+
+    /**
+     * Creates a reader that plays back the trace in time.
+     *
+     * @param trace The trace to play back.
+     * @param speed Playback speed, 1 for the recorded speed, 10 for ten times as fast.
+     *              0 steps through one sample per read.
+     */
+    public ReplaySensorReader(final SensorTrace trace, final float speed) {
+        if (trace.size() == 0) {
+            throw new IllegalArgumentException("Cannot replay an empty trace.");
+        }
+        if (speed < 0f) {
+            throw new IllegalArgumentException("Speed cannot be negative, was " + speed);
+        }
+        cTrace = trace;
+        cSpeed = speed;
+        rewind();
+    }
+
+    /**
+     * Starts the playback over from the beginning.
+     */
+    public void rewind() {
+        cNextIndex = 0;
+        cFinished = false;
+        cStartTime = cClock.nanoTime();
+    }
+
+    /**
+     * Sets whether to start over once the end of the trace is reached.
+     *
+     * @param looping Default is off.
+     */
+    public void setLooping(final boolean looping) {
+        cLooping = looping;
+    }
+
+    /**
+     * Returns whether the end of the trace has been reached. Never true when looping.
+     *
+     * @return True if finished.
+     */
+    public boolean isFinished() {
+        return cFinished;
+    }
+
+    /**
+     * Determines which sample should be returned by the current read.
+     *
+     * @return Index of the sample.
+     */
+    protected int currentIndex() {
+        int last = cTrace.size() - 1;
+        if (cSpeed == 0f) {
+            int index = cNextIndex++;
+            if (index >= last) {
+                if (cLooping) {
+                    cNextIndex = 0;
+                } else {
+                    cFinished = true;
+                }
+            }
+            return Math.min(index, last);
+        }
+
+        long elapsed = (long) ((cClock.nanoTime() - cStartTime) * (double) cSpeed);
+        if (elapsed >= cTrace.getDuration()) {
+            if (cLooping && cTrace.getDuration() > 0) {
+                elapsed %= cTrace.getDuration();
+            } else {
+                cFinished = true;
+                return last;
+            }
+        }
+        return Math.max(cTrace.indexAt(elapsed), 0);
+    }
+
+    /**
+     * Sets the clock the playback follows and starts the playback over.
+     *
+     * @param clock The new clock.
+     */
+    public void setClock(final Clock clock) {
+        cClock = clock;
+        rewind();
+    }
+
+    @Override
+    public Vector3 readAccelerometer(final Vector3 out) {
+        int index = currentIndex();
+        return out.set(cTrace.getX(index), cTrace.getY(index), cTrace.getZ(index));
+    }
+}
@@ -0,0 +1,21 @@
+package cg.group4.util.sensor;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Filter that can be added to an Accelerometer to process the readings in place.
+ */
+public interface SensorFilter {
+
+    /**
+     * Filters the given readings in place.
+     *
+     * @param readings The readings to filter, will be overwritten with the result.
+     */
+    void apply(Vector3 readings);
+
+    /**
+     * Forgets any state built up from previous readings.
+     */
+    void reset();
+}
@@ -15,7 +15,17 @@ public class SensorReader {
      * @return Accelerometer sensor values.
      */
     public Vector3 readAccelerometer() {
-        return new Vector3(
+        return readAccelerometer(new Vector3());
+    }
+
+    /**
+     * Reads the accelerometer sensor values into the given vector, without allocating.
+     *
+     * @param out Vector to store the sensor values in.
+     * @return The given vector.
+     */
+    public Vector3 readAccelerometer(final Vector3 out) {
+        return out.set(
                 Gdx.input.getAccelerometerX(),
                 Gdx.input.getAccelerometerY(),
                 Gdx.input.getAccelerometerZ());
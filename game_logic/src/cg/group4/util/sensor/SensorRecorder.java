@@ -0,0 +1,101 @@
+package cg.group4.util.sensor;
+
+import cg.group4.util.Clock;
+import cg.group4.util.SystemClock;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * SensorReader that passes through the readings of another reader and records them in a SensorTrace.
+ */
+public class SensorRecorder extends SensorReader {
+
+    /**
+     * Reader of which the readings are recorded.
+     */
+    protected SensorReader cSource;
+
+    /**
+     * Trace the readings are recorded in.
+     */
+    protected SensorTrace cTrace;
+
+    /**
+     * Whether readings are currently recorded.
+     */
+    protected boolean cRecording;
+
+    /**
+     * Time on which the recording started, in nanoseconds.
+     */
+    protected long cStartTime;
+
+    /**
+     * The clock the time is read from.
+     */
+    protected Clock cClock = SystemClock.getInstance();
+
+    /**
+     * Creates a recorder, recording starts when {@link #start()} is called.
+     *
+     * @param source Reader of which the readings are recorded.
+     */
+    public SensorRecorder(final SensorReader source) {
+        cSource = source;
+        cTrace = new SensorTrace();
+    }
+
+    /**
+     * Starts recording into a new trace.
+     */
+    public void start() {
+        cTrace = new SensorTrace();
+        cStartTime = cClock.nanoTime();
+        cRecording = true;
+    }
+
+    /**
+     * Stops recording.
+     *
+     * @return The recorded trace.
+     */
+    public SensorTrace stop() {
+        cRecording = false;
+        return cTrace;
+    }
+
+    /**
+     * Returns whether readings are currently recorded.
+     *
+     * @return True when recording.
+     */
+    public boolean isRecording() {
+        return cRecording;
+    }
+
+    /**
+     * Returns the trace that is or was last recorded.
+     *
+     * @return The trace.
+     */
+    public SensorTrace getTrace() {
+        return cTrace;
+    }
+
+    /**
+     * Sets the clock the time stamps of the samples are read from.
+     *
+     * @param clock The new clock.
+     */
+    public void setClock(final Clock clock) {
+        cClock = clock;
+    }
+
+    @Override
+    public Vector3 readAccelerometer(final Vector3 out) {
+        cSource.readAccelerometer(out);
+        if (cRecording) {
+            cTrace.add(cClock.nanoTime() - cStartTime, out.x, out.y, out.z);
+        }
+        return out;
+    }
+}
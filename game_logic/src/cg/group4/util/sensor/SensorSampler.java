@@ -0,0 +1,190 @@
+package cg.group4.util.sensor;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Samples the accelerometer once per frame into a preallocated ring buffer.
+ * Multiple consumers can read the same samples without the sensor being read again and without copying.
+ */
+public class SensorSampler {
+
+    /**
+     * Default amount of samples kept in the ring buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    /**
+     * Amount of floats per sample.
+     */
+    protected static final int AXES = 3;
+
+    /**
+     * Reader that reads the sensor values from the device.
+     */
+    protected SensorReader cReader;
+
+    /**
+     * Ring buffer with the x, y and z values of the samples stored after each other.
+     */
+    protected float[] cSamples;
+
+    /**
+     * Amount of samples the ring buffer can hold.
+     */
+    protected int cCapacity;
+
+    /**
+     * Index of the most recent sample in the ring buffer.
+     */
+    protected int cHead;
+
+    /**
+     * Total amount of samples taken.
+     */
+    protected long cSampleCount;
+
+    /**
+     * Reused vector to read the sensor into.
+     */
+    protected Vector3 cReading;
+
+    /**
+     * Creates a sampler with the default capacity.
+     *
+     * @param reader Reader that reads the sensor values from the device.
+     */
+    public SensorSampler(final SensorReader reader) {
+        this(reader, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a sampler.
+     *
+     * @param reader   Reader that reads the sensor values from the device.
+     * @param capacity Amount of samples kept in the ring buffer.
+     */
+    public SensorSampler(final SensorReader reader, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, was " + capacity);
+        }
+        cReader = reader;
+        cCapacity = capacity;
+        cSamples = new float[capacity * AXES];
+        cHead = capacity - 1;
+        cReading = new Vector3();
+    }
+
+    /**
+     * Reads the sensor and stores the reading as the most recent sample.
+     */
+    public void sample() {
+        Vector3 reading = cReader.readAccelerometer(cReading);
+        cHead = (cHead + 1) % cCapacity;
+        int index = cHead * AXES;
+        cSamples[index] = reading.x;
+        cSamples[index + 1] = reading.y;
+        cSamples[index + 2] = reading.z;
+        cSampleCount++;
+    }
+
+    /**
+     * Returns the index in the ring buffer of the sample taken the given amount of samples ago.
+     *
+     * @param age 0 for the most recent sample, 1 for the one before it, etc.
+     * @return Index of the x value of that sample.
+     */
+    protected int indexOf(final int age) {
+        if (age < 0 || age >= cCapacity) {
+            throw new IndexOutOfBoundsException("Age " + age + " is not within the capacity of " + cCapacity);
+        }
+        return ((cHead - age + cCapacity) % cCapacity) * AXES;
+    }
+
+    /**
+     * Returns the x value of a sample.
+     *
+     * @param age 0 for the most recent sample, 1 for the one before it, etc.
+     * @return The x value.
+     */
+    public float getX(final int age) {
+        return cSamples[indexOf(age)];
+    }
+
+    /**
+     * Returns the y value of a sample.
+     *
+     * @param age 0 for the most recent sample, 1 for the one before it, etc.
+     * @return The y value.
+     */
+    public float getY(final int age) {
+        return cSamples[indexOf(age) + 1];
+    }
+
+    /**
+     * Returns the z value of a sample.
+     *
+     * @param age 0 for the most recent sample, 1 for the one before it, etc.
+     * @return The z value.
+     */
+    public float getZ(final int age) {
+        return cSamples[indexOf(age) + 2];
+    }
+
+    /**
+     * Stores a sample in the given vector.
+     *
+     * @param age 0 for the most recent sample, 1 for the one before it, etc.
+     * @param out Vector to store the sample in.
+     * @return The given vector.
+     */
+    public Vector3 get(final int age, final Vector3 out) {
+        int index = indexOf(age);
+        return out.set(cSamples[index], cSamples[index + 1], cSamples[index + 2]);
+    }
+
+    /**
+     * Stores the most recent sample in the given vector.
+     *
+     * @param out Vector to store the sample in.
+     * @return The given vector.
+     */
+    public Vector3 latest(final Vector3 out) {
+        return get(0, out);
+    }
+
+    /**
+     * Returns the amount of samples that can be read, which is at most the capacity.
+     *
+     * @return Amount of available samples.
+     */
+    public int size() {
+        return (int) Math.min(cSampleCount, cCapacity);
+    }
+
+    /**
+     * Returns the total amount of samples taken, which consumers can use to detect new samples.
+     *
+     * @return Amount of samples taken.
+     */
+    public long getSampleCount() {
+        return cSampleCount;
+    }
+
+    /**
+     * Getter for the reader this sampler reads from.
+     *
+     * @return The SensorReader.
+     */
+    public SensorReader getReader() {
+        return cReader;
+    }
+
+    /**
+     * Sets the reader to take the next samples from, for example to record or replay the sensor.
+     *
+     * @param reader The new SensorReader.
+     */
+    public void setReader(final SensorReader reader) {
+        cReader = reader;
+    }
+}
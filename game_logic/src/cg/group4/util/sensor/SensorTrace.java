@@ -0,0 +1,246 @@
+package cg.group4.util.sensor;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Recorded stream of accelerometer readings, which can be stored in a compact binary format.
+ * Every sample takes 16 bytes on disk: the time since the previous sample in microseconds and the three axes.
+ */
+public class SensorTrace {
+
+    /**
+     * Marks the start of a trace file, reads as "SSMT".
+     */
+    protected static final int MAGIC = 0x53534D54;
+
+    /**
+     * Version of the binary format.
+     */
+    protected static final int VERSION = 1;
+
+    /**
+     * Amount of floats per sample.
+     */
+    protected static final int AXES = 3;
+
+    /**
+     * Initial amount of samples that fit in the trace.
+     */
+    protected static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Nanoseconds in a microsecond.
+     */
+    protected static final long NANOS_IN_MICRO = 1000L;
+
+    /**
+     * Time of each sample in nanoseconds since the start of the trace.
+     */
+    protected long[] cTimes;
+
+    /**
+     * The x, y and z values of the samples stored after each other.
+     */
+    protected float[] cValues;
+
+    /**
+     * Amount of samples in the trace.
+     */
+    protected int cSize;
+
+    /**
+     * Creates an empty trace.
+     */
+    public SensorTrace() {
+        cTimes = new long[INITIAL_CAPACITY];
+        cValues = new float[INITIAL_CAPACITY * AXES];
+    }
+
+    /**
+     * Adds a sample to the end of the trace.
+     *
+     * @param time Time of the sample in nanoseconds since the start of the trace.
+     * @param x    Acceleration on the x axis.
+     * @param y    Acceleration on the y axis.
+     * @param z    Acceleration on the z axis.
+     */
+    public void add(final long time, final float x, final float y, final float z) {
+        if (cSize > 0 && time < cTimes[cSize - 1]) {
+            throw new IllegalArgumentException("Samples must be added in chronological order.");
+        }
+        if (cSize == cTimes.length) {
+            cTimes = Arrays.copyOf(cTimes, cSize * 2);
+            cValues = Arrays.copyOf(cValues, cSize * 2 * AXES);
+        }
+        cTimes[cSize] = time;
+        int index = cSize * AXES;
+        cValues[index] = x;
+        cValues[index + 1] = y;
+        cValues[index + 2] = z;
+        cSize++;
+    }
+
+    /**
+     * Returns the amount of samples in the trace.
+     *
+     * @return The amount of samples.
+     */
+    public int size() {
+        return cSize;
+    }
+
+    /**
+     * Returns the time of a sample.
+     *
+     * @param index Index of the sample.
+     * @return Nanoseconds since the start of the trace.
+     */
+    public long getTime(final int index) {
+        return cTimes[index];
+    }
+
+    /**
+     * Returns the x value of a sample.
+     *
+     * @param index Index of the sample.
+     * @return The x value.
+     */
+    public float getX(final int index) {
+        return cValues[index * AXES];
+    }
+
+    /**
+     * Returns the y value of a sample.
+     *
+     * @param index Index of the sample.
+     * @return The y value.
+     */
+    public float getY(final int index) {
+        return cValues[index * AXES + 1];
+    }
+
+    /**
+     * Returns the z value of a sample.
+     *
+     * @param index Index of the sample.
+     * @return The z value.
+     */
+    public float getZ(final int index) {
+        return cValues[index * AXES + 2];
+    }
+
+    /**
+     * Returns the time of the last sample.
+     *
+     * @return Duration of the trace in nanoseconds.
+     */
+    public long getDuration() {
+        if (cSize == 0) {
+            return 0;
+        }
+        return cTimes[cSize - 1];
+    }
+
+    /**
+     * Finds the last sample that was taken at or before the given time.
+     *
+     * @param time Nanoseconds since the start of the trace.
+     * @return Index of the sample, or -1 if the trace starts after the given time.
+     */
+    public int indexAt(final long time) {
+        int low = 0;
+        int high = cSize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (cTimes[middle] <= time) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Writes the trace in the binary format. The stream is not closed.
+     *
+     * @param stream Stream to write to.
+     * @throws IOException When writing fails.
+     */
+    public void write(final OutputStream stream) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(cSize);
+        long previousMicros = 0;
+        for (int i = 0; i < cSize; i++) {
+            long micros = cTimes[i] / NANOS_IN_MICRO;
+            output.writeInt((int) (micros - previousMicros));
+            output.writeFloat(getX(i));
+            output.writeFloat(getY(i));
+            output.writeFloat(getZ(i));
+            previousMicros = micros;
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads a trace in the binary format. The stream is not closed.
+     *
+     * @param stream Stream to read from.
+     * @return The trace.
+     * @throws IOException When reading fails or the stream does not contain a trace.
+     */
+    public static SensorTrace read(final InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a sensor trace.");
+        }
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported sensor trace version " + version);
+        }
+        int size = input.readInt();
+        SensorTrace trace = new SensorTrace();
+        long micros = 0;
+        for (int i = 0; i < size; i++) {
+            micros += input.readInt();
+            trace.add(micros * NANOS_IN_MICRO, input.readFloat(), input.readFloat(), input.readFloat());
+        }
+        return trace;
+    }
+
+    /**
+     * Saves the trace to a file.
+     *
+     * @param file File to write to, will be overwritten.
+     * @throws IOException When writing fails.
+     */
+    public void save(final FileHandle file) throws IOException {
+        try (OutputStream stream = file.write(false)) {
+            write(stream);
+        }
+    }
+
+    /**
+     * Loads a trace from a file.
+     *
+     * @param file File to read from.
+     * @return The trace.
+     * @throws IOException When reading fails or the file does not contain a trace.
+     */
+    public static SensorTrace load(final FileHandle file) throws IOException {
+        try (InputStream stream = file.read()) {
+            return read(stream);
+        }
+    }
+}
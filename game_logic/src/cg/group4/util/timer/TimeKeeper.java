@@ -2,6 +2,8 @@ package cg.group4.util.timer;
 
 
 import cg.group4.data_structures.subscribe.Subject;
+import cg.group4.util.Clock;
+import cg.group4.util.SystemClock;
 import com.badlogic.gdx.Gdx;
 
 /**
@@ -29,12 +31,26 @@ public final class TimeKeeper {
      */
     protected Subject cTimerSubject;
 
+    /**
+     * The clock the time is read from.
+     */
+    protected Clock cClock;
 
     /**
-     * Keeps track of the timers and updates them every second.
+     * Keeps track of the timers and updates them every second, using the default clock.
      */
     protected TimeKeeper() {
-        cPreviousTick = System.currentTimeMillis();
+        this(SystemClock.getInstance());
+    }
+
+    /**
+     * Keeps track of the timers and updates them every second.
+     *
+     * @param clock The clock the time is read from.
+     */
+    protected TimeKeeper(final Clock clock) {
+        cClock = clock;
+        cPreviousTick = cClock.currentTimeMillis();
         cTimerSubject = new Subject();
         Gdx.app.debug(TimeKeeper.TAG, "Created a new TimeKeeper!");
     }
@@ -45,14 +61,42 @@ public final class TimeKeeper {
      * Afterwards it will call resolve to resolve any conflicts.
      */
     public void update() {
-        long timeStamp = System.currentTimeMillis();
+        update(cClock.currentTimeMillis());
+    }
 
-        if (timeStamp - cPreviousTick > cMillisInSecond) {
+    /**
+     * Looks whether a second has past since the last update, given the current time.
+     * When more than a second has past, the timers are updated once and the missed seconds are skipped.
+     *
+     * @param timeStamp The current time in milliseconds.
+     */
+    public void update(final long timeStamp) {
+        long passed = timeStamp - cPreviousTick;
+        if (passed > cMillisInSecond) {
             cTimerSubject.update(timeStamp);
-            cPreviousTick += cMillisInSecond;
+            cPreviousTick += passed - passed % cMillisInSecond;
         }
     }
 
+    /**
+     * Getter for the clock the time is read from.
+     *
+     * @return The clock.
+     */
+    public Clock getClock() {
+        return cClock;
+    }
+
+    /**
+     * Sets the clock the time is read from.
+     *
+     * @param clock The new clock.
+     */
+    public void setClock(final Clock clock) {
+        cClock = clock;
+        cPreviousTick = cClock.currentTimeMillis();
+    }
+
     /**
      * Subject that will inform all of its subscribers every second.
      *
@@ -1,8 +1,8 @@
 package cg.group4.util.timer;
 
 import cg.group4.data_structures.subscribe.Subject;
+import cg.group4.util.Clock;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Preferences;
 
 import java.util.Observable;
 import java.util.Observer;
@@ -45,9 +45,9 @@ public class Timer implements Observer {
     protected boolean cPersistent;         // required
 
     /**
-     * Preference identity, in which the time stamps for the timer are saved.
+     * Persistence layer, in which the time stamps for the timer are saved.
      */
-    protected Preferences cPreferences;    // implicit - depends on cPersistent
+    protected TimerPersistence cPersistence; // implicit - depends on cPersistent
 
     /**
      * State of the timer.
@@ -59,6 +59,11 @@ public class Timer implements Observer {
      */
     protected int cRemainingTime;
 
+    /**
+     * The clock the time is read from.
+     */
+    protected Clock cClock;
+
     /**
      * Subject that can be subscribed to and updates when the timer starts.
      */
@@ -76,13 +81,13 @@ public class Timer implements Observer {
 
 
     /**
-     * Initializes the new Timer using the {@link #init(String, int, boolean) init} with false.
+     * Initializes the new Timer using the {@link #init(String, int, boolean, Clock) init} with false.
      *
      * @param name     The name of the new Timer.
      * @param duration The duration this Timer will run in seconds.
      */
     public Timer(final String name, final int duration) {
-        init(name, duration, false);
+        init(name, duration, false, TimerStore.getInstance().getClock());
     }
 
     /**
@@ -91,8 +96,10 @@ public class Timer implements Observer {
      * @param name       The name of the new Timer.
      * @param duration   The duration this Timer will run in seconds.
      * @param persistent Does the timer have to exist after the game is exited?
+     * @param clock      The clock the time is read from.
      */
-    protected final void init(final String name, final int duration, final boolean persistent) {
+    protected final void init(final String name, final int duration, final boolean persistent, final Clock clock) {
+        cClock = clock;
         cName = name;
         cDuration = duration;
         cRemainingTime = duration;
@@ -102,9 +109,9 @@ public class Timer implements Observer {
         cTickSubject = new Subject();
 
         cPersistent = persistent;
-        cPreferences = Gdx.app.getPreferences("TIMER");
+        cPersistence = TimerPersistence.getInstance();
         setFinishTime();
-        cRemainingTime = (int) (cFinishTime - System.currentTimeMillis()) / MILLISEC_IN_SEC;
+        cRemainingTime = (int) (cFinishTime - cClock.currentTimeMillis()) / MILLISEC_IN_SEC;
         if (cRemainingTime < 0) {
             cRemainingTime = 0;
         }
@@ -116,9 +123,9 @@ public class Timer implements Observer {
      * Sets the timer finish time to current time + its duration.
      */
     protected final void setFinishTime() {
-        if (cPersistent && cPreferences.contains(cName)) {
-            cFinishTime = cPreferences.getLong(cName);
-            if (System.currentTimeMillis() > cFinishTime) {
+        if (cPersistent && cPersistence.contains(cName)) {
+            cFinishTime = cPersistence.getFinishTime(cName);
+            if (cClock.currentTimeMillis() > cFinishTime) {
                 stop();
             } else {
                 cRunning = true;
@@ -136,8 +143,7 @@ public class Timer implements Observer {
      */
     public final void stop() {
         if (cRunning) {
-            cPreferences.remove(cName);
-            cPreferences.flush();
+            cPersistence.remove(cName);
             cRunning = false;
             cStopSubject.update();
         }
@@ -149,20 +155,39 @@ public class Timer implements Observer {
     public void reset() {
         resetFinishTime();
         Gdx.app.debug(TAG, "Set " + getName()
-                + "-Timer to finish " + ((cFinishTime - System.currentTimeMillis()) / MILLISEC_IN_SEC)
+                + "-Timer to finish " + ((cFinishTime - cClock.currentTimeMillis()) / MILLISEC_IN_SEC)
                 + " seconds from now.");
         cRunning = true;
         cStartSubject.update();
     }
 
+    /**
+     * Puts the timer back in a state saved from getFinishTime() and isRunning(), for example after a simulation ran it
+     * on another clock. The stored finish time is put back as well. The subscribers are not notified.
+     *
+     * @param finishTime The saved finish time.
+     * @param running    Whether the timer was running.
+     */
+    public final void restore(final long finishTime, final boolean running) {
+        cFinishTime = finishTime;
+        cRunning = running;
+        cRemainingTime = Math.max(0, (int) ((finishTime - cClock.currentTimeMillis()) / MILLISEC_IN_SEC));
+        if (cPersistent) {
+            if (running) {
+                cPersistence.putFinishTime(cName, finishTime);
+            } else {
+                cPersistence.remove(cName);
+            }
+        }
+    }
+
     /**
      * Resets the time it should end.
      */
     protected final void resetFinishTime() {
-        cFinishTime = System.currentTimeMillis() + cDuration * MILLISEC_IN_SEC;
+        cFinishTime = cClock.currentTimeMillis() + cDuration * MILLISEC_IN_SEC;
         if (cPersistent) {
-            cPreferences.putLong(cName, cFinishTime);
-            cPreferences.flush();
+            cPersistence.putFinishTime(cName, cFinishTime);
         }
     }
 
@@ -176,14 +201,35 @@ public class Timer implements Observer {
     }
 
     /**
-     * Initializes the new Timer using the {@link #init(String, int, boolean) init} with false.
+     * Initializes the new Timer using the {@link #init(String, int, boolean, Clock) init}.
      *
      * @param name       The name of the new Timer.
      * @param duration   The duration this Timer will run in seconds.
      * @param persistent Does the timer have to exist after exiting the game.
      */
     public Timer(final String name, final int duration, final boolean persistent) {
-        init(name, duration, persistent);
+        init(name, duration, persistent, TimerStore.getInstance().getClock());
+    }
+
+    /**
+     * Initializes the new Timer using the {@link #init(String, int, boolean, Clock) init}.
+     *
+     * @param name       The name of the new Timer.
+     * @param duration   The duration this Timer will run in seconds.
+     * @param persistent Does the timer have to exist after exiting the game.
+     * @param clock      The clock the time is read from.
+     */
+    public Timer(final String name, final int duration, final boolean persistent, final Clock clock) {
+        init(name, duration, persistent, clock);
+    }
+
+    /**
+     * Sets the clock the time is read from. The finish time is not changed.
+     *
+     * @param clock The new clock.
+     */
+    public final void setClock(final Clock clock) {
+        cClock = clock;
     }
 
     @Override
@@ -0,0 +1,225 @@
+package cg.group4.util.timer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Keeps the finish times of persistent timers and writes them to the preferences.
+ * All stored finish times are read once on construction, changes are batched per timer name
+ * and written to disk on a background thread, so no disk write happens during a frame.
+ */
+public final class TimerPersistence {
+
+    /**
+     * Tag used for debugging.
+     */
+    public static final String TAG = TimerPersistence.class.getSimpleName();
+
+    /**
+     * Name of the preferences file in which the timers are stored.
+     */
+    public static final String PREFERENCES_NAME = "TIMER";
+
+    /**
+     * Value in the pending writes that marks a removed timer.
+     */
+    protected static final long REMOVED = Long.MIN_VALUE;
+
+    /**
+     * Singleton of the timer persistence.
+     */
+    protected static TimerPersistence cInstance;
+
+    /**
+     * Preferences in which the finish times are saved.
+     */
+    protected Preferences cPreferences;
+
+    /**
+     * Finish times of all persistent timers, as known by the game.
+     */
+    protected Map<String, Long> cFinishTimes;
+
+    /**
+     * Changes that have not been written to the preferences yet, only the latest change per timer is kept.
+     */
+    protected Map<String, Long> cPendingWrites;
+
+    /**
+     * Whether a background flush has been scheduled but not yet started.
+     */
+    protected boolean cFlushScheduled;
+
+    /**
+     * Single background thread on which the preferences are written.
+     */
+    protected ExecutorService cFlushExecutor;
+
+    /**
+     * Reads all stored finish times from the preferences in one go.
+     */
+    protected TimerPersistence() {
+        cPreferences = Gdx.app.getPreferences(PREFERENCES_NAME);
+        cFinishTimes = new HashMap<String, Long>();
+        cPendingWrites = new HashMap<String, Long>();
+        cFlushExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(runnable, TAG);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        restore();
+    }
+
+    /**
+     * Getter for the timer persistence instance.
+     *
+     * @return cInstance
+     */
+    public static TimerPersistence getInstance() {
+        if (cInstance == null) {
+            cInstance = new TimerPersistence();
+        }
+        return cInstance;
+    }
+
+    /**
+     * Loads every stored finish time into memory.
+     */
+    protected void restore() {
+        for (Map.Entry<String, ?> entry : cPreferences.get().entrySet()) {
+            try {
+                cFinishTimes.put(entry.getKey(), Long.parseLong(entry.getValue().toString()));
+            } catch (NumberFormatException e) {
+                Gdx.app.error(TAG, "Ignoring malformed finish time of " + entry.getKey());
+            }
+        }
+        Gdx.app.debug(TAG, "Restored " + cFinishTimes.size() + " timer(s).");
+    }
+
+    /**
+     * Checks whether a finish time is stored for the given timer.
+     *
+     * @param name Name of the timer.
+     * @return True if a finish time is stored.
+     */
+    public boolean contains(final String name) {
+        return cFinishTimes.containsKey(name);
+    }
+
+    /**
+     * Returns the stored finish time of the given timer.
+     *
+     * @param name Name of the timer.
+     * @return The finish time, or 0 if none is stored.
+     */
+    public long getFinishTime(final String name) {
+        Long finishTime = cFinishTimes.get(name);
+        if (finishTime == null) {
+            return 0;
+        }
+        return finishTime;
+    }
+
+    /**
+     * Stores the finish time of the given timer and schedules it to be written.
+     *
+     * @param name       Name of the timer.
+     * @param finishTime Time stamp on which the timer finishes.
+     */
+    public void putFinishTime(final String name, final long finishTime) {
+        cFinishTimes.put(name, finishTime);
+        schedule(name, finishTime);
+    }
+
+    /**
+     * Removes the finish time of the given timer and schedules the removal to be written.
+     *
+     * @param name Name of the timer.
+     */
+    public void remove(final String name) {
+        if (cFinishTimes.remove(name) != null) {
+            schedule(name, REMOVED);
+        }
+    }
+
+    /**
+     * Removes every stored finish time, both in memory and on disk.
+     */
+    public void clear() {
+        cFinishTimes.clear();
+        synchronized (this) {
+            cPendingWrites.clear();
+            cPreferences.clear();
+            cPreferences.flush();
+        }
+    }
+
+    /**
+     * Queues a change and makes sure a background flush will pick it up.
+     *
+     * @param name       Name of the timer.
+     * @param finishTime New finish time, or REMOVED.
+     */
+    protected synchronized void schedule(final String name, final long finishTime) {
+        cPendingWrites.put(name, finishTime);
+        if (!cFlushScheduled) {
+            cFlushScheduled = true;
+            cFlushExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes all pending changes to the preferences.
+     * Runs on the background thread, but can be called directly when the game pauses or exits.
+     */
+    public synchronized void flush() {
+        cFlushScheduled = false;
+        if (cPendingWrites.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Long> entry : cPendingWrites.entrySet()) {
+            if (entry.getValue() == REMOVED) {
+                cPreferences.remove(entry.getKey());
+            } else {
+                cPreferences.putLong(entry.getKey(), entry.getValue());
+            }
+        }
+        cPendingWrites.clear();
+        cPreferences.flush();
+    }
+
+    /**
+     * Writes all pending changes and stops the background thread.
+     */
+    public void dispose() {
+        flush();
+        cFlushExecutor.shutdown();
+        if (cInstance == this) {
+            cInstance = null;
+        }
+    }
+
+    /**
+     * Disposes the singleton, if it was created. Unlike getInstance().dispose() this does not create the
+     * singleton and its background thread only to stop them again.
+     */
+    public static void disposeInstance() {
+        if (cInstance != null) {
+            cInstance.dispose();
+        }
+    }
+}
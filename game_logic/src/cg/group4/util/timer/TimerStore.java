@@ -1,5 +1,7 @@
 package cg.group4.util.timer;
 
+import cg.group4.util.Clock;
+import cg.group4.util.SystemClock;
 import com.badlogic.gdx.Gdx;
 
 import java.util.HashMap;
@@ -26,14 +28,29 @@ public final class TimerStore {
     protected TimeKeeper cTimeKeeper;
 
     /**
-     * Class to store timers to be accessed.
+     * The clock the timers read their time from.
+     */
+    protected Clock cClock;
+
+    /**
+     * Class to store timers to be accessed, using the default clock.
      */
     protected TimerStore() {
+        this(SystemClock.getInstance());
+    }
+
+    /**
+     * Class to store timers to be accessed.
+     *
+     * @param clock The clock the timers read their time from.
+     */
+    protected TimerStore(final Clock clock) {
+        cClock = clock;
         cTimers = new HashMap<String, Timer>();
-        cTimeKeeper = new TimeKeeper();
+        cTimeKeeper = new TimeKeeper(clock);
 
         for (Timer.Global timer : Timer.Global.values()) {
-            addTimer(new Timer(timer.name(), timer.getDuration(), true));
+            addTimer(new Timer(timer.name(), timer.getDuration(), true, clock));
         }
         Gdx.app.debug(TimeKeeper.TAG, "Created a new TimeStore!");
     }
@@ -86,4 +103,27 @@ public final class TimerStore {
     public TimeKeeper getTimeKeeper() {
         return cTimeKeeper;
     }
+
+    /**
+     * Getter for the clock new timers read their time from.
+     *
+     * @return The clock.
+     */
+    public Clock getClock() {
+        return cClock;
+    }
+
+    /**
+     * Replaces the clock of the time keeper and every stored timer, e.g. with a VirtualClock for simulations.
+     * Timers created afterwards use the new clock as well.
+     *
+     * @param clock The new clock.
+     */
+    public void setClock(final Clock clock) {
+        cClock = clock;
+        cTimeKeeper.setClock(clock);
+        for (Timer timer : cTimers.values()) {
+            timer.setClock(clock);
+        }
+    }
 }
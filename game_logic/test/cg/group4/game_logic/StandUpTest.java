@@ -6,6 +6,7 @@ import cg.group4.data_structures.collection.collectibles.FishA;
 import cg.group4.data_structures.subscribe.Subject;
 import cg.group4.util.sensor.AccelerationState;
 import cg.group4.util.sensor.AccelerationStatus;
+import cg.group4.util.sensor.SensorReader;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
 import org.junit.After;
@@ -146,4 +147,24 @@ public class StandUpTest {
     public void testGetSensorReader() {
         assertEquals(cStandUp.cSensorReader, cStandUp.getSensorReader());
     }
+
+    /**
+     * Tests the retrieval of the SensorSampler.
+     */
+    @Test
+    public void testGetSensorSampler() {
+        assertEquals(cStandUp.cSensorSampler, cStandUp.getSensorSampler());
+        assertEquals(cStandUp.cSensorReader, cStandUp.getSensorSampler().getReader());
+    }
+
+    /**
+     * Tests that replacing the SensorReader also replaces the reader of the shared sampler.
+     */
+    @Test
+    public void testSetSensorReader() {
+        SensorReader reader = new SensorReader();
+        cStandUp.setSensorReader(reader);
+        assertEquals(reader, cStandUp.getSensorReader());
+        assertEquals(reader, cStandUp.getSensorSampler().getReader());
+    }
 }
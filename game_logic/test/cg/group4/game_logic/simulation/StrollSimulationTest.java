@@ -0,0 +1,122 @@
+package cg.group4.game_logic.simulation;
+
+import cg.group4.GdxTestRunner;
+import cg.group4.client.Client;
+import cg.group4.client.connection.Connection;
+import cg.group4.data_structures.collection.Collection;
+import cg.group4.game_logic.StandUp;
+import cg.group4.util.Clock;
+import cg.group4.util.sensor.AccelerationStatus;
+import cg.group4.util.sensor.AccelerationState;
+import cg.group4.util.sensor.ReplaySensorReader;
+import cg.group4.util.sensor.SensorReader;
+import cg.group4.util.sensor.SensorTrace;
+import cg.group4.util.timer.Timer;
+import cg.group4.util.timer.TimerPersistence;
+import cg.group4.util.timer.TimerStore;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the headless stroll simulation.
+ */
+@RunWith(GdxTestRunner.class)
+public class StrollSimulationTest {
+
+    /**
+     * Duration of a simulated frame, in milliseconds.
+     */
+    protected static final long FRAME_MILLIS = 250;
+
+    /**
+     * The simulation under test.
+     */
+    protected StrollSimulation cSimulation;
+
+    /**
+     * Creates a simulation of a player that stands still.
+     * Removes any stroll, events and timers other tests left subscribed to the game loop.
+     */
+    @Before
+    public final void setUp() {
+        StandUp.getInstance().getUpdateSubject().deleteObservers();
+        TimerStore.getInstance().getTimeKeeper().getTimerSubject().deleteObservers();
+        if (StandUp.getInstance().getStroll() != null) {
+            StandUp.getInstance().endStroll(new Collection("Test"));
+        }
+
+        SensorTrace trace = new SensorTrace();
+        trace.add(0, 0f, 0f, 0f);
+        ReplaySensorReader reader = new ReplaySensorReader(trace);
+        reader.setLooping(true);
+
+        cSimulation = new StrollSimulation(reader, AccelerationState.RESTING);
+        cSimulation.setFrameMillis(FRAME_MILLIS);
+    }
+
+    /**
+     * Tests that a stroll ends after its duration in simulated time.
+     */
+    @Test
+    public final void testStrollCompletes() {
+        cSimulation.setMaxTicks(2000);
+        SimulationResult result = cSimulation.run();
+
+        assertEquals(1, result.getStrollsCompleted());
+        assertEquals(0, result.getEventsStarted());
+        assertTrue(result.getTicks() < 2000);
+        assertTrue(result.getSimulatedMillis() >= 5 * 60 * 1000);
+        assertTrue(result.getTicksPerSecond() > 0);
+    }
+
+    /**
+     * Tests that the results of multiple simulations are combined.
+     */
+    @Test
+    public final void testCombinedResults() {
+        cSimulation.setMaxTicks(10);
+        SimulationResult result = cSimulation.run(3);
+
+        assertEquals(3, result.getSimulations());
+        assertEquals(30, result.getTicks());
+        assertEquals(30 * FRAME_MILLIS, result.getSimulatedMillis());
+    }
+
+    /**
+     * Tests that the game gets its own clock, timers, connections, sensor reader and acceleration status back after a
+     * simulation.
+     */
+    @Test
+    public final void testRestoresGame() {
+        StandUp standUp = StandUp.getInstance();
+        Clock clock = TimerStore.getInstance().getClock();
+        SensorReader reader = standUp.getSensorReader();
+        AccelerationStatus status = standUp.getAccelerationStatus();
+        Client client = Client.getInstance();
+        Connection local = client.getLocalConnection();
+        Connection remote = client.getRemoteConnection();
+        Timer interval = TimerStore.getInstance().getTimer(Timer.Global.INTERVAL.name());
+        long finishTime = interval.getFinishTime();
+        boolean running = interval.isRunning();
+        long stored = TimerPersistence.getInstance().getFinishTime(Timer.Global.INTERVAL.name());
+
+        cSimulation.setMaxTicks(10);
+        cSimulation.run();
+
+        assertSame(clock, TimerStore.getInstance().getClock());
+        assertSame(reader, standUp.getSensorReader());
+        assertSame(status, standUp.getAccelerationStatus());
+        assertSame(local, client.getLocalConnection());
+        assertSame(remote, client.getRemoteConnection());
+        assertEquals(finishTime, interval.getFinishTime());
+        assertEquals(running, interval.isRunning());
+        if (running) {
+            assertEquals(stored, TimerPersistence.getInstance().getFinishTime(Timer.Global.INTERVAL.name()));
+        }
+    }
+}
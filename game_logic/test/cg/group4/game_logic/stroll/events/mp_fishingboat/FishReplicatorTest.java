@@ -0,0 +1,151 @@
+package cg.group4.game_logic.stroll.events.mp_fishingboat;
+
+import cg.group4.data_structures.mp_fishingboat.FishSwarm;
+import cg.group4.data_structures.mp_fishingboat.FishingBoatCodec;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the fish replicator.
+ */
+public class FishReplicatorTest {
+
+    /**
+     * The replicator that will be tested upon.
+     */
+    protected FishReplicator cReplicator;
+
+    /**
+     * The fish that are replicated.
+     */
+    protected FishSwarm cFish;
+
+    /**
+     * Buffer the deltas are written in.
+     */
+    protected ByteBuffer cBuffer;
+
+    /**
+     * Creates the needed objects for the tests.
+     */
+    @Before
+    public final void setUp() {
+        cReplicator = new FishReplicator();
+        cFish = new FishSwarm(1);
+        cBuffer = ByteBuffer.allocate(FishingBoatCodec.MAX_DATAGRAM_SIZE);
+    }
+
+    /**
+     * Spawns the given amount of fish.
+     *
+     * @param amount Amount of fish.
+     */
+    protected void spawn(final int amount) {
+        for (int i = 0; i < amount; i++) {
+            cFish.set(i, 0.5f, 0.5f, 0);
+            cReplicator.spawn(i);
+        }
+    }
+
+    /**
+     * Writes a delta and acknowledges it.
+     *
+     * @return The amount of fish in the delta.
+     */
+    protected int writeAndAcknowledge() {
+        int count = cReplicator.write(cBuffer, 0, 0, cFish);
+        cReplicator.acknowledge(cReplicator.getTick());
+        return count;
+    }
+
+    /**
+     * Tests that only fish that changed since the acknowledged delta are send.
+     */
+    @Test
+    public final void testDeltaAgainstAcknowledged() {
+        final int amount = 10;
+        spawn(amount);
+        assertEquals(amount, writeAndAcknowledge());
+        assertFalse(cReplicator.hasChanges());
+
+        cReplicator.changed(3);
+        assertTrue(cReplicator.hasChanges());
+        assertEquals(1, writeAndAcknowledge());
+        assertFalse(cReplicator.hasChanges());
+    }
+
+    /**
+     * Tests that fish of a lost delta are send again in the next one.
+     */
+    @Test
+    public final void testLostDelta() {
+        spawn(2);
+        writeAndAcknowledge();
+        cReplicator.changed(0);
+        cReplicator.write(cBuffer, 0, 0, cFish);
+        cReplicator.changed(1);
+        assertEquals(2, writeAndAcknowledge());
+        assertFalse(cReplicator.hasChanges());
+    }
+
+    /**
+     * Tests that a fish that changes again after being send is not cleared by an older acknowledgement.
+     */
+    @Test
+    public final void testChangedAfterSend() {
+        spawn(1);
+        cReplicator.write(cBuffer, 0, 0, cFish);
+        int tick = cReplicator.getTick();
+        cReplicator.changed(0);
+        cReplicator.acknowledge(tick);
+        assertTrue(cReplicator.hasChanges());
+    }
+
+    /**
+     * Tests the content of a delta with a caught fish.
+     */
+    @Test
+    public final void testCaught() {
+        spawn(2);
+        writeAndAcknowledge();
+        cReplicator.caught(1);
+        cFish.remove(1);
+        cReplicator.write(cBuffer, 0, 0, cFish);
+
+        assertEquals(FishingBoatCodec.FISH_DELTA, FishingBoatCodec.readType(cBuffer));
+        FishingBoatCodec.readSequence(cBuffer);
+        FishingBoatCodec.readTime(cBuffer);
+        assertEquals(cReplicator.getTick(), FishingBoatCodec.readFishTick(cBuffer));
+        assertEquals(1, FishingBoatCodec.readFishSeed(cBuffer));
+        assertEquals(1, FishingBoatCodec.readFishCount(cBuffer));
+        assertEquals(1, FishingBoatCodec.readFishCount(cBuffer));
+        assertEquals(0, FishingBoatCodec.readFishCount(cBuffer));
+        assertEquals(1, FishingBoatCodec.readFishId(cBuffer));
+        assertEquals(0, cBuffer.remaining());
+    }
+
+    /**
+     * Tests that many fish are spread over several deltas, all of them sent eventually.
+     */
+    @Test
+    public final void testManyFish() {
+        final int amount = 1000;
+        spawn(amount);
+        int total = 0;
+        int deltas = 0;
+        while (cReplicator.hasChanges()) {
+            int count = writeAndAcknowledge();
+            assertTrue(cBuffer.limit() <= FishingBoatCodec.MAX_DATAGRAM_SIZE);
+            total += count;
+            deltas++;
+        }
+        assertEquals(amount, total);
+        assertTrue(deltas < amount / 10);
+    }
+}
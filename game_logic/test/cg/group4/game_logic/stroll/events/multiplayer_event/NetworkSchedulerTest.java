@@ -0,0 +1,174 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import cg.group4.util.VirtualClock;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for the network scheduler.
+ */
+public class NetworkSchedulerTest {
+
+    /**
+     * Tick rate used in the tests, 10 ticks per second.
+     */
+    protected final int cTickRate = 10;
+
+    /**
+     * Milliseconds between two ticks at the tick rate used in the tests.
+     */
+    protected final int cTickMillis = 100;
+
+    /**
+     * The mocked host the scheduler sends through.
+     */
+    protected Host cHost;
+
+    /**
+     * Clock driving the scheduler.
+     */
+    protected VirtualClock cClock;
+
+    /**
+     * The scheduler that will be tested upon.
+     */
+    protected NetworkScheduler cScheduler;
+
+    /**
+     * Creates the needed objects for the tests.
+     */
+    @Before
+    public final void setUp() {
+        cHost = Mockito.mock(Host.class);
+        cClock = new VirtualClock();
+        cScheduler = new NetworkScheduler(cHost);
+        cScheduler.setClock(cClock);
+        cScheduler.setTickRate(cTickRate);
+    }
+
+    /**
+     * Creates a datagram containing a single byte.
+     *
+     * @param value The byte.
+     * @return The datagram.
+     */
+    protected ByteBuffer datagram(final int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        buffer.put((byte) value).flip();
+        return buffer;
+    }
+
+    /**
+     * Tests that state is only send when a tick is due, and only the latest state per channel.
+     */
+    @Test
+    public final void testStateCoalesced() {
+        assertTrue(cScheduler.update());
+        cScheduler.offerState(1, datagram(1));
+        cScheduler.offerState(1, datagram(2));
+        assertFalse(cScheduler.update());
+        verify(cHost, never()).sendUDP(any(ByteBuffer.class));
+
+        cClock.advance(cTickMillis);
+        assertTrue(cScheduler.update());
+        verify(cHost, times(1)).sendUDP(any(ByteBuffer.class));
+        assertEquals(1, cScheduler.getCoalesced());
+    }
+
+    /**
+     * Tests that every channel sends its own state on a tick.
+     */
+    @Test
+    public final void testChannels() {
+        cScheduler.offerState(1, datagram(1));
+        cScheduler.offerState(2, datagram(2));
+        cScheduler.update();
+        verify(cHost, times(2)).sendUDP(any(ByteBuffer.class));
+        assertEquals(0, cScheduler.getCoalesced());
+    }
+
+    /**
+     * Tests that state offered to a peer is only send to that peer and dropped when the peer leaves.
+     */
+    @Test
+    public final void testPeerChannels() {
+        cScheduler.offerState(3, 1, datagram(1));
+        cScheduler.offerState(5, 1, datagram(2));
+        cScheduler.update();
+        verify(cHost).sendUDP(Mockito.eq(3), any(ByteBuffer.class));
+        verify(cHost).sendUDP(Mockito.eq(5), any(ByteBuffer.class));
+        verify(cHost, never()).sendUDP(any(ByteBuffer.class));
+
+        cScheduler.offerState(3, 1, datagram(1));
+        cScheduler.clearPeer(3);
+        cClock.advance(cTickMillis);
+        cScheduler.update();
+        verify(cHost, times(1)).sendUDP(Mockito.eq(3), any(ByteBuffer.class));
+    }
+
+    /**
+     * Tests that queued reliable messages are send in order on the next tick.
+     */
+    @Test
+    public final void testReliableBatched() {
+        cScheduler.update();
+        cScheduler.queueReliable("first");
+        cScheduler.queueReliable("second");
+        verify(cHost, never()).sendReliable(any(Serializable.class));
+
+        cClock.advance(cTickMillis);
+        cScheduler.update();
+        InOrder inOrder = Mockito.inOrder(cHost);
+        inOrder.verify(cHost).sendReliable("first");
+        inOrder.verify(cHost).sendReliable("second");
+    }
+
+    /**
+     * Tests that a reliable message can bypass the tick.
+     */
+    @Test
+    public final void testSendReliable() {
+        cScheduler.update();
+        cScheduler.sendReliable("now");
+        verify(cHost).sendReliable("now");
+    }
+
+    /**
+     * Tests that the host gets to resend its reliable messages every frame, not only on a tick.
+     */
+    @Test
+    public final void testServicedEveryFrame() {
+        cScheduler.update();
+        cScheduler.update();
+        verify(cHost, times(2)).service();
+    }
+
+    /**
+     * Tests that the measured send rate matches the tick rate, even when updated every frame.
+     */
+    @Test
+    public final void testDatagramRate() {
+        final int frameMillis = 16;
+        final int frames = 200;
+        for (int i = 0; i < frames; i++) {
+            cScheduler.offerState(1, datagram(i));
+            cScheduler.update();
+            cClock.advance(frameMillis);
+        }
+        assertEquals(cTickRate, cScheduler.getDatagramRate(), 1);
+        assertEquals(cTickRate, cScheduler.getByteRate(), 1);
+    }
+}
@@ -0,0 +1,136 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the packet queue.
+ */
+public class PacketQueueTest {
+
+    /**
+     * Capacity of the queue used in the tests.
+     */
+    protected final int cCapacity = 4;
+
+    /**
+     * The queue under test.
+     */
+    protected PacketQueue cQueue;
+
+    /**
+     * Creates a small queue.
+     */
+    @Before
+    public final void setUp() {
+        cQueue = new PacketQueue(cCapacity, 8);
+    }
+
+    /**
+     * Tests that packets are taken in the order they were offered.
+     */
+    @Test
+    public final void testFifo() {
+        assertNull(cQueue.peek());
+        assertTrue(cQueue.offer(packet(1)));
+        assertTrue(cQueue.offer(packet(2)));
+        assertEquals(2, cQueue.size());
+        assertEquals(1, cQueue.peek().getInt());
+        cQueue.remove();
+        assertEquals(2, cQueue.peek().getInt());
+        cQueue.remove();
+        assertNull(cQueue.peek());
+        assertEquals(0, cQueue.size());
+    }
+
+    /**
+     * Tests that packets are dropped when the queue is full or they are too large.
+     */
+    @Test
+    public final void testDropped() {
+        for (int i = 0; i < cCapacity; i++) {
+            assertTrue(cQueue.offer(packet(i)));
+        }
+        assertFalse(cQueue.offer(packet(cCapacity)));
+        assertFalse(cQueue.offer(ByteBuffer.allocate(9)));
+        assertEquals(2, cQueue.getDropped());
+        cQueue.remove();
+        assertTrue(cQueue.offer(packet(cCapacity)));
+    }
+
+    /**
+     * Tests that taking packets reuses the same buffers instead of allocating new ones.
+     */
+    @Test
+    public final void testBuffersReused() {
+        ByteBuffer first = null;
+        for (int i = 0; i <= cCapacity; i++) {
+            cQueue.offer(packet(i));
+            ByteBuffer taken = cQueue.peek();
+            assertEquals(i, taken.getInt());
+            cQueue.remove();
+            if (i == 0) {
+                first = taken;
+            } else if (i == cCapacity) {
+                assertSame(first, taken);
+            }
+        }
+    }
+
+    /**
+     * Tests that a producer and a consumer thread see every packet exactly once and in order.
+     *
+     * @throws InterruptedException If interrupted while waiting for the producer.
+     */
+    @Test
+    public final void testTwoThreads() throws InterruptedException {
+        final int packets = 100_000;
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ByteBuffer buffer = ByteBuffer.allocate(4);
+                for (int i = 0; i < packets; i++) {
+                    buffer.clear();
+                    buffer.putInt(i).flip();
+                    while (!cQueue.offer(buffer)) {
+                        buffer.rewind();
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        producer.start();
+        int expected = 0;
+        while (expected < packets) {
+            ByteBuffer packet = cQueue.peek();
+            if (packet == null) {
+                Thread.yield();
+            } else {
+                assertEquals(expected++, packet.getInt());
+                cQueue.remove();
+            }
+        }
+        producer.join();
+        assertNull(cQueue.peek());
+    }
+
+    /**
+     * Creates a packet holding a number.
+     *
+     * @param value The number.
+     * @return Buffer holding the packet.
+     */
+    protected ByteBuffer packet(final int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        buffer.putInt(value).flip();
+        return buffer;
+    }
+}
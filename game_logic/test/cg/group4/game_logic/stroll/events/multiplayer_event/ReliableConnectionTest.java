@@ -0,0 +1,341 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the reliable connection, run over a simulated link that loses and delays packets.
+ */
+public class ReliableConnectionTest {
+
+    /**
+     * Fraction of packets the lossy link drops.
+     */
+    protected final double cLoss = 0.3;
+
+    /**
+     * One way latency of the link in milliseconds.
+     */
+    protected final long cLatency = 40;
+
+    /**
+     * Milliseconds between two simulation steps.
+     */
+    protected final long cStep = 10;
+
+    /**
+     * Current time of the simulation in milliseconds.
+     */
+    protected long cNow;
+
+    /**
+     * Link from a to b.
+     */
+    protected Link cAToB;
+
+    /**
+     * Link from b to a.
+     */
+    protected Link cBToA;
+
+    /**
+     * Records what arrives at b.
+     */
+    protected Recorder cReceived;
+
+    /**
+     * Sending side of the connection.
+     */
+    protected ReliableConnection cA;
+
+    /**
+     * Receiving side of the connection.
+     */
+    protected ReliableConnection cB;
+
+    /**
+     * Connects a and b through links with the same seeded loss, so failures can be reproduced.
+     */
+    @Before
+    public final void setUp() {
+        Random random = new Random(42);
+        cAToB = new Link(random);
+        cBToA = new Link(random);
+        cReceived = new Recorder();
+        cA = new ReliableConnection(cAToB, new Recorder(), cNow);
+        cB = new ReliableConnection(cBToA, cReceived, cNow);
+    }
+
+    /**
+     * Tests that ordered messages arrive exactly once and in order despite heavy loss.
+     */
+    @Test
+    public final void testOrderedUnderLoss() {
+        final int messages = 200;
+        for (int i = 0; i < messages; i++) {
+            cA.sendReliable(ReliableConnection.ORDERED, message(i), cNow);
+            step();
+        }
+        run(messages);
+        assertEquals(messages, cReceived.cReliable.size());
+        for (int i = 0; i < messages; i++) {
+            assertEquals(i, (int) cReceived.cReliable.get(i));
+        }
+        assertTrue(cA.isIdle());
+        assertTrue(cA.getResends() > 0);
+    }
+
+    /**
+     * Tests that unordered messages arrive exactly once despite heavy loss.
+     */
+    @Test
+    public final void testUnorderedUnderLoss() {
+        final int messages = 100;
+        for (int i = 0; i < messages; i++) {
+            cA.sendReliable(ReliableConnection.UNORDERED, message(i), cNow);
+            step();
+        }
+        run(messages);
+        assertEquals(messages, cReceived.cReliable.size());
+        boolean[] seen = new boolean[messages];
+        for (int value : cReceived.cReliable) {
+            assertFalse(seen[value]);
+            seen[value] = true;
+        }
+    }
+
+    /**
+     * Tests that more messages than fit in the window are queued and still all arrive.
+     */
+    @Test
+    public final void testBacklog() {
+        final int messages = ReliableChannel.WINDOW * 3;
+        for (int i = 0; i < messages; i++) {
+            cA.sendReliable(ReliableConnection.ORDERED, message(i), cNow);
+        }
+        run(messages);
+        assertEquals(messages, cReceived.cReliable.size());
+        assertEquals(messages - 1, (int) cReceived.cReliable.get(messages - 1));
+    }
+
+    /**
+     * Tests that unreliable datagrams are passed on as they are.
+     */
+    @Test
+    public final void testUnreliablePassedOn() {
+        cAToB.cLoss = 0;
+        cA.sendUnreliable(message(7), cNow);
+        run(0);
+        assertEquals(1, cReceived.cUnreliable.size());
+        assertEquals(7, (int) cReceived.cUnreliable.get(0));
+    }
+
+    /**
+     * Tests that the round trip time is measured.
+     */
+    @Test
+    public final void testRoundTripTime() {
+        cAToB.cLoss = 0;
+        cBToA.cLoss = 0;
+        cA.sendReliable(ReliableConnection.ORDERED, message(1), cNow);
+        run(1);
+        assertEquals(2 * cLatency, cA.getRoundTripTime(), cStep);
+    }
+
+    /**
+     * Tests that a keep alive is send when nothing was send for a while and that the connection times out
+     * when nothing is received.
+     */
+    @Test
+    public final void testKeepAliveAndTimeout() {
+        cAToB.cLoss = 1;
+        assertTrue(cA.service(ReliableConnection.KEEP_ALIVE_INTERVAL - 1));
+        assertEquals(0, cAToB.cSent);
+        assertTrue(cA.service(ReliableConnection.KEEP_ALIVE_INTERVAL));
+        assertEquals(1, cAToB.cSent);
+        assertFalse(cA.service(ReliableConnection.TIMEOUT));
+    }
+
+    /**
+     * Tests that control packets are passed on and garbage is ignored.
+     */
+    @Test
+    public final void testControlAndMalformed() {
+        cAToB.cLoss = 0;
+        cA.sendControl(ReliableConnection.BYE, cNow);
+        run(0);
+        assertEquals(1, cReceived.cControl.size());
+        assertEquals(ReliableConnection.BYE, (byte) cReceived.cControl.get(0));
+
+        cB.receive(ByteBuffer.wrap(new byte[]{ReliableConnection.RELIABLE, 9}), cNow);
+        cB.receive(ByteBuffer.wrap(new byte[]{ReliableConnection.ACK}), cNow);
+        assertEquals(2, cB.getMalformed());
+    }
+
+    /**
+     * Encodes a message holding a number.
+     *
+     * @param value The number.
+     * @return Buffer holding the message.
+     */
+    protected ByteBuffer message(final int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        buffer.putInt(value).flip();
+        return buffer;
+    }
+
+    /**
+     * Advances the simulation until b received the given amount of reliable messages and a has nothing in flight.
+     *
+     * @param messages Amount of reliable messages b has to receive.
+     */
+    protected void run(final int messages) {
+        final int maxSteps = 10_000;
+        int steps = 0;
+        do {
+            step();
+            steps++;
+        } while ((cReceived.cReliable.size() < messages || !cA.isIdle() || !cAToB.isEmpty()) && steps < maxSteps);
+    }
+
+    /**
+     * Advances the simulation by one step: delivers the packets that arrived and services both sides.
+     */
+    protected void step() {
+        cNow += cStep;
+        cAToB.deliver(cB, cNow);
+        cBToA.deliver(cA, cNow);
+        cA.service(cNow);
+        cB.service(cNow);
+    }
+
+    /**
+     * Link that drops a fraction of the packets and delays the others.
+     */
+    protected class Link implements PacketSink {
+
+        /**
+         * Decides which packets are dropped.
+         */
+        protected final Random cRandom;
+
+        /**
+         * Fraction of packets that is dropped.
+         */
+        protected double cLoss = ReliableConnectionTest.this.cLoss;
+
+        /**
+         * Packets on their way.
+         */
+        protected final List<byte[]> cPackets = new ArrayList<byte[]>();
+
+        /**
+         * Arrival times of the packets on their way.
+         */
+        protected final List<Long> cArrivals = new ArrayList<Long>();
+
+        /**
+         * Amount of packets send over the link.
+         */
+        protected int cSent;
+
+        /**
+         * Creates a link.
+         *
+         * @param random Decides which packets are dropped.
+         */
+        protected Link(final Random random) {
+            cRandom = random;
+        }
+
+        @Override
+        public void sendPacket(final ByteBuffer packet) {
+            cSent++;
+            if (cRandom.nextDouble() < cLoss) {
+                return;
+            }
+            byte[] copy = new byte[packet.remaining()];
+            packet.get(copy);
+            cPackets.add(copy);
+            cArrivals.add(cNow + cLatency);
+        }
+
+        /**
+         * Passes the packets that arrived to a connection.
+         *
+         * @param target The connection at the end of the link.
+         * @param now    Current time in milliseconds.
+         */
+        protected void deliver(final ReliableConnection target, final long now) {
+            List<byte[]> arrived = new ArrayList<byte[]>();
+            Iterator<byte[]> packets = cPackets.iterator();
+            Iterator<Long> arrivals = cArrivals.iterator();
+            while (packets.hasNext()) {
+                byte[] packet = packets.next();
+                if (arrivals.next() <= now) {
+                    arrived.add(packet);
+                    packets.remove();
+                    arrivals.remove();
+                }
+            }
+            for (byte[] packet : arrived) {
+                target.receive(ByteBuffer.wrap(packet), now);
+            }
+        }
+
+        /**
+         * Returns whether no packets are on their way.
+         *
+         * @return True if the link is empty.
+         */
+        protected boolean isEmpty() {
+            return cPackets.isEmpty();
+        }
+    }
+
+    /**
+     * Records everything that arrives on a connection.
+     */
+    protected static class Recorder implements ConnectionListener {
+
+        /**
+         * Numbers of the received unreliable datagrams.
+         */
+        protected final List<Integer> cUnreliable = new ArrayList<Integer>();
+
+        /**
+         * Numbers of the received reliable messages.
+         */
+        protected final List<Integer> cReliable = new ArrayList<Integer>();
+
+        /**
+         * Kinds of the received control packets.
+         */
+        protected final List<Byte> cControl = new ArrayList<Byte>();
+
+        @Override
+        public void handleUnreliable(final ByteBuffer datagram) {
+            cUnreliable.add(datagram.getInt());
+        }
+
+        @Override
+        public void handleReliable(final int channel, final ByteBuffer payload) {
+            cReliable.add(payload.getInt());
+        }
+
+        @Override
+        public void handleControl(final byte kind) {
+            cControl.add(kind);
+        }
+    }
+}
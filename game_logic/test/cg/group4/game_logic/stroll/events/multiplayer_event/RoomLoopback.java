@@ -0,0 +1,181 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import cg.group4.data_structures.HostData;
+import cg.group4.data_structures.mp_fishingboat.BoatData;
+import cg.group4.data_structures.mp_fishingboat.Coordinate;
+import cg.group4.data_structures.mp_fishingboat.FishSwarm;
+import cg.group4.data_structures.mp_fishingboat.FishingBoatCodec;
+import cg.group4.data_structures.mp_fishingboat.FishingBoatEventData;
+import cg.group4.game_logic.stroll.events.mp_fishingboat.FishReplicator;
+import cg.group4.util.VirtualClock;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs a room of phones over the loopback interface and measures the CPU time and bandwidth of the host.
+ * Every tick the host broadcasts one room state and sends every client its own fish delta, while every client sends
+ * the rotation of its crane. Needs the GdxTestRunner.
+ */
+public class RoomLoopback {
+
+    /**
+     * Fish that swim in the simulated event.
+     */
+    protected final int cFish = FishingBoatEventData.DEFAULT_AMOUNT_OF_FISH;
+
+    /**
+     * Milliseconds given to the clients to join the room.
+     */
+    protected final long cJoinTimeout = 10_000;
+
+    /**
+     * Network ticks simulated per room.
+     */
+    protected final int cTicks;
+
+    /**
+     * Creates a runner of rooms.
+     *
+     * @param ticks Network ticks simulated per room.
+     */
+    public RoomLoopback(final int ticks) {
+        cTicks = ticks;
+    }
+
+    /**
+     * Runs one room and checks that every client joined and received most of the room states.
+     *
+     * @param clients Amount of clients in the room.
+     * @return The CPU time of the host in nanoseconds and the bytes it send.
+     * @throws IOException          If the sockets could not be opened.
+     * @throws InterruptedException If interrupted while waiting for the clients.
+     */
+    public long[] run(final int clients) throws IOException, InterruptedException {
+        VirtualClock clock = new VirtualClock();
+        final MultiplayerHost host = new MultiplayerHost();
+        host.setClock(clock);
+        Thread hostThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                host.connect();
+            }
+        });
+        hostThread.start();
+
+        final MultiplayerClient[] room = new MultiplayerClient[clients];
+        Thread[] clientThreads = new Thread[clients];
+        HostData hostData = new HostData("127.0.0.1", host.getPort());
+        for (int i = 0; i < clients; i++) {
+            room[i] = new MultiplayerClient(hostData);
+            room[i].setClock(clock);
+            final MultiplayerClient client = room[i];
+            clientThreads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    client.connect();
+                }
+            });
+            clientThreads[i].start();
+        }
+        hostThread.join(cJoinTimeout);
+        long deadline = System.currentTimeMillis() + cJoinTimeout;
+        while (host.getPeerCount() < clients && System.currentTimeMillis() < deadline) {
+            host.service();
+            Thread.sleep(1);
+        }
+        for (Thread thread : clientThreads) {
+            thread.join(cJoinTimeout);
+        }
+        assertEquals(clients, host.getPeerCount());
+
+        final FishReplicator[] replicators = new FishReplicator[clients];
+        final FishSwarm fishes = new FishSwarm(1);
+        fishes.spawn(cFish);
+        for (int peer = 0; peer < clients; peer++) {
+            replicators[peer] = new FishReplicator();
+            for (int id = 0; id < cFish; id++) {
+                replicators[peer].spawn(id);
+            }
+        }
+        host.receiveUDP(new DatagramHandler() {
+            @Override
+            public void handleDatagram(final int peer, final ByteBuffer datagram) {
+                if (FishingBoatCodec.readType(datagram) == FishingBoatCodec.FISH_ACK) {
+                    FishingBoatCodec.readSequence(datagram);
+                    FishingBoatCodec.readTime(datagram);
+                    replicators[peer].acknowledge(FishingBoatCodec.readFishAck(datagram));
+                }
+            }
+        });
+        final int[] roomStates = new int[clients];
+        final ByteBuffer[] outgoing = new ByteBuffer[clients];
+        for (int i = 0; i < clients; i++) {
+            outgoing[i] = ByteBuffer.allocate(FishingBoatCodec.MAX_SIZE);
+            final int index = i;
+            room[i].receiveUDP(new DatagramHandler() {
+                @Override
+                public void handleDatagram(final int peer, final ByteBuffer datagram) {
+                    byte type = FishingBoatCodec.readType(datagram);
+                    FishingBoatCodec.readSequence(datagram);
+                    FishingBoatCodec.readTime(datagram);
+                    if (type == FishingBoatCodec.ROOM_STATE) {
+                        roomStates[index]++;
+                    } else if (type == FishingBoatCodec.FISH_DELTA) {
+                        FishingBoatCodec.writeFishAck(outgoing[index], 0, 0, FishingBoatCodec.readFishTick(datagram));
+                        room[index].getScheduler().offerState(FishingBoatCodec.FISH_ACK, outgoing[index]);
+                    }
+                }
+            });
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        ByteBuffer datagram = ByteBuffer.allocate(FishingBoatCodec.MAX_SIZE);
+        BoatData boat = new BoatData(new Coordinate(0.5f, 0.5f), 0);
+        double[] rotations = new double[FishingBoatEventData.MAX_CRANES];
+        boolean[] active = new boolean[FishingBoatEventData.MAX_CRANES];
+        for (int i = 0; i < clients; i++) {
+            active[i] = true;
+        }
+        long bytesBefore = host.getBytesSent();
+        long cpu = 0;
+        for (int tick = 0; tick < cTicks; tick++) {
+            clock.advance(host.getScheduler().getTickMillis());
+            for (int i = 0; i < clients; i++) {
+                FishingBoatCodec.writeCraneRotation(outgoing[i], tick, tick, tick * 0.1d);
+                room[i].getScheduler().offerState(FishingBoatCodec.CRANE_ROTATION, outgoing[i]);
+                room[i].getScheduler().update();
+            }
+
+            long start = threads.getCurrentThreadCpuTime();
+            boat.setcRotation(tick * 0.01d);
+            FishingBoatCodec.writeRoomState(datagram, tick, tick, boat, rotations, active);
+            host.getScheduler().offerState(FishingBoatCodec.ROOM_STATE, datagram);
+            fishes.move();
+            for (int peer = 0; peer < clients; peer++) {
+                replicators[peer].changed(tick % cFish);
+                replicators[peer].write(datagram, tick, tick, fishes);
+                host.getScheduler().offerState(peer, FishingBoatCodec.FISH_DELTA, datagram);
+            }
+            host.getScheduler().update();
+            cpu += threads.getCurrentThreadCpuTime() - start;
+
+            Thread.sleep(1);
+        }
+        long bytes = host.getBytesSent() - bytesBefore;
+
+        for (MultiplayerClient client : room) {
+            client.dispose();
+        }
+        host.dispose();
+        for (int i = 0; i < clients; i++) {
+            assertTrue("Client " + i + " received " + roomStates[i] + " room states.", roomStates[i] > cTicks / 2);
+        }
+        return new long[]{cpu, bytes};
+    }
+}
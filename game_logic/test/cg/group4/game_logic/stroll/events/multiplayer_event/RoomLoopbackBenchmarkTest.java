@@ -0,0 +1,56 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import cg.group4.GdxTestRunner;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures the CPU time and bandwidth of the host of a room over the loopback interface as the amount of clients
+ * grows, and prints the results.
+ * The benchmark opens a room for every size, so it only runs when the system property ssm.benchmark is true.
+ * RoomLoopbackTest checks that the bandwidth per client stays about the same on every run.
+ */
+@RunWith(GdxTestRunner.class)
+public class RoomLoopbackBenchmarkTest {
+
+    /**
+     * System property that enables the benchmark.
+     */
+    public static final String BENCHMARK_PROPERTY = "ssm.benchmark";
+
+    /**
+     * Sizes of the rooms that are measured, in clients.
+     */
+    protected final int[] cRoomSizes = {1, 2, 4, Host.MAX_PEERS};
+
+    /**
+     * Network ticks simulated per room.
+     */
+    protected final int cTicks = 200;
+
+    /**
+     * Skips the benchmark unless it is enabled.
+     */
+    @Before
+    public final void setUp() {
+        Assume.assumeTrue(Boolean.getBoolean(BENCHMARK_PROPERTY));
+    }
+
+    /**
+     * Measures every room size.
+     *
+     * @throws Exception If the sockets could not be opened or the test was interrupted.
+     */
+    @Test
+    public final void testRoomSizes() throws Exception {
+        RoomLoopback loopback = new RoomLoopback(cTicks);
+        System.out.println("clients  host cpu/tick (us)  host bytes/tick  bytes/tick/client");
+        for (int clients : cRoomSizes) {
+            long[] result = loopback.run(clients);
+            System.out.println(String.format("%7d  %18d  %15d  %17.1f", clients, result[0] / cTicks / 1000,
+                    result[1] / cTicks, (double) result[1] / cTicks / clients));
+        }
+    }
+}
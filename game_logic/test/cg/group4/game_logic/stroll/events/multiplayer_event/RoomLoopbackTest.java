@@ -0,0 +1,34 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import cg.group4.GdxTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests a room of phones over the loopback interface, the bandwidth of the host has to grow linearly with the
+ * amount of clients instead of quadratically.
+ */
+@RunWith(GdxTestRunner.class)
+public class RoomLoopbackTest {
+
+    /**
+     * Network ticks simulated per room.
+     */
+    protected final int cTicks = 50;
+
+    /**
+     * Runs a room with a single client and a full room, and checks that the bytes send per client stay below double
+     * those of a single client, as only the room state grows with every crane.
+     *
+     * @throws Exception If the sockets could not be opened or the test was interrupted.
+     */
+    @Test
+    public final void testHostScalesLinearly() throws Exception {
+        RoomLoopback loopback = new RoomLoopback(cTicks);
+        double single = loopback.run(1)[1];
+        double full = (double) loopback.run(Host.MAX_PEERS)[1] / Host.MAX_PEERS;
+        assertTrue("Bytes per client grew " + full / single + " times.", full / single < 2);
+    }
+}
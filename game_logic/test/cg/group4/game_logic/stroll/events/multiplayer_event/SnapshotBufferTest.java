@@ -0,0 +1,167 @@
+package cg.group4.game_logic.stroll.events.multiplayer_event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the snapshot buffer.
+ */
+public class SnapshotBufferTest {
+
+    /**
+     * Maximum difference allowed when comparing floating point values.
+     */
+    protected final float cDelta = 0.0001f;
+
+    /**
+     * Delay in milliseconds with which the remote state is shown.
+     */
+    protected final long cDelay = 100;
+
+    /**
+     * Maximum extrapolation in milliseconds.
+     */
+    protected final long cMaxExtrapolation = 50;
+
+    /**
+     * The buffer that will be tested upon, holding a position and an angle.
+     */
+    protected SnapshotBuffer cBuffer;
+
+    /**
+     * Array in which the sampled values are written.
+     */
+    protected float[] cOut;
+
+    /**
+     * Creates the needed objects for the tests.
+     */
+    @Before
+    public final void setUp() {
+        cBuffer = new SnapshotBuffer(2, cDelay, cMaxExtrapolation);
+        cBuffer.setAngular(1);
+        cOut = new float[2];
+    }
+
+    /**
+     * Adds a snapshot that was received without any network delay.
+     *
+     * @param sequence Sequence number.
+     * @param time     Time of both sender and receiver.
+     * @param position The position.
+     * @param angle    The angle.
+     * @return Whether it was added.
+     */
+    protected boolean add(final int sequence, final int time, final float position, final float angle) {
+        return cBuffer.add(sequence, time, new float[]{position, angle}, time);
+    }
+
+    /**
+     * Tests that nothing can be sampled from an empty buffer.
+     */
+    @Test
+    public final void testSampleEmpty() {
+        assertFalse(cBuffer.sample(0, cOut));
+    }
+
+    /**
+     * Tests that the state is interpolated between the two surrounding snapshots.
+     */
+    @Test
+    public final void testInterpolate() {
+        add(1, 0, 0f, 0f);
+        add(2, 100, 10f, 1f);
+        assertTrue(cBuffer.sample(150, cOut));
+        assertEquals(5f, cOut[0], cDelta);
+        assertEquals(0.5f, cOut[1], cDelta);
+    }
+
+    /**
+     * Tests that a state before the oldest snapshot shows the oldest snapshot.
+     */
+    @Test
+    public final void testBeforeOldest() {
+        add(1, 0, 3f, 0f);
+        add(2, 100, 10f, 0f);
+        cBuffer.sample(50, cOut);
+        assertEquals(3f, cOut[0], cDelta);
+    }
+
+    /**
+     * Tests that motion is extrapolated for a short gap, and holds still after that.
+     */
+    @Test
+    public final void testExtrapolate() {
+        add(1, 0, 0f, 0f);
+        add(2, 100, 10f, 0f);
+        cBuffer.sample(225, cOut);
+        assertEquals(12.5f, cOut[0], cDelta);
+        cBuffer.sample(1000, cOut);
+        assertEquals(15f, cOut[0], cDelta);
+    }
+
+    /**
+     * Tests that angles are interpolated along the shortest way around.
+     */
+    @Test
+    public final void testAngleWrap() {
+        final float almostPi = 3.0f;
+        add(1, 0, 0f, almostPi);
+        add(2, 100, 0f, -almostPi);
+        cBuffer.sample(150, cOut);
+        assertEquals(Math.PI, Math.abs(cOut[1]), 0.01);
+    }
+
+    /**
+     * Tests that duplicate and out of order snapshots are dropped.
+     */
+    @Test
+    public final void testDropOutOfOrder() {
+        assertTrue(add(2, 100, 0f, 0f));
+        assertFalse(add(2, 100, 0f, 0f));
+        assertFalse(add(1, 0, 0f, 0f));
+        assertEquals(1, cBuffer.size());
+        assertEquals(2, cBuffer.getDropped());
+    }
+
+    /**
+     * Tests that the network delay of the first snapshots does not matter, only the fastest one is used.
+     */
+    @Test
+    public final void testOffsetUsesFastestSnapshot() {
+        final int latency = 40;
+        cBuffer.add(1, 0, new float[]{0f, 0f}, latency * 2);
+        cBuffer.add(2, 100, new float[]{10f, 0f}, 100 + latency);
+        cBuffer.sample(150 + latency, cOut);
+        assertEquals(5f, cOut[0], cDelta);
+    }
+
+    /**
+     * Tests that sender time stamps that wrap around are still in order.
+     */
+    @Test
+    public final void testTimeWrapAround() {
+        add(1, Integer.MAX_VALUE - 50, 0f, 0f);
+        assertTrue(cBuffer.add(2, Integer.MIN_VALUE + 49, new float[]{10f, 0f}, Integer.MAX_VALUE + 50L));
+        cBuffer.sample(Integer.MAX_VALUE + 100L, cOut);
+        assertEquals(5f, cOut[0], cDelta);
+    }
+
+    /**
+     * Tests that the buffer keeps working once it is full.
+     */
+    @Test
+    public final void testOverwriteOldest() {
+        for (int i = 0; i < SnapshotBuffer.DEFAULT_CAPACITY * 2; i++) {
+            add(i + 1, i * 100, i, 0f);
+        }
+        assertEquals(SnapshotBuffer.DEFAULT_CAPACITY, cBuffer.size());
+        int last = SnapshotBuffer.DEFAULT_CAPACITY * 2 - 1;
+        cBuffer.sample(last * 100 + 50, cOut);
+        assertEquals(last - 0.5f, cOut[0], cDelta);
+    }
+}
@@ -0,0 +1,134 @@
+package cg.group4.util.profiling;
+
+import cg.group4.util.profiling.FrameProfiler.Metric;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for measuring frames with the FrameProfiler.
+ */
+public class FrameProfilerTest {
+
+    /**
+     * Amount of frames in the window of the profiler.
+     */
+    protected static final int WINDOW = 4;
+
+    /**
+     * Profiler with a clock that only moves when told to.
+     */
+    protected FrameProfiler cProfiler;
+
+    /**
+     * Current time of the clock of the profiler.
+     */
+    protected long cTime;
+
+    /**
+     * Creates an enabled profiler with a fake clock.
+     */
+    @Before
+    public final void setUp() {
+        cTime = 0;
+        cProfiler = new FrameProfiler(WINDOW) {
+            @Override
+            protected long now() {
+                return cTime;
+            }
+        };
+        cProfiler.setEnabled(true);
+    }
+
+    /**
+     * Measures a frame whose render phase takes the given time and whose other phases take 1 nanosecond each.
+     *
+     * @param render Nanoseconds of the render phase.
+     */
+    protected void frame(final long render) {
+        cProfiler.beginFrame();
+        cTime += render;
+        cProfiler.split(Metric.RENDER);
+        cTime++;
+        cProfiler.split(Metric.TIME_KEEPER);
+        cTime++;
+        cProfiler.split(Metric.STAND_UP);
+        cTime++;
+        cProfiler.split(Metric.POST_RUNNABLES);
+        cProfiler.endFrame();
+    }
+
+    /**
+     * Tests that the phases and the whole frame are measured.
+     */
+    @Test
+    public final void testPhases() {
+        frame(10);
+        assertEquals(1, cProfiler.size());
+        assertEquals(10, cProfiler.getSample(Metric.RENDER, 0));
+        assertEquals(1, cProfiler.getSample(Metric.STAND_UP, 0));
+        assertEquals(13, cProfiler.getSample(Metric.FRAME, 0));
+        assertEquals(-1, cProfiler.getSample(Metric.DRAW_CALLS, 0));
+    }
+
+    /**
+     * Tests that a disabled profiler does not measure frames.
+     */
+    @Test
+    public final void testDisabled() {
+        cProfiler.setEnabled(false);
+        frame(10);
+        assertEquals(0, cProfiler.size());
+        assertEquals(0, cProfiler.getPercentile(Metric.FRAME, 0.5));
+    }
+
+    /**
+     * Tests that the window only keeps the newest frames.
+     */
+    @Test
+    public final void testWindow() {
+        for (int i = 1; i <= WINDOW + 2; i++) {
+            frame(i);
+        }
+        assertEquals(WINDOW, cProfiler.size());
+        assertEquals(WINDOW + 2, cProfiler.getFrames());
+        assertEquals(3, cProfiler.getSample(Metric.RENDER, 0));
+        assertEquals(WINDOW + 2, cProfiler.getSample(Metric.RENDER, WINDOW - 1));
+    }
+
+    /**
+     * Tests the nearest rank percentiles over the window.
+     */
+    @Test
+    public final void testPercentile() {
+        frame(40);
+        frame(10);
+        frame(30);
+        frame(20);
+        assertEquals(10, cProfiler.getPercentile(Metric.RENDER, 0));
+        assertEquals(20, cProfiler.getPercentile(Metric.RENDER, 0.5));
+        assertEquals(40, cProfiler.getPercentile(Metric.RENDER, 0.95));
+        assertEquals(40, cProfiler.getPercentile(Metric.RENDER, 1));
+    }
+
+    /**
+     * Tests that the CSV has a header and a line per frame.
+     *
+     * @throws IOException Should not happen.
+     */
+    @Test
+    public final void testCsv() throws IOException {
+        frame(10);
+        frame(20);
+        StringWriter writer = new StringWriter();
+        cProfiler.writeCsv(writer);
+        String[] lines = writer.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("frame,render_ns,time_keeper_ns,"));
+        assertTrue(lines[2].startsWith("1,20,1,1,1,23,-1,-1,"));
+    }
+}
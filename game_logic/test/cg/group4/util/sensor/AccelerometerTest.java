@@ -6,9 +6,14 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -34,7 +39,12 @@ public class AccelerometerTest {
     @Before
     public final void setUp() {
         cSensorReader = mock(SensorReader.class);
-        when(cSensorReader.readAccelerometer()).thenReturn(new Vector3(1f, 2f, 3f));
+        when(cSensorReader.readAccelerometer(any(Vector3.class))).thenAnswer(new Answer<Vector3>() {
+            @Override
+            public Vector3 answer(final InvocationOnMock invocation) {
+                return ((Vector3) invocation.getArguments()[0]).set(1f, 2f, 3f);
+            }
+        });
 
         cAccelMeter = new Accelerometer(cSensorReader);
     }
@@ -159,4 +169,33 @@ public class AccelerometerTest {
         assertEquals(2f, result.y, 0);
         assertEquals(3f, result.z, 0);
     }
+
+    /**
+     * Tests if added filters are applied to the readings.
+     */
+    @Test
+    public final void updateWithFilterTest() {
+        SensorFilter filter = mock(SensorFilter.class);
+        cAccelMeter.addFilter(filter);
+        Vector3 result = cAccelMeter.update();
+        verify(filter).apply(result);
+
+        cAccelMeter.removeFilter(filter);
+        cAccelMeter.update();
+        verify(filter, times(1)).apply(result);
+    }
+
+    /**
+     * Tests if an accelerometer on a shared sampler does not read the sensor itself.
+     */
+    @Test
+    public final void updateSharedSamplerTest() {
+        SensorSampler sampler = new SensorSampler(cSensorReader);
+        Accelerometer shared = new Accelerometer(sampler);
+        sampler.sample();
+        shared.update();
+        shared.update();
+        assertEquals(1, sampler.getSampleCount());
+        verify(cSensorReader, times(2)).readAccelerometer(any(Vector3.class));
+    }
 }
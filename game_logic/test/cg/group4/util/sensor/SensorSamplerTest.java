@@ -0,0 +1,108 @@
+package cg.group4.util.sensor;
+
+import com.badlogic.gdx.math.Vector3;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for the ring buffer of the SensorSampler.
+ */
+public class SensorSamplerTest {
+
+    /**
+     * Capacity of the sampler under test.
+     */
+    protected static final int CAPACITY = 3;
+
+    /**
+     * The sampler under test.
+     */
+    protected SensorSampler cSampler;
+
+    /**
+     * The value the fake reader will return on the next read.
+     */
+    protected float cNextValue;
+
+    /**
+     * Creates a sampler on a reader that returns an increasing value on every read.
+     */
+    @Before
+    public final void setUp() {
+        cNextValue = 0f;
+        cSampler = new SensorSampler(new SensorReader() {
+            @Override
+            public Vector3 readAccelerometer(final Vector3 out) {
+                cNextValue++;
+                return out.set(cNextValue, -cNextValue, 2 * cNextValue);
+            }
+        }, CAPACITY);
+    }
+
+    /**
+     * Tests that the most recent sample is returned.
+     */
+    @Test
+    public final void testLatest() {
+        cSampler.sample();
+        cSampler.sample();
+        Vector3 out = new Vector3();
+        assertSame(out, cSampler.latest(out));
+        assertEquals(2f, out.x, 0);
+        assertEquals(-2f, out.y, 0);
+        assertEquals(4f, out.z, 0);
+    }
+
+    /**
+     * Tests that older samples can be read by age.
+     */
+    @Test
+    public final void testGetByAge() {
+        cSampler.sample();
+        cSampler.sample();
+        cSampler.sample();
+        assertEquals(3f, cSampler.getX(0), 0);
+        assertEquals(2f, cSampler.getX(1), 0);
+        assertEquals(-1f, cSampler.getY(2), 0);
+        assertEquals(2f, cSampler.getZ(2), 0);
+    }
+
+    /**
+     * Tests that the oldest samples are overwritten once the buffer is full.
+     */
+    @Test
+    public final void testWrapAround() {
+        for (int i = 0; i < CAPACITY + 2; i++) {
+            cSampler.sample();
+        }
+        assertEquals(CAPACITY, cSampler.size());
+        assertEquals(CAPACITY + 2, cSampler.getSampleCount());
+        assertEquals(5f, cSampler.getX(0), 0);
+        assertEquals(3f, cSampler.getX(CAPACITY - 1), 0);
+    }
+
+    /**
+     * Tests that reading outside of the capacity is not allowed.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void testAgeOutOfBounds() {
+        cSampler.getX(CAPACITY);
+    }
+
+    /**
+     * Tests that the low-pass filter moves towards new readings.
+     */
+    @Test
+    public final void testLowPassFilter() {
+        LowPassFilter filter = new LowPassFilter(0.5f);
+        Vector3 readings = new Vector3(2f, 0f, 0f);
+        filter.apply(readings);
+        assertEquals(2f, readings.x, 0);
+        readings.set(4f, 0f, 0f);
+        filter.apply(readings);
+        assertEquals(3f, readings.x, 0);
+    }
+}
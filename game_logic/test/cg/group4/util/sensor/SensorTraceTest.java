@@ -0,0 +1,140 @@
+package cg.group4.util.sensor;
+
+import com.badlogic.gdx.math.Vector3;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for recording, storing and replaying sensor traces.
+ */
+public class SensorTraceTest {
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    protected static final long MILLI = 1000000L;
+
+    /**
+     * Trace with three samples, 10 milliseconds apart.
+     */
+    protected SensorTrace cTrace;
+
+    /**
+     * Creates the trace used in the tests.
+     */
+    @Before
+    public final void setUp() {
+        cTrace = new SensorTrace();
+        cTrace.add(0, 1f, 2f, 3f);
+        cTrace.add(10 * MILLI, 4f, 5f, 6f);
+        cTrace.add(20 * MILLI, 7f, 8f, 9f);
+    }
+
+    /**
+     * Tests that a trace survives writing and reading the binary format.
+     *
+     * @throws IOException Should not happen.
+     */
+    @Test
+    public final void testWriteRead() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        cTrace.write(output);
+        assertEquals(12 + 16 * cTrace.size(), output.size());
+
+        SensorTrace read = SensorTrace.read(new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(cTrace.size(), read.size());
+        assertEquals(20 * MILLI, read.getDuration());
+        assertEquals(5f, read.getY(1), 0);
+        assertEquals(9f, read.getZ(2), 0);
+    }
+
+    /**
+     * Tests that reading something else than a trace fails.
+     *
+     * @throws IOException Expected.
+     */
+    @Test(expected = IOException.class)
+    public final void testReadInvalid() throws IOException {
+        SensorTrace.read(new ByteArrayInputStream(new byte[]{0, 1, 2, 3, 4, 5, 6, 7}));
+    }
+
+    /**
+     * Tests that the sample at a given time is found.
+     */
+    @Test
+    public final void testIndexAt() {
+        assertEquals(0, cTrace.indexAt(0));
+        assertEquals(0, cTrace.indexAt(9 * MILLI));
+        assertEquals(1, cTrace.indexAt(10 * MILLI));
+        assertEquals(2, cTrace.indexAt(100 * MILLI));
+    }
+
+    /**
+     * Tests that stepping through a trace returns every sample once.
+     */
+    @Test
+    public final void testReplayStepping() {
+        ReplaySensorReader reader = new ReplaySensorReader(cTrace);
+        Vector3 out = new Vector3();
+        assertEquals(1f, reader.readAccelerometer(out).x, 0);
+        assertEquals(4f, reader.readAccelerometer(out).x, 0);
+        assertFalse(reader.isFinished());
+        assertEquals(7f, reader.readAccelerometer(out).x, 0);
+        assertTrue(reader.isFinished());
+        assertEquals(7f, reader.readAccelerometer(out).x, 0);
+    }
+
+    /**
+     * Tests that a looping replay starts over.
+     */
+    @Test
+    public final void testReplayLooping() {
+        ReplaySensorReader reader = new ReplaySensorReader(cTrace);
+        reader.setLooping(true);
+        Vector3 out = new Vector3();
+        for (int i = 0; i < cTrace.size(); i++) {
+            reader.readAccelerometer(out);
+        }
+        assertEquals(1f, reader.readAccelerometer(out).x, 0);
+        assertFalse(reader.isFinished());
+    }
+
+    /**
+     * Tests that an accelerated replay reaches the end of the trace in a fraction of the recorded time.
+     *
+     * @throws InterruptedException Should not happen.
+     */
+    @Test
+    public final void testReplayAccelerated() throws InterruptedException {
+        ReplaySensorReader reader = new ReplaySensorReader(cTrace, 10f);
+        Thread.sleep(3);
+        assertEquals(7f, reader.readAccelerometer(new Vector3()).x, 0);
+        assertTrue(reader.isFinished());
+    }
+
+    /**
+     * Tests that the recorder passes readings through and records them.
+     */
+    @Test
+    public final void testRecorder() {
+        SensorRecorder recorder = new SensorRecorder(new ReplaySensorReader(cTrace));
+        Vector3 out = new Vector3();
+        recorder.readAccelerometer(out);
+        recorder.start();
+        recorder.readAccelerometer(out);
+        recorder.readAccelerometer(out);
+        SensorTrace recorded = recorder.stop();
+        recorder.readAccelerometer(out);
+
+        assertFalse(recorder.isRecording());
+        assertEquals(2, recorded.size());
+        assertEquals(4f, recorded.getX(0), 0);
+        assertEquals(7f, recorded.getX(1), 0);
+    }
+}
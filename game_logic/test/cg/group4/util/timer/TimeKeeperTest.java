@@ -1,11 +1,18 @@
 package cg.group4.util.timer;
 
 import cg.group4.GdxTestRunner;
+import cg.group4.util.VirtualClock;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.Observable;
+import java.util.Observer;
+
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
 
 /**
  * Tests for the timeKeeper class.
@@ -33,4 +40,38 @@ public class TimeKeeperTest {
         assertEquals(cTimeKeeper.getTimerSubject(), cTimeKeeper.cTimerSubject);
     }
 
+    /**
+     * Tests that the timers are only updated when a second has passed on the clock.
+     */
+    @Test
+    public final void testUpdateWithVirtualClock() {
+        VirtualClock clock = new VirtualClock();
+        cTimeKeeper.setClock(clock);
+        Observer observer = mock(Observer.class);
+        cTimeKeeper.getTimerSubject().addObserver(observer);
+
+        clock.advance(500);
+        cTimeKeeper.update();
+        verify(observer, never()).update(any(Observable.class), any());
+
+        clock.advance(600);
+        cTimeKeeper.update();
+        verify(observer).update(any(Observable.class), eq((Object) clock.currentTimeMillis()));
+    }
+
+    /**
+     * Tests that a large jump in time results in a single update instead of one per missed second.
+     */
+    @Test
+    public final void testUpdateSkipsMissedSeconds() {
+        VirtualClock clock = new VirtualClock();
+        cTimeKeeper.setClock(clock);
+        Observer observer = mock(Observer.class);
+        cTimeKeeper.getTimerSubject().addObserver(observer);
+
+        clock.advance(60 * 60 * 1000);
+        cTimeKeeper.update();
+        cTimeKeeper.update();
+        verify(observer, times(1)).update(any(Observable.class), any());
+    }
 }
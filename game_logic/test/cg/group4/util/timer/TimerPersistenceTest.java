@@ -0,0 +1,128 @@
+package cg.group4.util.timer;
+
+import cg.group4.GdxTestRunner;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the timer persistence class.
+ */
+@RunWith(GdxTestRunner.class)
+public class TimerPersistenceTest {
+
+    /**
+     * Name of the timer used in the tests.
+     */
+    protected final String cName = "PERSISTENCE_TEST";
+
+    /**
+     * The timer persistence that will be tested upon.
+     */
+    protected TimerPersistence cPersistence;
+
+    /**
+     * The preferences the persistence writes to.
+     */
+    protected Preferences cPreferences;
+
+    /**
+     * Creates the needed objects for the tests.
+     */
+    @Before
+    public final void setUp() {
+        cPersistence = TimerPersistence.getInstance();
+        cPreferences = Gdx.app.getPreferences(TimerPersistence.PREFERENCES_NAME);
+    }
+
+    /**
+     * Tests that a stored finish time can be read back immediately.
+     */
+    @Test
+    public final void testPutFinishTime() {
+        cPersistence.putFinishTime(cName, 1234L);
+        assertTrue(cPersistence.contains(cName));
+        assertEquals(1234L, cPersistence.getFinishTime(cName));
+    }
+
+    /**
+     * Tests that an unknown timer has no finish time.
+     */
+    @Test
+    public final void testGetFinishTimeUnknown() {
+        assertFalse(cPersistence.contains(cName));
+        assertEquals(0L, cPersistence.getFinishTime(cName));
+    }
+
+    /**
+     * Tests that repeated writes to the same timer are coalesced into the latest value.
+     */
+    @Test
+    public final void testFlushCoalesces() {
+        cPersistence.putFinishTime(cName, 1L);
+        cPersistence.putFinishTime(cName, 2L);
+        cPersistence.flush();
+        assertTrue(cPersistence.cPendingWrites.isEmpty());
+        assertEquals(2L, cPreferences.getLong(cName));
+    }
+
+    /**
+     * Tests that a removal is written to the preferences.
+     */
+    @Test
+    public final void testRemove() {
+        cPersistence.putFinishTime(cName, 1L);
+        cPersistence.flush();
+        cPersistence.remove(cName);
+        cPersistence.flush();
+        assertFalse(cPersistence.contains(cName));
+        assertFalse(cPreferences.contains(cName));
+    }
+
+    /**
+     * Tests that a new persistence restores the previously written finish times.
+     */
+    @Test
+    public final void testRestore() {
+        cPersistence.putFinishTime(cName, 42L);
+        cPersistence.flush();
+        TimerPersistence restored = new TimerPersistence();
+        assertEquals(42L, restored.getFinishTime(cName));
+        restored.dispose();
+        assertSame(cPersistence, TimerPersistence.getInstance());
+    }
+
+    /**
+     * Tests that disposing the singleton writes its pending changes, and does not create a new singleton when there
+     * is none. A separate singleton is disposed, as the global timers keep using the current one.
+     */
+    @Test
+    public final void testDisposeInstance() {
+        TimerPersistence disposed = new TimerPersistence();
+        TimerPersistence.cInstance = disposed;
+        try {
+            disposed.putFinishTime(cName, 42L);
+            TimerPersistence.disposeInstance();
+            assertNull(TimerPersistence.cInstance);
+            assertEquals(42L, cPreferences.getLong(cName));
+
+            TimerPersistence.disposeInstance();
+            assertNull(TimerPersistence.cInstance);
+        } finally {
+            TimerPersistence.cInstance = cPersistence;
+        }
+    }
+
+    /**
+     * Tear down to prepare for the next test.
+     */
+    @After
+    public final void tearDown() {
+        TimerPersistence.getInstance().clear();
+    }
+}
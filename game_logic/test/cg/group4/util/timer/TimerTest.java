@@ -1,8 +1,7 @@
 package cg.group4.util.timer;
 
 import cg.group4.GdxTestRunner;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Preferences;
+import cg.group4.util.VirtualClock;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -119,7 +118,7 @@ public class TimerTest {
     @Test
     public final void testSetFinishTimePersistentFinished() {
         cTimer = new Timer(cTimer.getName(), cTimeInMinute, true);
-        cTimer.cPreferences.putLong(cTimer.cName, System.currentTimeMillis() - cTimer.cDuration);
+        cTimer.cPersistence.putFinishTime(cTimer.cName, System.currentTimeMillis() - cTimer.cDuration);
         cTimer = new Timer(cTimer.getName(), cTimeInMinute, true);
         assertFalse(cTimer.cRunning);
     }
@@ -131,10 +130,10 @@ public class TimerTest {
     public final void testResetFinishTime() {
         final long tick = 1000;
         Timer timer = new Timer("BLABLA", cTimeInMinute, true);
-        long time = timer.cPreferences.getLong(timer.cName);
+        long time = timer.cPersistence.getFinishTime(timer.cName);
         timer.tick(System.currentTimeMillis() + tick);
         timer.resetFinishTime();
-        assertTrue(timer.cPreferences.getLong(timer.cName) > time);
+        assertTrue(timer.cPersistence.getFinishTime(timer.cName) > time);
     }
 
     /**
@@ -156,13 +155,29 @@ public class TimerTest {
         assertEquals(cTimeInMinute * cTimeInMinute, Timer.Global.INTERVAL.getDuration());
     }
 
+    /**
+     * Tests that a timer finishes according to its clock instead of the system time.
+     */
+    @Test
+    public final void testFinishOnVirtualClock() {
+        VirtualClock clock = new VirtualClock();
+        Timer timer = new Timer("VIRTUAL", cTimeInMinute, false, clock);
+        assertTrue(timer.isRunning());
+
+        clock.advance(cTimeInMinute * Timer.MILLISEC_IN_SEC / 2);
+        timer.tick(clock.currentTimeMillis());
+        assertTrue(timer.isRunning());
+
+        clock.advance(cTimeInMinute * Timer.MILLISEC_IN_SEC);
+        timer.tick(clock.currentTimeMillis());
+        assertFalse(timer.isRunning());
+    }
+
     /**
      * Tear down to prepare for the next test.
      */
     @After
     public final void tearDown() {
-        Preferences preferences = Gdx.app.getPreferences("TIMER");
-        preferences.clear();
-        preferences.flush();
+        TimerPersistence.getInstance().clear();
     }
 }
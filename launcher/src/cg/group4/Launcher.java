@@ -7,13 +7,18 @@ import cg.group4.server.LocalStorageResolver;
 import cg.group4.server.Server;
 import cg.group4.util.notification.NotificationController;
 import cg.group4.util.orientation.OrientationReader;
+import cg.group4.util.profiling.FrameProfiler;
+import cg.group4.util.profiling.FrameProfiler.Metric;
 import cg.group4.util.sensor.AccelerationStatus;
 import cg.group4.util.timer.TimeKeeper;
 import cg.group4.util.timer.Timer;
+import cg.group4.util.timer.TimerPersistence;
 import cg.group4.util.timer.TimerStore;
 import cg.group4.view.screen.HomeScreen;
+import cg.group4.view.screen.NetworkScreen;
 import cg.group4.view.screen_mechanics.AssetsLoadingHandler;
 import cg.group4.view.screen_mechanics.LoadingScreen;
+import cg.group4.view.screen_mechanics.ProfilerOverlay;
 import cg.group4.view.screen_mechanics.ScreenStore;
 import com.badlogic.gdx.*;
 
@@ -63,6 +68,16 @@ public class Launcher extends Game implements AssetsLoadingHandler {
      */
     protected OrientationReader cOrientationReader;
 
+    /**
+     * Measures the phases of every frame.
+     */
+    protected FrameProfiler cProfiler;
+
+    /**
+     * Shows the measurements of the profiler, toggled by the user.
+     */
+    protected ProfilerOverlay cProfilerOverlay;
+
     /**
      * Tunnels the acceleration status through the launcher to the android project.
      *
@@ -93,7 +108,9 @@ public class Launcher extends Game implements AssetsLoadingHandler {
     public final void create() {
         debugSetup();
         initClient();
-        Gdx.input.setInputProcessor(new InputMultiplexer());
+        cProfiler = new FrameProfiler();
+        cProfilerOverlay = new ProfilerOverlay(cProfiler);
+        Gdx.input.setInputProcessor(new InputMultiplexer(cProfilerOverlay));
 
         setScreen(new LoadingScreen(this));
     }
@@ -103,9 +120,7 @@ public class Launcher extends Game implements AssetsLoadingHandler {
      */
     private void debugSetup() {
         if (CLEAR_SETTINGS) {
-            Preferences preferences = Gdx.app.getPreferences("TIMER");
-            preferences.clear();
-            preferences.flush();
+            TimerPersistence.getInstance().clear();
         }
         Gdx.app.setLogLevel(Application.LOG_DEBUG);
     }
@@ -165,23 +180,63 @@ public class Launcher extends Game implements AssetsLoadingHandler {
 
     /**
      * Called every frame.
-     * Renders one frame and updates the TimeKeeper accordingly.
+     * Renders one frame and updates the TimeKeeper accordingly. Every phase is measured by the profiler.
      */
     @Override
     public final void render() {
+        cProfiler.beginFrame();
         super.render();
+        cProfiler.split(Metric.RENDER);
         if (cStandUp != null && cTimeKeeper != null) {
             cTimeKeeper.update();
+            cProfiler.split(Metric.TIME_KEEPER);
             cStandUp.update();
+            cProfiler.split(Metric.STAND_UP);
         }
         for (Runnable toRunBeforeNextCycle : Client.getInstance().getPostRunnables()) {
             Gdx.app.postRunnable(toRunBeforeNextCycle);
         }
         Client.getInstance().resetPostRunnables();
+        cProfiler.split(Metric.POST_RUNNABLES);
+        cProfiler.endFrame();
+        cProfilerOverlay.draw();
+    }
+
+    /**
+     * Called when the game is resized.
+     *
+     * @param width  New width of the game.
+     * @param height New height of the game.
+     */
+    @Override
+    public final void resize(final int width, final int height) {
+        super.resize(width, height);
+        cProfilerOverlay.resize(width, height);
+    }
+
+    /**
+     * Called when the game is paused.
+     * Writes the timers to disk, as the game might be killed while paused.
+     */
+    @Override
+    public final void pause() {
+        super.pause();
+        TimerPersistence.getInstance().flush();
+    }
+
+    /**
+     * Called when the game is destroyed.
+     * Writes the timers to disk and stops the background writer.
+     */
+    @Override
+    public final void dispose() {
+        super.dispose();
+        cProfilerOverlay.dispose();
+        TimerPersistence.disposeInstance();
     }
 
     /**
-     * Sets the default IP or port to the IP / port set in the preferences, if existent.
+     * Sets the default IP or port to the IP / port set in the preferences, if existent, and whether events are relayed.
      */
     protected void useCustomIp() {
         final String prefKey = "CUSTOM_IP";
@@ -197,6 +252,7 @@ public class Launcher extends Game implements AssetsLoadingHandler {
                 System.out.println(preferences.getInteger("ssm-port"));
                 Client.getInstance().setPort(preferences.getInteger("ssm-port"));
             }
+            Client.getInstance().setRelayed(preferences.getBoolean(NetworkScreen.RELAYED_KEY, false));
         }
 
     }
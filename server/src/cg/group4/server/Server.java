@@ -2,8 +2,12 @@ package cg.group4.server;
 
 import cg.group4.server.database.query.EventHostCleaner;
 import cg.group4.server.database.query.Query;
+import cg.group4.server.relay.RelayFrame;
+import cg.group4.server.relay.RelayServer;
+import cg.group4.util.Clock;
 import cg.group4.util.IpResolver;
 import cg.group4.util.StaticsCaller;
+import cg.group4.util.SystemClock;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -25,6 +29,7 @@ import java.util.logging.Logger;
  * The Server has a main method that starts a Server instance. The server looks up the local IP and the external IP.
  * It creates a ServerSocket on the specified (default) port and then accepts connections. Incoming connections are
  * handled in new Threads. This is done with an ExecutorService that defines the maximum number of Threads.
+ * A remote server also runs a relay, through which phones that cannot reach each other play multi-player events.
  */
 public class Server {
     /**
@@ -63,14 +68,9 @@ public class Server {
      * The task that will clean the database tables.
      */
     protected final Runnable cCleanTask = new Runnable() {
-        protected final Query cQuery = new EventHostCleaner();
         @Override
         public void run() {
-            try {
-                cQuery.query(cLocalStorageResolver.getConnection());
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+            cleanUp();
         }
     };
     /**
@@ -85,6 +85,14 @@ public class Server {
      * This defines the database connection and if the server is remote or local.
      */
     protected LocalStorageResolver cLocalStorageResolver;
+    /**
+     * The clock that determines which hosts are old enough to be cleaned.
+     */
+    protected Clock cClock;
+    /**
+     * Forwards the multi-player traffic of hosts that cannot be reached directly, only run by a remote server.
+     */
+    protected RelayServer cRelay;
 
     /**
      * Creates a server using the settings provided by the LocalStorageResolver.
@@ -94,6 +102,16 @@ public class Server {
     public Server(final LocalStorageResolver storageResolver) {
         cLocalStorageResolver = storageResolver;
         cStaticsCaller = new StaticsCaller();
+        cClock = SystemClock.getInstance();
+    }
+
+    /**
+     * Sets the clock that determines which hosts are old enough to be cleaned.
+     *
+     * @param clock The new clock.
+     */
+    public void setClock(final Clock clock) {
+        cClock = clock;
     }
 
     /**
@@ -121,6 +139,7 @@ public class Server {
             createServerSocket(cDefaultPort);
             createExternalIP();
             validateExternalConnection();
+            startRelay();
 
             initCleaner();
         }
@@ -136,6 +155,36 @@ public class Server {
         }).start();
     }
 
+    /**
+     * Starts the relay on its default port. The server keeps running without relay when the port is in use.
+     * The relay is stopped when the JVM shuts down.
+     */
+    protected void startRelay() {
+        try {
+            cRelay = new RelayServer(RelayFrame.DEFAULT_PORT);
+            cRelay.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    stopRelay();
+                }
+            }, "Relay Shutdown"));
+        } catch (IOException e) {
+            LOGGER.severe("Could not start the relay on port " + RelayFrame.DEFAULT_PORT + "!");
+        }
+    }
+
+    /**
+     * Stops the relay, if it runs, and logs its final metrics.
+     */
+    public void stopRelay() {
+        if (cRelay != null) {
+            cRelay.stop();
+            LOGGER.info("Relay stopped: " + cRelay.toString());
+            cRelay = null;
+        }
+    }
+
     /**
      * This initializes the ExecutorService that set intervals cleans database tables.
      */
@@ -144,6 +193,22 @@ public class Server {
         cCleaner.scheduleAtFixedRate(cCleanTask, 0, cCleanupInterval, TimeUnit.MINUTES);
     }
 
+    /**
+     * Removes the event hosts that are older than the clean up interval, according to the clock.
+     * Also logs the metrics of the relay so far, the final metrics are logged when the relay stops.
+     */
+    public void cleanUp() {
+        if (cRelay != null) {
+            LOGGER.info(cRelay.toString());
+        }
+        Query query = new EventHostCleaner(cClock.currentTimeMillis());
+        try {
+            query.query(cLocalStorageResolver.getConnection());
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * Attempts to get the local IP address. If it fails it assigns as UnknownHost.
      */
@@ -209,7 +274,7 @@ public class Server {
         try {
             cPool = Executors.newFixedThreadPool(cMaxThreads);
             Socket client = cServerSocket.accept();
-            Runnable task = new ServerThread(client, cLocalStorageResolver);
+            Runnable task = new ServerThread(client, cLocalStorageResolver, cRelay);
             cPool.submit(task);
         } catch (IOException e) {
             e.printStackTrace();
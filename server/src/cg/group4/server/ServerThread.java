@@ -2,6 +2,8 @@ package cg.group4.server;
 
 import cg.group4.server.database.Response;
 import cg.group4.server.database.query.Query;
+import cg.group4.server.database.query.RequestHostCode;
+import cg.group4.server.relay.RelayServer;
 
 import java.io.*;
 import java.net.Socket;
@@ -49,6 +51,11 @@ public final class ServerThread implements Runnable {
      */
     protected LocalStorageResolver cLocalStorageResolver;
 
+    /**
+     * The relay of the server, null when the server does not relay.
+     */
+    protected RelayServer cRelay;
+
     /**
      * Creates a new ServerThread for communication with the server and the client.
      *
@@ -57,7 +64,22 @@ public final class ServerThread implements Runnable {
      *                             or local.
      */
     public ServerThread(final Socket connection, final LocalStorageResolver localStorageResolver) {
+        this(connection, localStorageResolver, null);
+    }
+
+    /**
+     * Creates a new ServerThread for communication with the server and the client, which registers the codes of
+     * relayed hosts at the relay.
+     *
+     * @param connection           The connection with the Client.
+     * @param localStorageResolver The LocalStorage resolver containing database connection and if it is remote
+     *                             or local.
+     * @param relay                The relay of the server, null when the server does not relay.
+     */
+    public ServerThread(final Socket connection, final LocalStorageResolver localStorageResolver,
+                        final RelayServer relay) {
         cConnection = connection;
+        cRelay = relay;
         cLocalStorageResolver = localStorageResolver;
         cDatabaseConnection = cLocalStorageResolver.getConnection();
         LOGGER.info("Established a connection with: " + cConnection.getInetAddress().getHostName());
@@ -143,6 +165,7 @@ public final class ServerThread implements Runnable {
      * Creates a database connection and calls the given query.
      * The result of the query is put into a response.
      * The response also indicates whether the query was successful.
+     * The code handed out to a relayed host is registered at the relay, bound to the address of the client.
      *
      * @param query The query to be executed on the database.
      * @return The response to be sent back to the client.
@@ -154,6 +177,9 @@ public final class ServerThread implements Runnable {
         try {
             serializable = query.query(cDatabaseConnection);
             success = true;
+            if (cRelay != null && query instanceof RequestHostCode && ((RequestHostCode) query).isRelayed()) {
+                cRelay.register((Integer) serializable, cConnection.getInetAddress());
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
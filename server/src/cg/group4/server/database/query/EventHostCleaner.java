@@ -2,8 +2,9 @@ package cg.group4.server.database.query;
 
 import java.io.Serializable;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Cleans the database once every while.
@@ -11,14 +12,34 @@ import java.sql.Statement;
 public class EventHostCleaner extends Query {
 
     /**
-     * Query that deletes every row in the Event_Hosts table where time is longer than 30 minutes ago.
+     * How long a host is kept, in milliseconds.
      */
-    protected String cQuery = "DELETE FROM 'Event_Hosts' WHERE Timestamp <= datetime('now','-30 minutes')";
+    protected static final long MAX_AGE = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * Query that deletes every row in the Event_Hosts table where time is before the given epoch second.
+     */
+    protected String cQuery = "DELETE FROM 'Event_Hosts' WHERE Timestamp <= datetime(?, 'unixepoch')";
+
+    /**
+     * The current time, in milliseconds since the epoch.
+     */
+    protected long cNow;
+
+    /**
+     * Creates a cleaner that removes the hosts that are longer than 30 minutes old at the given time.
+     *
+     * @param now The current time, in milliseconds since the epoch.
+     */
+    public EventHostCleaner(final long now) {
+        cNow = now;
+    }
 
     @Override
     public Serializable query(Connection databaseConnection) throws SQLException {
-        try (Statement statement = databaseConnection.createStatement()) {
-            statement.executeUpdate(cQuery);
+        try (PreparedStatement statement = databaseConnection.prepareStatement(cQuery)) {
+            statement.setLong(1, TimeUnit.MILLISECONDS.toSeconds(cNow - MAX_AGE));
+            statement.executeUpdate();
         }
         return null;
     }
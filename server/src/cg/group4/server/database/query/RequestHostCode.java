@@ -1,5 +1,7 @@
 package cg.group4.server.database.query;
 
+import cg.group4.data_structures.HostData;
+
 import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -35,6 +37,15 @@ public class RequestHostCode extends Query {
         cPort = port;
     }
 
+    /**
+     * Checks whether the host is only reachable through the relay of the server.
+     *
+     * @return If the host is relayed.
+     */
+    public boolean isRelayed() {
+        return HostData.RELAYED.equals(cIp);
+    }
+
     @Override
     public Serializable query(final Connection databaseConnection) throws SQLException {
         boolean exists;
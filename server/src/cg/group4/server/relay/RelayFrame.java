@@ -0,0 +1,90 @@
+package cg.group4.server.relay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Framing of the datagrams exchanged with the relay. Every datagram starts with a one byte kind and a one byte slot.
+ * Control frames that open or join a session are followed by the four byte host code, data frames by the
+ * multi-player packet that is forwarded.
+ * The slot of a data frame from the host says which client it is for, the relay replaces the slot of a data frame
+ * from a client with the slot of that client before forwarding it to the host.
+ */
+public final class RelayFrame {
+
+    /**
+     * Default UDP port of the relay, next to the port of the server.
+     */
+    public static final int DEFAULT_PORT = 56790;
+
+    /**
+     * Send by a host to open a session for its host code.
+     */
+    public static final byte OPEN = 1;
+
+    /**
+     * Send by the relay when a session was opened.
+     */
+    public static final byte OPENED = 2;
+
+    /**
+     * Send by a client to join the session of a host code.
+     */
+    public static final byte JOIN = 3;
+
+    /**
+     * Send by the relay when a client joined, holding the slot of the client.
+     */
+    public static final byte JOINED = 4;
+
+    /**
+     * Send by the relay when a session cannot be opened or joined.
+     */
+    public static final byte REFUSED = 5;
+
+    /**
+     * A multi-player packet that is forwarded.
+     */
+    public static final byte DATA = 6;
+
+    /**
+     * Send to the relay when leaving a session, and by the relay when the other side of the session left.
+     */
+    public static final byte CLOSE = 7;
+
+    /**
+     * Size of the header of every frame: kind and slot.
+     */
+    public static final int HEADER_SIZE = 2;
+
+    /**
+     * Size of a control frame: header and host code.
+     */
+    public static final int CONTROL_SIZE = HEADER_SIZE + 4;
+
+    /**
+     * Most clients in a session, besides the host.
+     */
+    public static final int MAX_CLIENTS = 7;
+
+    /**
+     * Utility class, not meant to be instantiated.
+     */
+    private RelayFrame() {
+    }
+
+    /**
+     * Writes a control frame into the buffer, the buffer is flipped and ready to be send afterwards.
+     *
+     * @param buffer Buffer to write in, its content is cleared.
+     * @param kind   Kind of the frame.
+     * @param slot   Slot of the client, 0 when not known yet.
+     * @param code   The host code of the session.
+     */
+    public static void writeControl(final ByteBuffer buffer, final byte kind, final int slot, final int code) {
+        buffer.clear();
+        buffer.put(kind);
+        buffer.put((byte) slot);
+        buffer.putInt(code);
+        buffer.flip();
+    }
+}
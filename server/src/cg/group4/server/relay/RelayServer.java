@@ -0,0 +1,573 @@
+package cg.group4.server.relay;
+
+import cg.group4.util.Clock;
+import cg.group4.util.SystemClock;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Forwards the multi-player datagrams between a host and its clients when they cannot reach each other, for example
+ * because the host phone is behind a NAT. The host opens a session for its host code and the clients join it with
+ * that code, after which every data frame is forwarded to the other side. Only codes the server handed out to a
+ * relayed host can be opened, and only from the address of the phone that asked for the code.
+ * A single thread receives every datagram into one direct buffer and sends that same buffer on, so forwarding does
+ * not copy the packet or allocate buffers. Every session is capped to a number of bytes per second.
+ */
+public class RelayServer implements Runnable {
+    /**
+     * Default java logging functionality.
+     */
+    protected static final Logger LOGGER = Logger.getLogger(RelayServer.class.getName());
+
+    /**
+     * Default amount of bytes per second a session may forward, enough for a full room at the network tick rate.
+     */
+    public static final int DEFAULT_SESSION_CAP = 32_768;
+
+    /**
+     * Milliseconds after which a host or client that was not heard from is dropped from its session, and after which
+     * a registered code that was not opened can no longer be opened.
+     */
+    public static final long SESSION_TIMEOUT = 30_000;
+
+    /**
+     * Milliseconds between two checks for silent hosts and clients.
+     */
+    protected static final long SWEEP_INTERVAL = 1000;
+
+    /**
+     * Largest datagram that is forwarded: a multi-player packet and the frame header.
+     */
+    protected static final int MAX_DATAGRAM_SIZE = 1500;
+
+    /**
+     * The channel all frames are received and send on.
+     */
+    protected DatagramChannel cChannel;
+
+    /**
+     * Wakes the relay thread when datagrams arrive.
+     */
+    protected Selector cSelector;
+
+    /**
+     * Buffer every datagram is received in and forwarded from.
+     */
+    protected ByteBuffer cBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+
+    /**
+     * Buffer in which the control frames are written.
+     */
+    protected ByteBuffer cControl = ByteBuffer.allocateDirect(RelayFrame.CONTROL_SIZE);
+
+    /**
+     * The sessions, by host code.
+     */
+    protected HashMap<Integer, RelaySession> cSessions = new HashMap<Integer, RelaySession>();
+
+    /**
+     * The sessions, by the address of every host and client in them.
+     */
+    protected HashMap<SocketAddress, RelaySession> cMembers = new HashMap<SocketAddress, RelaySession>();
+
+    /**
+     * The codes that may be opened, by host code. Registered from the threads of the server, removed by the relay
+     * thread when the session is opened or the registration expires.
+     */
+    protected ConcurrentHashMap<Integer, Registration> cRegistrations = new ConcurrentHashMap<Integer, Registration>();
+
+    /**
+     * Clock used for the bandwidth caps and time outs.
+     */
+    protected Clock cClock = SystemClock.getInstance();
+
+    /**
+     * Bytes per second a session may forward.
+     */
+    protected int cSessionCap = DEFAULT_SESSION_CAP;
+
+    /**
+     * Time (in milliseconds) of the last check for silent hosts and clients.
+     */
+    protected long cLastSweep;
+
+    /**
+     * Whether the relay thread should keep running.
+     */
+    protected volatile boolean cRunning;
+
+    /**
+     * Packets and bytes forwarded.
+     */
+    protected volatile long cForwardedPackets, cForwardedBytes;
+
+    /**
+     * Packets dropped because their session went over its cap.
+     */
+    protected volatile long cCappedPackets;
+
+    /**
+     * Packets dropped because they were malformed or did not belong to a session.
+     */
+    protected volatile long cRejectedPackets;
+
+    /**
+     * Creates a relay bound to a port.
+     *
+     * @param port The port, 0 for a random open port.
+     * @throws IOException When the port could not be bound.
+     */
+    public RelayServer(final int port) throws IOException {
+        cChannel = DatagramChannel.open();
+        cChannel.socket().bind(new InetSocketAddress(port));
+        cChannel.configureBlocking(false);
+        cSelector = Selector.open();
+        cChannel.register(cSelector, SelectionKey.OP_READ);
+    }
+
+    /**
+     * Sets the clock used for the bandwidth caps and time outs. Has to be set before starting.
+     *
+     * @param clock The new clock.
+     */
+    public void setClock(final Clock clock) {
+        cClock = clock;
+    }
+
+    /**
+     * Sets the amount of bytes per second a session may forward. Has to be set before starting.
+     *
+     * @param cap Bytes per second.
+     */
+    public void setSessionCap(final int cap) {
+        cSessionCap = cap;
+    }
+
+    /**
+     * Allows a host to open a session for a code. Called when the server hands out a code to a relayed host.
+     *
+     * @param code The host code.
+     * @param host Address of the phone that asked for the code, the only one that may open the session.
+     */
+    public void register(final int code, final InetAddress host) {
+        cRegistrations.put(code, new Registration(host, currentMillis()));
+    }
+
+    /**
+     * Starts forwarding on a new thread.
+     */
+    public void start() {
+        cRunning = true;
+        cLastSweep = currentMillis();
+        Thread thread = new Thread(this);
+        thread.setName("Relay Thread");
+        thread.start();
+        LOGGER.info("Relaying on port " + getPort() + ".");
+    }
+
+    /**
+     * Stops forwarding and closes the channel.
+     */
+    public void stop() {
+        cRunning = false;
+        cSelector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (cRunning) {
+                cSelector.select(SWEEP_INTERVAL);
+                cSelector.selectedKeys().clear();
+                receiveAll();
+                long now = currentMillis();
+                if (now - cLastSweep >= SWEEP_INTERVAL) {
+                    cLastSweep = now;
+                    sweep(now);
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            LOGGER.info("Relay selector closed.");
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            try {
+                cSelector.close();
+                cChannel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Handles every datagram that is waiting on the channel. Failing to send to one address does not stop the relay.
+     *
+     * @throws IOException When receiving failed.
+     */
+    protected void receiveAll() throws IOException {
+        cBuffer.clear();
+        SocketAddress source = cChannel.receive(cBuffer);
+        while (source != null) {
+            cBuffer.flip();
+            try {
+                handle(source);
+            } catch (IOException e) {
+                LOGGER.warning("Could not answer " + source + ": " + e);
+            }
+            cBuffer.clear();
+            source = cChannel.receive(cBuffer);
+        }
+    }
+
+    /**
+     * Handles a single frame in the buffer.
+     *
+     * @param source Address the frame came from.
+     * @throws IOException When the channel failed.
+     */
+    protected void handle(final SocketAddress source) throws IOException {
+        if (cBuffer.remaining() < RelayFrame.HEADER_SIZE) {
+            cRejectedPackets++;
+            return;
+        }
+        byte kind = cBuffer.get(0);
+        if (kind == RelayFrame.DATA) {
+            forward(source);
+        } else if (kind == RelayFrame.CLOSE) {
+            leave(source);
+        } else if (cBuffer.remaining() < RelayFrame.CONTROL_SIZE) {
+            cRejectedPackets++;
+        } else if (kind == RelayFrame.OPEN) {
+            open(source, cBuffer.getInt(RelayFrame.HEADER_SIZE));
+        } else if (kind == RelayFrame.JOIN) {
+            join(source, cBuffer.getInt(RelayFrame.HEADER_SIZE));
+        } else {
+            cRejectedPackets++;
+        }
+    }
+
+    /**
+     * Forwards a data frame to the other side of its session. A frame from the host is forwarded as it is to the
+     * client in its slot, a frame from a client gets the slot of the client and is forwarded to the host.
+     *
+     * @param source Address the frame came from.
+     * @throws IOException When the channel failed.
+     */
+    protected void forward(final SocketAddress source) throws IOException {
+        RelaySession session = cMembers.get(source);
+        if (session == null) {
+            cRejectedPackets++;
+            return;
+        }
+        long now = currentMillis();
+        SocketAddress destination;
+        if (session.isHost(source)) {
+            session.heard(-1, now);
+            destination = session.getClient(cBuffer.get(1));
+        } else {
+            int slot = session.slotOf(source);
+            session.heard(slot, now);
+            cBuffer.put(1, (byte) slot);
+            destination = session.getHost();
+        }
+        if (destination == null) {
+            cRejectedPackets++;
+            return;
+        }
+        int bytes = cBuffer.remaining();
+        if (!session.take(bytes, now)) {
+            cCappedPackets++;
+            return;
+        }
+        cChannel.send(cBuffer, destination);
+        cForwardedPackets++;
+        cForwardedBytes += bytes;
+    }
+
+    /**
+     * Opens a session for a registered host code, or answers again when the host already opened it.
+     * The registration is only used up by the phone it was made for, so other senders cannot take the code.
+     *
+     * @param source Address of the host.
+     * @param code   The host code.
+     * @throws IOException When the channel failed.
+     */
+    protected void open(final SocketAddress source, final int code) throws IOException {
+        RelaySession session = cSessions.get(code);
+        if (session == null && !cMembers.containsKey(source) && isRegistered(code, source)) {
+            cRegistrations.remove(code);
+            session = new RelaySession(code, source, cSessionCap, currentMillis());
+            cSessions.put(code, session);
+            cMembers.put(source, session);
+            LOGGER.info("Opened relay session " + code + ".");
+        }
+        if (session != null && session.isHost(source)) {
+            sendControl(RelayFrame.OPENED, 0, code, source);
+        } else {
+            sendControl(RelayFrame.REFUSED, 0, code, source);
+        }
+    }
+
+    /**
+     * Checks whether a code was registered for the address a frame came from.
+     *
+     * @param code   The host code.
+     * @param source Address the frame came from.
+     * @return True if the source may open the session of the code.
+     */
+    protected boolean isRegistered(final int code, final SocketAddress source) {
+        Registration registration = cRegistrations.get(code);
+        return registration != null && source instanceof InetSocketAddress
+                && registration.getHost().equals(((InetSocketAddress) source).getAddress());
+    }
+
+    /**
+     * Lets a client join the session of a host code, or answers again when the client already joined.
+     *
+     * @param source Address of the client.
+     * @param code   The host code.
+     * @throws IOException When the channel failed.
+     */
+    protected void join(final SocketAddress source, final int code) throws IOException {
+        RelaySession session = cSessions.get(code);
+        int slot = -1;
+        if (session != null) {
+            slot = session.slotOf(source);
+            if (slot < 0 && !cMembers.containsKey(source)) {
+                slot = session.addClient(source, currentMillis());
+                if (slot >= 0) {
+                    cMembers.put(source, session);
+                }
+            }
+        }
+        if (slot >= 0) {
+            sendControl(RelayFrame.JOINED, slot, code, source);
+        } else {
+            sendControl(RelayFrame.REFUSED, 0, code, source);
+        }
+    }
+
+    /**
+     * Removes a host or client that says it leaves. When the host leaves the whole session is closed.
+     *
+     * @param source Address of the host or client.
+     * @throws IOException When the channel failed.
+     */
+    protected void leave(final SocketAddress source) throws IOException {
+        RelaySession session = cMembers.get(source);
+        if (session == null) {
+            return;
+        }
+        if (session.isHost(source)) {
+            close(session);
+        } else {
+            removeClient(session, session.slotOf(source));
+        }
+    }
+
+    /**
+     * Drops the hosts and clients that have been silent for too long, and the registrations that were not opened.
+     *
+     * @param now Current time in milliseconds.
+     * @throws IOException When the channel failed.
+     */
+    protected void sweep(final long now) throws IOException {
+        ArrayList<RelaySession> silent = new ArrayList<RelaySession>();
+        for (RelaySession session : cSessions.values()) {
+            if (now - session.getLastHeard(-1) > SESSION_TIMEOUT) {
+                silent.add(session);
+                continue;
+            }
+            for (int slot = 0; slot < RelayFrame.MAX_CLIENTS; slot++) {
+                if (session.getClient(slot) != null && now - session.getLastHeard(slot) > SESSION_TIMEOUT) {
+                    removeClient(session, slot);
+                }
+            }
+        }
+        for (RelaySession session : silent) {
+            close(session);
+        }
+        Iterator<Registration> registrations = cRegistrations.values().iterator();
+        while (registrations.hasNext()) {
+            if (now - registrations.next().getTime() > SESSION_TIMEOUT) {
+                registrations.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes a client from its session and tells the host.
+     *
+     * @param session The session.
+     * @param slot    Slot of the client.
+     * @throws IOException When the channel failed.
+     */
+    protected void removeClient(final RelaySession session, final int slot) throws IOException {
+        cMembers.remove(session.getClient(slot));
+        session.removeClient(slot);
+        sendControl(RelayFrame.CLOSE, slot, session.getCode(), session.getHost());
+    }
+
+    /**
+     * Closes a session and tells its clients.
+     *
+     * @param session The session.
+     * @throws IOException When the channel failed.
+     */
+    protected void close(final RelaySession session) throws IOException {
+        for (int slot = 0; slot < RelayFrame.MAX_CLIENTS; slot++) {
+            SocketAddress client = session.getClient(slot);
+            if (client != null) {
+                cMembers.remove(client);
+                sendControl(RelayFrame.CLOSE, slot, session.getCode(), client);
+            }
+        }
+        cMembers.remove(session.getHost());
+        cSessions.remove(session.getCode());
+        LOGGER.info("Closed relay session " + session.getCode() + " after forwarding "
+                + session.getForwardedBytes() + " bytes, " + session.getCappedPackets() + " packets over the cap.");
+    }
+
+    /**
+     * Sends a control frame.
+     *
+     * @param kind        Kind of the frame.
+     * @param slot        Slot of the client.
+     * @param code        The host code.
+     * @param destination Address to send the frame to.
+     * @throws IOException When the channel failed.
+     */
+    protected void sendControl(final byte kind, final int slot, final int code, final SocketAddress destination)
+            throws IOException {
+        RelayFrame.writeControl(cControl, kind, slot, code);
+        cChannel.send(cControl, destination);
+    }
+
+    /**
+     * Returns the current time of the clock.
+     *
+     * @return Time in milliseconds.
+     */
+    protected long currentMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(cClock.nanoTime());
+    }
+
+    /**
+     * Returns the port the relay is bound to.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return cChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Returns the amount of open sessions.
+     *
+     * @return Open sessions.
+     */
+    public int getSessionCount() {
+        return cSessions.size();
+    }
+
+    /**
+     * Returns the amount of packets forwarded.
+     *
+     * @return Forwarded packets.
+     */
+    public long getForwardedPackets() {
+        return cForwardedPackets;
+    }
+
+    /**
+     * Returns the amount of bytes forwarded, including the frame headers.
+     *
+     * @return Forwarded bytes.
+     */
+    public long getForwardedBytes() {
+        return cForwardedBytes;
+    }
+
+    /**
+     * Returns the amount of packets dropped because their session went over its cap.
+     *
+     * @return Capped packets.
+     */
+    public long getCappedPackets() {
+        return cCappedPackets;
+    }
+
+    /**
+     * Returns the amount of packets dropped because they were malformed or did not belong to a session.
+     *
+     * @return Rejected packets.
+     */
+    public long getRejectedPackets() {
+        return cRejectedPackets;
+    }
+
+    @Override
+    public String toString() {
+        return "Relay: " + cSessions.size() + " sessions, forwarded " + cForwardedPackets + " packets ("
+                + cForwardedBytes + " bytes), " + cCappedPackets + " over the cap, " + cRejectedPackets + " rejected.";
+    }
+
+    /**
+     * A code the server handed out to a relayed host, which has not been opened yet.
+     */
+    protected static class Registration {
+        /**
+         * Address of the phone that asked for the code.
+         */
+        protected final InetAddress cHost;
+
+        /**
+         * Time (in milliseconds) the code was registered.
+         */
+        protected final long cTime;
+
+        /**
+         * Registers a code.
+         *
+         * @param host Address of the phone that asked for the code.
+         * @param time Current time in milliseconds.
+         */
+        public Registration(final InetAddress host, final long time) {
+            cHost = host;
+            cTime = time;
+        }
+
+        /**
+         * Returns the address of the phone that asked for the code.
+         *
+         * @return The address.
+         */
+        public InetAddress getHost() {
+            return cHost;
+        }
+
+        /**
+         * Returns the time the code was registered.
+         *
+         * @return Time in milliseconds.
+         */
+        public long getTime() {
+            return cTime;
+        }
+    }
+}
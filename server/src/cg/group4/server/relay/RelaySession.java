@@ -0,0 +1,231 @@
+package cg.group4.server.relay;
+
+import java.net.SocketAddress;
+
+/**
+ * A host and its clients that talk through the relay, found by the host code.
+ * Keeps the bandwidth the session may use as a token bucket, so one session cannot starve the others.
+ */
+public class RelaySession {
+
+    /**
+     * Milliseconds in a second.
+     */
+    protected static final double MILLIS_IN_SECOND = 1000d;
+
+    /**
+     * The host code of the session.
+     */
+    protected final int cCode;
+
+    /**
+     * Address of the host.
+     */
+    protected final SocketAddress cHost;
+
+    /**
+     * Addresses of the clients, indexed by slot.
+     */
+    protected final SocketAddress[] cClients = new SocketAddress[RelayFrame.MAX_CLIENTS];
+
+    /**
+     * Time (in milliseconds) the relay last heard from the host.
+     */
+    protected long cHostLastHeard;
+
+    /**
+     * Time (in milliseconds) the relay last heard from every client, indexed by slot.
+     */
+    protected final long[] cClientLastHeard = new long[RelayFrame.MAX_CLIENTS];
+
+    /**
+     * Bytes per second the session may forward.
+     */
+    protected final int cCap;
+
+    /**
+     * Bytes the session may forward right now, at most a second worth of the cap.
+     */
+    protected double cTokens;
+
+    /**
+     * Time (in milliseconds) the tokens were last refilled.
+     */
+    protected long cLastRefill;
+
+    /**
+     * Bytes forwarded for the session.
+     */
+    protected long cForwardedBytes;
+
+    /**
+     * Packets dropped because the session went over its cap.
+     */
+    protected long cCappedPackets;
+
+    /**
+     * Opens a session.
+     *
+     * @param code Host code of the session.
+     * @param host Address of the host.
+     * @param cap  Bytes per second the session may forward.
+     * @param now  Current time in milliseconds.
+     */
+    public RelaySession(final int code, final SocketAddress host, final int cap, final long now) {
+        cCode = code;
+        cHost = host;
+        cCap = cap;
+        cTokens = cap;
+        cLastRefill = now;
+        cHostLastHeard = now;
+    }
+
+    /**
+     * Adds a client in the first free slot.
+     *
+     * @param address Address of the client.
+     * @param now     Current time in milliseconds.
+     * @return The slot of the client, or -1 if the session is full.
+     */
+    public int addClient(final SocketAddress address, final long now) {
+        for (int slot = 0; slot < cClients.length; slot++) {
+            if (cClients[slot] == null) {
+                cClients[slot] = address;
+                cClientLastHeard[slot] = now;
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the client in a slot.
+     *
+     * @param slot Slot of the client.
+     */
+    public void removeClient(final int slot) {
+        cClients[slot] = null;
+    }
+
+    /**
+     * Returns the slot of a client.
+     *
+     * @param address Address of the client.
+     * @return The slot, or -1 if the address is not a client of the session.
+     */
+    public int slotOf(final SocketAddress address) {
+        for (int slot = 0; slot < cClients.length; slot++) {
+            if (address.equals(cClients[slot])) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the address of the client in a slot.
+     *
+     * @param slot Slot of the client.
+     * @return The address, or null if the slot is free or out of range.
+     */
+    public SocketAddress getClient(final int slot) {
+        if (slot < 0 || slot >= cClients.length) {
+            return null;
+        }
+        return cClients[slot];
+    }
+
+    /**
+     * Checks whether an address is the host of the session.
+     *
+     * @param address The address.
+     * @return True for the host.
+     */
+    public boolean isHost(final SocketAddress address) {
+        return cHost.equals(address);
+    }
+
+    /**
+     * Returns the address of the host.
+     *
+     * @return The host.
+     */
+    public SocketAddress getHost() {
+        return cHost;
+    }
+
+    /**
+     * Returns the host code of the session.
+     *
+     * @return The code.
+     */
+    public int getCode() {
+        return cCode;
+    }
+
+    /**
+     * Remembers that the relay heard from the host or a client.
+     *
+     * @param slot Slot of the client, or -1 for the host.
+     * @param now  Current time in milliseconds.
+     */
+    public void heard(final int slot, final long now) {
+        if (slot < 0) {
+            cHostLastHeard = now;
+        } else {
+            cClientLastHeard[slot] = now;
+        }
+    }
+
+    /**
+     * Returns when the relay last heard from the host or a client.
+     *
+     * @param slot Slot of the client, or -1 for the host.
+     * @return Time in milliseconds.
+     */
+    public long getLastHeard(final int slot) {
+        if (slot < 0) {
+            return cHostLastHeard;
+        }
+        return cClientLastHeard[slot];
+    }
+
+    /**
+     * Takes the bytes of a packet from the bandwidth of the session.
+     *
+     * @param bytes Size of the packet.
+     * @param now   Current time in milliseconds.
+     * @return True if the packet fits in the cap and may be forwarded.
+     */
+    public boolean take(final int bytes, final long now) {
+        if (now > cLastRefill) {
+            cTokens = Math.min(cCap, cTokens + (now - cLastRefill) * cCap / MILLIS_IN_SECOND);
+            cLastRefill = now;
+        }
+        if (cTokens < bytes) {
+            cCappedPackets++;
+            return false;
+        }
+        cTokens -= bytes;
+        cForwardedBytes += bytes;
+        return true;
+    }
+
+    /**
+     * Returns the amount of bytes forwarded for the session.
+     *
+     * @return Forwarded bytes.
+     */
+    public long getForwardedBytes() {
+        return cForwardedBytes;
+    }
+
+    /**
+     * Returns the amount of packets dropped because the session went over its cap.
+     *
+     * @return Dropped packets.
+     */
+    public long getCappedPackets() {
+        return cCappedPackets;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Package containing the relay, which forwards the multi-player traffic of phones that cannot reach each other.
+ */
+package cg.group4.server.relay;
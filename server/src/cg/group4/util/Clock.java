@@ -0,0 +1,22 @@
+package cg.group4.util;
+
+/**
+ * Source of time for everything that measures or schedules time.
+ * Allows the game to be driven by simulated time in tests and benchmarks.
+ */
+public interface Clock {
+
+    /**
+     * Returns a monotonic time stamp, only meaningful when compared to other values of the same clock.
+     *
+     * @return Time in nanoseconds.
+     */
+    long nanoTime();
+
+    /**
+     * Returns the current time, used for time stamps that are stored or shared with others.
+     *
+     * @return Milliseconds since the epoch.
+     */
+    long currentTimeMillis();
+}
@@ -0,0 +1,34 @@
+package cg.group4.util;
+
+/**
+ * Clock that follows the real time.
+ * The monotonic time comes from System.nanoTime() and is only used for intervals. The wall-clock time comes from
+ * System.currentTimeMillis(), as the monotonic time stops while an Android device is in deep sleep and would make
+ * stored time stamps fall behind.
+ */
+public final class SystemClock implements Clock {
+
+    /**
+     * The default clock.
+     */
+    protected static final SystemClock INSTANCE = new SystemClock();
+
+    /**
+     * Getter for the default clock.
+     *
+     * @return INSTANCE
+     */
+    public static SystemClock getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,69 @@
+package cg.group4.util;
+
+/**
+ * Clock that only moves when it is advanced, used to run simulations faster than real time.
+ */
+public class VirtualClock implements Clock {
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    protected static final long NANOS_IN_MILLI = 1000000L;
+
+    /**
+     * Wall-clock time on which the clock started.
+     */
+    protected final long cStartMillis;
+
+    /**
+     * Nanoseconds the clock has been advanced.
+     */
+    protected long cElapsedNanos;
+
+    /**
+     * Creates a clock that starts at the current system time.
+     */
+    public VirtualClock() {
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * Creates a clock that starts at the given time.
+     *
+     * @param startMillis Milliseconds since the epoch to start at.
+     */
+    public VirtualClock(final long startMillis) {
+        cStartMillis = startMillis;
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param millis Milliseconds to advance.
+     */
+    public void advance(final long millis) {
+        advanceNanos(millis * NANOS_IN_MILLI);
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param nanos Nanoseconds to advance.
+     */
+    public void advanceNanos(final long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("A clock cannot go back in time.");
+        }
+        cElapsedNanos += nanos;
+    }
+
+    @Override
+    public long nanoTime() {
+        return cElapsedNanos;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return cStartMillis + cElapsedNanos / NANOS_IN_MILLI;
+    }
+}
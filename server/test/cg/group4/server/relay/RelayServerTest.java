@@ -0,0 +1,257 @@
+package cg.group4.server.relay;
+
+import cg.group4.util.VirtualClock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for the relay, which is pumped from the test thread over the loopback interface.
+ */
+public class RelayServerTest {
+
+    /**
+     * Host code used in the tests.
+     */
+    protected final int cCode = 1234;
+
+    /**
+     * Milliseconds to wait for a datagram to arrive.
+     */
+    protected final long cTimeout = 2000;
+
+    /**
+     * The relay that will be tested upon.
+     */
+    protected RelayServer cRelay;
+
+    /**
+     * Address of the relay.
+     */
+    protected InetSocketAddress cAddress;
+
+    /**
+     * Channel acting as host.
+     */
+    protected DatagramChannel cHost;
+
+    /**
+     * Channel acting as client.
+     */
+    protected DatagramChannel cClient;
+
+    /**
+     * Buffer to send and receive frames with.
+     */
+    protected ByteBuffer cBuffer = ByteBuffer.allocate(RelayServer.MAX_DATAGRAM_SIZE);
+
+    /**
+     * Creates the relay and the channels of the host and client.
+     *
+     * @throws IOException If the channels could not be opened.
+     */
+    @Before
+    public final void setUp() throws IOException {
+        cRelay = new RelayServer(0);
+        cRelay.setClock(new VirtualClock());
+        cAddress = new InetSocketAddress("127.0.0.1", cRelay.getPort());
+        cHost = open();
+        cClient = open();
+    }
+
+    /**
+     * Closes the relay and the channels.
+     *
+     * @throws IOException If a channel could not be closed.
+     */
+    @After
+    public final void tearDown() throws IOException {
+        cHost.close();
+        cClient.close();
+        cRelay.cSelector.close();
+        cRelay.cChannel.close();
+    }
+
+    /**
+     * Opens a non-blocking channel on the loopback interface.
+     *
+     * @return The channel.
+     * @throws IOException If the channel could not be opened.
+     */
+    protected DatagramChannel open() throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+        channel.bind(new InetSocketAddress("127.0.0.1", 0));
+        channel.configureBlocking(false);
+        return channel;
+    }
+
+    /**
+     * Sends a frame to the relay.
+     *
+     * @param channel The channel to send from.
+     * @param kind    Kind of the frame.
+     * @param slot    Slot in the frame.
+     * @param payload Amount of payload bytes after the header, or the code for a control frame when negative.
+     * @throws IOException If sending failed.
+     */
+    protected void send(final DatagramChannel channel, final byte kind, final int slot, final int payload)
+            throws IOException {
+        if (payload < 0) {
+            RelayFrame.writeControl(cBuffer, kind, slot, cCode);
+        } else {
+            cBuffer.clear();
+            cBuffer.put(kind).put((byte) slot);
+            for (int i = 0; i < payload; i++) {
+                cBuffer.put((byte) i);
+            }
+            cBuffer.flip();
+        }
+        channel.send(cBuffer, cAddress);
+    }
+
+    /**
+     * Lets the relay handle its datagrams until one arrives at the channel.
+     *
+     * @param channel The channel that expects a frame.
+     * @return The frame, or null if none arrived in time.
+     * @throws Exception If the relay failed or the test was interrupted.
+     */
+    protected ByteBuffer expect(final DatagramChannel channel) throws Exception {
+        long deadline = System.currentTimeMillis() + cTimeout;
+        while (System.currentTimeMillis() < deadline) {
+            cRelay.receiveAll();
+            cBuffer.clear();
+            if (channel.receive(cBuffer) != null) {
+                cBuffer.flip();
+                return cBuffer;
+            }
+            Thread.sleep(1);
+        }
+        return null;
+    }
+
+    /**
+     * Registers the code for the host, opens its session and joins the client to it.
+     *
+     * @throws Exception If the relay failed or the test was interrupted.
+     */
+    protected void openAndJoin() throws Exception {
+        cRelay.register(cCode, cAddress.getAddress());
+        send(cHost, RelayFrame.OPEN, 0, -1);
+        assertEquals(RelayFrame.OPENED, expect(cHost).get(0));
+        send(cClient, RelayFrame.JOIN, 0, -1);
+        ByteBuffer joined = expect(cClient);
+        assertEquals(RelayFrame.JOINED, joined.get(0));
+        assertEquals(0, joined.get(1));
+    }
+
+    /**
+     * Tests that a host opens a session and a client joins it, and that an unknown code is refused.
+     *
+     * @throws Exception If the relay failed or the test was interrupted.
+     */
+    @Test
+    public final void testOpenAndJoin() throws Exception {
+        send(cClient, RelayFrame.JOIN, 0, -1);
+        assertEquals(RelayFrame.REFUSED, expect(cClient).get(0));
+
+        openAndJoin();
+        assertEquals(1, cRelay.getSessionCount());
+    }
+
+    /**
+     * Tests that only a code registered for the address of the host can be opened.
+     *
+     * @throws Exception If the relay failed or the test was interrupted.
+     */
+    @Test
+    public final void testOpenUnregistered() throws Exception {
+        send(cHost, RelayFrame.OPEN, 0, -1);
+        assertEquals(RelayFrame.REFUSED, expect(cHost).get(0));
+
+        cRelay.register(cCode, InetAddress.getByName("10.0.0.1"));
+        send(cHost, RelayFrame.OPEN, 0, -1);
+        assertEquals(RelayFrame.REFUSED, expect(cHost).get(0));
+        assertEquals(0, cRelay.getSessionCount());
+
+        openAndJoin();
+        assertEquals(1, cRelay.getSessionCount());
+    }
+
+    /**
+     * Tests that frames are forwarded both ways, with the slot of the client written in for the host.
+     *
+     * @throws Exception If the relay failed or the test was interrupted.
+     */
+    @Test
+    public final void testForward() throws Exception {
+        openAndJoin();
+        final int payload = 10;
+        send(cClient, RelayFrame.DATA, RelayFrame.MAX_CLIENTS, payload);
+        ByteBuffer frame = expect(cHost);
+        assertNotNull(frame);
+        assertEquals(RelayFrame.HEADER_SIZE + payload, frame.remaining());
+        assertEquals(RelayFrame.DATA, frame.get(0));
+        assertEquals(0, frame.get(1));
+
+        send(cHost, RelayFrame.DATA, 0, payload);
+        frame = expect(cClient);
+        assertNotNull(frame);
+        assertEquals(RelayFrame.HEADER_SIZE + payload, frame.remaining());
+
+        assertEquals(2, cRelay.getForwardedPackets());
+        assertEquals(2 * (RelayFrame.HEADER_SIZE + payload), cRelay.getForwardedBytes());
+    }
+
+    /**
+     * Tests that frames over the cap of a session are dropped, as the virtual clock never refills the bucket.
+     *
+     * @throws Exception If the relay failed or the test was interrupted.
+     */
+    @Test
+    public final void testSessionCap() throws Exception {
+        final int payload = 8;
+        cRelay.setSessionCap(RelayFrame.HEADER_SIZE + payload);
+        openAndJoin();
+        send(cClient, RelayFrame.DATA, 0, payload);
+        assertNotNull(expect(cHost));
+        send(cClient, RelayFrame.DATA, 0, payload);
+        long deadline = System.currentTimeMillis() + cTimeout;
+        while (cRelay.getCappedPackets() == 0 && System.currentTimeMillis() < deadline) {
+            cRelay.receiveAll();
+            Thread.sleep(1);
+        }
+        assertEquals(1, cRelay.getForwardedPackets());
+        assertEquals(1, cRelay.getCappedPackets());
+    }
+
+    /**
+     * Tests that the client is told when the host closes the session, and that frames outside a session are rejected.
+     *
+     * @throws Exception If the relay failed or the test was interrupted.
+     */
+    @Test
+    public final void testClose() throws Exception {
+        openAndJoin();
+        send(cHost, RelayFrame.CLOSE, 0, 0);
+        assertEquals(RelayFrame.CLOSE, expect(cClient).get(0));
+        assertEquals(0, cRelay.getSessionCount());
+
+        send(cClient, RelayFrame.DATA, 0, 1);
+        long deadline = System.currentTimeMillis() + cTimeout;
+        while (cRelay.getRejectedPackets() == 0 && System.currentTimeMillis() < deadline) {
+            cRelay.receiveAll();
+            Thread.sleep(1);
+        }
+        assertEquals(1, cRelay.getRejectedPackets());
+    }
+}
@@ -2,29 +2,145 @@ package cg.group4.view.rewards;
 
 import cg.group4.data_structures.collection.collectibles.Collectible;
 import cg.group4.view.screen_mechanics.Assets;
-import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Class that creates images from collectibles and returns these created images.
+ * The drawables are cached by type and quantized hue, so every row of a large collection shares the drawable of its
+ * kind instead of creating a sprite. The cache holds at most MAX_CACHED drawables and forgets the least recently
+ * used one first.
  */
 public final class CollectibleDrawer {
 
+    /**
+     * Most drawables kept in the cache.
+     */
+    public static final int MAX_CACHED = 256;
+
+    /**
+     * Cached drawables, in the order they were last used.
+     */
+    protected static final Cache CACHE = new Cache();
+
+    /**
+     * Key reused to look up drawables.
+     */
+    protected static final Key PROBE = new Key();
+
     /**
      * Utility class.
      */
     protected CollectibleDrawer() { }
 
     /**
-     * Returns an image of the given collectible.
+     * Returns an image of the given collectible. The drawable is shared and must not be changed.
      *
      * @param c Collectible that needs to be drawn.
      * @return Texture image with the collectible.
      */
-    public static SpriteDrawable drawCollectible(final Collectible c) {
-        Sprite sprite = new Sprite(Assets.getInstance().getTexture(c.getImagePath()));
-        sprite.setColor(RewardUtil.generateColor(c.getHue()));
+    public static Drawable drawCollectible(final Collectible c) {
+        PROBE.set(c.getImagePath(), RewardUtil.quantizeHue(c.getHue()));
+        TintedDrawable drawable = CACHE.get(PROBE);
+        Texture texture = Assets.getInstance().getTexture(c.getImagePath());
+        if (drawable == null || drawable.getRegion().getTexture() != texture) {
+            drawable = new TintedDrawable(texture, RewardUtil.getPackedColor(c.getHue()));
+            CACHE.put(new Key().set(PROBE.cPath, PROBE.cHue), drawable);
+        }
+        return drawable;
+    }
+
+    /**
+     * Forgets all cached drawables, for example when the textures were unloaded.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * Returns the amount of cached drawables.
+     *
+     * @return Amount of drawables.
+     */
+    public static int getCacheSize() {
+        return CACHE.size();
+    }
+
+    /**
+     * Map from key to drawable in the order the drawables were last used, holding at most MAX_CACHED.
+     */
+    protected static final class Cache extends LinkedHashMap<Key, TintedDrawable> {
+
+        /**
+         * Version of the serialized form.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Load factor of the map.
+         */
+        private static final float LOAD_FACTOR = 0.75f;
+
+        /**
+         * Creates an empty cache.
+         */
+        Cache() {
+            super(MAX_CACHED, LOAD_FACTOR, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, TintedDrawable> eldest) {
+            return size() > MAX_CACHED;
+        }
+    }
+
+    /**
+     * Type and quantized hue of a collectible.
+     */
+    protected static final class Key {
+
+        /**
+         * Image path of the type.
+         */
+        protected String cPath;
+
+        /**
+         * Quantized hue.
+         */
+        protected int cHue;
+
+        /**
+         * Makes this the key of a type and hue.
+         *
+         * @param path Image path of the type.
+         * @param hue  Quantized hue.
+         * @return This key.
+         */
+        protected Key set(final String path, final int hue) {
+            cPath = path;
+            cHue = hue;
+            return this;
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            return prime * cPath.hashCode() + cHue;
+        }
 
-        return new SpriteDrawable(sprite);
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return cHue == that.cHue && cPath.equals(that.cPath);
+        }
     }
 }
@@ -4,6 +4,8 @@ import com.badlogic.gdx.graphics.Color;
 
 /**
  * Utility class that converts a wavelength to a RGB colour.
+ * The colours of quantized hues are also kept in a table of packed colours, so drawing a collectible does not have
+ * to create a Color.
  * <p/>
  * Sources:
  * http://www.efg2.com/Lab/ScienceAndEngineering/Spectra.htm
@@ -25,6 +27,34 @@ public final class RewardUtil {
      */
     protected static final int ORANGE = 0, LIGHT_GREEN = 1, DARK_GREEN = 2, CYAN = 3, MAGENTA = 4, PURPLE = 5;
 
+    /**
+     * Amount of steps the hues between 0 and 1 are quantized to.
+     */
+    public static final int HUE_LEVELS = 1024;
+
+    /**
+     * Quantized hue of the hues outside [0-1], which are black.
+     */
+    public static final int INVALID_HUE = HUE_LEVELS + 1;
+
+    /**
+     * Packed RGBA8888 colour of every quantized hue.
+     */
+    protected static final int[] RGBA = new int[INVALID_HUE + 1];
+
+    /**
+     * Colour of every quantized hue as float bits, as a Batch takes it.
+     */
+    protected static final float[] FLOAT_BITS = new float[INVALID_HUE + 1];
+
+    static {
+        for (int level = 0; level <= INVALID_HUE; level++) {
+            Color color = generateColor(dequantizeHue(level));
+            RGBA[level] = Color.rgba8888(color);
+            FLOAT_BITS[level] = color.toFloatBits();
+        }
+    }
+
     /**
      * Utilities needed for rewards.
      */
@@ -32,6 +62,52 @@ public final class RewardUtil {
 
     }
 
+    /**
+     * Quantizes a hue to one of the steps of the colour table.
+     *
+     * @param hue The hue (between 0 and 1)
+     * @return The step, or INVALID_HUE for a hue outside [0-1].
+     */
+    public static int quantizeHue(final float hue) {
+        if (!(hue >= 0 && hue <= 1)) {
+            return INVALID_HUE;
+        }
+        return Math.round(hue * HUE_LEVELS);
+    }
+
+    /**
+     * Returns the hue of a step of the colour table.
+     *
+     * @param level The step.
+     * @return The hue, or 2 (outside [0-1]) for INVALID_HUE.
+     */
+    public static float dequantizeHue(final int level) {
+        if (level == INVALID_HUE) {
+            return 2f;
+        }
+        return level / (float) HUE_LEVELS;
+    }
+
+    /**
+     * Returns the colour of a hue packed as RGBA8888, from the table.
+     *
+     * @param hue The hue (between 0 and 1)
+     * @return The packed colour of the nearest step.
+     */
+    public static int getPackedColor(final float hue) {
+        return RGBA[quantizeHue(hue)];
+    }
+
+    /**
+     * Returns the colour of a hue as float bits for a Batch, from the table.
+     *
+     * @param hue The hue (between 0 and 1)
+     * @return The colour of the nearest step.
+     */
+    public static float getFloatBits(final float hue) {
+        return FLOAT_BITS[quantizeHue(hue)];
+    }
+
     /**
      * Generates a color based on the hue given.
      *
@@ -0,0 +1,75 @@
+package cg.group4.view.rewards;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+
+/**
+ * Drawable of a texture tinted with a fixed colour. Unlike a SpriteDrawable it does not resize a sprite for every
+ * draw, so one instance can be shared by every image of the same collectible on the rendering thread.
+ * The tint is multiplied with the colour of the batch, so the colour and fading of the image still apply.
+ */
+public final class TintedDrawable extends TextureRegionDrawable {
+
+    /**
+     * The packed RGBA8888 tint.
+     */
+    protected final int cTint;
+
+    /**
+     * Colour of the batch, saved while drawing.
+     */
+    protected final Color cBatchColor = new Color();
+
+    /**
+     * Creates a tinted drawable of a whole texture.
+     *
+     * @param texture The texture.
+     * @param tint    The packed RGBA8888 tint.
+     */
+    public TintedDrawable(final Texture texture, final int tint) {
+        super(new TextureRegion(texture));
+        cTint = tint;
+    }
+
+    /**
+     * Returns the tint.
+     *
+     * @return The packed RGBA8888 tint.
+     */
+    public int getTint() {
+        return cTint;
+    }
+
+    @Override
+    public void draw(final Batch batch, final float x, final float y, final float width, final float height) {
+        tint(batch);
+        super.draw(batch, x, y, width, height);
+        batch.setColor(cBatchColor);
+    }
+
+    @Override
+    public void draw(final Batch batch, final float x, final float y, final float originX, final float originY,
+                     final float width, final float height, final float scaleX, final float scaleY,
+                     final float rotation) {
+        tint(batch);
+        super.draw(batch, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+        batch.setColor(cBatchColor);
+    }
+
+    /**
+     * Saves the colour of the batch and multiplies it with the tint.
+     *
+     * @param batch The batch.
+     */
+    protected void tint(final Batch batch) {
+        final float max = 255f;
+        cBatchColor.set(batch.getColor());
+        batch.setColor(cBatchColor.r * ((cTint >>> 24) & 0xff) / max,
+                cBatchColor.g * ((cTint >>> 16) & 0xff) / max,
+                cBatchColor.b * ((cTint >>> 8) & 0xff) / max,
+                cBatchColor.a * (cTint & 0xff) / max);
+    }
+}
@@ -12,8 +12,10 @@ import cg.group4.game_logic.StandUp;
 import cg.group4.server.database.Response;
 import cg.group4.server.database.ResponseHandler;
 import cg.group4.view.rewards.CollectibleDrawer;
+import cg.group4.view.screen_mechanics.AssetGroup;
 import cg.group4.view.screen_mechanics.ScreenLogic;
 import cg.group4.view.screen_mechanics.ScreenStore;
+import cg.group4.view.screen_mechanics.VirtualList;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
@@ -39,10 +41,21 @@ public class CollectiblesScreen extends ScreenLogic {
      */
     protected final float cColSpan = 6f;
     /**
-     * cContentTable contains the collectibles of the collection.
      * cContainer contains the scrollpane displaying the collectibles.
      */
-    protected Table cContentTable, cContainer;
+    protected Table cContainer;
+    /**
+     * List of the collectibles of the collection, which only holds rows for the collectibles in view.
+     */
+    protected VirtualList<Collectible> cContentList;
+    /**
+     * Formats the rarity of the collectibles.
+     */
+    protected final DecimalFormat cFormat = new DecimalFormat("0.##");
+    /**
+     * Whether the displayed collection is the collection of the player, which can be donated from.
+     */
+    protected boolean cMyCollection;
     /**
      * ScrollPane displaying the collectibles of the collection.
      */
@@ -84,12 +97,14 @@ public class CollectiblesScreen extends ScreenLogic {
         cBackButton.setStyle(cGameSkin.getDefaultTextButtonStyle());
         cGroupsBox.setStyle(cGameSkin.getDefaultSelectboxStyle());
         cSortBox.setStyle(cGameSkin.getDefaultSelectboxStyle());
-        cContentTable.defaults().height(cScreenHeight / ITEMS_ON_SCREEN).width(cScreenWidth / cColSpan);
+        cContentList.setRowHeight(cScreenHeight / ITEMS_ON_SCREEN);
+        cContentList.clearRows();
         constructContents();
     }
 
     @Override
     public void display() {
+        cAssets.finishStreaming(AssetGroup.COLLECTIBLES);
         getGroups();
     }
 
@@ -145,9 +160,18 @@ public class CollectiblesScreen extends ScreenLogic {
      * Fills the drawer and table of the screen.
      */
     protected void fillDrawer() {
-        cContentTable = new Table();
-        cContentTable.defaults().height(cScreenHeight / ITEMS_ON_SCREEN).width(cScreenWidth / cColSpan);
-        cScrollPane = new ScrollPane(cContentTable);
+        cContentList = new VirtualList<Collectible>(new VirtualList.RowAdapter<Collectible>() {
+            @Override
+            public Actor createRow() {
+                return new CollectibleRow();
+            }
+
+            @Override
+            public void bindRow(final Actor row, final Collectible item, final int index) {
+                ((CollectibleRow) row).bind(item);
+            }
+        }, cScreenHeight / ITEMS_ON_SCREEN);
+        cScrollPane = new ScrollPane(cContentList);
     }
 
     /**
@@ -232,36 +256,91 @@ public class CollectiblesScreen extends ScreenLogic {
 
     /**
      * Helper method that should not be called outside of this class.
-     * Sorts and rebuilds all the collectibles in the collection. Called upon initialisation
+     * Sorts all the collectibles in the collection and binds the rows in view to them. Called upon initialisation
      * of the screen, resize and collection changes.
      */
     protected void constructContents() {
         Gdx.app.log(getClass().getSimpleName(), "Construction");
         final Player player = StandUp.getInstance().getPlayer();
-        DecimalFormat format = new DecimalFormat("0.##");
 
-        boolean myCollection = cGroupsBox.getSelectedIndex() == 0
+        cMyCollection = cGroupsBox.getSelectedIndex() == 0
                 && player.getGroupId() != null
                 && Client.getInstance().isRemoteConnected();
-        cContentTable.clear();
-        for (final Collectible collectible : cSelectedCollection.sort(cSorter)) {
-            cContentTable.row();
-            Image image = new Image(CollectibleDrawer.drawCollectible(collectible));
-            image.setScaling(Scaling.fit);
-            cContentTable.add(image,
-                    cGameSkin.generateDefaultLabel(format.format(collectible.getRarity())),
-                    cGameSkin.generateDefaultLabel(Integer.toString(collectible.getAmount())));
-            if (myCollection) {
-                TextButton donate = cGameSkin.generateDefaultMenuButton("Donate");
-                donate.addListener(new ChangeListener() {
-                    @Override
-                    public void changed(ChangeEvent event, Actor actor) {
-                        Client.getInstance().donateCollectible(collectible, player.getGroupId(), null);
-                        StandUp.getInstance().getPlayer().updatePlayerCollection();
-                        updateCollection();
-                    }
-                });
-                cContentTable.add(donate);
+        cContentList.setItems(cSelectedCollection.sort(cSorter));
+    }
+
+    /**
+     * Row of the list that shows a collectible, with a button to donate it when it is in the collection of the player.
+     */
+    protected class CollectibleRow extends Table {
+
+        /**
+         * Image of the collectible.
+         */
+        protected final Image cImage = new Image();
+        /**
+         * Label with the rarity of the collectible.
+         */
+        protected final Label cRarity = cGameSkin.generateDefaultLabel("");
+        /**
+         * Label with the amount of the collectible.
+         */
+        protected final Label cAmount = cGameSkin.generateDefaultLabel("");
+        /**
+         * Button to donate the collectible.
+         */
+        protected final TextButton cDonate = cGameSkin.generateDefaultMenuButton("Donate");
+        /**
+         * The collectible the row shows.
+         */
+        protected Collectible cCollectible;
+        /**
+         * Whether the donate button is in the row.
+         */
+        protected boolean cHasDonate;
+
+        /**
+         * Creates a row with the widgets for a collectible.
+         */
+        public CollectibleRow() {
+            cImage.setScaling(Scaling.fit);
+            cDonate.addListener(new ChangeListener() {
+                @Override
+                public void changed(ChangeEvent event, Actor actor) {
+                    Player player = StandUp.getInstance().getPlayer();
+                    Client.getInstance().donateCollectible(cCollectible, player.getGroupId(), null);
+                    player.updatePlayerCollection();
+                    updateCollection();
+                }
+            });
+            addCells();
+        }
+
+        /**
+         * Shows a collectible in the row.
+         *
+         * @param collectible The collectible.
+         */
+        public void bind(final Collectible collectible) {
+            cCollectible = collectible;
+            cImage.setDrawable(CollectibleDrawer.drawCollectible(collectible));
+            cRarity.setText(cFormat.format(collectible.getRarity()));
+            cAmount.setText(Integer.toString(collectible.getAmount()));
+            if (cHasDonate != cMyCollection) {
+                clearChildren();
+                addCells();
+            }
+        }
+
+        /**
+         * Adds the widgets to the row, with the donate button if the collection is the collection of the player.
+         */
+        protected void addCells() {
+            cHasDonate = cMyCollection;
+            defaults().height(cScreenHeight / ITEMS_ON_SCREEN).width(cScreenWidth / cColSpan);
+            add(cImage, cRarity, cAmount);
+            if (cHasDonate) {
+                add(cDonate);
             }
         }
     }
@@ -172,8 +172,9 @@ public final class HomeScreen extends ScreenLogic {
                 StandUp.getInstance().startStroll();
                 ScreenStore.getInstance().setScreen("Stroll");
                 Client client = Client.getInstance();
-                client.updateStrollTimestamp(System.currentTimeMillis(), null);
-                client.updateIntervalTimestamp(System.currentTimeMillis(), null);
+                long now = TimerStore.getInstance().getClock().currentTimeMillis();
+                client.updateStrollTimestamp(now, null);
+                client.updateIntervalTimestamp(now, null);
             }
         });
     }
@@ -7,6 +7,8 @@ import cg.group4.server.database.Response;
 import cg.group4.server.database.ResponseHandler;
 import cg.group4.view.screen_mechanics.ScreenLogic;
 import cg.group4.view.screen_mechanics.ScreenStore;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
@@ -21,6 +23,16 @@ import java.util.Observer;
  * The screen where we can interact with the server.
  */
 public final class NetworkScreen extends ScreenLogic {
+    /**
+     * Preferences in which the network settings are stored.
+     */
+    public static final String PREFERENCES = "CUSTOM_IP";
+
+    /**
+     * Key under which is stored whether multi-player events are relayed through the server.
+     */
+    public static final String RELAYED_KEY = "ssm-relayed";
+
     /**
      * Table used for layout purposes.
      */
@@ -29,7 +41,7 @@ public final class NetworkScreen extends ScreenLogic {
     /**
      * The buttons that are seen on this screen.
      */
-    protected TextButton cChangeUsername, cChangeIp, cResetUser, cBack;
+    protected TextButton cChangeUsername, cChangeIp, cRelay, cResetUser, cBack;
 
     /**
      * The label containing if we are connected with the server or not.
@@ -45,6 +57,8 @@ public final class NetworkScreen extends ScreenLogic {
     protected void rebuildWidgetGroup() {
         cBack.setStyle(cGameSkin.getDefaultTextButtonStyle());
         cChangeUsername.setStyle(cGameSkin.getDefaultTextButtonStyle());
+        cChangeIp.setStyle(cGameSkin.getDefaultTextButtonStyle());
+        cRelay.setStyle(cGameSkin.getDefaultTextButtonStyle());
         cResetUser.setStyle(cGameSkin.getDefaultTextButtonStyle());
     }
 
@@ -68,6 +82,7 @@ public final class NetworkScreen extends ScreenLogic {
 
         addChangeUserName();
         addChangeIp();
+        addRelayToggle();
         addResetCollection();
 
         cBack = createBackButton();
@@ -107,6 +122,49 @@ public final class NetworkScreen extends ScreenLogic {
         cTable.add(cChangeIp);
     }
 
+    /**
+     * Adds the button that toggles whether multi-player events are relayed through the server, so they can be played
+     * across networks.
+     */
+    protected void addRelayToggle() {
+        cRelay = cGameSkin.generateDefaultMenuButton(getRelayText());
+        cRelay.addListener(relayBehaviour());
+        cTable.row().expandY();
+        cTable.add(cRelay);
+    }
+
+    /**
+     * Returns the text of the relay button for the current setting.
+     *
+     * @return The text.
+     */
+    protected String getRelayText() {
+        if (Client.getInstance().isRelayed()) {
+            return "Disable Relay";
+        } else {
+            return "Enable Relay";
+        }
+    }
+
+    /**
+     * Toggles relaying of multi-player events and stores the setting.
+     *
+     * @return Listener for when clicked on.
+     */
+    protected ChangeListener relayBehaviour() {
+        return new ChangeListener() {
+            @Override
+            public void changed(final ChangeEvent event, final Actor actor) {
+                Client client = Client.getInstance();
+                client.setRelayed(!client.isRelayed());
+                Preferences preferences = Gdx.app.getPreferences(PREFERENCES);
+                preferences.putBoolean(RELAYED_KEY, client.isRelayed());
+                preferences.flush();
+                cRelay.setText(getRelayText());
+            }
+        };
+    }
+
     /**
      * Adds a reset Collection button.
      */
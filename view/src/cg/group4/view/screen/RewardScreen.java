@@ -4,6 +4,7 @@ import cg.group4.data_structures.collection.Collection;
 import cg.group4.data_structures.collection.collectibles.Collectible;
 import cg.group4.data_structures.collection.collectibles.collectible_comparators.RarityComparator;
 import cg.group4.view.rewards.CollectibleDrawer;
+import cg.group4.view.screen_mechanics.AssetGroup;
 import cg.group4.view.screen_mechanics.ScreenLogic;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
@@ -56,6 +57,11 @@ public final class RewardScreen extends ScreenLogic {
         return "Home";
     }
 
+    @Override
+    protected AssetGroup[] requiredAssets() {
+        return new AssetGroup[]{AssetGroup.COLLECTIBLES};
+    }
+
     @Override
     protected void rebuildWidgetGroup() {
         cHomeButton.setStyle(cGameSkin.getDefaultTextButtonStyle());
@@ -2,17 +2,18 @@ package cg.group4.view.screen.mp_fishingboat;
 
 import cg.group4.data_structures.mp_fishingboat.BoatData;
 import cg.group4.data_structures.mp_fishingboat.Coordinate;
+import cg.group4.data_structures.mp_fishingboat.FishSwarm;
 import cg.group4.data_structures.mp_fishingboat.FishingBoatEventData;
-import cg.group4.data_structures.mp_fishingboat.SmallFishData;
 import cg.group4.game_logic.stroll.events.StrollEvent;
 import cg.group4.game_logic.stroll.events.mp_fishingboat.SmallFish;
 import cg.group4.view.screen.EventScreen;
+import cg.group4.view.screen_mechanics.AssetGroup;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.ui.Stack;
 import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 /**
  * Screen that shows the CraneFishing Event state.
@@ -41,7 +42,7 @@ public class CraneFishingScreen extends EventScreen {
     /**
      * The number of fish being spawned.
      */
-    protected final int cNumberOfFish = 10;
+    protected final int cNumberOfFish = FishingBoatEventData.DEFAULT_AMOUNT_OF_FISH;
     /**
      * The Boat and Crane wrapper that also determines the location.
      */
@@ -51,17 +52,21 @@ public class CraneFishingScreen extends EventScreen {
      */
     protected Boat cBoat;
     /**
-     * The Crane sprite.
+     * The Crane sprite of every client, indexed by client id and created when the client first shows up.
      */
-    protected Crane cCrane;
+    protected Crane[] cCranes = new Crane[FishingBoatEventData.MAX_CRANES];
     /**
-     * The HitBox Sprite.
+     * The HitBox Sprite of every crane, indexed by client id.
      */
-    protected CraneHitbox cCraneHitBox;
+    protected CraneHitbox[] cCraneHitBoxes = new CraneHitbox[FishingBoatEventData.MAX_CRANES];
     /**
-     * All the fishes that are seen on the screen.
+     * Texture shared by the HitBox Sprites.
      */
-    protected HashMap<Integer, SmallFish> cFishList;
+    protected Texture cHitBoxTexture;
+    /**
+     * All the fishes that are seen on the screen, indexed by their id in the swarm. Null for fish that are caught.
+     */
+    protected SmallFish[] cFishList;
     /**
      * Scalar used to scale the size of the UI against the defaults.
      */
@@ -84,6 +89,11 @@ public class CraneFishingScreen extends EventScreen {
         super(eventLogic);
     }
 
+    @Override
+    protected AssetGroup[] requiredAssets() {
+        return new AssetGroup[]{AssetGroup.FISHING_BOAT};
+    }
+
     @Override
     protected void init() {
         cContainer = new WidgetGroup();
@@ -95,10 +105,9 @@ public class CraneFishingScreen extends EventScreen {
             setHitBoxPosition((Coordinate) updatedData);
         } else {
             FishingBoatEventData boatData = (FishingBoatEventData) updatedData;
-            updateCraneRotation(boatData.getcCraneRotation());
             updateBoatPosition(boatData.getcBoatData());
-            setHitBoxPosition(boatData.getcCraneRotation());
-            moveFishes(boatData.getcSmallFishCoordinates());
+            updateCranes(boatData);
+            moveFishes(boatData.getSwarm());
         }
     }
 
@@ -108,17 +117,46 @@ public class CraneFishingScreen extends EventScreen {
      * @param coordinate The location of the HitBox.
      */
     protected void setHitBoxPosition(Coordinate coordinate) {
-        System.out.println(coordinate);
-        cCraneHitBox.setPosition(coordinate.getX() * cMaxWidth, coordinate.getY() * cMaxHeight);
+        if (cCraneHitBoxes[0] != null) {
+            cCraneHitBoxes[0].setPosition(coordinate.getX() * cMaxWidth, coordinate.getY() * cMaxHeight);
+        }
+    }
+
+    /**
+     * Shows the crane and hitbox of every client in the room at its rotation and hides those of clients that left.
+     *
+     * @param boatData The data holding the cranes.
+     */
+    protected void updateCranes(FishingBoatEventData boatData) {
+        for (int id = 0; id < FishingBoatEventData.MAX_CRANES; id++) {
+            boolean active = boatData.isCraneActive(id);
+            if (active && cCranes[id] == null) {
+                createCrane(id);
+            }
+            if (cCranes[id] != null) {
+                cCranes[id].setVisible(active);
+                cCraneHitBoxes[id].setVisible(active);
+                if (active) {
+                    double angle = boatData.getcCraneRotation(id);
+                    cCranes[id].setRotation((float) Math.toDegrees(angle));
+                    setHitBoxPosition(cCraneHitBoxes[id], angle);
+                }
+            }
+        }
     }
 
     /**
-     * Sets the rotation for the crane to the provided rotation.
+     * Creates the crane and hitbox of a client that joined the room.
      *
-     * @param angle The rotation to use.
+     * @param id Id of the client.
      */
-    protected void updateCraneRotation(double angle) {
-        cCrane.setRotation((float) Math.toDegrees(angle));
+    protected void createCrane(int id) {
+        cCranes[id] = new Crane(cBoatStack);
+        cBoatStack.add(cCranes[id]);
+
+        cCraneHitBoxes[id] = new CraneHitbox(cHitBoxTexture);
+        cCraneHitBoxes[id].setSize(cHitBoxSize * cScalar, cHitBoxSize * cScalar);
+        cContainer.addActor(cCraneHitBoxes[id]);
     }
 
     /**
@@ -135,11 +173,12 @@ public class CraneFishingScreen extends EventScreen {
     /**
      * Sets the hitbox in proper position using the knowledge of the position and rotation.
      *
-     * @param angle The angle of the crane.
+     * @param hitBox The hitbox of the crane.
+     * @param angle  The angle of the crane.
      */
-    protected void setHitBoxPosition(double angle) {
+    protected void setHitBoxPosition(CraneHitbox hitBox, double angle) {
         float radius = cBoatStack.getHeight() / 2;
-        float hitboxRadius = cCraneHitBox.getHeight() / 2;
+        float hitboxRadius = hitBox.getHeight() / 2;
 
         float xCoordCenter = cBoatStack.getX() + radius;
         float yCoordCenter = cBoatStack.getY() + radius;
@@ -147,29 +186,38 @@ public class CraneFishingScreen extends EventScreen {
         float xPosition = (float) Math.cos(angle) * (radius - hitboxRadius);
         float yPosition = (float) Math.sin(angle) * (radius - hitboxRadius);
 
-        cCraneHitBox.setPosition(xCoordCenter + xPosition - hitboxRadius, yCoordCenter + yPosition - hitboxRadius);
+        hitBox.setPosition(xCoordCenter + xPosition - hitboxRadius, yCoordCenter + yPosition - hitboxRadius);
     }
 
     /**
-     * Moves the fishes a step towards their destination.
+     * Moves the fishes to their position in the swarm and removes the fishes that are no longer swimming.
      *
-     * @param fishCoordinates The data containing current position.
+     * @param swarm The swarm containing the current positions, null until it is received from the host.
      */
-    protected void moveFishes(HashMap<Integer, SmallFishData> fishCoordinates) {
-        for (int key : fishCoordinates.keySet()) {
-            SmallFishData fishdata = fishCoordinates.get(key);
-            Coordinate coordinate = fishdata.getPosition();
-
-            SmallFish fish = cFishList.get(key);
-            if (coordinate == null) {
-                cContainer.removeActor(fish);
-                cFishList.remove(key);
+    protected void moveFishes(FishSwarm swarm) {
+        if (swarm == null) {
+            return;
+        }
+        if (cFishList.length < swarm.size()) {
+            cFishList = Arrays.copyOf(cFishList, swarm.size());
+        }
+        for (int id = 0; id < swarm.size(); id++) {
+            SmallFish fish = cFishList[id];
+            if (!swarm.isSwimming(id)) {
+                if (fish != null) {
+                    cContainer.removeActor(fish);
+                    cFishList[id] = null;
+                }
             } else {
-                Coordinate destination = fishdata.getDestination();
-                double angle = Math.atan2(
-                        destination.getY() - coordinate.getY(), destination.getX() - coordinate.getX());
+                if (fish == null) {
+                    fish = createFish();
+                    cFishList[id] = fish;
+                }
+                float x = swarm.getX(id);
+                float y = swarm.getY(id);
+                double angle = Math.atan2(swarm.getDestinationY(id) - y, swarm.getDestinationX(id) - x);
                 fish.setRotation((float) Math.toDegrees(angle));
-                fish.setPosition(coordinate.getX() * cMaxWidth, coordinate.getY() * cMaxHeight);
+                fish.setPosition(x * cMaxWidth, y * cMaxHeight);
             }
         }
     }
@@ -183,24 +231,16 @@ public class CraneFishingScreen extends EventScreen {
         cBoatStack.setPosition(cStartLocation * cMaxWidth, cStartLocation * cMaxHeight);
         cBoatStack.setSize(cBoatSize * cScalar, cBoatSize * cScalar);
 
-        cCraneHitBox = new CraneHitbox(new Texture(Gdx.files.internal("images/HitBox.png")));
-
-        cCraneHitBox.setSize(cHitBoxSize * cScalar, cHitBoxSize * cScalar);
-
-        setHitBoxPosition(0);
+        cHitBoxTexture = new Texture(Gdx.files.internal("images/HitBox.png"));
 
         cBoat = new Boat(cBoatStack);
-        cCrane = new Crane(cBoatStack);
 
         cBoatStack.add(cBoat);
-        cBoatStack.add(cCrane);
 
         cFishList = generateFishes();
 
         cContainer.addActor(cBoatStack);
 
-        cContainer.addActor(cCraneHitBox);
-
         return cContainer;
     }
 
@@ -222,17 +262,27 @@ public class CraneFishingScreen extends EventScreen {
      *
      * @return The set of fishes that are drawn.
      */
-    protected HashMap<Integer, SmallFish> generateFishes() {
-        HashMap<Integer, SmallFish> fishes = new HashMap<Integer, SmallFish>();
+    protected SmallFish[] generateFishes() {
+        SmallFish[] fishes = new SmallFish[cNumberOfFish];
         for (int i = 0; i < cNumberOfFish; i++) {
-            SmallFish fish = new SmallFish(cAssets.getTexture("images/SmallFish.png"));
-            fish.setSize(cSmallFishSize * cScalar, cSmallFishSize * cScalar);
-            fishes.put(i, fish);
-            cContainer.addActor(fish);
+            fishes[i] = createFish();
         }
         return fishes;
     }
 
+    /**
+     * Creates the image of a single fish and adds it to the container.
+     * Fish that are not known beforehand, because the host spawned more, are created when they first show up.
+     *
+     * @return The image of the fish.
+     */
+    protected SmallFish createFish() {
+        SmallFish fish = new SmallFish(cAssets.getTexture("images/SmallFish.png"));
+        fish.setSize(cSmallFishSize * cScalar, cSmallFishSize * cScalar);
+        cContainer.addActor(fish);
+        return fish;
+    }
+
     @Override
     protected void rebuildWidgetGroup() {
         setUISize();
@@ -0,0 +1,85 @@
+package cg.group4.view.screen_mechanics;
+
+/**
+ * Manifest of the assets, grouped by the screens that use them. The groups are declared from the highest priority to
+ * the lowest: the home group is loaded before the first screen is shown, the groups that are streamed are loaded in
+ * the background in this order, and the other groups are only loaded while a screen that needs them exists.
+ */
+public enum AssetGroup {
+    /**
+     * Backgrounds and widgets of every menu, loaded behind the loading screen.
+     */
+    HOME(false, new String[]{"images/default_landscape_background.jpg", "images/default_portrait_background.jpg",
+            "images/wooden_sign_gray.png", "images/wooden_sign.png", "images/debugpixel.png",
+            "images/blackpixel.jpg"}, new String[0]),
+
+    /**
+     * Images of the collectibles, streamed in after start up as most screens show them.
+     */
+    COLLECTIBLES(true, new String[]{"images/FishA.png", "images/FishB.png", "images/FishC.png"}, new String[0]),
+
+    /**
+     * Images of the fishing boat event, loaded while the event is shown.
+     */
+    FISHING_BOAT(false, new String[]{"images/SmallFish.png", "images/Boat.png", "images/Crane.png"}, new String[0]),
+
+    /**
+     * Background music, loaded while something plays it.
+     */
+    MUSIC(false, new String[0], new String[]{"music/Summer Day.mp3"});
+
+    /**
+     * Whether the group is loaded in the background after start up and then kept.
+     */
+    private final boolean cStreamed;
+
+    /**
+     * Paths of the textures in the group.
+     */
+    private final String[] cTextures;
+
+    /**
+     * Paths of the music in the group.
+     */
+    private final String[] cMusic;
+
+    /**
+     * Defines a group of assets.
+     *
+     * @param streamed Whether the group is loaded in the background after start up and then kept.
+     * @param textures Paths of the textures.
+     * @param music    Paths of the music.
+     */
+    AssetGroup(final boolean streamed, final String[] textures, final String[] music) {
+        cStreamed = streamed;
+        cTextures = textures;
+        cMusic = music;
+    }
+
+    /**
+     * Returns whether the group is loaded in the background after start up and then kept.
+     *
+     * @return True if the group is streamed.
+     */
+    public boolean isStreamed() {
+        return cStreamed;
+    }
+
+    /**
+     * Returns the paths of the textures in the group.
+     *
+     * @return The paths, which must not be changed.
+     */
+    public String[] getTextures() {
+        return cTextures;
+    }
+
+    /**
+     * Returns the paths of the music in the group.
+     *
+     * @return The paths, which must not be changed.
+     */
+    public String[] getMusic() {
+        return cMusic;
+    }
+}
@@ -5,32 +5,142 @@ import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.Texture;
 
 /**
- * Asynchronously loads all the assets that are needed and contains helper method to quickly load and get these assets.
+ * Asynchronously loads the assets that are needed and contains helper method to quickly load and get these assets.
+ * Only the home group is queued up front, so the loading screen waits for the menus alone. The streamed groups are
+ * loaded afterwards within a time budget per frame, and the other groups are loaded when a screen requires them and
+ * unloaded when the last screen that required them releases them.
  */
 public class Assets extends AssetManager {
+    /**
+     * Milliseconds per frame spent on loading streamed assets.
+     */
+    public static final int STREAM_BUDGET = 4;
     /**
      * Singleton instance of the Assets.
      */
     protected static Assets instance;
+    /**
+     * Amount of references to every group, indexed by ordinal.
+     */
+    protected int[] cReferences = new int[AssetGroup.values().length];
+    /**
+     * Whether the stream holds a reference to every group, indexed by ordinal. Streamed groups are kept, so the
+     * stream never releases its reference.
+     */
+    protected boolean[] cStreamedHeld = new boolean[AssetGroup.values().length];
+    /**
+     * Index in the groups of the next group that might have to be streamed.
+     */
+    protected int cNextStream;
 
     /**
-     * Forces the load of all the textures.
+     * Queues the home group, which is kept loaded.
      */
     public Assets() {
-        loadTexture("images/default_landscape_background.jpg");
-        loadTexture("images/default_portrait_background.jpg");
-        loadTexture("images/wooden_sign_gray.png");
-        loadTexture("images/wooden_sign.png");
-        loadTexture("images/debugpixel.png");
-        loadTexture("images/blackpixel.jpg");
-        loadTexture("images/SmallFish.png");
-        loadTexture("images/FishA.png");
-        loadTexture("images/FishB.png");
-        loadTexture("images/FishC.png");
-        loadTexture("images/Boat.png");
-        loadTexture("images/Crane.png");
-        loadMusic("music/Summer Day.mp3");
+        acquire(AssetGroup.HOME);
+    }
 
+    /**
+     * Makes sure a group is loaded, blocking until its assets are. Every call has to be matched by a call to release.
+     *
+     * @param group The group.
+     */
+    public void require(final AssetGroup group) {
+        acquire(group);
+        for (String file : group.getTextures()) {
+            finishLoadingAsset(file);
+        }
+        for (String file : group.getMusic()) {
+            finishLoadingAsset(file);
+        }
+    }
+
+    /**
+     * Releases a group that was required, unloading its assets when nothing else references it.
+     *
+     * @param group The group.
+     */
+    public void release(final AssetGroup group) {
+        int references = --cReferences[group.ordinal()];
+        if (references == 0) {
+            for (String file : group.getTextures()) {
+                unload(file);
+            }
+            for (String file : group.getMusic()) {
+                unload(file);
+            }
+        }
+    }
+
+    /**
+     * Loads assets for at most STREAM_BUDGET milliseconds, queuing the next streamed group when the queue is empty.
+     * Called every frame.
+     */
+    public void stream() {
+        if (update(STREAM_BUDGET)) {
+            AssetGroup[] groups = AssetGroup.values();
+            while (cNextStream < groups.length) {
+                AssetGroup group = groups[cNextStream++];
+                if (group.isStreamed() && !cStreamedHeld[group.ordinal()]) {
+                    holdStreamed(group);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads a streamed group right away, for a screen that needs it before it was streamed. The group is kept.
+     *
+     * @param group The streamed group.
+     */
+    public void finishStreaming(final AssetGroup group) {
+        holdStreamed(group);
+        for (String file : group.getTextures()) {
+            finishLoadingAsset(file);
+        }
+        for (String file : group.getMusic()) {
+            finishLoadingAsset(file);
+        }
+    }
+
+    /**
+     * Returns whether a group is referenced, by a screen or because it is streamed.
+     *
+     * @param group The group.
+     * @return True if the group is referenced.
+     */
+    public boolean isReferenced(final AssetGroup group) {
+        return cReferences[group.ordinal()] > 0;
+    }
+
+    /**
+     * Takes the reference of the stream to a streamed group, whether or not screens already reference it, so it
+     * stays loaded when those screens release it.
+     *
+     * @param group The streamed group.
+     */
+    protected void holdStreamed(final AssetGroup group) {
+        if (!cStreamedHeld[group.ordinal()]) {
+            cStreamedHeld[group.ordinal()] = true;
+            acquire(group);
+        }
+    }
+
+    /**
+     * Adds a reference to a group, queuing its assets if it had none.
+     *
+     * @param group The group.
+     */
+    protected void acquire(final AssetGroup group) {
+        if (cReferences[group.ordinal()]++ == 0) {
+            for (String file : group.getTextures()) {
+                loadTexture(file);
+            }
+            for (String file : group.getMusic()) {
+                loadMusic(file);
+            }
+        }
     }
 
     /**
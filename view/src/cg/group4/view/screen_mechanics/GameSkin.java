@@ -5,7 +5,9 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Event;
+import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.BaseDrawable;
@@ -14,11 +16,46 @@ import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.FocusListener;
 import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The default skin details for the application.
+ * The fonts and styles are created once per UI size bucket and kept for the most recent buckets, so resizing or
+ * rotating back to a size that was seen before only swaps the styles. The fonts rasterize their glyphs when they are
+ * first drawn, instead of the whole character set up front.
  */
 public class GameSkin extends Skin {
+    /**
+     * Step in pixels the UI size is rounded to, sizes in the same step share fonts and styles.
+     */
+    public static final int SIZE_BUCKET = 40;
+    /**
+     * Most UI size buckets whose fonts and styles are kept.
+     */
+    public static final int MAX_VARIANTS = 3;
+    /**
+     * Characters rasterized when a font is created, others are added when they are first drawn.
+     */
+    public static final String PRELOADED_CHARACTERS =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz1234567890\"!`?'.,;:()[]{}<>|/@\\^$-%+=#_&~* ";
+    /**
+     * Names of the resources the skin creates for every UI size bucket, in the order they are created.
+     */
+    protected static final String[] RESOURCE_NAMES = {"default_font", "default_textButtonStyle",
+            "default_titleFont", "default_labelStyle", "default_selectboxStyle", "default_listStyle",
+            "default_textFieldStyle"};
+    /**
+     * Types of the resources, in the order of RESOURCE_NAMES.
+     */
+    protected static final Class<?>[] RESOURCE_TYPES = {BitmapFont.class, TextButton.TextButtonStyle.class,
+            BitmapFont.class, Label.LabelStyle.class, SelectBox.SelectBoxStyle.class, List.ListStyle.class,
+            TextField.TextFieldStyle.class};
     /**
      * Default font size.
      */
@@ -55,6 +92,14 @@ public class GameSkin extends Skin {
      * Container for all the assets.
      */
     protected Assets cAssets;
+    /**
+     * UI size bucket of the current fonts and styles, 0 before the first call to createUIElements.
+     */
+    protected int cBucket;
+    /**
+     * Resources of the recent UI size buckets in the order of RESOURCE_NAMES, least recently used first.
+     */
+    protected LinkedHashMap<Integer, Object[]> cVariants = new LinkedHashMap<Integer, Object[]>(MAX_VARIANTS, 1f, true);
 
     /**
      * Initializes the skin.
@@ -70,8 +115,121 @@ public class GameSkin extends Skin {
      * @param newSize New size of the game window.
      */
     public final void createUIElements(final int newSize) {
-        cUiScalar = newSize / cDevSize;
-        addDefaults();
+        int bucket = Math.max(1, Math.round(newSize / (float) SIZE_BUCKET)) * SIZE_BUCKET;
+        if (bucket == cBucket) {
+            return;
+        }
+        cBucket = bucket;
+        cUiScalar = bucket / cDevSize;
+        Object[] variant = cVariants.get(bucket);
+        if (variant == null) {
+            addDefaults();
+            variant = new Object[RESOURCE_NAMES.length];
+            for (int i = 0; i < RESOURCE_NAMES.length; i++) {
+                variant[i] = get(RESOURCE_NAMES[i], RESOURCE_TYPES[i]);
+            }
+            cVariants.put(bucket, variant);
+        } else {
+            for (int i = 0; i < RESOURCE_NAMES.length; i++) {
+                add(RESOURCE_NAMES[i], variant[i], RESOURCE_TYPES[i]);
+            }
+        }
+    }
+
+    /**
+     * Disposes the fonts of the least recently used UI size buckets, down to MAX_VARIANTS buckets. A bucket whose
+     * fonts are still drawn by a widget under one of the given roots is kept, as not every screen restyles all of its
+     * widgets when it is rebuilt. It is evicted by a later call once nothing uses it.
+     *
+     * @param roots Actors whose widgets might still use the fonts of old buckets.
+     */
+    public final void evictVariants(final Iterable<? extends Actor> roots) {
+        if (cVariants.size() <= MAX_VARIANTS) {
+            return;
+        }
+        Set<BitmapFont> used = new HashSet<BitmapFont>();
+        for (Actor root : roots) {
+            collectFonts(root, used);
+        }
+        Iterator<Map.Entry<Integer, Object[]>> iterator = cVariants.entrySet().iterator();
+        while (cVariants.size() > MAX_VARIANTS && iterator.hasNext()) {
+            Map.Entry<Integer, Object[]> entry = iterator.next();
+            if (entry.getKey() != cBucket && !usesAny(entry.getValue(), used)) {
+                iterator.remove();
+                disposeVariant(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Adds the fonts drawn by an actor and its descendants to a set.
+     *
+     * @param actor The actor.
+     * @param fonts Set the fonts are added to.
+     */
+    protected final void collectFonts(final Actor actor, final Set<BitmapFont> fonts) {
+        if (actor instanceof Label) {
+            fonts.add(((Label) actor).getStyle().font);
+        } else if (actor instanceof TextButton) {
+            fonts.add(((TextButton) actor).getStyle().font);
+        } else if (actor instanceof TextField) {
+            TextField.TextFieldStyle style = ((TextField) actor).getStyle();
+            fonts.add(style.font);
+            fonts.add(style.messageFont);
+        } else if (actor instanceof SelectBox) {
+            SelectBox.SelectBoxStyle style = ((SelectBox<?>) actor).getStyle();
+            fonts.add(style.font);
+            fonts.add(style.listStyle.font);
+        } else if (actor instanceof List) {
+            fonts.add(((List<?>) actor).getStyle().font);
+        }
+        if (actor instanceof Group) {
+            for (Actor child : ((Group) actor).getChildren()) {
+                collectFonts(child, fonts);
+            }
+        }
+    }
+
+    /**
+     * Returns whether a UI size bucket holds one of the given fonts.
+     *
+     * @param variant Resources of the bucket.
+     * @param fonts   The fonts.
+     * @return True if one of the fonts belongs to the bucket.
+     */
+    protected final boolean usesAny(final Object[] variant, final Set<BitmapFont> fonts) {
+        for (Object resource : variant) {
+            if (resource instanceof BitmapFont && fonts.contains(resource)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Disposes the fonts of a UI size bucket, along with the glyph data kept to rasterize new glyphs.
+     *
+     * @param variant Resources of the bucket.
+     */
+    protected final void disposeVariant(final Object[] variant) {
+        for (Object resource : variant) {
+            if (resource instanceof BitmapFont) {
+                BitmapFont font = (BitmapFont) resource;
+                font.dispose();
+                if (font.getData() instanceof Disposable) {
+                    ((Disposable) font.getData()).dispose();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the UI size bucket of the current fonts and styles.
+     *
+     * @return The UI size in pixels, rounded to SIZE_BUCKET.
+     */
+    public final int getBucket() {
+        return cBucket;
     }
 
     /**
@@ -99,6 +257,8 @@ public class GameSkin extends Skin {
         fontParameter.borderWidth = (int) (cDefaultBorderWidth * cUiScalar);
         fontParameter.color = Color.WHITE;
         fontParameter.size = (int) (cDefaultFontSize * cUiScalar);
+        fontParameter.characters = PRELOADED_CHARACTERS;
+        fontParameter.incremental = true;
         return cFontGenerator.generateFont(fontParameter);
     }
 
@@ -141,6 +301,8 @@ public class GameSkin extends Skin {
 
         final float scale = 1.2f;
         fontParameter.size = (int) (cDefaultFontSize * cUiScalar * scale);
+        fontParameter.characters = PRELOADED_CHARACTERS;
+        fontParameter.incremental = true;
         return cFontGenerator.generateFont(fontParameter);
     }
 
@@ -325,8 +487,17 @@ public class GameSkin extends Skin {
      */
     @Override
     public final void dispose() {
-        cFontGenerator.dispose();
+        for (Object[] variant : cVariants.values()) {
+            for (int i = 0; i < RESOURCE_NAMES.length; i++) {
+                if (get(RESOURCE_NAMES[i], RESOURCE_TYPES[i]) == variant[i]) {
+                    remove(RESOURCE_NAMES[i], RESOURCE_TYPES[i]);
+                }
+            }
+            disposeVariant(variant);
+        }
+        cVariants.clear();
         super.dispose();
+        cFontGenerator.dispose();
     }
 
 }
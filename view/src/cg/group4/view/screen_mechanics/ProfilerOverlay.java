@@ -0,0 +1,225 @@
+package cg.group4.view.screen_mechanics;
+
+import cg.group4.util.profiling.FrameProfiler;
+import cg.group4.util.profiling.FrameProfiler.Metric;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Shows the percentiles of the FrameProfiler on top of the game, toggled with F3 or the menu key. F4 exports the
+ * window of the profiler to a CSV file in local storage.
+ * The profiler measures frames, and counts GL calls, only while the overlay is shown. The overlay is drawn after the
+ * frame is measured and the profiler resets the GL counters when a frame starts, so it does not show up in its own
+ * numbers. Its text is only laid out every few frames, the frames in between draw it without allocating.
+ */
+public class ProfilerOverlay extends InputAdapter implements Disposable {
+
+    /**
+     * Key that shows or hides the overlay.
+     */
+    public static final int TOGGLE_KEY = Input.Keys.F3;
+
+    /**
+     * Key that exports the profiler to CSV.
+     */
+    public static final int EXPORT_KEY = Input.Keys.F4;
+
+    /**
+     * Folder in local storage the CSV files are saved to.
+     */
+    public static final String EXPORT_FOLDER = "profiler";
+
+    /**
+     * Amount of frames between updates of the text.
+     */
+    protected static final int REFRESH_FRAMES = 30;
+
+    /**
+     * Percentiles shown per metric.
+     */
+    protected static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    protected static final double NANOS_IN_MILLI = 1e6;
+
+    /**
+     * Margin between the text and the edge of the screen, in pixels at density 1.
+     */
+    protected static final float MARGIN = 8f;
+
+    /**
+     * The profiler shown.
+     */
+    protected final FrameProfiler cProfiler;
+
+    /**
+     * Text of the overlay.
+     */
+    protected final StringBuilder cText = new StringBuilder();
+
+    /**
+     * Batch to draw the text with, created when the overlay is first shown.
+     */
+    protected SpriteBatch cBatch;
+
+    /**
+     * Font of the text.
+     */
+    protected BitmapFont cFont;
+
+    /**
+     * Laid out text, drawn every frame.
+     */
+    protected BitmapFontCache cCache;
+
+    /**
+     * Whether the overlay is shown.
+     */
+    protected boolean cVisible;
+
+    /**
+     * Amount of frames until the text is updated.
+     */
+    protected int cRefresh;
+
+    /**
+     * Creates a hidden overlay.
+     *
+     * @param profiler The profiler to show.
+     */
+    public ProfilerOverlay(final FrameProfiler profiler) {
+        cProfiler = profiler;
+    }
+
+    @Override
+    public boolean keyDown(final int keycode) {
+        if (keycode == TOGGLE_KEY || keycode == Input.Keys.MENU) {
+            setVisible(!cVisible);
+            return true;
+        } else if (keycode == EXPORT_KEY) {
+            export();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Shows or hides the overlay, enabling the profiler while it is shown.
+     *
+     * @param visible Whether the overlay is shown.
+     */
+    public void setVisible(final boolean visible) {
+        cVisible = visible;
+        cProfiler.setEnabled(visible);
+        cProfiler.setGlProfiling(visible);
+        if (visible && cBatch == null) {
+            cBatch = new SpriteBatch();
+            cFont = new BitmapFont();
+            cFont.getData().setScale(Math.max(1f, Gdx.graphics.getDensity()));
+            cCache = new BitmapFontCache(cFont);
+            resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        }
+        cRefresh = 0;
+    }
+
+    /**
+     * Returns whether the overlay is shown.
+     *
+     * @return True if shown.
+     */
+    public boolean isVisible() {
+        return cVisible;
+    }
+
+    /**
+     * Saves the window of the profiler to a new CSV file in local storage.
+     *
+     * @return The file, null if saving failed.
+     */
+    public FileHandle export() {
+        FileHandle file = Gdx.files.local(EXPORT_FOLDER + "/frames-" + System.currentTimeMillis() + ".csv");
+        try {
+            cProfiler.saveCsv(file);
+            Gdx.app.log("Profiler", "Saved " + cProfiler.size() + " frames to " + file.path());
+            return file;
+        } catch (IOException e) {
+            Gdx.app.error("Profiler", "Could not save frames to " + file.path(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Updates the projection of the batch to the new size of the screen.
+     *
+     * @param width  New width of the screen.
+     * @param height New height of the screen.
+     */
+    public void resize(final int width, final int height) {
+        if (cBatch != null) {
+            cBatch.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+            cRefresh = 0;
+        }
+    }
+
+    /**
+     * Draws the overlay if it is shown. Called after the frame is measured.
+     */
+    public void draw() {
+        if (!cVisible) {
+            return;
+        }
+        if (--cRefresh <= 0) {
+            cRefresh = REFRESH_FRAMES;
+            updateText();
+            float margin = MARGIN * cFont.getScaleY();
+            cCache.setText(cText, margin, Gdx.graphics.getHeight() - margin);
+        }
+        cBatch.begin();
+        cCache.draw(cBatch);
+        cBatch.end();
+    }
+
+    /**
+     * Writes the percentiles of every metric to the text.
+     */
+    protected void updateText() {
+        cText.setLength(0);
+        cText.append(cProfiler.size()).append(" frames  p50 / p95 / p99\n");
+        for (Metric metric : Metric.values()) {
+            cText.append(metric.name().toLowerCase(Locale.ENGLISH));
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                cText.append(i == 0 ? "  " : " / ");
+                long value = cProfiler.getPercentile(metric, PERCENTILES[i]);
+                if (value < 0) {
+                    cText.append("n/a");
+                } else if (metric.isTime()) {
+                    cText.append(String.format(Locale.ENGLISH, "%.2f ms", value / NANOS_IN_MILLI));
+                } else {
+                    cText.append(value);
+                }
+            }
+            cText.append('\n');
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (cBatch != null) {
+            cBatch.dispose();
+            cFont.dispose();
+            cBatch = null;
+        }
+        cProfiler.setEnabled(false);
+    }
+}
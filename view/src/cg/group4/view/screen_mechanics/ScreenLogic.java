@@ -34,13 +34,45 @@ public abstract class ScreenLogic {
     protected Assets cAssets;
 
     /**
-     * A default constructor which initializes the screen logic.
+     * Groups of assets this screen holds until it is released, null once released.
+     */
+    protected AssetGroup[] cRequiredAssets;
+
+    /**
+     * A default constructor which initializes the screen logic and loads the assets it requires.
      */
     public ScreenLogic() {
         cScreenStore = ScreenStore.getInstance();
         cGameSkin = cScreenStore.getGameSkin();
         cPreviousScreenName = setPreviousScreenName();
         cAssets = Assets.getInstance();
+        cRequiredAssets = requiredAssets();
+        for (AssetGroup group : cRequiredAssets) {
+            cAssets.require(group);
+        }
+    }
+
+    /**
+     * Defines the groups of assets besides the home group that have to be loaded while this screen exists.
+     * Called from the constructor, so it must not depend on fields of the subclass.
+     *
+     * @return The groups, empty by default.
+     */
+    protected AssetGroup[] requiredAssets() {
+        return new AssetGroup[0];
+    }
+
+    /**
+     * Releases the assets this screen required, so they are unloaded when no other screen requires them. Called by
+     * the ScreenStore when the screen is removed or replaced, calling it again does nothing.
+     */
+    public void releaseAssets() {
+        if (cRequiredAssets != null) {
+            for (AssetGroup group : cRequiredAssets) {
+                cAssets.release(group);
+            }
+            cRequiredAssets = null;
+        }
     }
 
     /**
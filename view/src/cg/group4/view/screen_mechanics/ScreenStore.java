@@ -1,5 +1,8 @@
 package cg.group4.view.screen_mechanics;
 
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -51,23 +54,30 @@ public final class ScreenStore {
     }
 
     /**
-     * Stores the screen in the store under the given tag.
+     * Stores the screen in the store under the given tag. A screen stored under the same tag before releases its
+     * assets.
      *
      * @param tag    Tag of the screen.
      * @param screen Screen to be stored.
      */
     public void addScreen(final String tag, final ScreenLogic screen) {
         screen.getWidgetGroup();
-        cScreens.put(tag, screen);
+        ScreenLogic old = cScreens.put(tag, screen);
+        if (old != null && old != screen) {
+            old.releaseAssets();
+        }
     }
 
     /**
-     * Removes the screen from the store under the given tag.
+     * Removes the screen from the store under the given tag and releases its assets.
      *
      * @param tag Tag of the screen to be removed.
      */
     public void removeScreen(final String tag) {
-        cScreens.remove(tag);
+        ScreenLogic screen = cScreens.remove(tag);
+        if (screen != null) {
+            screen.releaseAssets();
+        }
     }
 
     /**
@@ -101,7 +111,7 @@ public final class ScreenStore {
 
     /**
      * Upon resizing the game, this method is called. It will first update the GameSkin and then ask the
-     * Screens it contains to update their UI Elements.
+     * Screens it contains to update their UI Elements. Fonts of old sizes that no widget uses any more are disposed.
      *
      * @param uiSize The new width/height (depending on orientation) that is used by the GameSkin to rescale the UI
      *               elements.
@@ -109,6 +119,11 @@ public final class ScreenStore {
     public void rebuild(final int uiSize) {
         cGameSkin.createUIElements(uiSize);
         rebuild();
+        ArrayList<WidgetGroup> roots = new ArrayList<WidgetGroup>(cScreens.size());
+        for (ScreenLogic screen : cScreens.values()) {
+            roots.add(screen.getWidgetGroup());
+        }
+        cGameSkin.evictVariants(roots);
     }
 
     /**
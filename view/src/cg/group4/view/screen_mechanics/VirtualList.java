@@ -0,0 +1,268 @@
+package cg.group4.view.screen_mechanics;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.scenes.scene2d.utils.Cullable;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * List of rows of equal height that only holds widgets for the rows that are visible, plus a few rows above and
+ * below. Meant to be put in a ScrollPane, which tells the list what part of it is visible.
+ * Rows that scroll out of view are taken off the list and bound to the items that scroll into view, so the amount of
+ * widgets stays the same however many items the list shows.
+ *
+ * @param <T> Type of the items.
+ */
+public class VirtualList<T> extends WidgetGroup implements Cullable {
+
+    /**
+     * Creates the widgets of rows and binds them to items.
+     *
+     * @param <T> Type of the items.
+     */
+    public interface RowAdapter<T> {
+
+        /**
+         * Creates the widget of a row, which is bound to an item before it is shown.
+         *
+         * @return The row.
+         */
+        Actor createRow();
+
+        /**
+         * Shows an item in a row, which might have shown another item before.
+         *
+         * @param row   The row.
+         * @param item  The item.
+         * @param index Index of the item in the list.
+         */
+        void bindRow(Actor row, T item, int index);
+    }
+
+    /**
+     * Default amount of rows kept above and below the visible rows.
+     */
+    public static final int DEFAULT_BUFFER = 2;
+
+    /**
+     * Creates and binds the rows.
+     */
+    protected final RowAdapter<T> cAdapter;
+
+    /**
+     * Items of the list.
+     */
+    protected List<T> cItems = Collections.emptyList();
+
+    /**
+     * Height of every row.
+     */
+    protected float cRowHeight;
+
+    /**
+     * Amount of rows kept above and below the visible rows.
+     */
+    protected int cBuffer = DEFAULT_BUFFER;
+
+    /**
+     * Part of the list that is visible, null until the ScrollPane tells.
+     */
+    protected Rectangle cCullingArea;
+
+    /**
+     * Rows on the list, cRows[i] shows the item at cFirst + i.
+     */
+    protected Array<Actor> cRows = new Array<Actor>();
+
+    /**
+     * Rows that are off the list, ready to be bound again.
+     */
+    protected Array<Actor> cFree = new Array<Actor>();
+
+    /**
+     * Spare array swapped with cRows when the visible rows change.
+     */
+    protected Array<Actor> cSpare = new Array<Actor>();
+
+    /**
+     * Index of the item shown in the first row.
+     */
+    protected int cFirst;
+
+    /**
+     * Whether every row has to be bound again, because the items changed.
+     */
+    protected boolean cDirty;
+
+    /**
+     * Creates an empty list.
+     *
+     * @param adapter   Creates and binds the rows.
+     * @param rowHeight Height of every row.
+     */
+    public VirtualList(final RowAdapter<T> adapter, final float rowHeight) {
+        cAdapter = adapter;
+        cRowHeight = rowHeight;
+    }
+
+    /**
+     * Sets the items of the list. The list keeps the given list, which must not change until the next call.
+     *
+     * @param items The items.
+     */
+    public void setItems(final List<T> items) {
+        cItems = items;
+        cDirty = true;
+        invalidateHierarchy();
+    }
+
+    /**
+     * Returns the items of the list.
+     *
+     * @return The items.
+     */
+    public List<T> getItems() {
+        return cItems;
+    }
+
+    /**
+     * Sets the height of every row.
+     *
+     * @param rowHeight The height.
+     */
+    public void setRowHeight(final float rowHeight) {
+        cRowHeight = rowHeight;
+        invalidateHierarchy();
+    }
+
+    /**
+     * Sets the amount of rows kept above and below the visible rows.
+     *
+     * @param buffer Amount of rows.
+     */
+    public void setBuffer(final int buffer) {
+        cBuffer = buffer;
+    }
+
+    /**
+     * Throws away all rows, so they are created again. For example because the skin changed.
+     */
+    public void clearRows() {
+        clearChildren();
+        cRows.clear();
+        cFree.clear();
+        invalidate();
+    }
+
+    /**
+     * Returns the amount of row widgets, on the list or waiting to be bound again.
+     *
+     * @return Amount of rows.
+     */
+    public int getRowCount() {
+        return cRows.size + cFree.size;
+    }
+
+    @Override
+    public void setCullingArea(final Rectangle cullingArea) {
+        cCullingArea = cullingArea;
+    }
+
+    @Override
+    public void act(final float delta) {
+        if (updateRows()) {
+            invalidate();
+        }
+        super.act(delta);
+    }
+
+    @Override
+    public void layout() {
+        updateRows();
+        float width = getWidth();
+        float top = getHeight();
+        for (int i = 0; i < cRows.size; i++) {
+            cRows.get(i).setBounds(0, top - (cFirst + i + 1) * cRowHeight, width, cRowHeight);
+        }
+    }
+
+    /**
+     * Binds rows to the items in the visible part of the list, reusing the rows of items that scrolled out of view.
+     *
+     * @return True if the rows changed and have to be laid out.
+     */
+    protected boolean updateRows() {
+        int size = cItems.size();
+        float top = getHeight();
+        float visibleTop;
+        float visibleBottom;
+        if (cCullingArea == null) {
+            visibleTop = top;
+            visibleBottom = top - (getStage() == null ? 0 : getStage().getHeight());
+        } else {
+            visibleTop = cCullingArea.y + cCullingArea.height;
+            visibleBottom = cCullingArea.y;
+        }
+        int first = 0;
+        int last = -1;
+        if (cRowHeight > 0 && size > 0) {
+            first = Math.max(0, (int) ((top - visibleTop) / cRowHeight) - cBuffer);
+            last = Math.min(size - 1, (int) Math.ceil((top - visibleBottom) / cRowHeight) + cBuffer);
+        }
+        if (!cDirty && first == cFirst && last - first + 1 == cRows.size) {
+            return false;
+        }
+
+        for (int i = 0; i < cRows.size; i++) {
+            int index = cFirst + i;
+            if (cDirty || index < first || index > last) {
+                Actor row = cRows.get(i);
+                removeActor(row);
+                cFree.add(row);
+            }
+        }
+        cSpare.clear();
+        for (int index = first; index <= last; index++) {
+            int old = index - cFirst;
+            if (!cDirty && old >= 0 && old < cRows.size) {
+                cSpare.add(cRows.get(old));
+            } else {
+                Actor row;
+                if (cFree.size > 0) {
+                    row = cFree.pop();
+                } else {
+                    row = cAdapter.createRow();
+                }
+                cAdapter.bindRow(row, cItems.get(index), index);
+                addActor(row);
+                cSpare.add(row);
+            }
+        }
+        Array<Actor> rows = cRows;
+        cRows = cSpare;
+        cSpare = rows;
+        cSpare.clear();
+        cFirst = first;
+        cDirty = false;
+        return true;
+    }
+
+    @Override
+    protected void childrenChanged() {
+        invalidate();
+    }
+
+    @Override
+    public float getPrefWidth() {
+        return 0;
+    }
+
+    @Override
+    public float getPrefHeight() {
+        return cItems.size() * cRowHeight;
+    }
+}
@@ -1,5 +1,6 @@
 package cg.group4.view.screen_mechanics;
 
+import cg.group4.data_structures.subscribe.Subject;
 import cg.group4.view.screen.EventScreen;
 import com.badlogic.gdx.*;
 import com.badlogic.gdx.graphics.GL20;
@@ -8,12 +9,19 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
+import com.badlogic.gdx.utils.viewport.ScalingViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
 /**
  * Is responsible for the display of the screens and properly settings the background image.
  * Draws the WidgetGroups correctly on all screen resolution supported withing the viewport ratios.
+ * The Stage lives as long as the WorldRenderer and shares its SpriteBatch, switching screens only swaps the
+ * WidgetGroup on it, so navigating does not create or dispose any GPU resources.
  */
 public class WorldRenderer extends InputAdapter implements Screen {
 
@@ -78,6 +86,19 @@ public class WorldRenderer extends InputAdapter implements Screen {
      * All assets are stored here.
      */
     protected Assets cAssets;
+    /**
+     * Seconds the screens fade when switching, 0 to switch at once.
+     */
+    protected float cTransitionDuration;
+    /**
+     * Nano time at which the current switch started, 0 when the last switch has been reported.
+     */
+    protected long cTransitionStart;
+    /**
+     * Subject that is notified with the nanoseconds every switch of screens took, from the switch until the end of
+     * the first frame that draws the new screen.
+     */
+    protected Subject cTransitionSubject = new Subject();
 
     @Override
     public final void show() {
@@ -97,6 +118,11 @@ public class WorldRenderer extends InputAdapter implements Screen {
         cBatch.end();
         cStage.act();
         cStage.draw();
+        cAssets.stream();
+        if (cTransitionStart != 0) {
+            cTransitionSubject.update(System.nanoTime() - cTransitionStart);
+            cTransitionStart = 0;
+        }
     }
 
     /**
@@ -109,6 +135,8 @@ public class WorldRenderer extends InputAdapter implements Screen {
     @Override
     public final void resize(final int width, final int height) {
         cViewport.update(width, height);
+        cStage.getViewport().setWorldSize(width, height);
+        cStage.getViewport().update(width, height, true);
         if (width > height != cIsLandscape) {
             cIsLandscape = !cIsLandscape;
             setDefaultBackground();
@@ -159,7 +187,8 @@ public class WorldRenderer extends InputAdapter implements Screen {
                 MAX_VIEWPORT_RATIO,
                 cCamera);
         cBatch = new SpriteBatch();
-        cStage = new Stage();
+        cStage = new Stage(new ScalingViewport(Scaling.stretch, Gdx.graphics.getWidth(), Gdx.graphics.getHeight(),
+                new OrthographicCamera()), cBatch);
         cAssets = Assets.getInstance();
         cScreenStore = ScreenStore.getInstance();
     }
@@ -249,18 +278,57 @@ public class WorldRenderer extends InputAdapter implements Screen {
     }
 
     /**
-     * Disposes the previous screen and sets the new given screen.
+     * Replaces the WidgetGroup of the previous screen on the Stage by that of the given screen, fading between them
+     * when a transition duration is set.
      *
      * @param screen Screen to set the view to
      */
     public final void setScreen(final ScreenLogic screen) {
-        cInputMultiplexer.removeProcessor(cStage);
+        WidgetGroup group = screen.getWidgetGroup();
+        if (screen == cScreen && group.getStage() == cStage && group.getActions().size == 0) {
+            return;
+        }
+        cTransitionStart = System.nanoTime();
+        cStage.cancelTouchFocus();
+        cStage.unfocusAll();
+        if (cScreen != null && cScreen != screen) {
+            WidgetGroup previous = cScreen.getWidgetGroup();
+            previous.clearActions();
+            if (cTransitionDuration > 0) {
+                previous.setTouchable(Touchable.disabled);
+                previous.addAction(Actions.sequence(Actions.fadeOut(cTransitionDuration), Actions.removeActor()));
+            } else {
+                previous.remove();
+            }
+        }
         cScreen = screen;
-        cStage.dispose();
-        cStage = new Stage();
-        cStage.setDebugAll(false);
-        cStage.addActor(cScreen.getWidgetGroup());
-        cInputMultiplexer.addProcessor(cStage);
+        group.clearActions();
+        group.setTouchable(Touchable.enabled);
+        cStage.addActor(group);
+        if (cTransitionDuration > 0) {
+            group.getColor().a = 0;
+            group.addAction(Actions.fadeIn(cTransitionDuration));
+        } else {
+            group.getColor().a = 1;
+        }
+    }
+
+    /**
+     * Sets how long the screens fade when switching.
+     *
+     * @param duration Duration in seconds, 0 to switch at once.
+     */
+    public final void setTransitionDuration(final float duration) {
+        cTransitionDuration = duration;
+    }
+
+    /**
+     * Returns the subject that is notified with the nanoseconds, as a Long, that every switch of screens took.
+     *
+     * @return The subject.
+     */
+    public final Subject getTransitionSubject() {
+        return cTransitionSubject;
     }
 
     @Override
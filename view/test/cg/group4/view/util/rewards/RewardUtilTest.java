@@ -5,9 +5,11 @@ import com.badlogic.gdx.graphics.Color;
 import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(Theories.class)
 public class RewardUtilTest {
@@ -39,4 +41,26 @@ public class RewardUtilTest {
 		assertEquals(ans, generatedColour);
 	}
 
+	@Test
+	public void packedColorTest() {
+		final float tolerance = 0.01f;
+		for (int i = 0; i <= 1000; i++) {
+			float hue = i / 1000f;
+			Color exact = RewardUtil.generateColor(hue);
+			Color packed = new Color(RewardUtil.getPackedColor(hue));
+			assertTrue(Math.abs(exact.r - packed.r) < tolerance);
+			assertTrue(Math.abs(exact.g - packed.g) < tolerance);
+			assertTrue(Math.abs(exact.b - packed.b) < tolerance);
+			assertEquals(exact.a, packed.a, 0);
+		}
+	}
+
+	@Test
+	public void invalidHueTest() {
+		assertEquals(RewardUtil.INVALID_HUE, RewardUtil.quantizeHue(2f));
+		assertEquals(RewardUtil.INVALID_HUE, RewardUtil.quantizeHue(Float.NaN));
+		assertEquals(Color.rgba8888(0, 0, 0, 1), RewardUtil.getPackedColor(-1f));
+		assertEquals(new Color(0, 0, 0, 1).toFloatBits(), RewardUtil.getFloatBits(2f), 0);
+	}
+
 }